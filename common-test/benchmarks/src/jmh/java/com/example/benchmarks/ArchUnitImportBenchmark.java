@@ -0,0 +1,66 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.corpus.CorpusFiles;
+import com.example.benchmarks.corpus.JavaClassCorpus;
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.rules.java.JavaClassesCache;
+import com.example.rulecore.rules.java.fail.NoSystemOutRule;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArchUnit 기반 Java 규칙의 클래스 임포트 비용을 측정합니다.
+ * - coldImport: 캐시 없이 빌드 결과물 디렉토리 전체를 임포트
+ * - ruleCheck: 임포트 + 규칙 평가 + 위반 위치 변환까지 포함한 규칙 1회 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ArchUnitImportBenchmark {
+
+    @Param({"100", "1000"})
+    public int classCount;
+
+    private Path projectRoot;
+    private Path classRoot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        projectRoot = CorpusFiles.createTempDirectory("classes");
+        classRoot = JavaClassCorpus.generate(projectRoot, classCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        CorpusFiles.deleteRecursively(projectRoot);
+    }
+
+    @Benchmark
+    public JavaClasses coldImport() {
+        return new JavaClassesCache().importPath(classRoot);
+    }
+
+    @Benchmark
+    public List<RuleViolation> ruleCheck() throws Exception {
+        RuleContext context = RuleContext.builder()
+                .basePackage(JavaClassCorpus.BASE_PACKAGE)
+                .projectRoot(projectRoot)
+                .workspaceRoot(projectRoot)
+                .build();
+        return new NoSystemOutRule().check(context);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.corpus.CorpusFiles;
+import com.example.benchmarks.corpus.MapperCorpus;
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.ruleEngine.enums.RuleGroups;
+import com.example.rulecore.rules.sql.MybatisRuleDispatcher;
+import com.example.rulecore.rules.sql.MybatisUnitBasedRule;
+import com.example.rulecore.rules.sql.fail.NoDollarExpressionRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 매퍼 XML 검사(SAX 파싱 + 규칙 이벤트 처리) 비용을 매퍼 수에 따라 측정합니다.
+ * - singleRule: 규칙 하나만 실행 (파싱 자체 비용에 가까움)
+ * - sqlCriticalGroup: SQL_CRITICAL 그룹의 MyBatis 규칙 전체를 Dispatcher로 한 번에 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MybatisRuleParsingBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int mapperCount;
+
+    @Param({"5"})
+    public int statementsPerMapper;
+
+    private Path workspace;
+    private RuleContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workspace = CorpusFiles.createTempDirectory("mapper");
+        Path mapperDir = MapperCorpus.generate(workspace.resolve("src/main/resources/mapper"), mapperCount, statementsPerMapper);
+        context = RuleContext.builder()
+                .projectRoot(workspace)
+                .workspaceRoot(workspace)
+                .mapperDirs(List.of(mapperDir))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        CorpusFiles.deleteRecursively(workspace);
+    }
+
+    @Benchmark
+    public List<RuleViolation> singleRule() throws Exception {
+        return new NoDollarExpressionRule().check(context);
+    }
+
+    @Benchmark
+    public List<RuleViolation> sqlCriticalGroup() throws Exception {
+        List<MybatisUnitBasedRule> rules = RuleGroups.SQL_CRITICAL.getRules().stream()
+                .filter(MybatisUnitBasedRule.class::isInstance)
+                .map(MybatisUnitBasedRule.class::cast)
+                .toList();
+        return new MybatisRuleDispatcher(rules).check(context);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.corpus.CorpusFiles;
+import com.example.benchmarks.corpus.ViolationCorpus;
+import com.example.rulecore.report.Report;
+import com.example.rulecore.ruleEngine.RuleResult;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포트 생성(JSON 직렬화 + 파일 쓰기) 비용을 위반 건수별로 측정합니다.
+ * - failReport: FAIL 리포트 (위반 목록 전체 직렬화)
+ * - summaryReport: 요약 리포트 (건수 집계 + 규칙별 지표)
+ * 리포트는 임시 디렉토리에 기록되며, 같은 초에 생성된 파일은 덮어씁니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int violationCount;
+
+    private Path outputDir;
+    private Report report;
+    private List<RuleViolation> violations;
+    private RuleResult result;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        outputDir = CorpusFiles.createTempDirectory("report");
+        report = new Report(outputDir);
+        violations = ViolationCorpus.violations(violationCount);
+        result = ViolationCorpus.result(violationCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        CorpusFiles.deleteRecursively(outputDir);
+    }
+
+    @Benchmark
+    public void failReport() {
+        report.createFailReport(violations);
+    }
+
+    @Benchmark
+    public void summaryReport() {
+        report.createSummaryReport(result);
+    }
+}
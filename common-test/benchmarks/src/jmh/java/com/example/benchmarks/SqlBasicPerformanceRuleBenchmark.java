@@ -0,0 +1,83 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.corpus.CorpusFiles;
+import com.example.benchmarks.corpus.SqlCorpus;
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.rules.sql.fail.SqlBasicPerformanceRule;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqlBasicPerformanceRule의 SQL 분석 비용을 SQL 형태별로 측정합니다.
+ * - checkMapper: 해당 SQL 하나를 담은 매퍼 XML에 규칙을 실행 (SAX 파싱 + SqlParseCache 적중 포함)
+ * - parseUncached: 캐시 없이 JSqlParser 파싱만 수행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlBasicPerformanceRuleBenchmark {
+
+    @Param({"SIMPLE", "JOIN", "SCALAR_SUBQUERY", "UNPARSEABLE", "WIDE"})
+    public SqlCorpus.Shape shape;
+
+    private Path workspace;
+    private RuleContext context;
+    private String sql;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sql = SqlCorpus.sql(shape);
+        workspace = CorpusFiles.createTempDirectory("sql");
+        Path mapperDir = Files.createDirectories(workspace.resolve("src/main/resources/mapper"));
+        Files.writeString(mapperDir.resolve("ShapeMapper.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE mapper PUBLIC "-//mybatis.org//DTD Mapper 3.0//EN" "http://mybatis.org/dtd/mybatis-3-mapper.dtd">
+                <mapper namespace="com.example.bench.mapper.ShapeMapper">
+                    <select id="find"><![CDATA[
+                %s
+                    ]]></select>
+                </mapper>
+                """.formatted(sql));
+        context = RuleContext.builder()
+                .projectRoot(workspace)
+                .workspaceRoot(workspace)
+                .mapperDirs(List.of(mapperDir))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        CorpusFiles.deleteRecursively(workspace);
+    }
+
+    @Benchmark
+    public List<RuleViolation> checkMapper() throws Exception {
+        return new SqlBasicPerformanceRule().check(context);
+    }
+
+    @Benchmark
+    public Statement parseUncached() {
+        try {
+            return CCJSqlParserUtil.parse(sql);
+        } catch (JSQLParserException e) {
+            return null;
+        }
+    }
+}
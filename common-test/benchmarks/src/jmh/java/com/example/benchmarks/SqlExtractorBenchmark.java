@@ -0,0 +1,68 @@
+package com.example.benchmarks;
+
+import com.example.benchmarks.corpus.NestedSqlCorpus;
+import com.example.sqlanalyzer.core.CompiledSql;
+import com.example.sqlanalyzer.core.SqlExtractor;
+import com.example.sqlanalyzer.core.SqlSnippetRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * include/choose가 중첩된 쿼리에 대한 SqlExtractor.buildFakeSql 비용을 중첩 깊이별로 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlExtractorBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int depth;
+
+    private NestedSqlCorpus corpus;
+    private SqlSnippetRegistry sharedRegistry;
+    private CompiledSql compiledStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        corpus = NestedSqlCorpus.generate(depth);
+        sharedRegistry = SqlSnippetRegistry.fromXml(corpus.sqlSnippetRegistry());
+        compiledStatement = CompiledSql.compile(corpus.statement());
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation") // 비교 기준: 호출마다 레지스트리를 새로 만드는 Map 기반 API
+    public String buildFakeSqlForExplain() {
+        return SqlExtractor.buildFakeSql(corpus.statement(), true, NestedSqlCorpus.NAMESPACE, corpus.sqlSnippetRegistry());
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation") // 비교 기준: 호출마다 레지스트리를 새로 만드는 Map 기반 API
+    public String buildFakeSqlForPrompt() {
+        return SqlExtractor.buildFakeSql(corpus.statement(), false, NestedSqlCorpus.NAMESPACE, corpus.sqlSnippetRegistry());
+    }
+
+    /**
+     * 레지스트리를 재사용하는 경우 (조각 파싱과 include 확장 결과가 메모이제이션됨)
+     */
+    @Benchmark
+    public String buildFakeSqlWithSharedRegistry() {
+        return SqlExtractor.buildFakeSql(corpus.statement(), true, NestedSqlCorpus.NAMESPACE, sharedRegistry);
+    }
+
+    /**
+     * 미리 컴파일한 구문을 렌더링하는 경우 (DOM 순회 및 정규식 치환 없음)
+     */
+    @Benchmark
+    public String renderCompiledForPrompt() {
+        return compiledStatement.render(false, NestedSqlCorpus.NAMESPACE, sharedRegistry);
+    }
+}
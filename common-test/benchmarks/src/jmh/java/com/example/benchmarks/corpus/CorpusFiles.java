@@ -0,0 +1,28 @@
+package com.example.benchmarks.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크 코퍼스용 임시 디렉토리 생성/정리 유틸리티입니다.
+ */
+public final class CorpusFiles {
+
+    private CorpusFiles() {}
+
+    public static Path createTempDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory("rule-bench-" + prefix);
+    }
+
+    public static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.benchmarks.corpus;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ArchUnit 임포트 벤치마크용 Java 프로젝트를 생성합니다.
+ * projectRoot/src/main/java 에 소스를 만들고 projectRoot/build/classes/java/main 으로 컴파일하므로
+ * ArchUnitBasedRule의 전수 검증 경로(빌드 결과물 디렉토리 임포트)를 그대로 탈 수 있습니다.
+ */
+public final class JavaClassCorpus {
+
+    public static final String BASE_PACKAGE = "com.example.bench.app";
+
+    private JavaClassCorpus() {}
+
+    /**
+     * @param projectRoot 생성할 프로젝트 루트
+     * @param classCount 생성할 클래스 수 (일부 클래스는 System.out, catch(Exception) 위반을 포함)
+     * @return 컴파일된 클래스 루트 (build/classes/java/main)
+     */
+    public static Path generate(Path projectRoot, int classCount) throws IOException {
+        Path sourceRoot = projectRoot.resolve("src/main/java");
+        Path classRoot = Files.createDirectories(projectRoot.resolve("build/classes/java/main"));
+
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < classCount; i++) {
+            String packageName = BASE_PACKAGE + ".module" + (i / 50);
+            Path dir = Files.createDirectories(sourceRoot.resolve(packageName.replace('.', '/')));
+            Path source = dir.resolve("Service" + i + ".java");
+            Files.writeString(source, classSource(packageName, i));
+            sources.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("JDK(javac)가 필요합니다. JRE에서는 코퍼스를 컴파일할 수 없습니다.");
+        }
+        List<String> args = new ArrayList<>(List.of("-g", "-d", classRoot.toString()));
+        args.addAll(sources);
+        int exitCode = compiler.run(null, null, null, args.toArray(String[]::new));
+        if (exitCode != 0) {
+            throw new IllegalStateException("코퍼스 컴파일 실패 (exit code " + exitCode + ")");
+        }
+        return classRoot;
+    }
+
+    private static String classSource(String packageName, int index) {
+        String body = switch (index % 4) {
+            case 0 -> """
+                        public String handle(String input) {
+                            System.out.println("handle " + input);
+                            return input.trim();
+                        }
+                    """;
+            case 1 -> """
+                        public int handle(String input) {
+                            try {
+                                return Integer.parseInt(input);
+                            } catch (Exception e) {
+                                return -1;
+                            }
+                        }
+                    """;
+            default -> """
+                        private final java.util.List<String> values = new java.util.ArrayList<>();
+
+                        public void handle(String input) {
+                            values.add(input);
+                        }
+
+                        public int size() {
+                            return values.size();
+                        }
+                    """;
+        };
+        return """
+                package %s;
+
+                public class Service%d {
+                %s
+                }
+                """.formatted(packageName, index, body);
+    }
+}
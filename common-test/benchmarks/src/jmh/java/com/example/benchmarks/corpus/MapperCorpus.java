@@ -0,0 +1,116 @@
+package com.example.benchmarks.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 벤치마크용 MyBatis 매퍼 XML 코퍼스를 생성합니다.
+ * 실제 매퍼와 비슷하도록 동적 태그(where/if/choose/foreach/include), CDATA, 위반 패턴(${}, SELECT *)을 섞어서 만듭니다.
+ * 같은 인자로 생성하면 항상 같은 내용이 만들어집니다.
+ */
+public final class MapperCorpus {
+
+    private MapperCorpus() {}
+
+    /**
+     * 매퍼 디렉토리에 mapperCount개의 매퍼 XML을 생성합니다.
+     *
+     * @param mapperDir 생성할 디렉토리
+     * @param mapperCount 매퍼 파일 수
+     * @param statementsPerMapper 매퍼당 쿼리(select/update) 수
+     * @return 생성된 매퍼 디렉토리
+     */
+    public static Path generate(Path mapperDir, int mapperCount, int statementsPerMapper) throws IOException {
+        Files.createDirectories(mapperDir);
+        for (int i = 0; i < mapperCount; i++) {
+            // 한 디렉토리에 파일이 몰리지 않도록 100개 단위로 하위 디렉토리 분리
+            Path dir = Files.createDirectories(mapperDir.resolve("group" + (i / 100)));
+            Files.writeString(dir.resolve("Mapper" + i + ".xml"), mapperXml(i, statementsPerMapper));
+        }
+        return mapperDir;
+    }
+
+    /**
+     * 매퍼 하나의 XML 문자열을 생성합니다.
+     */
+    public static String mapperXml(int index, int statementCount) {
+        String namespace = namespace(index);
+        StringBuilder xml = new StringBuilder();
+        xml.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE mapper PUBLIC "-//mybatis.org//DTD Mapper 3.0//EN" "http://mybatis.org/dtd/mybatis-3-mapper.dtd">
+                <mapper namespace="%s">
+                    <sql id="baseColumns">
+                        order_id, customer_id, status, created_at
+                    </sql>
+                """.formatted(namespace));
+
+        for (int s = 0; s < statementCount; s++) {
+            switch (s % 5) {
+                case 0 -> xml.append("""
+                            <select id="find%d" resultType="map">
+                                SELECT <include refid="baseColumns"/>
+                                FROM orders
+                                <where>
+                                    <if test="status != null and status != ''">
+                                        AND status = #{status}
+                                    </if>
+                                    <if test="customerId != null">
+                                        AND customer_id = #{customerId}
+                                    </if>
+                                </where>
+                            </select>
+                        """.formatted(s));
+                case 1 -> xml.append("""
+                            <select id="search%d" resultType="map">
+                                SELECT * FROM orders
+                                WHERE order_id IN
+                                <foreach collection="ids" item="id" open="(" separator="," close=")">
+                                    #{id}
+                                </foreach>
+                                ORDER BY ${sortColumn}
+                            </select>
+                        """.formatted(s));
+                case 2 -> xml.append("""
+                            <select id="summary%d" resultType="map">
+                                SELECT o.order_id,
+                                       (SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.order_id) AS item_count
+                                FROM orders o
+                                <choose>
+                                    <when test="type == 'recent'">
+                                        WHERE o.created_at &gt; #{from}
+                                    </when>
+                                    <otherwise>
+                                        WHERE o.status = 'OPEN'
+                                    </otherwise>
+                                </choose>
+                            </select>
+                        """.formatted(s));
+                case 3 -> xml.append("""
+                            <select id="range%d" resultType="map">
+                                <![CDATA[
+                                SELECT order_id, amount FROM orders WHERE amount >= #{min} AND amount < #{max}
+                                ]]>
+                            </select>
+                        """.formatted(s));
+                default -> xml.append("""
+                            <update id="update%d">
+                                UPDATE orders
+                                <set>
+                                    <if test="status != null">status = #{status},</if>
+                                    <if test="amount != null">amount = #{amount},</if>
+                                </set>
+                                WHERE order_id = #{orderId}
+                            </update>
+                        """.formatted(s));
+            }
+        }
+        xml.append("</mapper>\n");
+        return xml.toString();
+    }
+
+    public static String namespace(int index) {
+        return "com.example.bench.mapper.Mapper" + index;
+    }
+}
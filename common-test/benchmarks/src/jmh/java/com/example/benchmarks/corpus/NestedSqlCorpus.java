@@ -0,0 +1,65 @@
+package com.example.benchmarks.corpus;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SqlExtractor.buildFakeSql 벤치마크용으로 include/choose가 중첩된 쿼리 노드와 &lt;sql&gt; 조각 레지스트리를 생성합니다.
+ * 깊이 N이면 level0 → level1 → ... → levelN 순서로 include가 이어지고, 각 단계마다 choose/where/if가 포함됩니다.
+ */
+public final class NestedSqlCorpus {
+
+    public static final String NAMESPACE = "com.example.bench.mapper.NestedMapper";
+
+    private final Node statement;
+    private final Map<String, String> sqlSnippetRegistry;
+
+    private NestedSqlCorpus(Node statement, Map<String, String> sqlSnippetRegistry) {
+        this.statement = statement;
+        this.sqlSnippetRegistry = sqlSnippetRegistry;
+    }
+
+    public static NestedSqlCorpus generate(int depth) throws Exception {
+        Map<String, String> registry = new HashMap<>();
+        for (int level = 0; level < depth; level++) {
+            String next = level + 1 < depth
+                    ? "<include refid=\"level" + (level + 1) + "\"/>"
+                    : "t" + level + ".done = 1";
+            registry.put(NAMESPACE + ".level" + level, """
+                    <sql id="level%1$d">
+                        <choose>
+                            <when test="mode == 'a'">t%1$d.a = #{a%1$d} AND</when>
+                            <when test="mode == 'b'">t%1$d.b = #{b%1$d} AND</when>
+                            <otherwise>t%1$d.c IN <foreach collection="list" item="x">#{x}</foreach> AND</otherwise>
+                        </choose>
+                        <if test="flag%1$d">t%1$d.flag = ${flag%1$d} AND</if>
+                        %2$s
+                    </sql>""".formatted(level, next));
+        }
+
+        String statementXml = """
+                <select id="nested" resultType="map">
+                    SELECT * FROM orders t0
+                    <where>
+                        <include refid="level0"/>
+                    </where>
+                </select>""";
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(statementXml.getBytes(StandardCharsets.UTF_8)));
+        return new NestedSqlCorpus(document.getDocumentElement(), registry);
+    }
+
+    public Node statement() {
+        return statement;
+    }
+
+    public Map<String, String> sqlSnippetRegistry() {
+        return sqlSnippetRegistry;
+    }
+}
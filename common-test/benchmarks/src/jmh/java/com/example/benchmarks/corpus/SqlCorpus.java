@@ -0,0 +1,58 @@
+package com.example.benchmarks.corpus;
+
+/**
+ * 벤치마크용 SQL 문장 코퍼스입니다. 규칙 검사에서 자주 만나는 형태별로 하나씩 제공합니다.
+ */
+public final class SqlCorpus {
+
+    private SqlCorpus() {}
+
+    public enum Shape {
+        /** 단순 조회 */
+        SIMPLE,
+        /** 다중 조인 + 조건 */
+        JOIN,
+        /** SELECT 절 스칼라 서브쿼리 */
+        SCALAR_SUBQUERY,
+        /** 동적 태그가 제거된 뒤 남은, 파싱이 실패하는 SQL (휴리스틱 경로) */
+        UNPARSEABLE,
+        /** 컬럼/조건이 많은 긴 SQL */
+        WIDE
+    }
+
+    public static String sql(Shape shape) {
+        return switch (shape) {
+            case SIMPLE -> "SELECT order_id, status FROM orders WHERE order_id = ?";
+            case JOIN -> """
+                    SELECT o.order_id, c.name, p.title, i.quantity
+                    FROM orders o
+                    JOIN customers c ON c.customer_id = o.customer_id
+                    JOIN order_items i ON i.order_id = o.order_id
+                    LEFT JOIN products p ON p.product_id = i.product_id
+                    WHERE o.status = ? AND c.grade IN (?, ?, ?)
+                    ORDER BY o.created_at DESC
+                    """;
+            case SCALAR_SUBQUERY -> """
+                    SELECT o.order_id,
+                           (SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.order_id) AS item_count,
+                           (SELECT MAX(paid_at) FROM payments p WHERE p.order_id = o.order_id) AS last_paid
+                    FROM orders o WHERE o.customer_id = ?
+                    """;
+            case UNPARSEABLE -> "SELECT * FROM orders WHERE AND status = #{status} ORDER BY ${sortColumn}";
+            case WIDE -> wideSql(60);
+        };
+    }
+
+    private static String wideSql(int columns) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("t.col").append(i);
+        }
+        sql.append(" FROM wide_table t WHERE 1=1");
+        for (int i = 0; i < columns; i++) {
+            sql.append(" AND (t.col").append(i).append(" = ? OR t.col").append(i).append(" IS NULL)");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.benchmarks.corpus;
+
+import com.example.rulecore.ruleEngine.RuleResult;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.ruleEngine.enums.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report 직렬화 벤치마크용 위반 사항 목록을 생성합니다.
+ */
+public final class ViolationCorpus {
+
+    private ViolationCorpus() {}
+
+    public static List<RuleViolation> violations(int count) {
+        List<RuleViolation> violations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String relativePath = "src/main/resources/mapper/group" + (i / 100) + "/Mapper" + i + ".xml";
+            violations.add(new RuleViolation(
+                    i % 3 == 0 ? "SqlBasicPerformanceRule" : "NoDollarExpressionRule",
+                    i % 5 == 0 ? Status.WARN : Status.FAIL,
+                    "SELECT * 사용 금지. (statement #" + i + ")",
+                    "/workspace/project/" + relativePath,
+                    relativePath,
+                    10 + i % 400
+            ));
+        }
+        return violations;
+    }
+
+    public static RuleResult result(int count) {
+        return new RuleResult(violations(count), 1234L);
+    }
+}
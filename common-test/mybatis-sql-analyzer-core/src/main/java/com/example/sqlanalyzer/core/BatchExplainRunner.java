@@ -0,0 +1,242 @@
+package com.example.sqlanalyzer.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 매퍼 카탈로그의 구문들을 일괄로 EXPLAIN 하여 실행 계획({@link ExplainPlan})을 파일(JSONL)에 스트리밍으로 기록합니다.
+ * - 동시 실행 수(parallelism)만큼의 작업 스레드가 각자 커넥션 하나를 유지하며 구문을 순서대로 가져가 처리
+ * - 결과는 한 건씩 바로 파일에 기록하므로 구문 수와 관계없이 메모리 사용량이 일정
+ * - 개별 구문의 실패는 결과 파일에 FAILED로 기록하고 나머지 구문의 분석은 계속 진행
+ */
+@Slf4j
+public class BatchExplainRunner {
+
+    /** SELECT 구문만 분석 (기본값) */
+    public static final Predicate<MapperStatement> SELECT_ONLY = statement -> "select".equals(statement.tagName());
+
+    private final DataSource dataSource;
+    private final int parallelism;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Path planBaselineFile;
+    private PlanRegressionDetector planRegressionDetector;
+
+    /**
+     * @param dataSource EXPLAIN 실행용 커넥션 공급원
+     * @param parallelism 동시에 사용할 커넥션(작업 스레드) 수
+     */
+    public BatchExplainRunner(DataSource dataSource, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        this.dataSource = dataSource;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 실행 계획 회귀 검사를 사용합니다.
+     * 기준 파일에 있는 구문은 이번 실행 계획과 비교하여 회귀를 요약에 포함하고, 없는 구문은 이번 실행 계획을 기준으로 기록합니다.
+     * 회귀가 발견된 구문은 기준을 갱신하지 않으므로, 원인이 해결되거나 기준 파일을 지우기 전까지 계속 보고됩니다.
+     *
+     * @param baselineFile 기준 실행 계획 파일 (예: {@link PlanBaseline#DEFAULT_FILE})
+     * @param detector 회귀 판단 기준
+     */
+    public BatchExplainRunner withPlanBaseline(Path baselineFile, PlanRegressionDetector detector) {
+        this.planBaselineFile = baselineFile;
+        this.planRegressionDetector = detector;
+        return this;
+    }
+
+    public BatchExplainSummary run(MapperCatalog catalog, Path outputFile) throws IOException, SQLException, InterruptedException {
+        return run(catalog, outputFile, SELECT_ONLY);
+    }
+
+    /**
+     * 조건에 맞는 구문 전체를 EXPLAIN 합니다.
+     *
+     * @param catalog 분석할 구문이 색인된 매퍼 카탈로그
+     * @param outputFile 결과 파일 (JSONL, 한 줄에 구문 하나)
+     * @param filter 분석 대상 구문 조건
+     */
+    public BatchExplainSummary run(MapperCatalog catalog, Path outputFile, Predicate<MapperStatement> filter) throws IOException, SQLException, InterruptedException {
+        long startNanos = System.nanoTime();
+        List<MapperStatement> statements = catalog.statements().stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(MapperStatement::fqn))
+                .toList();
+        SqlSnippetRegistry sqlSnippetRegistry = catalog.getSqlSnippetRegistry();
+
+        if (outputFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(outputFile.toAbsolutePath().getParent());
+        }
+
+        PlanBaseline baseline = planBaselineFile != null ? PlanBaseline.load(planBaselineFile) : null;
+        List<PlanRegression> regressions = Collections.synchronizedList(new ArrayList<>());
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int workers = Math.max(1, Math.min(parallelism, statements.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "sql-analyzer-explain");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                tasks.add(() -> {
+                    explainAll(statements, next, sqlSnippetRegistry, result -> {
+                        if (!ExplainResult.OK.equals(result.status())) {
+                            failed.incrementAndGet();
+                        } else if (baseline != null) {
+                            regressions.addAll(compareWithBaseline(baseline, result));
+                        }
+                        write(writer, result);
+                    });
+                    return null;
+                });
+            }
+            awaitAll(executor.invokeAll(tasks));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (baseline != null) {
+            baseline.save(planBaselineFile);
+        }
+
+        List<PlanRegression> sortedRegressions = regressions.stream()
+                .sorted(Comparator.comparing(PlanRegression::statementId))
+                .toList();
+        sortedRegressions.forEach(regression -> log.warn("실행 계획 회귀: {}", regression.message()));
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        BatchExplainSummary summary = new BatchExplainSummary(statements.size(), statements.size() - failed.get(), failed.get(),
+                elapsedMillis, outputFile, sortedRegressions);
+        log.info("일괄 EXPLAIN 완료: {}건 (실패 {}건, 실행 계획 회귀 {}건), {}ms",
+                summary.total(), summary.failed(), summary.regressions().size(), summary.elapsedMillis());
+        return summary;
+    }
+
+    private List<PlanRegression> compareWithBaseline(PlanBaseline baseline, ExplainResult result) {
+        ExplainPlan baselinePlan = baseline.get(result.statementId());
+        if (baselinePlan == null) {
+            baseline.put(result.statementId(), result.plan());
+            return List.of();
+        }
+
+        List<PlanRegression> found = planRegressionDetector.compare(result.statementId(), baselinePlan, result.plan());
+        if (found.isEmpty()) {
+            baseline.put(result.statementId(), result.plan());
+        }
+        return found;
+    }
+
+    /**
+     * 작업 스레드 하나가 커넥션 하나로 남은 구문을 차례로 처리합니다.
+     * 커넥션이 끊어지면 새 커넥션으로 교체하여 계속 진행합니다.
+     */
+    private void explainAll(List<MapperStatement> statements, AtomicInteger next, SqlSnippetRegistry sqlSnippetRegistry,
+                            ResultSink sink) throws SQLException, IOException {
+        Connection connection = dataSource.getConnection();
+        try {
+            int index;
+            while ((index = next.getAndIncrement()) < statements.size()) {
+                if (Thread.currentThread().isInterrupted()) return;
+
+                ExplainResult result = explain(connection, statements.get(index), sqlSnippetRegistry);
+                sink.accept(result);
+
+                if (!ExplainResult.OK.equals(result.status()) && !isValid(connection)) {
+                    closeQuietly(connection);
+                    connection = dataSource.getConnection();
+                }
+            }
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private ExplainResult explain(Connection connection, MapperStatement statement, SqlSnippetRegistry sqlSnippetRegistry) {
+        long startNanos = System.nanoTime();
+        String fakeSql = null;
+        try {
+            fakeSql = statement.compiledSql().render(true, statement.namespace(), sqlSnippetRegistry);
+            ExplainPlan plan = JdbcAnalyzer.getExplainPlan(connection, fakeSql);
+            return result(statement, ExplainResult.OK, fakeSql, plan, null, startNanos);
+        } catch (SQLException | RuntimeException e) {
+            return result(statement, ExplainResult.FAILED, fakeSql, null, e.getMessage(), startNanos);
+        }
+    }
+
+    private static ExplainResult result(MapperStatement statement, String status, String fakeSql, ExplainPlan plan, String error, long startNanos) {
+        return new ExplainResult(statement.fqn(), statement.mapperFile().toString(), statement.lineNumber(),
+                status, fakeSql != null ? fakeSql.trim() : null, plan, error, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void write(Writer writer, ExplainResult result) throws IOException {
+        String line = objectMapper.writeValueAsString(result);
+        synchronized (writer) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    private static void awaitAll(List<Future<Void>> futures) throws IOException, SQLException, InterruptedException {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // 결과 파일 기록 실패나 커넥션 획득 실패는 전체 실행을 중단
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException io) throw io;
+                if (cause instanceof SQLException sql) throw sql;
+                if (cause instanceof RuntimeException re) throw re;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 이미 끊어진 커넥션
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultSink {
+        void accept(ExplainResult result) throws IOException;
+    }
+}
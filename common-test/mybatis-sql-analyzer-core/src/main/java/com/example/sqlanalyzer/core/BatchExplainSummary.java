@@ -0,0 +1,17 @@
+package com.example.sqlanalyzer.core;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 일괄 EXPLAIN 실행 요약입니다.
+ *
+ * @param total 분석한 구문 수
+ * @param succeeded EXPLAIN에 성공한 구문 수
+ * @param failed EXPLAIN에 실패한 구문 수
+ * @param elapsedMillis 전체 소요 시간
+ * @param outputFile 결과 파일 (JSONL)
+ * @param regressions 기준 대비 실행 계획 회귀 (회귀 검사를 사용하지 않으면 빈 목록)
+ */
+public record BatchExplainSummary(int total, int succeeded, int failed, long elapsedMillis, Path outputFile, List<PlanRegression> regressions) {
+}
@@ -0,0 +1,288 @@
+package com.example.sqlanalyzer.core;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * MyBatis 동적 쿼리를 한 번 컴파일해 둔 중간 표현(IR)입니다.
+ * 텍스트의 #{}/${} 치환, trim 접두어 목록 분리 등 정규식 작업은 컴파일 시 한 번만 수행하고,
+ * 렌더링은 불변 트리를 순회하며 하나의 StringBuilder에 바로 기록합니다.
+ * 렌더링 결과는 {@link SqlExtractor#buildFakeSql}과 동일하며, 컴파일된 트리는 여러 스레드에서 공유할 수 있습니다.
+ */
+public final class CompiledSql {
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("[#$]\\{[^}]+\\}");
+
+    private final List<SqlNode> children;
+
+    private CompiledSql(List<SqlNode> children) {
+        this.children = children;
+    }
+
+    /**
+     * 구문 노드(select/insert/update/delete/sql)의 하위 노드들을 컴파일합니다.
+     */
+    public static CompiledSql compile(Node statement) {
+        return new CompiledSql(compileChildren(statement));
+    }
+
+    /**
+     * 가짜 SQL을 렌더링합니다.
+     *
+     * @param isForExplain explain용 여부 (true면 choose에서 하나의 분기만 선택)
+     * @param currentNamespace 상대 refid 해석 기준 namespace
+     * @param sqlSnippetRegistry include 확장에 사용할 조각 레지스트리
+     */
+    public String render(boolean isForExplain, String currentNamespace, SqlSnippetRegistry sqlSnippetRegistry) {
+        StringBuilder out = new StringBuilder();
+        renderTo(out, isForExplain, currentNamespace, sqlSnippetRegistry);
+        return out.toString();
+    }
+
+    /**
+     * 가짜 SQL을 주어진 StringBuilder 뒤에 이어서 렌더링합니다.
+     */
+    public void renderTo(StringBuilder out, boolean isForExplain, String currentNamespace, SqlSnippetRegistry sqlSnippetRegistry) {
+        renderAll(children, out, new RenderContext(isForExplain, currentNamespace, sqlSnippetRegistry));
+    }
+
+    private static List<SqlNode> compileChildren(Node parent) {
+        NodeList childNodes = parent.getChildNodes();
+        List<SqlNode> compiled = new ArrayList<>(childNodes.getLength());
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            SqlNode node = compileNode(childNodes.item(i));
+            if (node != null) compiled.add(node);
+        }
+        return List.copyOf(compiled);
+    }
+
+    private static SqlNode compileNode(Node child) {
+        // 1. 텍스트 노드 및 CDATA 처리
+        if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+            String text = child.getNodeValue();
+            // #{} 와 ${} 를 ? 로 치환
+            return text != null ? new Fragment(PARAMETER_PATTERN.matcher(text).replaceAll("?") + " ") : null;
+        }
+        if (child.getNodeType() != Node.ELEMENT_NODE) {
+            return null;
+        }
+
+        // 2. 엘리먼트 노드(MyBatis 태그) 처리
+        Element element = (Element) child;
+        return switch (element.getNodeName().toLowerCase()) {
+            case "where" -> new Where(compileChildren(element));
+            case "set" -> new SetClause(compileChildren(element));
+            case "foreach" -> new Fragment(" ( ? ) ");
+            case "choose" -> compileChoose(element);
+            case "if", "when", "otherwise" -> new Group(compileChildren(element), true);
+            case "trim" -> compileTrim(element);
+            case "bind" -> null;
+            case "include" -> new Include(element.getAttribute("refid"));
+            default -> new Group(compileChildren(element), false);
+        };
+    }
+
+    private static SqlNode compileChoose(Element choose) {
+        // explain용: 첫 번째 when, otherwise가 있으면 otherwise 선택
+        List<SqlNode> children = compileChildren(choose);
+        SqlNode explainBranch = null;
+        NodeList chooseChildren = choose.getChildNodes();
+        for (int j = 0; j < chooseChildren.getLength(); j++) {
+            Node c = chooseChildren.item(j);
+            if (c.getNodeType() != Node.ELEMENT_NODE) continue;
+            if ("when".equalsIgnoreCase(c.getNodeName())) {
+                if (explainBranch == null) explainBranch = compileNode(c);
+            } else if ("otherwise".equalsIgnoreCase(c.getNodeName())) {
+                explainBranch = compileNode(c);
+                break;
+            }
+        }
+        return new Choose(children, explainBranch);
+    }
+
+    private static SqlNode compileTrim(Element trim) {
+        String prefixOverrides = trim.getAttribute("prefixOverrides");
+        List<String> overrides = new ArrayList<>();
+        if (!prefixOverrides.isEmpty()) {
+            for (String ov : prefixOverrides.split("\\|")) {
+                overrides.add(ov.trim());
+            }
+        }
+        return new Trim(" " + trim.getAttribute("prefix") + " ", List.copyOf(overrides), compileChildren(trim));
+    }
+
+    private static void renderAll(List<SqlNode> nodes, StringBuilder out, RenderContext context) {
+        for (SqlNode node : nodes) {
+            node.render(out, context);
+        }
+    }
+
+    private record RenderContext(boolean isForExplain, String currentNamespace, SqlSnippetRegistry sqlSnippetRegistry) {
+    }
+
+    private sealed interface SqlNode permits Fragment, Group, Where, SetClause, Trim, Choose, Include {
+        void render(StringBuilder out, RenderContext context);
+    }
+
+    /** 치환이 끝난 텍스트 또는 고정 문자열 */
+    private record Fragment(String sql) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            out.append(sql);
+        }
+    }
+
+    /** if/when/otherwise(앞뒤 공백 포함) 및 그 외 태그(하위 노드만 출력) */
+    private record Group(List<SqlNode> children, boolean padded) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            if (padded) out.append(' ');
+            renderAll(children, out, context);
+            if (padded) out.append(' ');
+        }
+    }
+
+    /** WHERE 1=1 AND ( ... ), 앞부분의 AND나 OR 제거 (JSqlParser 에러 방지용) */
+    private record Where(List<SqlNode> children) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            out.append(" WHERE 1=1 ");
+            int start = out.length();
+            renderAll(children, out, context);
+
+            int end = trimEnd(out, start);
+            int contentStart = trimStart(out, start, end);
+            int keywordEnd = matchKeyword(out, contentStart, end, "and");
+            if (keywordEnd < 0) keywordEnd = matchKeyword(out, contentStart, end, "or");
+            if (keywordEnd >= 0) contentStart = skipWhitespace(out, keywordEnd, end);
+
+            out.setLength(end);
+            if (contentStart == end) {
+                out.setLength(start);
+                return;
+            }
+            out.delete(start, contentStart);
+            out.insert(start, " AND ( ");
+            out.append(" ) ");
+        }
+    }
+
+    /** SET ..., 마지막 쉼표 제거 */
+    private record SetClause(List<SqlNode> children) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            out.append(" SET ");
+            int start = out.length();
+            renderAll(children, out, context);
+
+            int end = trimEnd(out, start);
+            int contentStart = trimStart(out, start, end);
+            if (end > contentStart && out.charAt(end - 1) == ',') end--;
+
+            out.setLength(end);
+            out.delete(start, contentStart);
+            out.append(' ');
+        }
+    }
+
+    /** prefix + prefixOverrides 적용 (suffix 계열 속성은 기존과 동일하게 무시) */
+    private record Trim(String paddedPrefix, List<String> prefixOverrides, List<SqlNode> children) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            int start = out.length();
+            renderAll(children, out, context);
+
+            int end = trimEnd(out, start);
+            int contentStart = trimStart(out, start, end);
+            for (String override : prefixOverrides) {
+                int overrideEnd = matchKeyword(out, contentStart, end, override);
+                if (overrideEnd >= 0) contentStart = skipWhitespace(out, overrideEnd, end);
+            }
+
+            out.setLength(end);
+            out.delete(start, contentStart);
+            out.insert(start, paddedPrefix);
+            out.append(' ');
+        }
+    }
+
+    /** explain용이면 선택된 분기만, 아니면 모든 분기를 출력 */
+    private record Choose(List<SqlNode> children, SqlNode explainBranch) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            if (context.isForExplain()) {
+                if (explainBranch != null) explainBranch.render(out, context);
+                return;
+            }
+            out.append(' ');
+            renderAll(children, out, context);
+            out.append(' ');
+        }
+    }
+
+    /** &lt;sql&gt; 조각 확장 (확장 결과는 레지스트리에서 메모이제이션) */
+    private record Include(String refid) implements SqlNode {
+        @Override
+        public void render(StringBuilder out, RenderContext context) {
+            String fqn = refid.contains(".") ? refid : context.currentNamespace() + "." + refid;
+            try {
+                String expanded = context.sqlSnippetRegistry().expand(fqn, context.isForExplain(), context.currentNamespace());
+                if (expanded != null) {
+                    out.append(' ').append(expanded).append(' ');
+                } else {
+                    out.append(" /* MISSING_INCLUDE: ").append(fqn).append(" */ ");
+                }
+            } catch (IllegalArgumentException e) {
+                out.append(" /* ERROR_PARSING_INCLUDE: ").append(fqn).append(" */ ");
+            }
+        }
+    }
+
+    // String.trim()과 같은 기준(공백 이하 문자)으로 앞뒤를 잘라냄
+    private static int trimEnd(StringBuilder out, int start) {
+        int end = out.length();
+        while (end > start && out.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    private static int trimStart(StringBuilder out, int start, int end) {
+        while (start < end && out.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    /**
+     * 정규식 (?i)^keyword\s+ 와 같은 검사입니다. (ASCII 범위에서만 대소문자 무시)
+     *
+     * @return 일치하면 keyword 직후 위치, 아니면 -1
+     */
+    private static int matchKeyword(StringBuilder out, int start, int end, String keyword) {
+        int keywordEnd = start + keyword.length();
+        if (keywordEnd >= end) return -1;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!equalsIgnoreAsciiCase(out.charAt(start + i), keyword.charAt(i))) return -1;
+        }
+        return isRegexWhitespace(out.charAt(keywordEnd)) ? keywordEnd : -1;
+    }
+
+    private static int skipWhitespace(StringBuilder out, int start, int end) {
+        while (start < end && isRegexWhitespace(out.charAt(start))) start++;
+        return start;
+    }
+
+    private static boolean equalsIgnoreAsciiCase(char a, char b) {
+        if (a == b) return true;
+        if (a >= 'A' && a <= 'Z') a = (char) (a + ('a' - 'A'));
+        if (b >= 'A' && b <= 'Z') b = (char) (b + ('a' - 'A'));
+        return a == b && a >= 'a' && a <= 'z';
+    }
+
+    // 정규식 \s 와 동일한 문자 집합
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
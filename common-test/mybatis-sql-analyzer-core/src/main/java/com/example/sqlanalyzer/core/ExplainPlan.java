@@ -0,0 +1,67 @@
+package com.example.sqlanalyzer.core;
+
+import java.util.List;
+
+/**
+ * EXPLAIN 결과를 분석 가능한 형태로 옮긴 실행 계획 모델입니다.
+ * MySQL/MariaDB는 EXPLAIN FORMAT=JSON, H2는 PLAN 텍스트, 그 외 DB는 표 형식(EXPLAIN 결과 컬럼)에서 생성합니다.
+ *
+ * @param format 원본 형식 (JSON, H2, TABULAR)
+ * @param raw 원본 EXPLAIN 결과
+ * @param nodes 테이블 접근 단위 실행 계획 (조인 순서)
+ */
+public record ExplainPlan(String format, String raw, List<PlanNode> nodes) {
+
+    public static final String FORMAT_JSON = "JSON";
+    public static final String FORMAT_H2 = "H2";
+    public static final String FORMAT_TABULAR = "TABULAR";
+
+    /** 테이블 전체 스캔(access type ALL)이 포함되어 있는지 */
+    public boolean hasFullScan() {
+        return nodes.stream().anyMatch(PlanNode::scansFullTable);
+    }
+
+    /** 인덱스를 사용하지 않는 정렬(filesort)이 포함되어 있는지 */
+    public boolean hasFilesort() {
+        return nodes.stream().anyMatch(PlanNode::usingFilesort);
+    }
+
+    /** 임시 테이블 사용이 포함되어 있는지 */
+    public boolean hasTemporary() {
+        return nodes.stream().anyMatch(PlanNode::usingTemporary);
+    }
+
+    /**
+     * 테이블 접근 단위 실행 계획입니다. DB가 제공하지 않는 값은 null입니다.
+     *
+     * @param table 테이블명 (별칭이 있으면 별칭)
+     * @param accessType 접근 방식 (ALL, index, range, ref, eq_ref, const 등)
+     * @param possibleKeys 사용 가능한 인덱스
+     * @param key 실제 사용한 인덱스
+     * @param rows 예상 조회 행 수
+     * @param filtered 조건으로 걸러지고 남는 행 비율(%)
+     * @param usingFilesort filesort 사용 여부
+     * @param usingTemporary 임시 테이블 사용 여부
+     * @param extra 부가 정보 (Using where, Using index 등)
+     */
+    public record PlanNode(
+            String table,
+            String accessType,
+            List<String> possibleKeys,
+            String key,
+            Long rows,
+            Double filtered,
+            boolean usingFilesort,
+            boolean usingTemporary,
+            List<String> extra
+    ) {
+        public boolean scansFullTable() {
+            return "ALL".equalsIgnoreCase(accessType);
+        }
+
+        PlanNode withSortFlags(boolean filesort, boolean temporary) {
+            return new PlanNode(table, accessType, possibleKeys, key, rows, filtered,
+                    usingFilesort || filesort, usingTemporary || temporary, extra);
+        }
+    }
+}
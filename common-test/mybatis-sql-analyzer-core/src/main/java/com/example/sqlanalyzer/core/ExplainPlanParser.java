@@ -0,0 +1,188 @@
+package com.example.sqlanalyzer.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DB별 EXPLAIN 결과를 {@link ExplainPlan}으로 변환합니다.
+ */
+final class ExplainPlanParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // H2 PLAN: FROM "PUBLIC"."PAYMENTS" "P" /* PUBLIC.PAYMENTS_AMOUNT_IDX: AMOUNT > ?1 */
+    private static final Pattern H2_TABLE_PATTERN = Pattern.compile(
+            "(?:FROM|JOIN)\\s+\"[^\"]+\"\\.\"([^\"]+)\"(?:\\s+\"([^\"]+)\")?\\s*/\\*\\s*(.*?)\\s*\\*/", Pattern.DOTALL);
+
+    private static final Pattern H2_ORDER_BY_PATTERN = Pattern.compile("(?m)^\\s*ORDER BY\\b");
+    private static final Pattern H2_GROUP_BY_PATTERN = Pattern.compile("(?m)^\\s*GROUP BY\\b");
+
+    private ExplainPlanParser() {}
+
+    /**
+     * MySQL/MariaDB의 EXPLAIN FORMAT=JSON 결과를 변환합니다.
+     * filesort/임시 테이블은 해당 연산 아래에서 처음 접근하는 테이블에 표시합니다. (표 형식 EXPLAIN의 Extra와 동일)
+     */
+    static ExplainPlan parseJson(String json) throws JsonProcessingException {
+        List<ExplainPlan.PlanNode> nodes = new ArrayList<>();
+        visitJson(OBJECT_MAPPER.readTree(json), nodes);
+        return new ExplainPlan(ExplainPlan.FORMAT_JSON, json, List.copyOf(nodes));
+    }
+
+    private static void visitJson(JsonNode node, List<ExplainPlan.PlanNode> nodes) {
+        if (node.isArray()) {
+            node.forEach(child -> visitJson(child, nodes));
+            return;
+        }
+        if (!node.isObject()) return;
+
+        int firstTable = nodes.size();
+        // MySQL: ordering_operation/grouping_operation의 using_filesort, using_temporary_table
+        boolean filesort = node.path("using_filesort").asBoolean(false);
+        boolean temporary = node.path("using_temporary_table").asBoolean(false);
+
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            JsonNode value = field.getValue();
+            int before = nodes.size();
+            if ("table".equals(field.getKey()) && value.has("table_name")) {
+                nodes.add(jsonTable(value));
+            }
+            visitJson(value, nodes);
+
+            // MariaDB: filesort, temporary_table 객체로 감싸서 표현
+            boolean mariaFilesort = "filesort".equals(field.getKey());
+            boolean mariaTemporary = "temporary_table".equals(field.getKey());
+            if ((mariaFilesort || mariaTemporary) && nodes.size() > before) {
+                nodes.set(before, nodes.get(before).withSortFlags(mariaFilesort, mariaTemporary));
+            }
+        }
+
+        if ((filesort || temporary) && nodes.size() > firstTable) {
+            nodes.set(firstTable, nodes.get(firstTable).withSortFlags(filesort, temporary));
+        }
+    }
+
+    private static ExplainPlan.PlanNode jsonTable(JsonNode table) {
+        List<String> possibleKeys = new ArrayList<>();
+        table.path("possible_keys").forEach(key -> possibleKeys.add(key.asText()));
+
+        List<String> extra = new ArrayList<>();
+        if (table.has("attached_condition")) extra.add("Using where");
+        if (table.path("using_index").asBoolean(false)) extra.add("Using index");
+        if (table.has("index_condition")) extra.add("Using index condition");
+
+        // MySQL은 rows_examined_per_scan, MariaDB는 rows
+        JsonNode rows = table.has("rows_examined_per_scan") ? table.get("rows_examined_per_scan") : table.get("rows");
+        return new ExplainPlan.PlanNode(
+                table.path("table_name").asText(),
+                textOrNull(table.get("access_type")),
+                List.copyOf(possibleKeys),
+                textOrNull(table.get("key")),
+                rows != null ? parseLong(rows.asText()) : null,
+                table.has("filtered") ? parseDouble(table.get("filtered").asText()) : null,
+                false,
+                false,
+                List.copyOf(extra)
+        );
+    }
+
+    /**
+     * 표 형식 EXPLAIN 결과(id, select_type, table, type, possible_keys, key, rows, filtered, Extra)를 변환합니다.
+     *
+     * @param rows 컬럼명(소문자) → 값 목록
+     */
+    static ExplainPlan parseTabular(List<Map<String, String>> rows, String raw) {
+        List<ExplainPlan.PlanNode> nodes = new ArrayList<>();
+        for (Map<String, String> row : rows) {
+            List<String> extra = split(row.get("extra"), ";");
+            nodes.add(new ExplainPlan.PlanNode(
+                    row.get("table"),
+                    row.get("type"),
+                    split(row.get("possible_keys"), ","),
+                    row.get("key"),
+                    parseLong(row.get("rows")),
+                    parseDouble(row.get("filtered")),
+                    extra.contains("Using filesort"),
+                    extra.contains("Using temporary"),
+                    extra
+            ));
+        }
+        return new ExplainPlan(ExplainPlan.FORMAT_TABULAR, raw, List.copyOf(nodes));
+    }
+
+    /**
+     * H2의 PLAN 텍스트를 변환합니다. H2는 예상 행 수를 제공하지 않으며, 접근 방식은 주석의 힌트로 판단합니다.
+     * - tableScan → ALL
+     * - 조건 없는 인덱스 → index (인덱스 전체 스캔)
+     * - 동등 조건 인덱스 → ref, 그 외 조건 인덱스 → range
+     * ORDER BY/GROUP BY가 인덱스로 처리되지 않으면(index sorted/group sorted 표시 없음) 첫 테이블에 filesort/임시 테이블로 표시합니다.
+     */
+    static ExplainPlan parseH2(String plan) {
+        List<ExplainPlan.PlanNode> nodes = new ArrayList<>();
+        Matcher matcher = H2_TABLE_PATTERN.matcher(plan);
+        while (matcher.find()) {
+            String table = matcher.group(2) != null ? matcher.group(2) : matcher.group(1);
+            String hint = matcher.group(3);
+
+            String accessType;
+            String key = null;
+            if (hint.endsWith(".tableScan")) {
+                accessType = "ALL";
+            } else {
+                int colon = hint.indexOf(':');
+                String index = colon >= 0 ? hint.substring(0, colon) : hint;
+                key = index.substring(index.lastIndexOf('.') + 1);
+                String condition = colon >= 0 ? hint.substring(colon + 1).trim() : "";
+                if (condition.isEmpty()) {
+                    accessType = "index";
+                } else {
+                    accessType = condition.matches("(?s)[^<>]*=[^<>]*") && !condition.contains("!=") ? "ref" : "range";
+                }
+            }
+            nodes.add(new ExplainPlan.PlanNode(table, accessType, key != null ? List.of(key) : List.of(), key,
+                    null, null, false, false, List.of()));
+        }
+
+        boolean filesort = H2_ORDER_BY_PATTERN.matcher(plan).find() && !plan.contains("/* index sorted */");
+        boolean temporary = H2_GROUP_BY_PATTERN.matcher(plan).find() && !plan.contains("/* group sorted */");
+        if ((filesort || temporary) && !nodes.isEmpty()) {
+            nodes.set(0, nodes.get(0).withSortFlags(filesort, temporary));
+        }
+        return new ExplainPlan(ExplainPlan.FORMAT_H2, plan, List.copyOf(nodes));
+    }
+
+    private static List<String> split(String value, String separator) {
+        if (value == null || value.isBlank()) return List.of();
+        return Arrays.stream(value.split(separator)).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node != null && !node.isNull() ? node.asText() : null;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        if (value == null) return null;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.sqlanalyzer.core;
+
+/**
+ * 일괄 EXPLAIN 결과 한 건입니다. 결과 파일(JSONL)의 한 줄로 기록됩니다.
+ *
+ * @param statementId 구문 FQN (namespace.id)
+ * @param mapperFile 구문이 정의된 매퍼 파일
+ * @param lineNumber 구문 시작 행 번호
+ * @param status 실행 결과 (OK, FAILED)
+ * @param fakeSql EXPLAIN에 사용한 가짜 SQL
+ * @param plan 실행 계획 (원본 EXPLAIN 결과 포함, 실패 시 null)
+ * @param error 실패 사유 (성공 시 null)
+ * @param elapsedMillis 가짜 SQL 생성부터 EXPLAIN 완료까지 걸린 시간
+ */
+public record ExplainResult(
+        String statementId,
+        String mapperFile,
+        int lineNumber,
+        String status,
+        String fakeSql,
+        ExplainPlan plan,
+        String error,
+        long elapsedMillis
+) {
+    public static final String OK = "OK";
+    public static final String FAILED = "FAILED";
+}
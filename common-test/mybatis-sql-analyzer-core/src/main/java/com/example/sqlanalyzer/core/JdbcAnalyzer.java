@@ -1,124 +1,318 @@
 package com.example.sqlanalyzer.core;
 
 import lombok.extern.slf4j.Slf4j;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.util.TablesNamesFinder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.sql.*;
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 public class JdbcAnalyzer {
 
     private JdbcAnalyzer() {}
 
-    // table + index 정보 추출
-    public static StringBuilder getMetaDataInfo(Set<String> tables, DatabaseMetaData metaData) throws SQLException {
-        StringBuilder result = new StringBuilder();
+    // 테이블 추출 시 SQL 파싱 제한 시간 (ms)
+    public static final long DEFAULT_PARSE_TIMEOUT_MILLIS = 2_000;
 
-        // 데이터베이스 정보 저장
-        result.append("==============================\n");
-        result.append("[DATABASE INFO] : ").append("(ProductName)").append(metaData.getDatabaseProductName()).append("\n");
-        result.append("(ProductVersion)").append(metaData.getDatabaseProductVersion()).append("\n");
-        result.append("(DriverName)").append(metaData.getDriverName()).append("\n");
-        result.append("(DriverVersion)").append(metaData.getDriverVersion()).append("\n");
+    // 파싱 시간 초과 시 사용할 테이블명 추출 패턴 (FROM/JOIN/UPDATE/INTO 다음의 식별자)
+    private static final Pattern TABLE_PATTERN = Pattern.compile("(?i)\\b(?:FROM|JOIN|UPDATE|INTO)\\s+([`\"]?[\\w$.]+[`\"]?)");
 
+    // 세션 변수 조회 SQL (PooledConnectionProvider 사용 시 커넥션별로 재사용)
+    static final String SESSION_VARIABLES_SQL = "SHOW VARIABLES WHERE Variable_name IN ('tx_isolation', 'transaction_isolation', 'sql_mode')";
 
+    // 파싱 전용 스레드 풀 (JSqlParser 기본 동작은 파싱마다 스레드를 새로 생성함)
+    private static final ExecutorService PARSER_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sql-analyzer-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-        if (metaData.getDatabaseProductName().equalsIgnoreCase("MariaDB") ||
-                metaData.getDatabaseProductName().equalsIgnoreCase("MySQL")) {
-
-            Connection connection = metaData.getConnection();
-            try (Statement stmt = connection.createStatement();
-                 ResultSet rs = stmt.executeQuery("SHOW VARIABLES WHERE Variable_name IN ('tx_isolation', 'transaction_isolation', 'sql_mode')")) {
-                while (rs.next()) {
-                    result.append(rs.getString("Variable_name")).append(rs.getString("Value"));
-                }
-            }
+    // table + index 정보 추출
+    public static StringBuilder getMetaDataInfo(Set<String> tables, DatabaseMetaData metaData) throws SQLException {
+        StringBuilder result = new StringBuilder();
+        try {
+            writeMetaDataInfo(result, tables, metaData);
+        } catch (IOException e) {
+            // StringBuilder는 IOException을 던지지 않음
+            throw new UncheckedIOException(e);
         }
+        return result;
+    }
 
-        for(String table : tables){
+    // table + index 정보를 문자열로 모으지 않고 바로 기록 (컬럼 수와 관계없이 메모리 사용량 일정)
+    public static void writeMetaDataInfo(Appendable result, Set<String> tables, DatabaseMetaData metaData) throws SQLException, IOException {
+        writeDatabaseInfo(result, metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion(), metaData.getDriverName(), metaData.getDriverVersion(),
+                SchemaSnapshot.readSessionVariables(metaData.getConnection(), metaData.getDatabaseProductName()));
+
+        for (String table : tables) {
             String targetTable = table.toUpperCase();
+            // getColumns/getIndexInfo API 사용 (쿼리 실행 대신), catalog/schema 구분 없이 조회
+            writeTableInfo(result, targetTable, SchemaSnapshot.loadTable(metaData, null, null, targetTable));
+        }
+    }
 
-            result.append("============================\n");
-            result.append("[TABLE INFO] : ").append(targetTable).append("\n");
+    // table + index 정보 추출 (수집해 둔 스키마 스냅샷 사용, DB 왕복 없음)
+    public static StringBuilder getMetaDataInfo(Set<String> tables, SchemaSnapshot snapshot) {
+        StringBuilder result = new StringBuilder();
+        try {
+            writeMetaDataInfo(result, tables, snapshot);
+        } catch (IOException e) {
+            // StringBuilder는 IOException을 던지지 않음
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
 
-            // 2. 테이블 컬럼 정보 추출 (쿼리 실행 대신 getColumns API 사용)
-            try (ResultSet rs = metaData.getColumns(null, null, targetTable, null)) {
-                while (rs.next()) {
-                    String columnName = rs.getString("COLUMN_NAME");
-                    String typeName = rs.getString("TYPE_NAME");
-                    String columnSize = rs.getString("COLUMN_SIZE");
-
-                    result.append(" - ")
-                            .append(columnName)
-                            .append(" (Type: ")
-                            .append(typeName)
-                            .append(", Size: ")
-                            .append(columnSize)
-                            .append(")\n");
-                }
-            }
+    // table + index 정보를 스냅샷에서 읽어 바로 기록 (읽지 않은 인덱스 정보는 생략)
+    public static void writeMetaDataInfo(Appendable result, Set<String> tables, SchemaSnapshot snapshot) throws IOException {
+        writeDatabaseInfo(result, snapshot);
+        for (String table : tables) {
+            String targetTable = table.toUpperCase();
+            writeTableInfo(result, targetTable, snapshot.table(targetTable));
+        }
+    }
 
-            result.append("\n[INDEX INFO] : ").append(targetTable).append("\n");
+    // table + index 정보를 스냅샷에서 읽어 바로 기록 (스냅샷에 없는 테이블과 인덱스 정보는 DB에서 읽어 스냅샷에 보관)
+    public static void writeMetaDataInfo(Appendable result, Set<String> tables, SchemaSnapshot snapshot, DatabaseMetaData metaData) throws SQLException, IOException {
+        writeDatabaseInfo(result, snapshot);
+        for (String table : tables) {
+            String targetTable = table.toUpperCase();
+            writeTableInfo(result, targetTable, snapshot.table(targetTable, metaData));
+        }
+    }
 
-            // 3. 테이블 인덱스 정보 추출 (getIndexInfo API 사용)
-            // 파라미터: catalog, schema, table, unique(false면 모든 인덱스), approximate
-            try (ResultSet rs = metaData.getIndexInfo(null, null, targetTable, false, false)) {
-                while (rs.next()) {
-                    String indexName = rs.getString("INDEX_NAME");
+    private static void writeDatabaseInfo(Appendable result, SchemaSnapshot snapshot) throws IOException {
+        writeDatabaseInfo(result, snapshot.databaseProductName(), snapshot.databaseProductVersion(), snapshot.driverName(), snapshot.driverVersion(),
+                snapshot.sessionVariables());
+    }
 
-                    // 테이블 기본 통계 정보(IndexName이 null)는 건너뜁니다.
-                    if (indexName == null) continue;
+    // 데이터베이스 정보 저장
+    private static void writeDatabaseInfo(Appendable result, String productName, String productVersion, String driverName, String driverVersion,
+                                          String sessionVariables) throws IOException {
+        result.append("==============================\n");
+        result.append("[DATABASE INFO] : ").append("(ProductName)").append(productName).append("\n");
+        result.append("(ProductVersion)").append(productVersion).append("\n");
+        result.append("(DriverName)").append(driverName).append("\n");
+        result.append("(DriverVersion)").append(driverVersion).append("\n");
+        result.append(sessionVariables);
+    }
 
-                    String columnName = rs.getString("COLUMN_NAME");
-                    boolean isUnique = !rs.getBoolean("NON_UNIQUE");
+    // 테이블 컬럼/인덱스 정보 기록 (tableInfo가 null이면 빈 목록)
+    private static void writeTableInfo(Appendable result, String targetTable, SchemaSnapshot.TableInfo tableInfo) throws IOException {
+        result.append("============================\n");
+        result.append("[TABLE INFO] : ").append(targetTable).append("\n");
+        if (tableInfo != null) {
+            for (SchemaSnapshot.ColumnInfo column : tableInfo.columns()) {
+                result.append(" - ")
+                        .append(column.name())
+                        .append(" (Type: ")
+                        .append(column.typeName())
+                        .append(", Size: ")
+                        .append(column.columnSize())
+                        .append(")\n");
+            }
+        }
 
-                    result.append(" - Index: ")
-                            .append(indexName)
-                            .append(", Column: ")
-                            .append(columnName)
-                            .append(", Unique: ")
-                            .append(isUnique)
-                            .append("\n");
-                }
+        result.append("\n[INDEX INFO] : ").append(targetTable).append("\n");
+        if (tableInfo != null && tableInfo.indexes() != null) {
+            for (SchemaSnapshot.IndexInfo index : tableInfo.indexes()) {
+                result.append(" - Index: ")
+                        .append(index.indexName())
+                        .append(", Column: ")
+                        .append(index.columnName())
+                        .append(", Unique: ")
+                        .append(String.valueOf(index.unique()))
+                        .append("\n");
             }
-            result.append("============================\n\n");
         }
-        return result;
+        result.append("============================\n\n");
     }
 
     // 해당 쿼리에 사용된 테이블 리스트 추출
     public static Set<String> extractTableMethod(String fakeSql) throws JSQLParserException {
+        return extractTableMethod(fakeSql, DEFAULT_PARSE_TIMEOUT_MILLIS);
+    }
+
+    // 제한 시간 안에 파싱하지 못하면(거대한 IN 목록, 깊은 CASE 중첩 등) 패턴 기반 추출로 대체
+    public static Set<String> extractTableMethod(String fakeSql, long timeoutMillis) throws JSQLParserException {
 
 
         net.sf.jsqlparser.statement.Statement stmt = null;
         TablesNamesFinder tablesNamesFinder = new TablesNamesFinder();
 
         if (fakeSql != null) {
-            stmt = CCJSqlParserUtil.parse(fakeSql);
+            try {
+                stmt = CCJSqlParserUtil.parse(fakeSql, PARSER_EXECUTOR, parser -> parser.withTimeOut(timeoutMillis));
+            } catch (JSQLParserException e) {
+                if (!(e.getCause() instanceof TimeoutException)) {
+                    throw e;
+                }
+                log.warn("SQL 파싱 제한 시간({}ms) 초과, 패턴 기반으로 테이블을 추출합니다.", timeoutMillis);
+                return extractTablesByPattern(fakeSql);
+            }
             return tablesNamesFinder.getTables(stmt);
         }
 
         return Set.of();
     }
 
+    // FROM/JOIN/UPDATE/INTO 다음에 오는 테이블명 추출 (서브쿼리, 콤마 조인의 두 번째 이후 테이블은 제외되는 근사치)
+    static Set<String> extractTablesByPattern(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher matcher = TABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            tables.add(matcher.group(1).replaceAll("[`\"]", ""));
+        }
+        return tables;
+    }
+
+    /**
+     * 실행 계획을 구조화된 모델로 추출합니다.
+     * MySQL/MariaDB는 EXPLAIN FORMAT=JSON을 사용하고, 지원하지 않는 버전이면 표 형식 EXPLAIN으로 대체합니다.
+     * H2는 PLAN 텍스트를, 그 외 DB는 표 형식 EXPLAIN 결과 컬럼을 변환합니다.
+     * EXPLAIN은 PreparedStatement로 실행하므로 {@link PooledConnectionProvider}의 커넥션이면 같은 SQL의 구문을 재사용합니다.
+     * 가짜 SQL의 ? 자리에는 {@link #bindExplainParameters}로 EXPLAIN용 값을 바인딩합니다.
+     */
+    public static ExplainPlan getExplainPlan(Connection connection, String fakeSql) throws SQLException {
+        String productName = connection.getMetaData().getDatabaseProductName();
+        if (productName.equalsIgnoreCase("MariaDB") || productName.equalsIgnoreCase("MySQL")) {
+            try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN FORMAT=JSON " + fakeSql)) {
+                bindExplainParameters(stmt, fakeSql);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return ExplainPlanParser.parseJson(rs.getString(1));
+                    }
+                }
+            } catch (SQLException | JsonProcessingException e) {
+                log.debug("EXPLAIN FORMAT=JSON 실패, 표 형식으로 재시도합니다: {}", e.getMessage());
+            }
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN " + fakeSql)) {
+            bindExplainParameters(stmt, fakeSql);
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                List<Map<String, String>> rows = new ArrayList<>();
+                StringBuilder raw = new StringBuilder();
+                while (rs.next()) {
+                    Map<String, String> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        row.put(metaData.getColumnLabel(i).toLowerCase(), rs.getString(i));
+                    }
+                    rows.add(row);
+                    raw.append(row).append("\n");
+                }
+
+                // H2: PLAN 컬럼 하나로 실행 계획 텍스트 반환
+                if (metaData.getColumnCount() == 1 && "plan".equalsIgnoreCase(metaData.getColumnLabel(1)) && !rows.isEmpty()) {
+                    return ExplainPlanParser.parseH2(rows.get(0).get("plan"));
+                }
+                return ExplainPlanParser.parseTabular(rows, raw.toString());
+            }
+        }
+    }
+
     public static String getExplainInfo(Connection connection, String fakeSql) throws SQLException {
+        StringBuilder result = new StringBuilder();
+        try {
+            writeExplainInfo(result, connection, fakeSql);
+        } catch (IOException e) {
+            // StringBuilder는 IOException을 던지지 않음
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
 
-        ResultSet rs = null;
+    // EXPLAIN 결과(원본 전체)와 테이블 접근 단위 요약을 바로 기록
+    public static void writeExplainInfo(Appendable result, Connection connection, String fakeSql) throws SQLException, IOException {
+        ExplainPlan plan = getExplainPlan(connection, fakeSql);
+        result.append("(").append(plan.format()).append(")\n");
+        result.append(plan.raw()).append("\n");
+        for (ExplainPlan.PlanNode node : plan.nodes()) {
+            result.append(" - Table: ").append(node.table())
+                    .append(", Type: ").append(node.accessType())
+                    .append(", PossibleKeys: ").append(String.valueOf(node.possibleKeys()))
+                    .append(", Key: ").append(node.key())
+                    .append(", Rows: ").append(String.valueOf(node.rows()))
+                    .append(", Filtered: ").append(String.valueOf(node.filtered()))
+                    .append(", Filesort: ").append(String.valueOf(node.usingFilesort()))
+                    .append(", Temporary: ").append(String.valueOf(node.usingTemporary()))
+                    .append(", Extra: ").append(String.valueOf(node.extra()))
+                    .append("\n");
+        }
+    }
+
+    /**
+     * 가짜 SQL의 ? 자리에 EXPLAIN용 대표 값을 바인딩합니다. (MySQL/MariaDB는 값이 없는 파라미터가 있으면 실행을 거부함)
+     * 파라미터 타입을 알 수 있으면 타입에 맞는 값을, 아니면 문자열 '1'을 사용합니다.
+     * 문자열 상수는 숫자 컬럼과 비교해도 인덱스를 사용할 수 있지만, 숫자 상수는 문자열 컬럼의 인덱스를 막으므로 기본값을 문자열로 둡니다.
+     * 드라이버가 파라미터 메타데이터를 제공하지 않으면(MySQL Connector/J 기본 설정 등) SQL의 ? 개수를 직접 셉니다.
+     */
+    static void bindExplainParameters(PreparedStatement stmt, String fakeSql) throws SQLException {
+        ParameterMetaData parameterMetaData;
+        int parameterCount;
+        try {
+            parameterMetaData = stmt.getParameterMetaData();
+            parameterCount = parameterMetaData.getParameterCount();
+        } catch (SQLException e) {
+            parameterMetaData = null;
+            parameterCount = countPlaceholders(fakeSql);
+        }
+        for (int i = 1; i <= parameterCount; i++) {
+            stmt.setObject(i, explainValue(parameterMetaData, i));
+        }
+    }
 
-        try(Statement stmt = connection.createStatement()){
-            String sql = MessageFormat.format("EXPLAIN {0}", fakeSql);
-            rs = stmt.executeQuery(sql);
-            StringBuilder result = new StringBuilder();
-            for(int i = 1; rs.next(); i++){
-                result.append(rs.getString(i));
+    private static Object explainValue(ParameterMetaData parameterMetaData, int index) {
+        int type = Types.VARCHAR;
+        if (parameterMetaData != null) {
+            try {
+                type = parameterMetaData.getParameterType(index);
+            } catch (SQLException e) {
+                // 타입을 알 수 없으면 문자열로 바인딩
             }
+        }
+        return switch (type) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> 1;
+            case Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT, Types.DOUBLE -> BigDecimal.ONE;
+            case Types.BIT, Types.BOOLEAN -> Boolean.TRUE;
+            case Types.DATE -> Date.valueOf("2000-01-01");
+            case Types.TIME -> Time.valueOf("00:00:00");
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> Timestamp.valueOf("2000-01-01 00:00:00");
+            default -> "1";
+        };
+    }
 
-            return result.toString();
-        }finally{
-            if(rs != null) rs.close();
+    // 따옴표('', "", ``) 안을 제외한 ? 개수
+    static int countPlaceholders(String sql) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
         }
+        return count;
     }
 }
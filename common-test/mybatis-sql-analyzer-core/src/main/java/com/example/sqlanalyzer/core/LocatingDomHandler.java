@@ -0,0 +1,111 @@
+package com.example.sqlanalyzer.core;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.ext.DefaultHandler2;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * SAX 이벤트로 DOM을 만들면서 각 엘리먼트에 원본 위치(행/열)를 기록하는 핸들러입니다.
+ * DocumentBuilder로 만든 DOM과 같은 구조(엘리먼트, 텍스트, CDATA, 주석)를 가지므로 buildFakeSql 등에 그대로 사용할 수 있습니다.
+ */
+class LocatingDomHandler extends DefaultHandler2 {
+
+    static final String LINE_NUMBER = "lineNumber";
+    static final String COLUMN_NUMBER = "columnNumber";
+
+    private final Document document;
+    private final Deque<Node> parents = new ArrayDeque<>();
+    private final StringBuilder text = new StringBuilder();
+    private Locator locator;
+    private boolean inCdata;
+    private boolean inDtd;
+
+    LocatingDomHandler(Document document) {
+        this.document = document;
+        this.parents.push(document);
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        flushText();
+        Element element = document.createElement(qName);
+        for (int i = 0; i < attributes.getLength(); i++) {
+            element.setAttribute(attributes.getQName(i), attributes.getValue(i));
+        }
+        if (locator != null) {
+            element.setUserData(LINE_NUMBER, locator.getLineNumber(), null);
+            element.setUserData(COLUMN_NUMBER, locator.getColumnNumber(), null);
+        }
+        parents.peek().appendChild(element);
+        parents.push(element);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        flushText();
+        parents.pop();
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        text.append(ch, start, length);
+    }
+
+    @Override
+    public void startCDATA() {
+        flushText();
+        inCdata = true;
+    }
+
+    @Override
+    public void endCDATA() {
+        flushText();
+        inCdata = false;
+    }
+
+    @Override
+    public void startDTD(String name, String publicId, String systemId) {
+        inDtd = true;
+    }
+
+    @Override
+    public void endDTD() {
+        inDtd = false;
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) {
+        // DTD 내부 주석은 DocumentBuilder와 같이 제외
+        if (inDtd) return;
+        flushText();
+        parents.peek().appendChild(document.createComment(new String(ch, start, length)));
+    }
+
+    private void flushText() {
+        if (text.isEmpty()) return;
+        Node node = inCdata ? document.createCDATASection(text.toString()) : document.createTextNode(text.toString());
+        parents.peek().appendChild(node);
+        text.setLength(0);
+    }
+
+    static int lineNumber(Element element) {
+        Object line = element.getUserData(LINE_NUMBER);
+        return line instanceof Integer value ? value : 0;
+    }
+
+    static int columnNumber(Element element) {
+        Object column = element.getUserData(COLUMN_NUMBER);
+        return column instanceof Integer value ? value : 0;
+    }
+}
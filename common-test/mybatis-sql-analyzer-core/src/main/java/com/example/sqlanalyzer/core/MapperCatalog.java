@@ -0,0 +1,247 @@
+package com.example.sqlanalyzer.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 매퍼 디렉토리의 모든 XML을 한 번씩만 읽어 구문(select/insert/update/delete)과 &lt;sql&gt; 조각을 색인합니다.
+ * - namespace.id(FQN) 또는 id로 O(1) 조회
+ * - 각 구문의 원본 행/열 위치와 컴파일된 동적 쿼리(CompiledSql) 보관
+ * - {@link #refresh()} 시 수정 시각/크기가 바뀐 파일만 다시 파싱 (증분 색인)
+ * queryId 조회마다 매퍼 전체를 DOM으로 다시 파싱하던 getQueryIdDetail/getSqlSnippetRegistry를 대체합니다.
+ */
+@Slf4j
+public class MapperCatalog {
+
+    private static final Set<String> STATEMENT_TAGS = Set.of("select", "insert", "update", "delete");
+
+    private final Path mapperBaseDir;
+    private final Map<Path, IndexedFile> files = new HashMap<>();
+
+    private volatile Map<String, MapperStatement> statementsByFqn = Map.of();
+    private volatile Map<String, List<MapperStatement>> statementsById = Map.of();
+    private volatile Map<String, MapperStatement> snippetsByFqn = Map.of();
+    private volatile SqlSnippetRegistry sqlSnippetRegistry;
+
+    private MapperCatalog(Path mapperBaseDir) {
+        this.mapperBaseDir = mapperBaseDir;
+    }
+
+    /**
+     * 매퍼 디렉토리를 색인한 카탈로그를 생성합니다.
+     */
+    public static MapperCatalog load(Path mapperBaseDir) throws IOException {
+        MapperCatalog catalog = new MapperCatalog(mapperBaseDir);
+        catalog.refresh();
+        return catalog;
+    }
+
+    /**
+     * 추가/수정/삭제된 매퍼 파일만 다시 색인합니다.
+     *
+     * @return 색인이 변경되었으면 true
+     */
+    public synchronized boolean refresh() throws IOException {
+        List<Path> xmlFiles = listXmlFiles();
+        boolean changed = files.keySet().retainAll(new HashSet<>(xmlFiles));
+
+        for (Path xmlFile : xmlFiles) {
+            long lastModified = Files.getLastModifiedTime(xmlFile).toMillis();
+            long size = Files.size(xmlFile);
+            IndexedFile indexed = files.get(xmlFile);
+            if (indexed != null && indexed.lastModified() == lastModified && indexed.size() == size) {
+                continue;
+            }
+
+            files.put(xmlFile, parse(xmlFile, lastModified, size));
+            changed = true;
+        }
+
+        if (changed) {
+            rebuildIndexes();
+        }
+        return changed;
+    }
+
+    /**
+     * namespace.id로 구문을 조회합니다.
+     */
+    public MapperStatement findStatement(String fqn) {
+        return statementsByFqn.get(fqn);
+    }
+
+    /**
+     * id로 구문을 조회합니다. 여러 매퍼에 같은 id가 있으면 모두 반환합니다. (파일 경로 순)
+     */
+    public List<MapperStatement> findStatementsById(String id) {
+        return statementsById.getOrDefault(id, List.of());
+    }
+
+    /**
+     * 특정 매퍼 파일에서 id로 구문을 조회합니다. (SqlExtractor.getQueryIdDetail 대체)
+     */
+    public MapperStatement findStatement(String id, Path mapperFile) {
+        Path normalized = mapperFile.toAbsolutePath().normalize();
+        for (MapperStatement statement : findStatementsById(id)) {
+            if (statement.mapperFile().equals(normalized)) {
+                return statement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * namespace.id로 &lt;sql&gt; 조각을 조회합니다.
+     */
+    public MapperStatement findSnippet(String fqn) {
+        return snippetsByFqn.get(fqn);
+    }
+
+    /**
+     * 색인된 모든 구문(select/insert/update/delete)을 매퍼 파일 경로 순, 파일 내 선언 순으로 반환합니다.
+     */
+    public Collection<MapperStatement> statements() {
+        return statementsByFqn.values();
+    }
+
+    public int statementCount() {
+        return statementsByFqn.size();
+    }
+
+    /**
+     * buildFakeSql에 전달할 &lt;sql&gt; 조각 레지스트리를 반환합니다.
+     * 색인이 바뀌기 전까지 같은 레지스트리를 반환하므로 include 확장 결과도 재사용됩니다.
+     */
+    public SqlSnippetRegistry getSqlSnippetRegistry() {
+        SqlSnippetRegistry registry = sqlSnippetRegistry;
+        if (registry == null) {
+            synchronized (this) {
+                registry = sqlSnippetRegistry;
+                if (registry == null) {
+                    Map<String, CompiledSql> compiled = new HashMap<>();
+                    snippetsByFqn.forEach((fqn, snippet) -> compiled.put(fqn, snippet.compiledSql()));
+                    registry = SqlSnippetRegistry.ofCompiled(compiled);
+                    sqlSnippetRegistry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    private List<Path> listXmlFiles() throws IOException {
+        if (!Files.isDirectory(mapperBaseDir)) {
+            log.info("매퍼 디렉토리가 존재하지 않습니다.");
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(mapperBaseDir)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith("xml"))
+                    .map(path -> path.toAbsolutePath().normalize())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private IndexedFile parse(Path xmlFile, long lastModified, long size) {
+        List<MapperStatement> statements = new ArrayList<>();
+        List<MapperStatement> snippets = new ArrayList<>();
+        try {
+            Document document = newDocumentBuilder().newDocument();
+            LocatingDomHandler handler = new LocatingDomHandler(document);
+            SAXParser saxParser = newSaxParser();
+            // CDATA 구간을 DOM에 그대로 보존하기 위해 LexicalHandler 등록
+            saxParser.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+            saxParser.parse(xmlFile.toFile(), handler);
+
+            Element mapperElement = document.getDocumentElement();
+            String namespace = mapperElement != null ? mapperElement.getAttribute("namespace") : "";
+            // namespace가 없는 xml(예: 설정파일 등)은 스킵
+            if (!namespace.trim().isEmpty()) {
+                NodeList children = mapperElement.getChildNodes();
+                for (int i = 0; i < children.getLength(); i++) {
+                    if (children.item(i).getNodeType() != Node.ELEMENT_NODE) continue;
+                    Element element = (Element) children.item(i);
+                    String tagName = element.getTagName();
+                    String id = element.getAttribute("id");
+                    if (id.isEmpty()) continue;
+
+                    MapperStatement statement = new MapperStatement(namespace, id, tagName, xmlFile,
+                            LocatingDomHandler.lineNumber(element), LocatingDomHandler.columnNumber(element),
+                            element, CompiledSql.compile(element));
+                    if (STATEMENT_TAGS.contains(tagName)) {
+                        statements.add(statement);
+                    } else if ("sql".equals(tagName)) {
+                        snippets.add(statement);
+                    }
+                }
+            }
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            // 파싱할 수 없는 파일은 빈 색인으로 기록하여 수정되기 전까지 다시 시도하지 않음
+            log.warn("매퍼 파일을 파싱할 수 없습니다: {} ({})", xmlFile, e.getMessage());
+        }
+        return new IndexedFile(lastModified, size, statements, snippets);
+    }
+
+    private void rebuildIndexes() {
+        // 파일 경로 순, 파일 내 선언 순으로 유지
+        Map<String, MapperStatement> byFqn = new LinkedHashMap<>();
+        Map<String, List<MapperStatement>> byId = new HashMap<>();
+        Map<String, MapperStatement> snippets = new HashMap<>();
+
+        files.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    for (MapperStatement statement : entry.getValue().statements()) {
+                        byFqn.putIfAbsent(statement.fqn(), statement);
+                        byId.computeIfAbsent(statement.id(), k -> new ArrayList<>()).add(statement);
+                    }
+                    for (MapperStatement snippet : entry.getValue().snippets()) {
+                        snippets.putIfAbsent(snippet.fqn(), snippet);
+                    }
+                });
+
+        statementsByFqn = Collections.unmodifiableMap(byFqn);
+        statementsById = Collections.unmodifiableMap(byId);
+        snippetsByFqn = Collections.unmodifiableMap(snippets);
+        sqlSnippetRegistry = null;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+    }
+
+    private static SAXParser newSaxParser() throws ParserConfigurationException, SAXException {
+        // document xml parser dfd 검증로직 종료
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setValidating(false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        return factory.newSAXParser();
+    }
+
+    private record IndexedFile(long lastModified, long size, List<MapperStatement> statements, List<MapperStatement> snippets) {
+    }
+}
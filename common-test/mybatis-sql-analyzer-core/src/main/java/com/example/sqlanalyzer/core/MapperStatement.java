@@ -0,0 +1,32 @@
+package com.example.sqlanalyzer.core;
+
+import org.w3c.dom.Element;
+
+import java.nio.file.Path;
+
+/**
+ * MapperCatalog에 색인된 매퍼 구문(select/insert/update/delete) 또는 &lt;sql&gt; 조각입니다.
+ *
+ * @param namespace 매퍼 namespace
+ * @param id 구문 id
+ * @param tagName 태그명 (select, insert, update, delete, sql)
+ * @param mapperFile 구문이 정의된 매퍼 파일
+ * @param lineNumber 시작 태그의 행 번호
+ * @param columnNumber 시작 태그가 끝난 위치의 열 번호
+ * @param node 구문 DOM 노드 (nodeToString 입력으로 사용)
+ * @param compiledSql 가짜 SQL 렌더링용으로 컴파일된 구문
+ */
+public record MapperStatement(
+        String namespace,
+        String id,
+        String tagName,
+        Path mapperFile,
+        int lineNumber,
+        int columnNumber,
+        Element node,
+        CompiledSql compiledSql
+) {
+    public String fqn() {
+        return namespace + "." + id;
+    }
+}
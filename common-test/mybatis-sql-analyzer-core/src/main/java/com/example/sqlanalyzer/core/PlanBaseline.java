@@ -0,0 +1,64 @@
+package com.example.sqlanalyzer.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 구문별 기준 실행 계획을 파일에 보관합니다. 다음 실행에서 {@link PlanRegressionDetector}로 비교하는 기준이 됩니다.
+ * 파일 크기를 줄이기 위해 원본 EXPLAIN 결과(raw)는 저장하지 않습니다.
+ */
+public class PlanBaseline {
+
+    /** 기본 저장 위치 (빌드 디렉토리 하위) */
+    public static final Path DEFAULT_FILE = Path.of("build", "sql-analyzer", "plan-baseline.json");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, ExplainPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * 기준 파일을 읽습니다. 파일이 없으면 빈 기준으로 시작합니다.
+     */
+    public static PlanBaseline load(Path file) throws IOException {
+        PlanBaseline baseline = new PlanBaseline();
+        if (Files.exists(file)) {
+            BaselineFile stored = OBJECT_MAPPER.readValue(file.toFile(), BaselineFile.class);
+            if (stored.plans() != null) baseline.plans.putAll(stored.plans());
+        }
+        return baseline;
+    }
+
+    public ExplainPlan get(String statementId) {
+        return plans.get(statementId);
+    }
+
+    public void put(String statementId, ExplainPlan plan) {
+        plans.put(statementId, new ExplainPlan(plan.format(), null, plan.nodes()));
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * 기준 파일을 기록합니다. (구문 ID 순으로 정렬하여 변경 내역 비교가 쉽도록 함)
+     */
+    public void save(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), new BaselineFile(new TreeMap<>(plans)));
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    record BaselineFile(Map<String, ExplainPlan> plans) {
+    }
+}
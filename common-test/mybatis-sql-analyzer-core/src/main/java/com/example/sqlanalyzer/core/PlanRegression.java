@@ -0,0 +1,26 @@
+package com.example.sqlanalyzer.core;
+
+/**
+ * 기준(baseline) 실행 계획 대비 나빠진 항목입니다.
+ *
+ * @param statementId 구문 FQN (namespace.id)
+ * @param table 테이블명 (별칭이 있으면 별칭)
+ * @param kind 회귀 종류
+ * @param baseline 기준 값
+ * @param current 이번 실행 값
+ */
+public record PlanRegression(String statementId, String table, Kind kind, String baseline, String current) {
+
+    public enum Kind {
+        /** 접근 방식이 나빠짐 (예: ref → ALL) */
+        ACCESS_TYPE_DEGRADED,
+        /** 사용하는 인덱스가 바뀌거나 사용하지 않게 됨 */
+        INDEX_CHANGED,
+        /** 예상 조회 행 수가 임계치를 넘어 증가 */
+        ROWS_GROWN
+    }
+
+    public String message() {
+        return statementId + " [" + table + "] " + kind + ": " + baseline + " -> " + current;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.sqlanalyzer.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기준 실행 계획과 이번 실행 계획을 비교하여 회귀를 찾습니다.
+ * 테이블 단위로 비교하며, 같은 테이블이 여러 번 나오면 등장 순서대로 짝을 맞춥니다. (조인 순서 변경에 영향받지 않음)
+ * - 접근 방식이 더 느린 방식으로 바뀐 경우 (const < eq_ref < ref < ... < range < index < ALL)
+ * - 사용 인덱스가 바뀌거나 사라진 경우
+ * - 예상 행 수가 기준의 rowsGrowthFactor배를 넘고, minRows 이상인 경우
+ */
+public class PlanRegressionDetector {
+
+    public static final double DEFAULT_ROWS_GROWTH_FACTOR = 2.0;
+    public static final long DEFAULT_MIN_ROWS = 1_000;
+
+    // MySQL 접근 방식 (빠른 순)
+    private static final List<String> ACCESS_TYPE_ORDER = List.of(
+            "system", "const", "eq_ref", "ref", "fulltext", "ref_or_null", "index_merge",
+            "unique_subquery", "index_subquery", "range", "index", "all"
+    );
+
+    private final double rowsGrowthFactor;
+    private final long minRows;
+
+    /**
+     * @param rowsGrowthFactor 예상 행 수 증가 허용 배수
+     * @param minRows 이 값 미만의 행 수 증가는 무시 (작은 테이블의 통계 흔들림 방지)
+     */
+    public PlanRegressionDetector(double rowsGrowthFactor, long minRows) {
+        this.rowsGrowthFactor = rowsGrowthFactor;
+        this.minRows = minRows;
+    }
+
+    public static PlanRegressionDetector defaults() {
+        return new PlanRegressionDetector(DEFAULT_ROWS_GROWTH_FACTOR, DEFAULT_MIN_ROWS);
+    }
+
+    public List<PlanRegression> compare(String statementId, ExplainPlan baseline, ExplainPlan current) {
+        List<PlanRegression> regressions = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (ExplainPlan.PlanNode currentNode : current.nodes()) {
+            String table = String.valueOf(currentNode.table());
+            int occurrence = occurrences.merge(table.toLowerCase(), 1, Integer::sum);
+            ExplainPlan.PlanNode baselineNode = find(baseline, table, occurrence);
+            if (baselineNode == null) continue;
+
+            if (rank(currentNode.accessType()) > rank(baselineNode.accessType()) && rank(baselineNode.accessType()) >= 0) {
+                regressions.add(new PlanRegression(statementId, table, PlanRegression.Kind.ACCESS_TYPE_DEGRADED,
+                        baselineNode.accessType(), currentNode.accessType()));
+            }
+            if (baselineNode.key() != null && !baselineNode.key().equalsIgnoreCase(String.valueOf(currentNode.key()))) {
+                regressions.add(new PlanRegression(statementId, table, PlanRegression.Kind.INDEX_CHANGED,
+                        baselineNode.key(), currentNode.key()));
+            }
+            if (baselineNode.rows() != null && currentNode.rows() != null
+                    && currentNode.rows() >= minRows
+                    && currentNode.rows() > baselineNode.rows() * rowsGrowthFactor) {
+                regressions.add(new PlanRegression(statementId, table, PlanRegression.Kind.ROWS_GROWN,
+                        String.valueOf(baselineNode.rows()), String.valueOf(currentNode.rows())));
+            }
+        }
+        return regressions;
+    }
+
+    private static ExplainPlan.PlanNode find(ExplainPlan plan, String table, int occurrence) {
+        int seen = 0;
+        for (ExplainPlan.PlanNode node : plan.nodes()) {
+            if (table.equalsIgnoreCase(String.valueOf(node.table())) && ++seen == occurrence) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // 알 수 없는 접근 방식은 -1 (비교하지 않음)
+    private static int rank(String accessType) {
+        return accessType != null ? ACCESS_TYPE_ORDER.indexOf(accessType.toLowerCase()) : -1;
+    }
+}
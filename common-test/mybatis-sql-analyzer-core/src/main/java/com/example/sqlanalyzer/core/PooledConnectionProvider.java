@@ -0,0 +1,582 @@
+package com.example.sqlanalyzer.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * 분석용 커넥션을 재사용하는 경량 커넥션 풀입니다. ({@link DataSource}로 {@link BatchExplainRunner} 등에 그대로 전달 가능)
+ * - 물리 커넥션은 최대 maxConnections개까지 만들고, close() 하면 닫지 않고 풀로 반환
+ * - 세션 설정 SQL(예: SET SESSION ...)은 물리 커넥션을 만들 때 한 번만 실행
+ * - prepareStatement(sql)는 커넥션별 LRU 캐시에서 재사용하므로, 같은 SQL을 다시 분석할 때 구문 컴파일을 생략
+ * - 대여 시 커넥션 유효성을 확인하고, 끊어진 커넥션은 버리고 새로 만듦
+ * - 반환 시 대여 중에 만든 구문을 모두 닫으므로, 닫지 않은 구문이 다음 사용자의 커넥션에서 실행되지 않음
+ * - 반환 시 대여 중에 바꾼 세션 상태(autoCommit, readOnly, 격리 수준, 카탈로그)와 캐시 구문 설정을 원래 값으로 되돌림
+ * - 핸들에서 물리 커넥션을 꺼낼 수 없으므로(unwrap, Statement.getConnection), 풀을 거치지 않고 커넥션을 닫을 수 없음
+ * 유휴 커넥션은 만료시키지 않으므로 반복 분석 동안 커넥션 수가 최대 동시 사용 수로 일정하게 유지됩니다.
+ */
+@Slf4j
+public class PooledConnectionProvider implements DataSource, AutoCloseable {
+
+    /** 커넥션별 PreparedStatement 캐시 크기 기본값 */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    // 풀이 가득 찼을 때 커넥션 반환을 기다리는 최대 시간
+    private static final long BORROW_TIMEOUT_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    // 핸들에서 호출되면 반환 시 세션 상태를 복원해야 하는 메서드
+    private static final Set<String> SESSION_SETTERS = Set.of("setAutoCommit", "setReadOnly", "setTransactionIsolation", "setCatalog");
+
+    private final DataSource target;
+    private final List<String> sessionInitSql;
+    private final int statementCacheSize;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger createdConnections = new AtomicInteger();
+    private volatile boolean closed;
+
+    public PooledConnectionProvider(DataSource target, int maxConnections) {
+        this(target, maxConnections, List.of(), DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * @param target 물리 커넥션 공급원
+     * @param maxConnections 최대 커넥션 수 (모두 사용 중이면 반환될 때까지 대기)
+     * @param sessionInitSql 물리 커넥션 생성 시 한 번 실행할 세션 설정 SQL 목록
+     * @param statementCacheSize 커넥션별로 보관할 PreparedStatement 수 (0이면 캐시 미사용)
+     */
+    public PooledConnectionProvider(DataSource target, int maxConnections, List<String> sessionInitSql, int statementCacheSize) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1: " + maxConnections);
+        }
+        this.target = target;
+        this.sessionInitSql = List.copyOf(sessionInitSql);
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out waiting for a pooled connection (" + BORROW_TIMEOUT_MILLIS + "ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            return borrow().newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection borrow() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = pollIdle()) != null) {
+            if (pooled.isUsable()) return pooled;
+            pooled.closePhysical();
+        }
+        return open();
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = target.getConnection();
+        SessionState initialState;
+        try (Statement stmt = physical.createStatement()) {
+            for (String sql : sessionInitSql) {
+                stmt.execute(sql);
+            }
+            initialState = SessionState.capture(physical);
+        } catch (SQLException e) {
+            physical.close();
+            throw e;
+        }
+        openConnections.incrementAndGet();
+        createdConnections.incrementAndGet();
+        return new PooledConnection(physical, initialState);
+    }
+
+    private synchronized PooledConnection pollIdle() {
+        return idle.pollFirst();
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            if (closed) {
+                pooled.closePhysical();
+                return;
+            }
+            synchronized (this) {
+                // 최근에 반환된 커넥션부터 다시 사용 (캐시된 구문이 많은 커넥션 우선)
+                idle.addFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 유휴 커넥션을 모두 닫습니다. 사용 중인 커넥션은 반환될 때 닫힙니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection pooled;
+        while ((pooled = pollIdle()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    /** 현재 열려 있는 물리 커넥션 수 (사용 중 + 유휴) */
+    public int openConnections() {
+        return openConnections.get();
+    }
+
+    /** 지금까지 생성한 물리 커넥션 수 */
+    public int createdConnections() {
+        return createdConnections.get();
+    }
+
+    public synchronized int idleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * 물리 커넥션 하나와 그 커넥션의 PreparedStatement 캐시입니다.
+     * 대여할 때마다 새 핸들(프록시)을 만들어, 반환 후의 핸들 사용이 다른 사용자에게 영향을 주지 않도록 합니다.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        // 세션 설정 SQL 실행 직후의 세션 상태 (반환 시 복원 기준)
+        private final SessionState initialState;
+        private final Map<String, PreparedStatement> statements;
+        // 핸들이 열려 있는 캐시 구문 (같은 구문을 두 핸들이 공유하지 않도록)
+        private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean sessionStateChanged;
+
+        PooledConnection(Connection physical, SessionState initialState) {
+            this.physical = physical;
+            this.initialState = initialState;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize || inUse.contains(eldest.getValue())) return false;
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandle(this));
+        }
+
+        boolean isUsable() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * 캐시된 구문을 핸들로 감싸 반환합니다. 같은 SQL의 핸들이 아직 열려 있으면 캐시하지 않는 새 구문을 만듭니다.
+         * 반환한 구문은 모두 대여 핸들(owner)에 기록되어 커넥션 반환 시 정리됩니다.
+         */
+        PreparedStatement prepare(String sql, ConnectionHandle owner, Connection handle) throws SQLException {
+            PreparedStatement statement = statementCacheSize > 0 ? statements.get(sql) : null;
+            if (statement != null && inUse.contains(statement)) {
+                return (PreparedStatement) owner.track(physical.prepareStatement(sql), handle);
+            }
+            if (statement == null || statement.isClosed()) {
+                statement = physical.prepareStatement(sql);
+                if (statementCacheSize <= 0) return (PreparedStatement) owner.track(statement, handle);
+                statements.put(sql, statement);
+            }
+            inUse.add(statement);
+            CachedStatementHandle cached = new CachedStatementHandle(statement, handle, inUse, owner.cachedStatements);
+            owner.cachedStatements.add(cached);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, cached);
+        }
+
+        /**
+         * 사용 중이라 제거하지 못해 캐시 크기를 넘긴 구문을 오래된 순으로 닫습니다.
+         */
+        void trimStatementCache() {
+            Iterator<PreparedStatement> iterator = statements.values().iterator();
+            while (statements.size() > statementCacheSize && iterator.hasNext()) {
+                PreparedStatement statement = iterator.next();
+                if (inUse.contains(statement)) continue;
+                closeQuietly(statement);
+                iterator.remove();
+            }
+        }
+
+        /**
+         * 반환 전 상태 정리 (커밋되지 않은 트랜잭션은 롤백하고, 대여 중에 바꾼 세션 상태는 원래 값으로 복원)
+         */
+        void reset() throws SQLException {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+            }
+            if (sessionStateChanged) {
+                initialState.restore(physical);
+                sessionStateChanged = false;
+            }
+        }
+
+        void closePhysical() {
+            statements.values().forEach(PooledConnectionProvider::closeQuietly);
+            statements.clear();
+            inUse.clear();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                log.debug("커넥션 종료 실패: {}", e.getMessage());
+            }
+            openConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * 대여된 커넥션 핸들. close()는 풀로 반환하고, prepareStatement(sql)는 캐시된 구문을 사용합니다.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private PooledConnection pooled;
+        // 이번 대여 중에 내준 구문 (캐시 구문 핸들 / 캐시하지 않는 물리 구문)
+        private final Set<CachedStatementHandle> cachedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Statement> uncachedStatements = new ArrayList<>();
+        private int pruneThreshold = 16;
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            int argCount = args != null ? args.length : 0;
+            switch (name) {
+                case "close" -> {
+                    returnToPool();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return pooled == null || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + (pooled != null ? pooled.physical : "returned") + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (pooled == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (name.equals("prepareStatement") && argCount == 1) {
+                return pooled.prepare((String) args[0], this, (Connection) proxy);
+            }
+            if (name.equals("unwrap")) {
+                return unwrap(proxy, (Class<?>) args[0]);
+            }
+            if (name.equals("isWrapperFor")) {
+                Class<?> iface = (Class<?>) args[0];
+                return iface.isInstance(proxy)
+                        || (!Connection.class.isAssignableFrom(iface) && !iface.isInstance(pooled.physical) && pooled.physical.isWrapperFor(iface));
+            }
+            if (SESSION_SETTERS.contains(name)) {
+                pooled.sessionStateChanged = true;
+            }
+            Object result = invokePhysical(pooled.physical, method, args);
+            // createStatement, prepareCall 등으로 만든 구문도 반환 시 닫도록 기록
+            return result instanceof Statement statement ? track(statement, (Connection) proxy) : result;
+        }
+
+        /**
+         * 핸들 자신이나 드라이버 확장 객체는 돌려주지만, 물리 커넥션은 풀을 거치지 않고 닫힐 수 있으므로 내주지 않습니다.
+         */
+        private Object unwrap(Object proxy, Class<?> iface) throws SQLException {
+            if (iface.isInstance(proxy)) return proxy;
+            Object unwrapped = pooled.physical.unwrap(iface);
+            if (unwrapped instanceof Connection) {
+                throw new SQLException("Pooled connection cannot be unwrapped to the physical connection: " + iface.getName());
+            }
+            return unwrapped;
+        }
+
+        /**
+         * 캐시하지 않는 구문을 반환 시 닫도록 기록하고, getConnection()이 대여 핸들을 돌려주도록 감싸 반환합니다.
+         */
+        Statement track(Statement statement, Connection handle) {
+            if (uncachedStatements.size() >= pruneThreshold) {
+                // 사용자가 이미 닫은 구문은 제외하여 오래 대여해도 목록이 계속 커지지 않도록 함
+                uncachedStatements.removeIf(PooledConnectionProvider::isClosedQuietly);
+                pruneThreshold = Math.max(16, uncachedStatements.size() * 2);
+            }
+            uncachedStatements.add(statement);
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(type.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandle(statement, handle));
+        }
+
+        private void returnToPool() {
+            PooledConnection returning = pooled;
+            if (returning == null) return;
+            pooled = null;
+            // 닫지 않은 구문 정리: 캐시 구문 핸들은 닫힘 처리 후 캐시에 남기고, 그 외 구문은 닫음
+            for (CachedStatementHandle cached : List.copyOf(cachedStatements)) {
+                try {
+                    cached.release();
+                } catch (SQLException e) {
+                    log.debug("캐시 구문 정리 실패: {}", e.getMessage());
+                    closeQuietly(cached.statement);
+                }
+            }
+            uncachedStatements.forEach(PooledConnectionProvider::closeQuietly);
+            uncachedStatements.clear();
+            returning.trimStatementCache();
+            try {
+                returning.reset();
+            } catch (SQLException e) {
+                // 상태를 되돌리지 못한 커넥션은 다음 사용자에게 넘기지 않고 닫음
+                log.debug("커넥션 반환 전 정리 실패: {}", e.getMessage());
+                returning.closePhysical();
+                permits.release();
+                return;
+            }
+            release(returning);
+        }
+    }
+
+    /**
+     * 물리 커넥션 생성 시점의 세션 상태입니다.
+     */
+    private record SessionState(boolean autoCommit, boolean readOnly, int transactionIsolation, String catalog) {
+
+        static SessionState capture(Connection connection) throws SQLException {
+            return new SessionState(connection.getAutoCommit(), connection.isReadOnly(),
+                    connection.getTransactionIsolation(), connection.getCatalog());
+        }
+
+        void restore(Connection connection) throws SQLException {
+            if (connection.getAutoCommit() != autoCommit) connection.setAutoCommit(autoCommit);
+            if (connection.isReadOnly() != readOnly) connection.setReadOnly(readOnly);
+            if (connection.getTransactionIsolation() != transactionIsolation) connection.setTransactionIsolation(transactionIsolation);
+            if (catalog != null && !catalog.equals(connection.getCatalog())) connection.setCatalog(catalog);
+        }
+    }
+
+    /**
+     * 캐시하지 않는 구문 핸들. 구문은 그대로 사용하되 getConnection()은 물리 커넥션 대신 대여 핸들을 반환합니다.
+     */
+    private static final class StatementHandle implements InvocationHandler {
+        private final Statement statement;
+        private final Connection connection;
+
+        StatementHandle(Statement statement, Connection connection) {
+            this.statement = statement;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "getConnection" -> connection;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> invokePhysical(statement, method, args);
+            };
+        }
+    }
+
+    /**
+     * 캐시된 PreparedStatement 핸들. close()는 파라미터를 정리하고 바꾼 구문 설정(maxRows, queryTimeout, fetchSize)을 되돌린 뒤 구문은 캐시에 남겨둡니다.
+     * 커넥션이 풀로 반환되면 함께 닫히므로, 반환 후에는 다른 사용자가 대여한 구문을 실행할 수 없습니다.
+     */
+    private static final class CachedStatementHandle implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final Connection connection;
+        private final Set<PreparedStatement> inUse;
+        private final Set<CachedStatementHandle> borrowed;
+        // 커넥션 반환은 다른 스레드에서 일어날 수 있음
+        private volatile boolean closed;
+        // 이번 대여 중에 바꾼 구문 설정의 원래 값 (바꾸지 않았으면 null)
+        private Integer maxRows;
+        private Integer queryTimeout;
+        private Integer fetchSize;
+
+        CachedStatementHandle(PreparedStatement statement, Connection connection,
+                              Set<PreparedStatement> inUse, Set<CachedStatementHandle> borrowed) {
+            this.statement = statement;
+            this.connection = connection;
+            this.inUse = inUse;
+            this.borrowed = borrowed;
+        }
+
+        void release() throws SQLException {
+            if (closed) return;
+            closed = true;
+            inUse.remove(statement);
+            borrowed.remove(this);
+            ResultSet resultSet = statement.getResultSet();
+            if (resultSet != null) resultSet.close();
+            statement.clearParameters();
+            if (maxRows != null) statement.setMaxRows(maxRows);
+            if (queryTimeout != null) statement.setQueryTimeout(queryTimeout);
+            if (fetchSize != null) statement.setFetchSize(fetchSize);
+        }
+
+        private void rememberSetting(String name) throws SQLException {
+            switch (name) {
+                case "setMaxRows" -> {
+                    if (maxRows == null) maxRows = statement.getMaxRows();
+                }
+                case "setQueryTimeout" -> {
+                    if (queryTimeout == null) queryTimeout = statement.getQueryTimeout();
+                }
+                case "setFetchSize" -> {
+                    if (fetchSize == null) fetchSize = statement.getFetchSize();
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    release();
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || statement.isClosed();
+                }
+                case "getConnection" -> {
+                    return connection;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    if (closed) throw new SQLException("Statement is closed");
+                    rememberSetting(method.getName());
+                    return invokePhysical(statement, method, args);
+                }
+            }
+        }
+    }
+
+    private static Object invokePhysical(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isClosedQuietly(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // 이미 닫힌 커넥션의 구문
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the target DataSource credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return target.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        target.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        target.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return target.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return target.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        return target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+}
@@ -3,63 +3,202 @@ package com.example.sqlanalyzer.core;
 
 import org.w3c.dom.Node;
 
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.Collection;
 import java.util.Set;
 
 public class PromptGenerator {
 
     private PromptGenerator() {}
 
+    /**
+     * @deprecated 호출할 때마다 매퍼 파일과 매퍼 디렉토리의 &lt;sql&gt; 조각을 다시 파싱합니다.
+     * {@link MapperCatalog#load(Path)}로 만든 카탈로그를 보관하여 {@link #generatePrompt(Connection, MapperCatalog, String)}를 사용하세요.
+     */
+    @Deprecated
     public static StringBuilder generatePrompt(Connection connection, String queryId, String mapperPath, Path mapperPathDir) throws Exception {
+        StringBuilder prompt = new StringBuilder();
+        writePrompt(new StringBuilderWriter(prompt), connection, queryId, mapperPath, mapperPathDir);
+        return prompt;
+    }
+
+    /**
+     * 프롬프트를 문자열로 모으지 않고 Writer에 구간별로 바로 기록합니다.
+     * EXPLAIN 결과와 테이블 메타데이터도 조회하는 대로 기록하므로, 쿼리나 컬럼 수와 관계없이 메모리 사용량이 일정합니다.
+     * 중간에 예외가 발생하면 그때까지의 구간만 기록된 상태로 남습니다.
+     *
+     * @deprecated 호출할 때마다 매퍼 파일과 매퍼 디렉토리의 &lt;sql&gt; 조각을 다시 파싱합니다.
+     * {@link MapperCatalog#load(Path)}로 만든 카탈로그를 보관하여 {@link #writePrompt(Writer, Connection, MapperCatalog, String)}를 사용하세요.
+     */
+    @Deprecated
+    public static void writePrompt(Writer out, Connection connection, String queryId, String mapperPath, Path mapperPathDir) throws Exception {
         // 전제) queryId와 xml 파일이 선택된 이후 로직
 
         // 1. queryId의 동적 쿼리 Node 추출
         Node queryNode = SqlExtractor.getQueryIdDetail(queryId, mapperPath);
 
-        // 2. queryId의 동적쿼리 추출
-        String originalQuery = SqlExtractor.nodeToString(queryNode);
-
-        // 3. 가공된 sql
+        // 2. 가공된 sql
         String namespace;
         String fakeSql = null;
         if (queryNode != null) {
             namespace = queryNode.getOwnerDocument().getDocumentElement().getAttribute("namespace");
-            fakeSql = SqlExtractor.buildFakeSql(queryNode, true, namespace, SqlExtractor.getSqlSnippetRegistry(mapperPathDir));
+            // <sql> 조각은 문자열로 직렬화했다가 다시 파싱하지 않고 파싱한 그대로 컴파일
+            fakeSql = SqlExtractor.buildFakeSql(queryNode, true, namespace, SqlSnippetRegistry.load(mapperPathDir));
         }
 
-        String explainInfo = null;
-        String metaDataInfo = null;
-        if(fakeSql != null){
-            // 4. 가공된 sql >> explain 실행
-            explainInfo = JdbcAnalyzer.getExplainInfo(connection, fakeSql);
+        writePrompt(out, connection, queryNode, fakeSql, null);
+    }
 
-            // 5. 메타데이터 추출 (테이블 정보 + 인덱스 정보)
-            Set<String> tables = JdbcAnalyzer.extractTableMethod(fakeSql);
-            metaDataInfo = JdbcAnalyzer.getMetaDataInfo(tables, connection.getMetaData()).toString();
+    /**
+     * 색인된 매퍼 카탈로그에서 구문을 찾아 프롬프트를 생성합니다.
+     * 매퍼 파일과 &lt;sql&gt; 조각을 다시 파싱하지 않으므로 여러 쿼리를 연속으로 분석할 때 사용합니다.
+     * 테이블/인덱스 정보는 {@link SchemaSnapshotCache}의 스냅샷에서 조회합니다. (DDL 변경 시 invalidate 필요)
+     *
+     * @param statementFqn namespace.id 형식의 구문 식별자
+     */
+    public static StringBuilder generatePrompt(Connection connection, MapperCatalog catalog, String statementFqn) throws Exception {
+        StringBuilder prompt = new StringBuilder();
+        writePrompt(new StringBuilderWriter(prompt), connection, catalog, statementFqn);
+        return prompt;
+    }
+
+    /**
+     * 카탈로그의 구문으로 프롬프트를 Writer에 바로 기록합니다. ({@link #generatePrompt(Connection, MapperCatalog, String)}의 스트리밍 버전)
+     */
+    public static void writePrompt(Writer out, Connection connection, MapperCatalog catalog, String statementFqn) throws Exception {
+        MapperStatement statement = catalog.findStatement(statementFqn);
+
+        Node queryNode = null;
+        String fakeSql = null;
+        if (statement != null) {
+            queryNode = statement.node();
+            fakeSql = statement.compiledSql().render(true, statement.namespace(), catalog.getSqlSnippetRegistry());
         }
 
+        writePrompt(out, connection, queryNode, fakeSql, SchemaSnapshotCache.shared().get(connection));
+    }
 
-        StringBuilder prompt = new StringBuilder();
+    /**
+     * 여러 구문의 프롬프트를 하나의 파일에 차례로 기록합니다. 구문마다 "### namespace.id" 머리글로 구분합니다.
+     * 한 번에 한 구문씩 파일에 바로 기록하므로 구문 수가 많아도 메모리 사용량이 늘지 않습니다.
+     *
+     * @return 기록한 프롬프트 수
+     */
+    public static int writePrompts(Path outputFile, Connection connection, MapperCatalog catalog, Collection<String> statementFqns) throws Exception {
+        Path parent = outputFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
 
+        int written = 0;
+        try (Writer out = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            for (String statementFqn : statementFqns) {
+                if (written > 0) out.write("\n");
+                out.write("### ");
+                out.write(statementFqn);
+                out.write("\n");
+                writePrompt(out, connection, catalog, statementFqn);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private static void writePrompt(Writer out, Connection connection, Node queryNode, String fakeSql, SchemaSnapshot snapshot) throws Exception {
         // 1. 구체적인 페르소나와 환경 설정
-        prompt.append("너는 10년 차 수석 DBA이자 쿼리 튜닝 전문가야.\n");
-        prompt.append("우리 시스템은 대용량 트랜잭션이 발생하는 환경이며, MyBatis를 이용해 데이터베이스와 통신하고 있어.\n");
-        prompt.append("아래 제공된 쿼리와 실행 계획(Explain), 데이터베이스 메타데이터를 종합적으로 분석해서 정밀한 쿼리 튜닝 리포트를 작성해 줘.\n\n");
+        out.write("너는 10년 차 수석 DBA이자 쿼리 튜닝 전문가야.\n");
+        out.write("우리 시스템은 대용량 트랜잭션이 발생하는 환경이며, MyBatis를 이용해 데이터베이스와 통신하고 있어.\n");
+        out.write("아래 제공된 쿼리와 실행 계획(Explain), 데이터베이스 메타데이터를 종합적으로 분석해서 정밀한 쿼리 튜닝 리포트를 작성해 줘.\n\n");
+
+        // 2. 실제 데이터 컨텍스트 (원본 쿼리 → 가공된 sql → explain 실행 → 메타데이터(테이블 + 인덱스) 순으로 바로 기록)
+        out.write("[Original Query] : ");
+        if (queryNode != null) {
+            SqlExtractor.writeNode(queryNode, out);
+        } else {
+            out.write("null");
+        }
+        out.write("\n");
+        out.write("[Remove Tag Query] : ");
+        out.write(String.valueOf(fakeSql));
+        out.write("\n");
+
+        out.write("[Explain] : ");
+        if (fakeSql != null) {
+            JdbcAnalyzer.writeExplainInfo(out, connection, fakeSql);
+        } else {
+            out.write("null");
+        }
+        out.write("\n");
 
-        // 2. 실제 데이터 컨텍스트
-        prompt.append("[Original Query] : ").append(originalQuery).append("\n");
-        prompt.append("[Remove Tag Query] : ").append(fakeSql).append("\n");
-        prompt.append("[Explain] : " ).append(explainInfo).append("\n");
-        prompt.append("[MetaData] : " ).append(metaDataInfo).append("\n");
+        out.write("[MetaData] : ");
+        if (fakeSql != null) {
+            Set<String> tables = JdbcAnalyzer.extractTableMethod(fakeSql);
+            if (snapshot != null) {
+                JdbcAnalyzer.writeMetaDataInfo(out, tables, snapshot, connection.getMetaData());
+            } else {
+                JdbcAnalyzer.writeMetaDataInfo(out, tables, connection.getMetaData());
+            }
+        } else {
+            out.write("null");
+        }
+        out.write("\n");
 
         // 3. 구체적인 답변 지침 (Output Format) 요구
-        prompt.append("[요청 사항]\n");
-        prompt.append("다음 목차에 따라 분석 결과와 개선안을 제시해 줘:\n");
-        prompt.append("1. 실행 계획 분석: 병목 구간(예: Full Table Scan, Filesort, 비효율적인 Join 등)과 원인 파악\n");
-        prompt.append("2. 인덱스 최적화 제안: 메타데이터를 참고하여, 성능 향상을 위해 추가하거나 수정해야 할 DDL(CREATE INDEX 등)이 있다면 구체적인 이유와 함께 작성\n");
-        prompt.append("3. MyBatis 동적 쿼리 리뷰: [Original Query]의 <if>, <foreach> 등의 구조상, 파라미터 조건에 따라 성능 널뛰기나 인덱스 무력화가 발생할 위험이 있는지 점검\n");
-        prompt.append("4. 개선된 쿼리 및 매퍼 제안: 최적화가 적용된 최종 SQL과 이를 반영한 MyBatis XML 코드를 작성\n");
-        return prompt;
+        out.write("[요청 사항]\n");
+        out.write("다음 목차에 따라 분석 결과와 개선안을 제시해 줘:\n");
+        out.write("1. 실행 계획 분석: 병목 구간(예: Full Table Scan, Filesort, 비효율적인 Join 등)과 원인 파악\n");
+        out.write("2. 인덱스 최적화 제안: 메타데이터를 참고하여, 성능 향상을 위해 추가하거나 수정해야 할 DDL(CREATE INDEX 등)이 있다면 구체적인 이유와 함께 작성\n");
+        out.write("3. MyBatis 동적 쿼리 리뷰: [Original Query]의 <if>, <foreach> 등의 구조상, 파라미터 조건에 따라 성능 널뛰기나 인덱스 무력화가 발생할 위험이 있는지 점검\n");
+        out.write("4. 개선된 쿼리 및 매퍼 제안: 최적화가 적용된 최종 SQL과 이를 반영한 MyBatis XML 코드를 작성\n");
+    }
+
+    /**
+     * StringBuilder에 바로 기록하는 Writer입니다. (StringWriter 버퍼를 StringBuilder로 다시 복사하지 않도록)
+     */
+    private static final class StringBuilderWriter extends Writer {
+        private final StringBuilder builder;
+
+        StringBuilderWriter(StringBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            builder.append(csq);
+            return this;
+        }
+
+        @Override
+        public Writer append(CharSequence csq, int start, int end) {
+            builder.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
     }
 }
@@ -0,0 +1,226 @@
+package com.example.sqlanalyzer.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터베이스 스키마 메타데이터(테이블별 컬럼/인덱스)를 모아 둔 스냅샷입니다.
+ * 컬럼 정보는 현재 catalog/schema 전체를 한 번의 getColumns 호출로 읽고, 인덱스 정보는 테이블을 처음 조회할 때 읽어 보관합니다.
+ * 현재 schema 밖의 테이블은 DB 직접 조회와 같이 catalog/schema 구분 없이 처음 조회할 때 읽습니다. (없는 테이블도 기록하여 다시 조회하지 않음)
+ * 디스크에 저장해 두면 DB 접속 없이(오프라인) 다시 사용할 수 있습니다.
+ *
+ * @param url 접속 URL
+ * @param userName 접속 사용자
+ * @param databaseProductName DB 제품명
+ * @param databaseProductVersion DB 버전
+ * @param driverName 드라이버명
+ * @param driverVersion 드라이버 버전
+ * @param sessionVariables 세션 설정 (MySQL/MariaDB의 격리 수준, sql_mode)
+ * @param capturedAtMillis 수집 시각
+ * @param tables 테이블명(대문자) → 테이블 정보
+ */
+public record SchemaSnapshot(
+        String url,
+        String userName,
+        String databaseProductName,
+        String databaseProductVersion,
+        String driverName,
+        String driverVersion,
+        String sessionVariables,
+        long capturedAtMillis,
+        Map<String, TableInfo> tables
+) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public SchemaSnapshot {
+        // 지연 조회한 테이블/인덱스 정보를 여러 스레드에서 채움
+        tables = new ConcurrentHashMap<>(tables);
+    }
+
+    @Override
+    public Map<String, TableInfo> tables() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * 수집해 둔 테이블 정보를 조회합니다. (대소문자 무시, DB 조회 없음)
+     * 인덱스 정보를 아직 읽지 않은 테이블은 indexes가 null입니다.
+     *
+     * @return 테이블 정보, 없으면 null
+     */
+    public TableInfo table(String tableName) {
+        return existing(tables.get(tableName.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * 테이블 정보를 조회하고, 아직 읽지 않은 정보(현재 schema 밖의 테이블, 인덱스)는 DB에서 읽어 보관합니다.
+     *
+     * @return 테이블 정보, 없으면 null
+     */
+    public TableInfo table(String tableName, DatabaseMetaData metaData) throws SQLException {
+        String key = tableName.toUpperCase(Locale.ROOT);
+        TableInfo table = tables.get(key);
+        if (table == null) {
+            // 동시에 같은 테이블을 처음 조회하면 중복 조회될 수 있으나 결과는 동일
+            table = loadTable(metaData, null, null, key);
+            if (table == null) table = new TableInfo(key, null, null, List.of(), List.of());
+            tables.put(key, table);
+        } else if (table.indexes() == null) {
+            table = table.withIndexes(loadIndexes(metaData, table.catalog(), table.schema(), table.name()));
+            tables.put(key, table);
+        }
+        return existing(table);
+    }
+
+    /**
+     * 현재 커넥션의 catalog/schema 컬럼 정보를 수집합니다. 인덱스 정보는 테이블을 조회할 때 읽습니다.
+     */
+    public static SchemaSnapshot capture(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, TableInfo> tables = readColumns(metaData, connection.getCatalog(), connection.getSchema(), "%");
+
+        return new SchemaSnapshot(
+                metaData.getURL(),
+                metaData.getUserName(),
+                metaData.getDatabaseProductName(),
+                metaData.getDatabaseProductVersion(),
+                metaData.getDriverName(),
+                metaData.getDriverVersion(),
+                readSessionVariables(connection, metaData.getDatabaseProductName()),
+                System.currentTimeMillis(),
+                tables
+        );
+    }
+
+    /**
+     * 아직 읽지 않은 인덱스 정보를 모두 읽습니다. (오프라인 사용을 위해 저장하기 전에 호출)
+     */
+    public void loadAllIndexes(DatabaseMetaData metaData) throws SQLException {
+        for (String key : List.copyOf(tables.keySet())) {
+            table(key, metaData);
+        }
+    }
+
+    /**
+     * 테이블 하나의 컬럼/인덱스 정보를 DB에서 바로 읽습니다.
+     *
+     * @param catalog catalog (null이면 구분 없음)
+     * @param schema schema (null이면 구분 없음)
+     * @return 테이블 정보, 없으면 null
+     */
+    static TableInfo loadTable(DatabaseMetaData metaData, String catalog, String schema, String tableName) throws SQLException {
+        TableInfo table = readColumns(metaData, catalog, schema, tableName).get(tableName.toUpperCase(Locale.ROOT));
+        return table != null ? table.withIndexes(loadIndexes(metaData, catalog, schema, tableName)) : null;
+    }
+
+    // 컬럼 정보 일괄 수집 (테이블별 ORDINAL_POSITION 순서 유지, 인덱스는 미수집)
+    private static Map<String, TableInfo> readColumns(DatabaseMetaData metaData, String catalog, String schema, String tablePattern) throws SQLException {
+        Map<String, TableInfo> tables = new LinkedHashMap<>();
+        Map<String, List<ColumnInfo>> columns = new LinkedHashMap<>();
+        try (ResultSet rs = metaData.getColumns(catalog, schema, tablePattern, null)) {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                String key = tableName.toUpperCase(Locale.ROOT);
+                List<ColumnInfo> tableColumns = columns.get(key);
+                if (tableColumns == null) {
+                    tableColumns = new ArrayList<>();
+                    columns.put(key, tableColumns);
+                    tables.put(key, new TableInfo(tableName, rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"), null, null));
+                }
+                tableColumns.add(new ColumnInfo(rs.getString("COLUMN_NAME"), rs.getString("TYPE_NAME"), rs.getString("COLUMN_SIZE")));
+            }
+        }
+        tables.replaceAll((key, table) -> new TableInfo(table.name(), table.catalog(), table.schema(), List.copyOf(columns.get(key)), null));
+        return tables;
+    }
+
+    // getIndexInfo는 테이블 패턴을 지원하지 않으므로 테이블당 한 번
+    private static List<IndexInfo> loadIndexes(DatabaseMetaData metaData, String catalog, String schema, String tableName) throws SQLException {
+        List<IndexInfo> indexes = new ArrayList<>();
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, tableName, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                // 테이블 기본 통계 정보(IndexName이 null)는 건너뜁니다.
+                if (indexName == null) continue;
+                indexes.add(new IndexInfo(indexName, rs.getString("COLUMN_NAME"), !rs.getBoolean("NON_UNIQUE")));
+            }
+        }
+        return List.copyOf(indexes);
+    }
+
+    // 조회했지만 없는 테이블은 컬럼이 없는 정보로 기록해 둠
+    private static TableInfo existing(TableInfo table) {
+        return table != null && !table.columns().isEmpty() ? table : null;
+    }
+
+    /**
+     * 스냅샷을 JSON 파일로 저장합니다.
+     */
+    public void save(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), this);
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 저장된 스냅샷을 읽습니다.
+     */
+    public static SchemaSnapshot read(Path file) throws IOException {
+        return OBJECT_MAPPER.readValue(file.toFile(), SchemaSnapshot.class);
+    }
+
+    static String readSessionVariables(Connection connection, String productName) throws SQLException {
+        if (!productName.equalsIgnoreCase("MariaDB") && !productName.equalsIgnoreCase("MySQL")) {
+            return "";
+        }
+
+        StringBuilder variables = new StringBuilder();
+        try (PreparedStatement stmt = connection.prepareStatement(JdbcAnalyzer.SESSION_VARIABLES_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                variables.append(rs.getString("Variable_name")).append(rs.getString("Value"));
+            }
+        }
+        return variables.toString();
+    }
+
+    /**
+     * @param name 테이블명 (DB에 저장된 대소문자)
+     * @param catalog 테이블의 catalog
+     * @param schema 테이블의 schema
+     * @param columns 컬럼 목록 (ORDINAL_POSITION 순)
+     * @param indexes 인덱스 컬럼 목록 (getIndexInfo 순, 아직 읽지 않았으면 null)
+     */
+    public record TableInfo(String name, String catalog, String schema, List<ColumnInfo> columns, List<IndexInfo> indexes) {
+
+        TableInfo withIndexes(List<IndexInfo> indexes) {
+            return new TableInfo(name, catalog, schema, columns, indexes);
+        }
+    }
+
+    public record ColumnInfo(String name, String typeName, String columnSize) {
+    }
+
+    public record IndexInfo(String indexName, String columnName, boolean unique) {
+    }
+}
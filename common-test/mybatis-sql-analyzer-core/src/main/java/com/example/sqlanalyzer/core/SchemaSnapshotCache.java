@@ -0,0 +1,64 @@
+package com.example.sqlanalyzer.core;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속 URL(및 사용자)별로 {@link SchemaSnapshot}을 보관하는 캐시입니다.
+ * 같은 DB를 대상으로 여러 쿼리를 분석할 때 메타데이터는 처음 한 번만 수집합니다.
+ * DDL이 변경된 경우 {@link #invalidate(String)}로 스냅샷을 버리면 다음 조회 시 다시 수집합니다.
+ */
+public class SchemaSnapshotCache {
+
+    private static final SchemaSnapshotCache SHARED = new SchemaSnapshotCache();
+
+    private final Map<String, SchemaSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 프로세스 전체에서 공유하는 캐시를 반환합니다.
+     */
+    public static SchemaSnapshotCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 커넥션이 가리키는 DB의 스냅샷을 반환합니다. 캐시에 없으면 수집합니다.
+     */
+    public SchemaSnapshot get(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String key = key(metaData.getURL(), metaData.getUserName());
+        SchemaSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            // 동시에 같은 DB를 처음 조회하면 중복 수집될 수 있으나 결과는 동일하므로 먼저 저장된 스냅샷을 사용
+            snapshot = SchemaSnapshot.capture(connection);
+            SchemaSnapshot previous = snapshots.putIfAbsent(key, snapshot);
+            if (previous != null) snapshot = previous;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 디스크에서 읽은 스냅샷 등을 캐시에 등록합니다. 같은 URL/사용자의 기존 스냅샷은 교체됩니다.
+     */
+    public void put(SchemaSnapshot snapshot) {
+        snapshots.put(key(snapshot.url(), snapshot.userName()), snapshot);
+    }
+
+    /**
+     * 접속 URL의 스냅샷을 모두(사용자 무관) 무효화합니다.
+     */
+    public void invalidate(String url) {
+        snapshots.keySet().removeIf(key -> key.startsWith(url + "|"));
+    }
+
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    private static String key(String url, String userName) {
+        return url + "|" + (userName != null ? userName : "");
+    }
+}
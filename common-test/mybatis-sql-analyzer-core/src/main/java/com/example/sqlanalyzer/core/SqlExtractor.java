@@ -16,17 +16,16 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -36,118 +35,22 @@ public class SqlExtractor {
 
     static Map<String, String> sqlSnippetRegistry;
 
-    // 가짜 sql 생성
+    /**
+     * 가짜 sql 생성 (직렬화된 &lt;sql&gt; 조각 맵 사용)
+     *
+     * @deprecated 호출할 때마다 조각 맵으로 레지스트리를 새로 만들고 조각을 다시 파싱/컴파일합니다.
+     * {@link MapperCatalog#getSqlSnippetRegistry()} 또는 {@link SqlSnippetRegistry#load(Path)}로 만든 레지스트리를 보관하여
+     * {@link #buildFakeSql(Node, boolean, String, SqlSnippetRegistry)}를 사용하세요.
+     */
+    @Deprecated
     public static String buildFakeSql(Node nodeList, boolean isForExplain, String currentNamespace, Map<String, String> sqlSnippetRegistry) {
-        NodeList childNodes = nodeList.getChildNodes();
-        StringBuilder fakeSql = new StringBuilder();
-
-        for (int i = 0; i < childNodes.getLength(); i++) {
-            Node child = childNodes.item(i);
-
-            // 1. 텍스트 노드 및 CDATA 처리
-            if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
-                String text = child.getNodeValue();
-                if (text != null) {
-                    // #{} 와 ${} 를 ? 로 치환
-                    fakeSql.append(text.replaceAll("[#$]\\{[^}]+\\}", "?")).append(" ");
-                }
-            }
-            // 2. 엘리먼트 노드(MyBatis 태그) 처리
-            else if (child.getNodeType() == Node.ELEMENT_NODE) {
-                String nodeName = child.getNodeName().toLowerCase();
-                switch (nodeName) {
-                    case "where":
-                        fakeSql.append(" WHERE 1=1 ");
-                        String whereContent = buildFakeSql(child, isForExplain, currentNamespace, sqlSnippetRegistry);
-                        // 앞부분의 AND나 OR를 제거 (JSqlParser 에러 방지용)
-                        String cleanedWhere = whereContent.trim().replaceAll("(?i)^(and|or)\\s+", "");
-                        if (!cleanedWhere.isEmpty()) {
-                            fakeSql.append(" AND ( ").append(cleanedWhere).append(" ) ");
-                        }
-                        break;
-                    case "set":
-                        fakeSql.append(" SET ");
-                        String setContent = buildFakeSql(child, isForExplain, currentNamespace, sqlSnippetRegistry).trim();
-                        if (setContent.endsWith(",")) {
-                            setContent = setContent.substring(0, setContent.length() - 1);
-                        }
-                        fakeSql.append(setContent).append(" ");
-                        break;
-                    case "foreach":
-                        fakeSql.append(" ( ? ) ");
-                        break;
-                    case "choose":
-                        if (isForExplain) {
-                            Node targetNode = null;
-                            NodeList chooseChildren = child.getChildNodes();
-                            for (int j = 0; j < chooseChildren.getLength(); j++) {
-                                Node c = chooseChildren.item(j);
-                                if (c.getNodeType() == Node.ELEMENT_NODE) {
-                                    if ("when".equalsIgnoreCase(c.getNodeName())) {
-                                        if (targetNode == null) targetNode = c;
-                                    } else if ("otherwise".equalsIgnoreCase(c.getNodeName())) {
-                                        targetNode = c;
-                                        break;
-                                    }
-                                }
-                            }
-                            if (targetNode != null) {
-                                fakeSql.append(" ").append(buildFakeSql(targetNode, true, currentNamespace, sqlSnippetRegistry)).append(" ");
-                            }
-                        } else {
-                            fakeSql.append(" ").append(buildFakeSql(child, false, currentNamespace, sqlSnippetRegistry)).append(" ");
-                        }
-                        break;
-                    case "if", "when", "otherwise":
-                        fakeSql.append(" ").append(buildFakeSql(child, isForExplain, currentNamespace, sqlSnippetRegistry)).append(" ");
-                        break;
-                    case "trim":
-                        Element trimElem = (Element) child;
-                        String prefix = trimElem.getAttribute("prefix");
-                        String prefixOverrides = trimElem.getAttribute("prefixOverrides");
-
-                        String trimContent = buildFakeSql(child, isForExplain, currentNamespace, sqlSnippetRegistry).trim();
-                        if (!prefixOverrides.isEmpty()) {
-                            String[] overrides = prefixOverrides.split("\\|");
-                            for (String ov : overrides) {
-                                trimContent = trimContent.replaceAll("(?i)^" + Pattern.quote(ov.trim()) + "\\s+", "");
-                            }
-                        }
-                        fakeSql.append(" ").append(prefix).append(" ").append(trimContent).append(" ");
-                        break;
-                    case "bind":
-                        break;
-                    case "include":
-                        String refid = ((Element) child).getAttribute("refid");
-                        String fqn = refid.contains(".") ? refid : currentNamespace + "." + refid;
-
-                        String rawSqlXml = sqlSnippetRegistry.get(fqn);
-                        if (rawSqlXml != null) {
-                            try {
-                                DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                                dbf.setValidating(false);
-                                dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-
-                                DocumentBuilder db = dbf.newDocumentBuilder();
-                                Document parse = db.parse(new ByteArrayInputStream(rawSqlXml.getBytes()));
-
-                                // <sql> 태그의 내용을 다시 buildFakeSql로 처리 (isForExplain 유지)
-                                fakeSql.append(" ").append(buildFakeSql(parse.getDocumentElement(), isForExplain, currentNamespace, sqlSnippetRegistry)).append(" ");
-                            } catch (Exception e) {
-                                fakeSql.append(" /* ERROR_PARSING_INCLUDE: ").append(fqn).append(" */ ");
-                            }
-                        } else {
-                            fakeSql.append(" /* MISSING_INCLUDE: ").append(fqn).append(" */ ");
-                        }
-                        break;
-                    default:
-                        fakeSql.append(buildFakeSql(child, isForExplain, currentNamespace, sqlSnippetRegistry));
-                        break;
-                }
-            }
-        }
+        return buildFakeSql(nodeList, isForExplain, currentNamespace, SqlSnippetRegistry.fromXml(sqlSnippetRegistry));
+    }
 
-        return fakeSql.toString();
+    // 가짜 sql 생성 (파싱된 <sql> 조각 사용, include 확장 결과는 레지스트리에서 재사용)
+    // 반복 렌더링 시에는 CompiledSql.compile 결과를 보관하여 사용
+    public static String buildFakeSql(Node nodeList, boolean isForExplain, String currentNamespace, SqlSnippetRegistry sqlSnippetRegistry) {
+        return CompiledSql.compile(nodeList).render(isForExplain, currentNamespace, sqlSnippetRegistry);
     }
 
     // queryId와 매칭되는 태그블럭 return
@@ -200,6 +103,8 @@ public class SqlExtractor {
         dbf.setValidating(false);
         dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
         DocumentBuilder builder = dbf.newDocumentBuilder();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
         for (File xmlFile : xmlFileList) {
             Document doc = builder.parse(xmlFile);
             doc.getDocumentElement().normalize();
@@ -221,10 +126,6 @@ public class SqlExtractor {
                 String fqn = namespace + "." + id;
 
                 //[핵심 3] 내부 태그 유지를 위해 Node를 순수 XML 문자열로 변환 (메모리 효율을 위해 String 저장)
-                TransformerFactory transformerFactory = TransformerFactory.newInstance();
-                Transformer transformer = transformerFactory.newTransformer();
-                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-
                 StringWriter stringWriter = new StringWriter();
                 transformer.transform(new DOMSource(sqlElement), new StreamResult(stringWriter));
 
@@ -240,6 +141,14 @@ public class SqlExtractor {
 
     public static String nodeToString(Node node) {
         StringWriter stringWriter = new StringWriter();
+        writeNode(node, stringWriter);
+        return stringWriter.toString();
+    }
+
+    /**
+     * 노드의 XML을 문자열로 만들지 않고 Writer에 바로 기록합니다.
+     */
+    public static void writeNode(Node node, Writer writer) {
         try{
             Transformer transformer = TransformerFactory.newInstance().newTransformer();
 
@@ -249,10 +158,9 @@ public class SqlExtractor {
             //출력시 정렬
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
 
-            transformer.transform(new DOMSource(node), new StreamResult(stringWriter));
+            transformer.transform(new DOMSource(node), new StreamResult(writer));
         }catch(TransformerException e){
             log.error(e.getMessage(), e);
         }
-        return stringWriter.toString();
     }
 }
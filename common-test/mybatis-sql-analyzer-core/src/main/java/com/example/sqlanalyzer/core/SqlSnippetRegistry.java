@@ -0,0 +1,181 @@
+package com.example.sqlanalyzer.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * &lt;include&gt; 확장에 사용하는 &lt;sql&gt; 조각 레지스트리입니다.
+ * - 조각은 처음 사용될 때 한 번만 {@link CompiledSql}로 컴파일하며 이후 수정하지 않음
+ * - (refid, isForExplain, 호출 namespace)별 확장 결과를 메모이제이션하여, 공유 조각이 많은 매퍼도 조각당 한 번만 확장
+ * 문자열 맵(getSqlSnippetRegistry 결과)으로 생성한 경우 조각의 파싱도 컴파일 시 한 번만 수행합니다.
+ */
+@Slf4j
+public class SqlSnippetRegistry {
+
+    private static final SqlSnippetRegistry EMPTY = new SqlSnippetRegistry(Map.of(), Map.of(), Map.of());
+
+    private final Map<String, Node> snippets;
+    private final Map<String, String> rawSnippets;
+    private final Map<String, CompiledSql> precompiledSnippets;
+    private final Map<String, Optional<CompiledSql>> compiledSnippets = new ConcurrentHashMap<>();
+    private final Map<ExpansionKey, String> expansions = new ConcurrentHashMap<>();
+
+    private SqlSnippetRegistry(Map<String, Node> snippets, Map<String, String> rawSnippets, Map<String, CompiledSql> precompiledSnippets) {
+        this.snippets = snippets;
+        this.rawSnippets = rawSnippets;
+        this.precompiledSnippets = precompiledSnippets;
+    }
+
+    public static SqlSnippetRegistry empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 파싱된 &lt;sql&gt; 노드(FQN → 노드)로 레지스트리를 생성합니다.
+     */
+    public static SqlSnippetRegistry of(Map<String, ? extends Node> snippets) {
+        return new SqlSnippetRegistry(Map.copyOf(snippets), Map.of(), Map.of());
+    }
+
+    /**
+     * 컴파일된 &lt;sql&gt; 조각(FQN → IR)으로 레지스트리를 생성합니다.
+     */
+    public static SqlSnippetRegistry ofCompiled(Map<String, CompiledSql> snippets) {
+        return new SqlSnippetRegistry(Map.of(), Map.of(), Map.copyOf(snippets));
+    }
+
+    /**
+     * 직렬화된 &lt;sql&gt; XML 문자열(FQN → XML)로 레지스트리를 생성합니다. (기존 Map 기반 API 호환)
+     */
+    public static SqlSnippetRegistry fromXml(Map<String, String> rawSnippets) {
+        if (rawSnippets == null || rawSnippets.isEmpty()) return EMPTY;
+        return new SqlSnippetRegistry(Map.of(), Map.copyOf(rawSnippets), Map.of());
+    }
+
+    /**
+     * 매퍼 디렉토리의 모든 &lt;sql&gt; 조각을 파싱/컴파일하여 레지스트리를 생성합니다.
+     */
+    public static SqlSnippetRegistry load(Path mapperBaseDir) throws IOException, ParserConfigurationException, SAXException {
+        if (!Files.isDirectory(mapperBaseDir)) {
+            log.info("매퍼 디렉토리가 존재하지 않습니다.");
+            return EMPTY;
+        }
+
+        List<Path> xmlFileList;
+        try (Stream<Path> paths = Files.walk(mapperBaseDir)) {
+            xmlFileList = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith("xml"))
+                    .toList();
+        }
+
+        DocumentBuilder builder = newDocumentBuilder();
+        Map<String, CompiledSql> snippets = new HashMap<>();
+        for (Path xmlFile : xmlFileList) {
+            Document doc = builder.parse(xmlFile.toFile());
+            doc.getDocumentElement().normalize();
+
+            Element mapperElement = doc.getDocumentElement();
+            String namespace = mapperElement.getAttribute("namespace");
+            // namespace가 없는 xml(예: 설정파일 등)은 스킵
+            if (namespace.trim().isEmpty()) continue;
+
+            NodeList sqlNodes = doc.getElementsByTagName("sql");
+            for (int i = 0; i < sqlNodes.getLength(); i++) {
+                Element sqlElement = (Element) sqlNodes.item(i);
+                snippets.put(namespace + "." + sqlElement.getAttribute("id"), CompiledSql.compile(sqlElement));
+            }
+        }
+        return ofCompiled(snippets);
+    }
+
+    public boolean contains(String fqn) {
+        return snippets.containsKey(fqn) || rawSnippets.containsKey(fqn) || precompiledSnippets.containsKey(fqn);
+    }
+
+    public int size() {
+        return snippets.size() + rawSnippets.size() + precompiledSnippets.size();
+    }
+
+    /**
+     * 조각을 가짜 SQL로 확장합니다. 같은 조건의 확장은 한 번만 수행합니다.
+     *
+     * @param fqn 조각의 namespace.id
+     * @param isForExplain explain용 여부 (choose 분기 선택 방식)
+     * @param currentNamespace include를 호출한 구문의 namespace (조각 내부의 상대 refid 해석 기준)
+     * @return 확장된 SQL, 조각이 없으면 null
+     * @throws IllegalArgumentException 직렬화된 조각을 파싱할 수 없는 경우
+     */
+    public String expand(String fqn, boolean isForExplain, String currentNamespace) {
+        ExpansionKey key = new ExpansionKey(fqn, isForExplain, currentNamespace);
+        String expanded = expansions.get(key);
+        if (expanded != null) return expanded;
+
+        CompiledSql snippet = resolve(fqn);
+        if (snippet == null) return null;
+
+        // 조각 안의 include가 다시 expand를 호출하므로 computeIfAbsent 대신 계산 후 저장
+        expanded = snippet.render(isForExplain, currentNamespace, this);
+        String previous = expansions.putIfAbsent(key, expanded);
+        return previous != null ? previous : expanded;
+    }
+
+    private CompiledSql resolve(String fqn) {
+        CompiledSql precompiled = precompiledSnippets.get(fqn);
+        if (precompiled != null) return precompiled;
+
+        Optional<CompiledSql> compiled = compiledSnippets.get(fqn);
+        if (compiled == null) {
+            Node snippet = snippets.get(fqn);
+            String rawSqlXml = rawSnippets.get(fqn);
+            if (snippet == null && rawSqlXml == null) return null;
+
+            compiled = snippet != null ? compile(snippet) : parseRaw(rawSqlXml);
+            compiledSnippets.putIfAbsent(fqn, compiled);
+        }
+        return compiled.orElseThrow(() -> new IllegalArgumentException("Unparseable sql snippet: " + fqn));
+    }
+
+    private synchronized Optional<CompiledSql> compile(Node snippet) {
+        // DOM은 읽기 전용이어도 스레드 안전하지 않으므로 컴파일은 한 번에 하나씩 수행
+        return Optional.of(CompiledSql.compile(snippet));
+    }
+
+    private static Optional<CompiledSql> parseRaw(String rawSqlXml) {
+        try {
+            Document parse = newDocumentBuilder().parse(new ByteArrayInputStream(rawSqlXml.getBytes(StandardCharsets.UTF_8)));
+            return Optional.of(CompiledSql.compile(parse.getDocumentElement()));
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setValidating(false);
+        dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        return dbf.newDocumentBuilder();
+    }
+
+    private record ExpansionKey(String fqn, boolean isForExplain, String currentNamespace) {
+    }
+}
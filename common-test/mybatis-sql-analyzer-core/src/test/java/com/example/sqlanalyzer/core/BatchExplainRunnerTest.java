@@ -0,0 +1,135 @@
+package com.example.sqlanalyzer.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchExplainRunnerTest {
+
+    private JdbcDataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void set() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batchdb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        connection = dataSource.getConnection();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE payments (payment_id VARCHAR(50) PRIMARY KEY, order_id VARCHAR(50) NOT NULL, amount DECIMAL(10, 2) NOT NULL, status VARCHAR(20) NOT NULL)");
+            stmt.execute("CREATE INDEX payments_amount_idx ON payments(amount)");
+        }
+    }
+
+    @AfterEach
+    void remove() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("모든 SELECT 구문을 EXPLAIN 하여 결과를 JSONL로 기록")
+    void explainAllSelects(@TempDir Path tempDir) throws Exception {
+        Path mapperDir = Files.createDirectories(tempDir.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("FirstMapper.xml"), mapper("com.example.First", 20, false));
+        Files.writeString(mapperDir.resolve("SecondMapper.xml"), mapper("com.example.Second", 20, true));
+        MapperCatalog catalog = MapperCatalog.load(mapperDir);
+        Path output = tempDir.resolve("out/explain.jsonl");
+
+        BatchExplainSummary summary = new BatchExplainRunner(dataSource, 4).run(catalog, output);
+
+        assertEquals(41, summary.total());
+        assertEquals(40, summary.succeeded());
+        assertEquals(1, summary.failed());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(41, lines.size());
+        for (String line : lines) {
+            ExplainResult result = objectMapper.readValue(line, ExplainResult.class);
+            if (result.statementId().equals("com.example.Second.findMissingTable")) {
+                assertEquals(ExplainResult.FAILED, result.status());
+                assertNotNull(result.error());
+            } else {
+                assertEquals(ExplainResult.OK, result.status(), result.error());
+                assertNotNull(result.plan());
+                assertEquals(ExplainPlan.FORMAT_H2, result.plan().format());
+                assertTrue(result.lineNumber() > 0);
+            }
+            // SELECT 이외의 구문은 제외
+            assertFalse(result.statementId().contains("insert"));
+        }
+    }
+
+    @Test
+    @DisplayName("기준 실행 계획 대비 인덱스 삭제로 인한 회귀 탐지")
+    void detectPlanRegression(@TempDir Path tempDir) throws Exception {
+        Path mapperDir = Files.createDirectories(tempDir.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("FirstMapper.xml"), mapper("com.example.First", 2, false));
+        MapperCatalog catalog = MapperCatalog.load(mapperDir);
+        Path baselineFile = tempDir.resolve("build/sql-analyzer/plan-baseline.json");
+
+        BatchExplainSummary first = new BatchExplainRunner(dataSource, 2)
+                .withPlanBaseline(baselineFile, PlanRegressionDetector.defaults())
+                .run(catalog, tempDir.resolve("first.jsonl"));
+        assertTrue(first.regressions().isEmpty());
+        assertEquals(2, PlanBaseline.load(baselineFile).size());
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP INDEX payments_amount_idx");
+        }
+        BatchExplainSummary second = new BatchExplainRunner(dataSource, 2)
+                .withPlanBaseline(baselineFile, PlanRegressionDetector.defaults())
+                .run(catalog, tempDir.resolve("second.jsonl"));
+
+        assertEquals(4, second.regressions().size());
+        assertTrue(second.regressions().stream().anyMatch(regression ->
+                regression.kind() == PlanRegression.Kind.INDEX_CHANGED && regression.baseline().equals("PAYMENTS_AMOUNT_IDX")));
+        assertTrue(second.regressions().stream().anyMatch(regression ->
+                regression.kind() == PlanRegression.Kind.ACCESS_TYPE_DEGRADED && regression.current().equals("ALL")));
+        // 회귀가 발견된 구문은 기준을 갱신하지 않음
+        assertEquals("PAYMENTS_AMOUNT_IDX", PlanBaseline.load(baselineFile).get("com.example.First.find0").nodes().get(0).key());
+    }
+
+    @Test
+    @DisplayName("동시 실행 수는 1 이상")
+    void rejectInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchExplainRunner(dataSource, 0));
+    }
+
+    private static String mapper(String namespace, int selectCount, boolean withBroken) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mapper namespace=\"" + namespace + "\">\n");
+        for (int i = 0; i < selectCount; i++) {
+            xml.append("""
+                        <select id="find%d" resultType="map">
+                            SELECT * FROM payments
+                            <where>
+                                <if test="amount != null">AND amount > #{amount}</if>
+                                <choose><when test="s">AND status = #{status}</when><otherwise>AND order_id = #{orderId}</otherwise></choose>
+                            </where>
+                        </select>
+                    """.formatted(i));
+        }
+        xml.append("""
+                    <insert id="insertPayment">INSERT INTO payments VALUES (#{id}, #{orderId}, #{amount}, #{status})</insert>
+                """);
+        if (withBroken) {
+            xml.append("""
+                        <select id="findMissingTable" resultType="map">SELECT * FROM no_such_table</select>
+                    """);
+        }
+        return xml.append("</mapper>\n").toString();
+    }
+}
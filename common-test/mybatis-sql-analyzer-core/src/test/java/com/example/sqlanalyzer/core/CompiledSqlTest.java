@@ -0,0 +1,92 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledSqlTest {
+
+    private static final String NAMESPACE = "com.example.mapper.CompiledMapper";
+    private static final SqlSnippetRegistry REGISTRY = SqlSnippetRegistry.fromXml(Map.of(
+            NAMESPACE + ".columns", "<sql id=\"columns\">a, <if test=\"x\">b,</if> c</sql>"
+    ));
+
+    @Test
+    @DisplayName("where: 앞부분의 AND/OR 제거, 내용이 없으면 WHERE 1=1만 출력")
+    void where() throws Exception {
+        assertRendersAs(" SELECT * FROM t   WHERE 1=1  AND ( a = ?    OR b = ? ) ",
+                "<select> SELECT * FROM t <where> <if test='x'> AND a = #{a} </if><if test='y'>OR b = ${b}</if></where></select>", true);
+        assertRendersAs(" SELECT * FROM t   WHERE 1=1  AND ( x = 1 ) ",
+                "<select> SELECT * FROM t <where><if test='x'>\n\tAnD\n x = 1</if></where></select>", true);
+        assertRendersAs(" SELECT * FROM t   WHERE 1=1  AND ( andrew = 1 ) ",
+                "<select> SELECT * FROM t <where><if test='x'>andrew = 1</if></where></select>", true);
+        assertRendersAs(" SELECT * FROM t   WHERE 1=1  ORDER BY 1 ",
+                "<select> SELECT * FROM t <where>  </where> ORDER BY 1</select>", true);
+    }
+
+    @Test
+    @DisplayName("set/trim: 마지막 쉼표와 prefixOverrides 제거")
+    void setAndTrim() throws Exception {
+        assertRendersAs(" UPDATE t   SET a = ?,   b = ?  WHERE id = ? ",
+                "<update> UPDATE t <set><if test='a'>a = #{a},</if><if test='b'>b = #{b},</if></set> WHERE id = #{id}</update>", true);
+        assertRendersAs(" SELECT * FROM t   WHERE a=1    or b = 2 ",
+                "<select> SELECT * FROM t <trim prefix='WHERE' prefixOverrides='AND |OR '><if test='x'> and a=1</if><if test='y'> or b = 2</if></trim></select>", true);
+        // prefixOverrides는 선언 순서대로 한 번씩 적용
+        assertRendersAs(" SELECT * FROM t   WHERE OR c = 1 ",
+                "<select> SELECT * FROM t <trim prefix='WHERE' prefixOverrides='OR|AND'> AND OR c = 1</trim></select>", true);
+    }
+
+    @Test
+    @DisplayName("choose: explain용이면 하나의 분기(otherwise 우선)만, 아니면 모든 분기 출력")
+    void choose() throws Exception {
+        String xml = "<select> SELECT * FROM t WHERE <choose><when test='a'>a = 1</when><when test='b'>b = 2</when><otherwise>c = 3</otherwise></choose></select>";
+        assertRendersAs(" SELECT * FROM t WHERE   c = 3  ", xml, true);
+        assertRendersAs(" SELECT * FROM t WHERE    a = 1   b = 2   c = 3   ", xml, false);
+        assertRendersAs(" SELECT * FROM t WHERE   a = 1  ",
+                "<select> SELECT * FROM t WHERE <choose><when test='a'>a = 1</when><when test='b'>b = 2</when></choose></select>", true);
+    }
+
+    @Test
+    @DisplayName("foreach, bind, include, CDATA 및 알 수 없는 태그")
+    void otherNodes() throws Exception {
+        assertRendersAs(" SELECT * FROM t WHERE id IN   ( ? ) ",
+                "<select> SELECT * FROM t WHERE id IN <foreach collection='l' item='x'>#{x}</foreach></select>", true);
+        assertRendersAs(" SELECT   a,   b,   c   FROM t   /* MISSING_INCLUDE: " + NAMESPACE + ".nope */ ",
+                "<select><bind name='p' value='x'/> SELECT <include refid='columns'/> FROM t <include refid='nope'/></select>", true);
+        assertRendersAs(" SELECT * FROM t   WHERE a < ?      SELECT 1   2  ",
+                "<select> SELECT * FROM t <![CDATA[ WHERE a < #{a} ]]> <!-- c --> <selectKey>SELECT 1 <if test='x'>2</if></selectKey></select>", true);
+    }
+
+    @Test
+    @DisplayName("한 번 컴파일한 구문을 여러 번 렌더링해도 결과가 동일")
+    void renderRepeatedly() throws Exception {
+        Node statement = parse("<select> SELECT <include refid='columns'/> FROM t <where><if test='x'>AND a = #{a}</if></where></select>");
+        CompiledSql compiled = CompiledSql.compile(statement);
+
+        StringBuilder out = new StringBuilder("/* prefix */");
+        compiled.renderTo(out, true, NAMESPACE, REGISTRY);
+        String rendered = compiled.render(true, NAMESPACE, REGISTRY);
+
+        assertEquals("/* prefix */" + rendered, out.toString());
+        assertEquals(rendered, compiled.render(true, NAMESPACE, REGISTRY));
+        assertEquals(SqlExtractor.buildFakeSql(statement, true, NAMESPACE, REGISTRY), rendered);
+    }
+
+    private static void assertRendersAs(String expected, String xml, boolean isForExplain) throws Exception {
+        assertEquals(expected, CompiledSql.compile(parse(xml)).render(isForExplain, NAMESPACE, REGISTRY));
+    }
+
+    private static Node parse(String xml) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        return document.getDocumentElement();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExplainPlanParserTest {
+
+    @Test
+    @DisplayName("MySQL EXPLAIN FORMAT=JSON: 접근 방식, 인덱스, 행 수, filesort")
+    void mysqlJson() throws Exception {
+        String json = """
+                {
+                  "query_block": {
+                    "select_id": 1,
+                    "cost_info": {"query_cost": "4.60"},
+                    "ordering_operation": {
+                      "using_temporary_table": true,
+                      "using_filesort": true,
+                      "nested_loop": [
+                        {"table": {"table_name": "p", "access_type": "ALL", "possible_keys": ["payments_amount_idx"],
+                                   "rows_examined_per_scan": 1200, "filtered": "33.33", "attached_condition": "(`p`.`amount` > 100)"}},
+                        {"table": {"table_name": "o", "access_type": "eq_ref", "possible_keys": ["PRIMARY"], "key": "PRIMARY",
+                                   "rows_examined_per_scan": 1, "filtered": "100.00", "using_index": true}}
+                      ]
+                    }
+                  }
+                }""";
+
+        ExplainPlan plan = ExplainPlanParser.parseJson(json);
+
+        assertEquals(ExplainPlan.FORMAT_JSON, plan.format());
+        assertEquals(2, plan.nodes().size());
+        ExplainPlan.PlanNode payments = plan.nodes().get(0);
+        assertEquals("p", payments.table());
+        assertTrue(payments.scansFullTable());
+        assertNull(payments.key());
+        assertEquals(List.of("payments_amount_idx"), payments.possibleKeys());
+        assertEquals(1200L, payments.rows());
+        assertEquals(33.33, payments.filtered());
+        assertTrue(payments.usingFilesort());
+        assertTrue(payments.usingTemporary());
+        assertEquals(List.of("Using where"), payments.extra());
+
+        ExplainPlan.PlanNode orders = plan.nodes().get(1);
+        assertEquals("PRIMARY", orders.key());
+        assertFalse(orders.usingFilesort());
+        assertEquals(List.of("Using index"), orders.extra());
+        assertTrue(plan.hasFullScan() && plan.hasFilesort() && plan.hasTemporary());
+    }
+
+    @Test
+    @DisplayName("MariaDB EXPLAIN FORMAT=JSON: filesort/temporary_table 객체")
+    void mariadbJson() throws Exception {
+        String json = """
+                {
+                  "query_block": {
+                    "select_id": 1,
+                    "filesort": {
+                      "sort_key": "p.created_at desc",
+                      "temporary_table": {
+                        "table": {"table_name": "p", "access_type": "range", "possible_keys": ["payments_amount_idx"],
+                                  "key": "payments_amount_idx", "rows": 42, "filtered": 100, "index_condition": "p.amount > 100"}
+                      }
+                    }
+                  }
+                }""";
+
+        ExplainPlan plan = ExplainPlanParser.parseJson(json);
+
+        ExplainPlan.PlanNode node = plan.nodes().get(0);
+        assertEquals("range", node.accessType());
+        assertEquals(42L, node.rows());
+        assertEquals(100.0, node.filtered());
+        assertTrue(node.usingFilesort());
+        assertTrue(node.usingTemporary());
+        assertFalse(plan.hasFullScan());
+        assertEquals(List.of("Using index condition"), node.extra());
+    }
+
+    @Test
+    @DisplayName("표 형식 EXPLAIN: Extra의 Using filesort/Using temporary")
+    void tabular() {
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put("id", "1");
+        row.put("table", "payments");
+        row.put("type", "ALL");
+        row.put("possible_keys", "payments_amount_idx,idx_status");
+        row.put("key", null);
+        row.put("rows", "5000");
+        row.put("filtered", "10.00");
+        row.put("extra", "Using where; Using temporary; Using filesort");
+
+        ExplainPlan plan = ExplainPlanParser.parseTabular(List.of(row), row.toString());
+
+        ExplainPlan.PlanNode node = plan.nodes().get(0);
+        assertEquals(List.of("payments_amount_idx", "idx_status"), node.possibleKeys());
+        assertEquals(5000L, node.rows());
+        assertEquals(List.of("Using where", "Using temporary", "Using filesort"), node.extra());
+        assertTrue(plan.hasFullScan() && plan.hasFilesort() && plan.hasTemporary());
+    }
+
+    @Test
+    @DisplayName("H2 PLAN: 주석 힌트로 접근 방식 판단")
+    void h2Plan() {
+        String plan = """
+                SELECT
+                    "P"."PAYMENT_ID"
+                FROM "PUBLIC"."PAYMENTS" "P"
+                    /* PUBLIC.PAYMENTS_AMOUNT_IDX: AMOUNT > ?1 */
+                INNER JOIN "PUBLIC"."ORDERS" "O"
+                    /* PUBLIC.PRIMARY_KEY_8B: ORDER_ID = P.ORDER_ID */
+                    ON 1=1
+                LEFT OUTER JOIN "PUBLIC"."REFUNDS"
+                    /* PUBLIC.REFUNDS.tableScan */
+                    ON 1=1
+                ORDER BY 5 DESC""";
+
+        ExplainPlan parsed = ExplainPlanParser.parseH2(plan);
+
+        assertEquals(List.of("P", "O", "REFUNDS"), parsed.nodes().stream().map(ExplainPlan.PlanNode::table).toList());
+        assertEquals(List.of("range", "ref", "ALL"), parsed.nodes().stream().map(ExplainPlan.PlanNode::accessType).toList());
+        assertEquals("PAYMENTS_AMOUNT_IDX", parsed.nodes().get(0).key());
+        assertTrue(parsed.nodes().get(0).usingFilesort());
+        assertTrue(parsed.hasFullScan());
+        assertFalse(parsed.hasTemporary());
+    }
+}
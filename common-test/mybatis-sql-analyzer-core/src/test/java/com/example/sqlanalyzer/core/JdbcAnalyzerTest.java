@@ -69,6 +69,15 @@ class JdbcAnalyzerTest {
             String explainInfo = JdbcAnalyzer.getExplainInfo(connection, fakeSql);
             assertNotNull(explainInfo);
         }
+
+        // 원본 실행 계획 전체와 테이블별 요약을 모두 기록 (행/컬럼 수와 무관)
+        String joinSql = "SELECT p.payment_id FROM payments p JOIN orders o ON p.order_id = o.order_id JOIN merchants m ON o.mid = m.mid WHERE p.amount > ?";
+        ExplainPlan plan = JdbcAnalyzer.getExplainPlan(connection, joinSql);
+        String joinInfo = JdbcAnalyzer.getExplainInfo(connection, joinSql);
+        assertEquals(3, plan.nodes().size());
+        assertTrue(joinInfo.contains(plan.raw()));
+        assertEquals(3, joinInfo.split(" - Table: ", -1).length - 1);
+        assertTrue(joinInfo.contains("Key: PAYMENTS_AMOUNT_IDX"), joinInfo);
     }
 
 
@@ -91,6 +100,20 @@ class JdbcAnalyzerTest {
         assertEquals(3, tables.size());
     }
 
+    @Test
+    @DisplayName("파싱 제한 시간 초과 시 패턴 기반으로 Table 추출")
+    void extractTablesOnParseTimeout() throws Exception {
+        StringBuilder hugeInList = new StringBuilder("SELECT p.payment_id FROM payments p JOIN orders o ON o.order_id = p.order_id WHERE p.payment_id IN (");
+        for (int i = 0; i < 50_000; i++) {
+            hugeInList.append(i == 0 ? "" : ", ").append("'P").append(i).append("'");
+        }
+        hugeInList.append(")");
+
+        Set<String> tables = JdbcAnalyzer.extractTableMethod(hugeInList.toString(), 1);
+
+        assertEquals(Set.of("payments", "orders"), tables);
+    }
+
 
 
     @Test
@@ -115,4 +138,67 @@ class JdbcAnalyzerTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("H2 실행 계획 모델 추출")
+    void explainPlanOnH2() throws SQLException {
+        ExplainPlan fullScan = JdbcAnalyzer.getExplainPlan(connection, "SELECT status, COUNT(*) FROM payments GROUP BY status");
+        assertEquals(ExplainPlan.FORMAT_H2, fullScan.format());
+        assertTrue(fullScan.hasFullScan());
+        assertTrue(fullScan.hasTemporary());
+
+        ExplainPlan indexSorted = JdbcAnalyzer.getExplainPlan(connection, "SELECT amount FROM payments ORDER BY amount");
+        assertEquals("PAYMENTS_AMOUNT_IDX", indexSorted.nodes().get(0).key());
+        assertFalse(indexSorted.hasFilesort());
+
+        ExplainPlan lookup = JdbcAnalyzer.getExplainPlan(connection, "SELECT * FROM payments WHERE payment_id = ? ORDER BY created_at");
+        assertEquals("ref", lookup.nodes().get(0).accessType());
+        assertTrue(lookup.hasFilesort());
+    }
+
+    @Test
+    @DisplayName("파라미터(?)가 있는 SQL도 값을 바인딩하여 EXPLAIN 실행")
+    void explainsParameterizedSql() throws SQLException {
+        String fakeSql = "SELECT payment_id FROM payments WHERE payment_id = ? AND amount > ? AND status IN ('?', ?)";
+        assertEquals(3, JdbcAnalyzer.countPlaceholders(fakeSql));
+
+        // MySQL Connector/J처럼 파라미터 메타데이터를 제공하지 않고, 바인딩하지 않은 파라미터가 있으면 실행을 거부하는 커넥션
+        ExplainPlan plan = JdbcAnalyzer.getExplainPlan(strictMySqlLike(connection), fakeSql);
+        assertEquals(ExplainPlan.FORMAT_H2, plan.format());
+        assertEquals("ref", plan.nodes().get(0).accessType());
+
+        // 파라미터 타입을 알 수 있으면 타입에 맞는 값을 바인딩
+        ExplainPlan typed = JdbcAnalyzer.getExplainPlan(connection, "SELECT payment_id FROM payments WHERE amount > ? AND created_at > ?");
+        assertFalse(typed.nodes().isEmpty());
+    }
+
+    private static Connection strictMySqlLike(Connection target) {
+        return (Connection) java.lang.reflect.Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMetaData" -> {
+                    DatabaseMetaData metaData = target.getMetaData();
+                    return java.lang.reflect.Proxy.newProxyInstance(DatabaseMetaData.class.getClassLoader(), new Class<?>[]{DatabaseMetaData.class},
+                            (p, m, a) -> m.getName().equals("getDatabaseProductName") ? "MySQL" : m.invoke(metaData, a));
+                }
+                case "prepareStatement" -> {
+                    PreparedStatement stmt = target.prepareStatement((String) args[0]);
+                    Set<Integer> bound = new java.util.HashSet<>();
+                    return java.lang.reflect.Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (p, m, a) -> {
+                        if (m.getName().equals("getParameterMetaData")) {
+                            throw new SQLException("Parameter metadata not available for the given statement");
+                        }
+                        if (m.getName().startsWith("set") && a != null && a[0] instanceof Integer index) {
+                            bound.add(index);
+                        }
+                        if (m.getName().equals("executeQuery") && bound.size() < stmt.getParameterMetaData().getParameterCount()) {
+                            throw new SQLException("No value specified for parameter " + (bound.size() + 1));
+                        }
+                        return m.invoke(stmt, a);
+                    });
+                }
+                default -> {
+                    return method.invoke(target, args);
+                }
+            }
+        });
+    }
+}
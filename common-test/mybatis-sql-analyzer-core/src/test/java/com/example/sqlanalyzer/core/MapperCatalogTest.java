@@ -0,0 +1,124 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Node;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapperCatalogTest {
+
+    private final Path mapperBaseDir = Path.of("src/test/resources/mapper");
+
+    @Test
+    @DisplayName("namespace.id 및 id로 구문 조회")
+    void findStatements() throws Exception {
+        MapperCatalog catalog = MapperCatalog.load(mapperBaseDir);
+
+        MapperStatement statement = catalog.findStatement("com.example.mapper.TestMapper.findBadPerformancePayments");
+        assertNotNull(statement);
+        assertEquals("select", statement.tagName());
+        assertEquals(4, statement.lineNumber());
+        assertTrue(statement.mapperFile().endsWith("TestMapper.xml"));
+
+        List<MapperStatement> byId = catalog.findStatementsById("findBadPerformancePayments");
+        assertEquals(4, byId.size());
+
+        // id 속성이 없는 구문은 색인하지 않음
+        assertTrue(catalog.findStatementsById("findTest").isEmpty());
+        assertNull(catalog.findStatement("com.example.mapper.TestMapper.whereCondition"));
+        assertNotNull(catalog.findSnippet("com.example.mapper.TestMapper.whereCondition"));
+    }
+
+    @Test
+    @DisplayName("카탈로그 결과가 기존 DOM 파싱 결과와 동일")
+    void matchesSqlExtractor() throws Exception {
+        MapperCatalog catalog = MapperCatalog.load(mapperBaseDir);
+        Path mapperFile = mapperBaseDir.resolve("TestMapper.xml");
+
+        Node expectedNode = SqlExtractor.getQueryIdDetail("findBadPerformancePayments", mapperFile.toString());
+        Map<String, String> expectedRegistry = SqlExtractor.getSqlSnippetRegistry(mapperBaseDir);
+        MapperStatement statement = catalog.findStatement("findBadPerformancePayments", mapperFile);
+
+        assertNotNull(statement);
+        assertEquals(expectedRegistry.size(), catalog.getSqlSnippetRegistry().size());
+        assertEquals(
+                SqlExtractor.buildFakeSql(expectedNode, true, "com.example.mapper.TestMapper", expectedRegistry),
+                SqlExtractor.buildFakeSql(statement.node(), true, statement.namespace(), catalog.getSqlSnippetRegistry())
+        );
+    }
+
+    @Test
+    @DisplayName("수정 시각이 바뀐 파일만 다시 색인")
+    void refreshIncrementally(@TempDir Path tempDir) throws Exception {
+        Path first = tempDir.resolve("FirstMapper.xml");
+        Path second = tempDir.resolve("SecondMapper.xml");
+        Files.writeString(first, mapper("com.example.First", "findA"));
+        Files.writeString(second, mapper("com.example.Second", "findB"));
+
+        MapperCatalog catalog = MapperCatalog.load(tempDir);
+        MapperStatement secondBefore = catalog.findStatement("com.example.Second.findB");
+        assertEquals(2, catalog.statementCount());
+        assertFalse(catalog.refresh());
+
+        Files.writeString(first, mapper("com.example.First", "findC"));
+        Files.setLastModifiedTime(first, FileTime.fromMillis(Files.getLastModifiedTime(first).toMillis() + 2_000));
+        assertTrue(catalog.refresh());
+
+        assertNull(catalog.findStatement("com.example.First.findA"));
+        assertNotNull(catalog.findStatement("com.example.First.findC"));
+        // 변경되지 않은 파일은 다시 파싱하지 않음
+        assertSame(secondBefore, catalog.findStatement("com.example.Second.findB"));
+
+        Files.delete(second);
+        assertTrue(catalog.refresh());
+        assertNull(catalog.findStatement("com.example.Second.findB"));
+        assertEquals(1, catalog.statementCount());
+    }
+
+    @Test
+    @DisplayName("원본 쿼리에 주석을 보존하고 구문은 파일 경로 순, 선언 순으로 반환")
+    void keepsCommentsAndStatementOrder(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("BMapper.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE mapper [ <!-- DTD 주석 --> ]>
+                <mapper namespace="com.example.B">
+                    <select id="zeta" resultType="map">
+                        <!-- 결제 금액 조건 -->
+                        SELECT payment_id FROM payments WHERE amount <![CDATA[ > ]]> 100
+                    </select>
+                    <select id="alpha" resultType="map">SELECT 1</select>
+                </mapper>
+                """);
+        Files.writeString(tempDir.resolve("AMapper.xml"), mapper("com.example.A", "only"));
+
+        MapperCatalog catalog = MapperCatalog.load(tempDir);
+        assertEquals(List.of("com.example.A.only", "com.example.B.zeta", "com.example.B.alpha"),
+                catalog.statements().stream().map(MapperStatement::fqn).toList());
+
+        MapperStatement statement = catalog.findStatement("com.example.B.zeta");
+        String original = SqlExtractor.nodeToString(statement.node());
+        assertTrue(original.contains("<!-- 결제 금액 조건 -->"), original);
+        assertFalse(original.contains("DTD 주석"), original);
+        // 주석은 가짜 SQL에 포함되지 않음
+        assertFalse(SqlExtractor.buildFakeSql(statement.node(), true, statement.namespace(), catalog.getSqlSnippetRegistry()).contains("결제"));
+    }
+
+    private static String mapper(String namespace, String id) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <mapper namespace="%s">
+                    <select id="%s" resultType="map">
+                        SELECT * FROM payments WHERE amount <![CDATA[ > ]]> 100
+                    </select>
+                </mapper>
+                """.formatted(namespace, id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanRegressionDetectorTest {
+
+    private static final String STATEMENT_ID = "com.example.mapper.PaymentMapper.findPayments";
+
+    private final PlanRegressionDetector detector = PlanRegressionDetector.defaults();
+
+    @Test
+    @DisplayName("인덱스가 사라져 전체 스캔으로 바뀐 경우")
+    void indexDropped() {
+        ExplainPlan baseline = plan(node("p", "ref", "idx_status", 120L), node("o", "eq_ref", "PRIMARY", 1L));
+        ExplainPlan current = plan(node("o", "eq_ref", "PRIMARY", 1L), node("p", "ALL", null, 50_000L));
+
+        List<PlanRegression> regressions = detector.compare(STATEMENT_ID, baseline, current);
+
+        assertEquals(List.of(PlanRegression.Kind.ACCESS_TYPE_DEGRADED, PlanRegression.Kind.INDEX_CHANGED, PlanRegression.Kind.ROWS_GROWN),
+                regressions.stream().map(PlanRegression::kind).toList());
+        assertTrue(regressions.stream().allMatch(regression -> regression.table().equals("p")));
+        assertEquals(STATEMENT_ID + " [p] INDEX_CHANGED: idx_status -> null", regressions.get(1).message());
+    }
+
+    @Test
+    @DisplayName("같은 계획이거나 개선된 경우는 회귀가 아님")
+    void noRegression() {
+        ExplainPlan baseline = plan(node("p", "ALL", null, 5_000L));
+
+        assertTrue(detector.compare(STATEMENT_ID, baseline, baseline).isEmpty());
+        assertTrue(detector.compare(STATEMENT_ID, baseline, plan(node("p", "range", "idx_amount", 300L))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("예상 행 수 증가는 배수와 최소 행 수를 모두 넘어야 회귀")
+    void rowsThreshold() {
+        ExplainPlan baseline = plan(node("p", "range", "idx_amount", 100L));
+
+        assertTrue(detector.compare(STATEMENT_ID, baseline, plan(node("p", "range", "idx_amount", 900L))).isEmpty());
+        assertTrue(detector.compare(STATEMENT_ID, plan(node("p", "range", "idx_amount", 1_000L)),
+                plan(node("p", "range", "idx_amount", 1_900L))).isEmpty());
+        assertEquals(PlanRegression.Kind.ROWS_GROWN,
+                detector.compare(STATEMENT_ID, baseline, plan(node("p", "range", "idx_amount", 1_500L))).get(0).kind());
+    }
+
+    private static ExplainPlan plan(ExplainPlan.PlanNode... nodes) {
+        return new ExplainPlan(ExplainPlan.FORMAT_TABULAR, null, List.of(nodes));
+    }
+
+    private static ExplainPlan.PlanNode node(String table, String accessType, String key, Long rows) {
+        return new ExplainPlan.PlanNode(table, accessType, key != null ? List.of(key) : List.of(), key, rows, 100.0, false, false, List.of());
+    }
+}
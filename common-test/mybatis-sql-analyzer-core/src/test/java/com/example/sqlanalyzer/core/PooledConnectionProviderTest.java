@@ -0,0 +1,252 @@
+package com.example.sqlanalyzer.core;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbc.JdbcPreparedStatement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledConnectionProviderTest {
+
+    private JdbcDataSource dataSource;
+    private Connection connection;
+    private DataSource source;
+    // 풀이 만든 물리 커넥션 (핸들에서는 꺼낼 수 없으므로 공급원에서 기록)
+    private final List<Connection> physicalConnections = new ArrayList<>();
+
+    @BeforeEach
+    void set() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:pooldb;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        connection = dataSource.getConnection();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE payments (payment_id VARCHAR(50) PRIMARY KEY, amount DECIMAL(10, 2) NOT NULL)");
+            stmt.execute("CREATE INDEX payments_amount_idx ON payments(amount)");
+        }
+        source = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = method.invoke(dataSource, args);
+                    if (result instanceof Connection physical) physicalConnections.add(physical);
+                    return result;
+                });
+    }
+
+    @AfterEach
+    void remove() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("반환된 커넥션을 재사용하고 세션 설정은 물리 커넥션마다 한 번만 실행")
+    void reusesConnectionAndAppliesSessionSettingsOnce() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 2,
+                List.of("SET @INIT_COUNT = COALESCE(@INIT_COUNT, 0) + 1"), PooledConnectionProvider.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            try (Connection borrowed = pool.getConnection()) {
+                assertTrue(borrowed.isValid(1));
+            }
+            try (Connection borrowed = pool.getConnection();
+                 Statement stmt = borrowed.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT @INIT_COUNT")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+
+            assertEquals(1, pool.createdConnections());
+            assertEquals(1, pool.idleConnections());
+            assertEquals(1, physicalConnections.size());
+            assertFalse(physicalConnections.get(0).isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("같은 SQL의 PreparedStatement는 커넥션별 캐시에서 재사용")
+    void reusesPreparedStatements() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1)) {
+            String sql = "SELECT payment_id FROM payments WHERE amount > ?";
+            JdbcPreparedStatement cached;
+            try (Connection borrowed = pool.getConnection()) {
+                try (PreparedStatement stmt = borrowed.prepareStatement(sql)) {
+                    cached = stmt.unwrap(JdbcPreparedStatement.class);
+                    assertSame(borrowed, stmt.getConnection());
+
+                    // 핸들이 열려 있는 동안 같은 SQL을 준비하면 별도 구문을 사용
+                    try (PreparedStatement other = borrowed.prepareStatement(sql)) {
+                        assertNotSame(cached, other.unwrap(JdbcPreparedStatement.class));
+                    }
+                }
+            }
+            try (Connection borrowed = pool.getConnection();
+                 PreparedStatement stmt = borrowed.prepareStatement(sql)) {
+                assertSame(cached, stmt.unwrap(JdbcPreparedStatement.class));
+                assertFalse(cached.isClosed());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("끊어진 커넥션은 대여 시 버리고 새로 만들며, 반환된 핸들은 더 이상 사용할 수 없음")
+    void replacesBrokenConnection() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1)) {
+            Connection returned = pool.getConnection();
+            physicalConnections.get(0).close();
+            returned.close();
+            assertTrue(returned.isClosed());
+            assertThrows(java.sql.SQLException.class, returned::createStatement);
+
+            try (Connection borrowed = pool.getConnection()) {
+                assertTrue(borrowed.isValid(1));
+            }
+            assertEquals(2, pool.createdConnections());
+            assertEquals(1, pool.openConnections());
+        }
+    }
+
+    @Test
+    @DisplayName("커넥션 반환 시 닫지 않은 구문을 정리하여 반환 후에는 실행할 수 없음")
+    void closesLeakedStatementsOnReturn() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1, List.of(), 2)) {
+            String sql = "SELECT payment_id FROM payments WHERE amount > ?";
+            Connection returned = pool.getConnection();
+            PreparedStatement cached = returned.prepareStatement(sql);
+            JdbcPreparedStatement physical = cached.unwrap(JdbcPreparedStatement.class);
+            PreparedStatement uncached = returned.prepareStatement(sql);
+            Statement plain = returned.createStatement();
+            JdbcPreparedStatement latest = null;
+            for (int i = 0; i < 5; i++) {
+                latest = returned.prepareStatement("SELECT " + i + " FROM payments").unwrap(JdbcPreparedStatement.class);
+            }
+            returned.close();
+
+            assertTrue(cached.isClosed());
+            assertTrue(uncached.isClosed());
+            assertTrue(plain.isClosed());
+            assertThrows(java.sql.SQLException.class, cached::executeQuery);
+
+            // 사용 중이라 넘친 캐시는 반환 시 최근 구문만 남도록 정리됨
+            assertTrue(physical.isClosed());
+            assertFalse(latest.isClosed());
+
+            // 다음 사용자가 같은 캐시 구문을 대여해도 반환 전 핸들로는 사용할 수 없음
+            try (Connection borrowed = pool.getConnection();
+                 PreparedStatement stmt = borrowed.prepareStatement("SELECT 4 FROM payments")) {
+                assertSame(latest, stmt.unwrap(JdbcPreparedStatement.class));
+                assertThrows(java.sql.SQLException.class, () -> cached.setInt(1, 1));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertFalse(rs.next());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("반환 시 트랜잭션을 롤백하고 바꾼 세션 상태를 원래 값으로 복원")
+    void restoresSessionStateOnReturn() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1)) {
+            int isolation;
+            try (Connection borrowed = pool.getConnection();
+                 Statement stmt = borrowed.createStatement()) {
+                isolation = borrowed.getTransactionIsolation();
+                borrowed.setAutoCommit(false);
+                borrowed.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                stmt.executeUpdate("INSERT INTO payments VALUES ('p1', 10)");
+            }
+
+            try (Connection borrowed = pool.getConnection();
+                 Statement stmt = borrowed.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM payments")) {
+                assertTrue(borrowed.getAutoCommit());
+                assertEquals(isolation, borrowed.getTransactionIsolation());
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+            assertEquals(1, pool.createdConnections());
+        }
+    }
+
+    @Test
+    @DisplayName("캐시 구문의 maxRows/queryTimeout/fetchSize는 반환 시 원래 값으로 복원")
+    void restoresStatementSettingsOnRelease() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1)) {
+            String sql = "SELECT payment_id FROM payments WHERE amount > ?";
+            int fetchSize;
+            try (Connection borrowed = pool.getConnection();
+                 PreparedStatement stmt = borrowed.prepareStatement(sql)) {
+                fetchSize = stmt.getFetchSize();
+                stmt.setFetchSize(fetchSize + 7);
+                stmt.setMaxRows(1);
+                stmt.setQueryTimeout(5);
+            }
+
+            try (Connection borrowed = pool.getConnection();
+                 PreparedStatement stmt = borrowed.prepareStatement(sql)) {
+                assertEquals(0, stmt.getMaxRows());
+                assertEquals(0, stmt.getQueryTimeout());
+                assertEquals(fetchSize, stmt.getFetchSize());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("핸들에서 물리 커넥션을 꺼낼 수 없고, 구문의 getConnection()은 대여 핸들을 반환")
+    void doesNotExposePhysicalConnection() throws Exception {
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 1)) {
+            try (Connection borrowed = pool.getConnection();
+                 Statement plain = borrowed.createStatement();
+                 PreparedStatement keys = borrowed.prepareStatement("INSERT INTO payments VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement cached = borrowed.prepareStatement("SELECT 1")) {
+                assertThrows(SQLException.class, () -> borrowed.unwrap(JdbcConnection.class));
+                assertFalse(borrowed.isWrapperFor(JdbcConnection.class));
+                assertSame(borrowed, borrowed.unwrap(Connection.class));
+
+                assertSame(borrowed, plain.getConnection());
+                assertSame(borrowed, keys.getConnection());
+                assertSame(borrowed, cached.getConnection());
+            }
+
+            assertEquals(1, pool.idleConnections());
+            assertFalse(physicalConnections.get(0).isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 EXPLAIN을 반복 실행해도 커넥션 수는 동시 실행 수로 일정")
+    void keepsSteadyConnectionsAcrossBatchRuns(@TempDir Path tempDir) throws Exception {
+        Path mapperDir = Files.createDirectories(tempDir.resolve("mapper"));
+        StringBuilder mapper = new StringBuilder("<mapper namespace=\"com.example.Pool\">\n");
+        for (int i = 0; i < 20; i++) {
+            mapper.append("<select id=\"find").append(i).append("\">SELECT payment_id FROM payments WHERE amount > #{min}</select>\n");
+        }
+        Files.writeString(mapperDir.resolve("PoolMapper.xml"), mapper.append("</mapper>\n"));
+        MapperCatalog catalog = MapperCatalog.load(mapperDir);
+
+        try (PooledConnectionProvider pool = new PooledConnectionProvider(source, 2)) {
+            BatchExplainRunner runner = new BatchExplainRunner(pool, 2);
+            for (int run = 0; run < 3; run++) {
+                BatchExplainSummary summary = runner.run(catalog, tempDir.resolve("out/explain-" + run + ".jsonl"));
+                assertEquals(20, summary.succeeded());
+            }
+
+            assertTrue(pool.createdConnections() <= 2, "created=" + pool.createdConnections());
+            assertEquals(pool.createdConnections(), pool.idleConnections());
+        }
+    }
+}
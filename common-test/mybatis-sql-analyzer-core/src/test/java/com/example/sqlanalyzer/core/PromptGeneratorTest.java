@@ -1,11 +1,15 @@
 package com.example.sqlanalyzer.core;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
+import java.util.List;
 
 class PromptGeneratorTest {
 
@@ -77,4 +81,68 @@ class PromptGeneratorTest {
         Assertions.assertNotNull(prompt);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("매퍼 카탈로그로 Prompt 생성")
+    void printPromptFromCatalog() throws Exception {
+        MapperCatalog catalog = MapperCatalog.load(mapperPathDir);
+        StringBuilder prompt = PromptGenerator.generatePrompt(connection, catalog, "com.example.mapper.TestMapper." + queryId);
+
+        Assertions.assertEquals(PromptGenerator.generatePrompt(connection, queryId, mapperPath, mapperPathDir).toString(), prompt.toString());
+    }
+
+    @Test
+    @DisplayName("Writer로 기록한 Prompt는 구간별로 원본 쿼리, 가공 sql, 실행 계획, 메타데이터를 순서대로 포함")
+    void writePromptToWriter() throws Exception {
+        MapperCatalog catalog = MapperCatalog.load(mapperPathDir);
+        StringWriter out = new StringWriter();
+        PromptGenerator.writePrompt(out, connection, catalog, "com.example.mapper.TestMapper." + queryId);
+        String prompt = out.toString();
+
+        Assertions.assertTrue(prompt.startsWith("너는 10년 차 수석 DBA이자 쿼리 튜닝 전문가야.\n"));
+        Assertions.assertTrue(prompt.endsWith("MyBatis XML 코드를 작성\n"));
+
+        String original = section(prompt, "[Original Query] : ", "[Remove Tag Query] : ");
+        Assertions.assertTrue(original.startsWith("<select id=\"" + queryId + "\""), original);
+        Assertions.assertTrue(original.contains("<if test=\"status != null\">"), original);
+
+        String fakeSql = section(prompt, "[Remove Tag Query] : ", "[Explain] : ");
+        Assertions.assertTrue(fakeSql.contains("WHERE p.amount > ?"), fakeSql);
+        Assertions.assertTrue(fakeSql.contains("AND p.status = ?"), fakeSql);
+        Assertions.assertFalse(fakeSql.contains("<if"), fakeSql);
+
+        String explain = section(prompt, "[Explain] : ", "[MetaData] : ");
+        Assertions.assertTrue(explain.startsWith("(H2)\n"), explain);
+        Assertions.assertTrue(explain.contains(" - Table: P, Type: range, PossibleKeys: [PAYMENTS_AMOUNT_IDX], Key: PAYMENTS_AMOUNT_IDX"), explain);
+        Assertions.assertEquals(3, explain.split(" - Table: ", -1).length - 1, explain);
+
+        String metaData = section(prompt, "[MetaData] : ", "[요청 사항]");
+        Assertions.assertTrue(metaData.contains("[DATABASE INFO] : (ProductName)H2"), metaData);
+        for (String table : List.of("PAYMENTS", "ORDERS", "MERCHANTS")) {
+            Assertions.assertTrue(metaData.contains("[TABLE INFO] : " + table), metaData);
+        }
+        Assertions.assertTrue(metaData.contains(" - Index: PAYMENTS_AMOUNT_IDX, Column: AMOUNT, Unique: false"), metaData);
+        Assertions.assertFalse(metaData.contains("REFUNDS"), metaData);
+    }
+
+    // start 머리글부터 end 머리글 전까지의 구간 (머리글이 순서대로 있어야 함)
+    private static String section(String prompt, String start, String end) {
+        int from = prompt.indexOf(start);
+        int to = prompt.indexOf(end);
+        Assertions.assertTrue(from >= 0 && to > from, start + " / " + end);
+        return prompt.substring(from + start.length(), to);
+    }
+
+    @Test
+    @DisplayName("여러 구문의 Prompt를 하나의 파일에 기록")
+    void writePromptsToFile(@TempDir Path tempDir) throws Exception {
+        MapperCatalog catalog = MapperCatalog.load(mapperPathDir);
+        String statementFqn = "com.example.mapper.TestMapper." + queryId;
+        Path output = tempDir.resolve("prompts/prompts.md");
+
+        int written = PromptGenerator.writePrompts(output, connection, catalog, List.of(statementFqn, statementFqn));
+
+        String single = PromptGenerator.generatePrompt(connection, catalog, statementFqn).toString();
+        Assertions.assertEquals(2, written);
+        Assertions.assertEquals("### " + statementFqn + "\n" + single + "\n### " + statementFqn + "\n" + single, Files.readString(output));
+    }
+}
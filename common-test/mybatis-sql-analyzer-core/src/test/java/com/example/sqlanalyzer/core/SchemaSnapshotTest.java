@@ -0,0 +1,119 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaSnapshotTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void set() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:snapshotdb;DB_CLOSE_DELAY=-1", "sa", "");
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE payments (payment_id VARCHAR(50) PRIMARY KEY, order_id VARCHAR(50) NOT NULL, amount DECIMAL(10, 2) NOT NULL, status VARCHAR(20) NOT NULL)");
+            stmt.execute("CREATE TABLE orders (order_id VARCHAR(50) PRIMARY KEY, user_id VARCHAR(50) NOT NULL, mid VARCHAR(10) NOT NULL)");
+            stmt.execute("CREATE INDEX payments_amount_idx ON payments(amount)");
+            stmt.execute("CREATE UNIQUE INDEX orders_user_mid_idx ON orders(user_id, mid)");
+        }
+    }
+
+    @AfterEach
+    void remove() throws Exception {
+        SchemaSnapshotCache.shared().invalidateAll();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 기반 메타데이터 정보가 DB 직접 조회 결과와 동일")
+    void sameAsLiveMetaData() throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.capture(connection);
+        Set<String> tables = new LinkedHashSet<>(List.of("payments", "orders", "missing_table"));
+
+        // 인덱스 정보는 테이블을 처음 조회할 때 읽음
+        assertNull(snapshot.table("orders").indexes());
+        assertEquals(
+                JdbcAnalyzer.getMetaDataInfo(tables, connection.getMetaData()).toString(),
+                metaDataInfo(tables, snapshot)
+        );
+
+        SchemaSnapshot.TableInfo orders = snapshot.table("orders");
+        assertEquals(List.of("ORDER_ID", "USER_ID", "MID"), orders.columns().stream().map(SchemaSnapshot.ColumnInfo::name).toList());
+        assertTrue(orders.indexes().stream().anyMatch(index -> index.indexName().equals("ORDERS_USER_MID_IDX") && index.unique()));
+        assertNull(snapshot.table("missing_table"));
+        assertNull(snapshot.table("missing_table", connection.getMetaData()));
+    }
+
+    @Test
+    @DisplayName("현재 schema 밖의 테이블도 DB 직접 조회와 같이 조회")
+    void resolvesTablesOutsideDefaultSchema() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA archive");
+            stmt.execute("CREATE TABLE archive.archived_payments (payment_id VARCHAR(50) PRIMARY KEY, archived_at TIMESTAMP)");
+        }
+        SchemaSnapshot snapshot = SchemaSnapshot.capture(connection);
+        assertNull(snapshot.table("archived_payments"));
+
+        Set<String> tables = Set.of("archived_payments");
+        assertEquals(
+                JdbcAnalyzer.getMetaDataInfo(tables, connection.getMetaData()).toString(),
+                metaDataInfo(tables, snapshot)
+        );
+        SchemaSnapshot.TableInfo archived = snapshot.table("archived_payments");
+        assertEquals("ARCHIVE", archived.schema());
+        assertFalse(archived.indexes().isEmpty());
+    }
+
+    private String metaDataInfo(Set<String> tables, SchemaSnapshot snapshot) throws Exception {
+        StringBuilder result = new StringBuilder();
+        JdbcAnalyzer.writeMetaDataInfo(result, tables, snapshot, connection.getMetaData());
+        return result.toString();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 디스크에 저장하고 다시 읽기")
+    void saveAndRead(@TempDir Path tempDir) throws Exception {
+        SchemaSnapshot snapshot = SchemaSnapshot.capture(connection);
+        snapshot.loadAllIndexes(connection.getMetaData());
+        Path file = tempDir.resolve("schema/snapshot.json");
+
+        snapshot.save(file);
+        SchemaSnapshot read = SchemaSnapshot.read(file);
+
+        assertEquals(snapshot, read);
+        Set<String> tables = Set.of("payments");
+        assertEquals(JdbcAnalyzer.getMetaDataInfo(tables, connection.getMetaData()).toString(), JdbcAnalyzer.getMetaDataInfo(tables, read).toString());
+    }
+
+    @Test
+    @DisplayName("접속 URL별로 한 번만 수집하고 무효화 후 다시 수집")
+    void cachePerUrl() throws Exception {
+        SchemaSnapshotCache cache = new SchemaSnapshotCache();
+        SchemaSnapshot first = cache.get(connection);
+        assertSame(first, cache.get(connection));
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE refunds (refund_id VARCHAR(50) PRIMARY KEY)");
+        }
+        assertNull(cache.get(connection).table("refunds"));
+
+        cache.invalidate(connection.getMetaData().getURL());
+        SchemaSnapshot refreshed = cache.get(connection);
+        assertNotSame(first, refreshed);
+        assertNotNull(refreshed.table("refunds"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.sqlanalyzer.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlSnippetRegistryTest {
+
+    private static final String NAMESPACE = "com.example.mapper.SharedMapper";
+    private final Path mapperBaseDir = Path.of("src/test/resources/mapper");
+
+    @Test
+    @DisplayName("파싱된 조각 레지스트리와 문자열 레지스트리의 확장 결과가 동일")
+    void sameResultAsStringRegistry() throws Exception {
+        Node statement = statementNode("""
+                <select id="findTest" resultType="map">
+                    SELECT * FROM payments
+                    <include refid="com.example.mapper.TestMapper.whereCondition"/>
+                </select>""");
+        Map<String, String> rawRegistry = SqlExtractor.getSqlSnippetRegistry(mapperBaseDir);
+        SqlSnippetRegistry registry = SqlSnippetRegistry.load(mapperBaseDir);
+
+        assertEquals(rawRegistry.size(), registry.size());
+        for (boolean isForExplain : new boolean[]{true, false}) {
+            String expected = SqlExtractor.buildFakeSql(statement, isForExplain, NAMESPACE, rawRegistry);
+            assertEquals(expected, SqlExtractor.buildFakeSql(statement, isForExplain, NAMESPACE, registry));
+            assertFalse(expected.contains("MISSING_INCLUDE"));
+        }
+    }
+
+    @Test
+    @DisplayName("공유 조각은 (refid, isForExplain)별로 한 번만 확장")
+    void memoizesExpansion() throws Exception {
+        SqlSnippetRegistry registry = SqlSnippetRegistry.fromXml(Map.of(
+                NAMESPACE + ".columns", "<sql id=\"columns\">id, <include refid=\"audit\"/></sql>",
+                NAMESPACE + ".audit", "<sql id=\"audit\">created_at, updated_at</sql>"
+        ));
+
+        String first = registry.expand(NAMESPACE + ".columns", true, NAMESPACE);
+        assertSame(first, registry.expand(NAMESPACE + ".columns", true, NAMESPACE));
+        assertSame(registry.expand(NAMESPACE + ".audit", true, NAMESPACE), registry.expand(NAMESPACE + ".audit", true, NAMESPACE));
+        assertTrue(first.contains("created_at, updated_at"));
+        assertNull(registry.expand(NAMESPACE + ".unknown", true, NAMESPACE));
+
+        Node statement = statementNode("""
+                <select id="findAll">
+                    SELECT <include refid="columns"/> FROM a
+                    UNION ALL SELECT <include refid="columns"/> FROM b
+                </select>""");
+        String fakeSql = SqlExtractor.buildFakeSql(statement, true, NAMESPACE, registry);
+        assertEquals(2, fakeSql.split("updated_at", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("없는 조각과 파싱할 수 없는 조각은 주석으로 표시")
+    void missingAndBrokenSnippets() throws Exception {
+        SqlSnippetRegistry registry = SqlSnippetRegistry.fromXml(Map.of(NAMESPACE + ".broken", "<sql id=\"broken\">"));
+        Node statement = statementNode("""
+                <select id="find">
+                    SELECT * FROM a <include refid="broken"/> <include refid="missing"/>
+                </select>""");
+
+        String fakeSql = SqlExtractor.buildFakeSql(statement, true, NAMESPACE, registry);
+
+        assertTrue(fakeSql.contains("/* ERROR_PARSING_INCLUDE: " + NAMESPACE + ".broken */"));
+        assertTrue(fakeSql.contains("/* MISSING_INCLUDE: " + NAMESPACE + ".missing */"));
+    }
+
+    private static Node statementNode(String xml) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        return document.getDocumentElement();
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.rulecore.report;
 
+import com.example.rulecore.ruleEngine.RuleMetrics;
 import com.example.rulecore.ruleEngine.RuleResult;
 import com.example.rulecore.ruleEngine.RuleViolation;
 import com.example.rulecore.ruleEngine.enums.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
@@ -38,6 +40,7 @@ public class Report {
         summary.put("warnCount", result.violations().stream().filter(v -> v.status() == Status.WARN).count());
         summary.put("timestamp", LocalDateTime.now().format(formatter));
         summary.put("success", !result.hasError());
+        summary.put("ruleMetrics", result.ruleMetrics());
 
         String fileName = "summary-report_" + LocalDateTime.now().format(formatter) + ".json";
         saveReport(summary, fileName);
@@ -73,6 +76,7 @@ public class Report {
     public void printConsoleReport(RuleResult result) {
         if (result.violations().isEmpty()) {
             System.out.println("\n[RULE CHECK] No violations found. Well done!\n");
+            printRuleMetrics(result);
             return;
         }
 
@@ -91,6 +95,29 @@ public class Report {
         System.out.println("- Warn: " + result.violations().stream().filter(v -> v.status() == Status.WARN).count());
         System.out.println("Execution Time: " + result.executionTimeMillis() + "ms");
         System.out.println("========================================\n");
+        printRuleMetrics(result);
+    }
+
+    /**
+     * 규칙별 실행 지표를 출력합니다. (느린 규칙을 CI 로그에서 바로 확인하기 위함)
+     */
+    private void printRuleMetrics(RuleResult result) {
+        if (result.ruleMetrics().isEmpty()) {
+            return;
+        }
+
+        System.out.println("Rule Metrics:");
+        for (RuleMetrics metrics : result.ruleMetrics()) {
+            System.out.println("- " + metrics.format());
+        }
+        System.out.println("========================================\n");
+    }
+
+    /**
+     * 리포트 데이터를 파일로 저장할 JSON 문자열로 변환합니다.
+     */
+    String toJson(Object data) throws JsonProcessingException {
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data);
     }
 
     private void saveReport(Object data, String fileName) {
@@ -99,7 +126,7 @@ public class Report {
                 Files.createDirectories(outputDir);
             }
             Path path = outputDir.resolve(fileName).toAbsolutePath().normalize();
-            Files.write(path, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data).getBytes());
+            Files.write(path, toJson(data).getBytes());
             System.out.println("[REPORT] Report written to: " + path.toUri());
         } catch (IOException e){
             System.err.println("[REPORT] Failed to write report: " + e.getMessage());
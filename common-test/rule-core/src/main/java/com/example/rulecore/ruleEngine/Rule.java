@@ -15,4 +15,14 @@ public interface Rule {
      * @throws Exception 검사 과정에서 발생한 예외
      */
     List<RuleViolation> check(RuleContext context) throws Exception;
+
+    /**
+     * 규칙 구현 버전을 반환합니다.
+     * 검사 로직이 바뀌면 값을 올려 이전 버전으로 캐시된 결과({@link RuleResultCache})를 무효화합니다.
+     *
+     * @return 규칙 버전
+     */
+    default String getVersion() {
+        return "1";
+    }
 }
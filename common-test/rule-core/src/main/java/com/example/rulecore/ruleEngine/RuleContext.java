@@ -1,23 +1,38 @@
 package com.example.rulecore.ruleEngine;
 
+import com.example.rulecore.rules.java.JavaClassesCache;
+import com.example.rulecore.rules.java.SourceFileIndex;
+import com.example.rulecore.rules.sql.SchemaIndex;
+import com.example.rulecore.rules.sql.SqlParseCache;
+
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * 규칙 검사에 필요한 환경 정보를 담고 있는 컨텍스트 클래스입니다.
+ * 한 번의 검사 실행 동안 규칙들이 공유하는 캐시(클래스 임포트 결과, 소스 파일 색인 등)도 함께 보관합니다.
  */
 public record RuleContext(
         String basePackage,
         Path projectRoot,
         Path workspaceRoot,
         List<Path> mapperDirs,
-        List<Path> affectedFiles
+        List<Path> affectedFiles,
+        JavaClassesCache javaClassesCache,
+        SourceFileIndex sourceFileIndex,
+        RuleResultCache resultCache,
+        long sqlParseTimeoutMillis,
+        SchemaIndex schemaIndex
 ) {
     public boolean hasAffectedFiles() {
         return affectedFiles != null && !affectedFiles.isEmpty();
     }
 
+    public boolean hasResultCache() {
+        return resultCache != null;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -28,6 +43,10 @@ public record RuleContext(
         private Path workspaceRoot;
         private List<Path> mapperDirs = Collections.emptyList();
         private List<Path> affectedFiles = Collections.emptyList();
+        private JavaClassesCache javaClassesCache;
+        private RuleResultCache resultCache;
+        private long sqlParseTimeoutMillis = SqlParseCache.DEFAULT_TIMEOUT_MILLIS;
+        private SchemaIndex schemaIndex;
 
         public Builder basePackage(String basePackage) {
             this.basePackage = basePackage;
@@ -54,8 +73,42 @@ public record RuleContext(
             return this;
         }
 
+        /**
+         * 여러 번의 실행에서 임포트 결과를 공유하고 싶을 때 지정합니다. (기본값: 실행마다 새 캐시)
+         */
+        public Builder javaClassesCache(JavaClassesCache javaClassesCache) {
+            this.javaClassesCache = javaClassesCache;
+            return this;
+        }
+
+        /**
+         * 파일 내용 해시 기반 결과 캐시를 지정합니다. (기본값: 캐시 미사용)
+         */
+        public Builder resultCache(RuleResultCache resultCache) {
+            this.resultCache = resultCache;
+            return this;
+        }
+
+        /**
+         * SQL 파싱 제한 시간(ms)을 지정합니다. 초과 시 휴리스틱 검사로 대체합니다. (기본값: 2000ms)
+         */
+        public Builder sqlParseTimeoutMillis(long sqlParseTimeoutMillis) {
+            this.sqlParseTimeoutMillis = sqlParseTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * 인덱스 검사({@code IndexCoverageRule})에 사용할 스키마 정보를 지정합니다. (기본값: 없음, 검사 생략)
+         */
+        public Builder schemaIndex(SchemaIndex schemaIndex) {
+            this.schemaIndex = schemaIndex;
+            return this;
+        }
+
         public RuleContext build() {
-            return new RuleContext(basePackage, projectRoot, workspaceRoot, mapperDirs, affectedFiles);
+            JavaClassesCache classesCache = javaClassesCache != null ? javaClassesCache : new JavaClassesCache();
+            return new RuleContext(basePackage, projectRoot, workspaceRoot, mapperDirs, affectedFiles, classesCache,
+                    new SourceFileIndex(projectRoot), resultCache, sqlParseTimeoutMillis, schemaIndex);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.example.rulecore.ruleEngine;
+
+/**
+ * 규칙 하나의 실행 지표입니다.
+ * 측정할 수 없는 항목(JVM이 스레드 CPU 시간/할당량 측정을 지원하지 않는 경우 등)은 -1로 기록됩니다.
+ *
+ * @param ruleName 규칙 이름
+ * @param wallTimeMillis 실행 시간 (ms)
+ * @param cpuTimeMillis 실행 스레드의 CPU 사용 시간 (ms)
+ * @param filesScanned 검사한 파일 수
+ * @param bytesRead 검사한 파일의 총 크기 (bytes)
+ * @param allocatedBytes 실행 중 할당한 메모리 (bytes)
+ * @param violationCount 발견한 위반 사항 수
+ * @param parseTimeouts SQL 파싱 제한 시간 초과 횟수 (휴리스틱 검사로 대체된 횟수)
+ */
+public record RuleMetrics(
+        String ruleName,
+        long wallTimeMillis,
+        long cpuTimeMillis,
+        int filesScanned,
+        long bytesRead,
+        long allocatedBytes,
+        int violationCount,
+        int parseTimeouts
+) {
+
+    /**
+     * 콘솔 출력을 위한 한 줄 요약을 반환합니다.
+     */
+    public String format() {
+        String line = "%-36s wall=%6dms cpu=%6s files=%6d read=%9s alloc=%9s violations=%d".formatted(
+                ruleName,
+                wallTimeMillis,
+                cpuTimeMillis < 0 ? "-" : cpuTimeMillis + "ms",
+                filesScanned,
+                formatBytes(bytesRead),
+                formatBytes(allocatedBytes),
+                violationCount
+        );
+        return parseTimeouts > 0 ? line + " parseTimeouts=" + parseTimeouts : line;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) return "-";
+        if (bytes < 1024) return bytes + "B";
+        if (bytes < 1024 * 1024) return "%.1fKB".formatted(bytes / 1024.0);
+        return "%.1fMB".formatted(bytes / (1024.0 * 1024));
+    }
+}
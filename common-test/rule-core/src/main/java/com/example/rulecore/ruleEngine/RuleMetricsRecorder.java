@@ -0,0 +1,145 @@
+package com.example.rulecore.ruleEngine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 규칙 실행 중 지표(실행 시간, CPU 시간, 파일 수/크기, 메모리 할당량)를 수집합니다.
+ * 규칙은 하나의 스레드에서 실행되므로 RuleRunner가 실행 스레드에 기록기를 연결하고,
+ * 규칙 구현체는 {@link #current()}로 기록기를 얻어 검사한 파일 정보를 기록합니다.
+ * RuleRunner 밖에서 규칙을 직접 실행한 경우 기록은 무시됩니다.
+ */
+public final class RuleMetricsRecorder {
+
+    private static final ThreadLocal<RuleMetricsRecorder> CURRENT = new ThreadLocal<>();
+    private static final RuleMetricsRecorder DISABLED = new RuleMetricsRecorder(null);
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+
+    private final String ruleName;
+    private final List<RuleMetrics> details = new ArrayList<>();
+    private long startNanos;
+    private long startCpuNanos;
+    private long startAllocatedBytes;
+    private int filesScanned;
+    private long bytesRead;
+    private int parseTimeouts;
+    private int timeoutFallbacks;
+
+    private RuleMetricsRecorder(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    /**
+     * 현재 스레드에서 규칙 측정을 시작합니다.
+     */
+    static RuleMetricsRecorder start(String ruleName) {
+        RuleMetricsRecorder recorder = new RuleMetricsRecorder(ruleName);
+        recorder.startNanos = System.nanoTime();
+        recorder.startCpuNanos = currentThreadCpuNanos();
+        recorder.startAllocatedBytes = currentThreadAllocatedBytes();
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * 현재 스레드에서 실행 중인 규칙의 기록기를 반환합니다. (측정 중이 아니면 기록을 무시하는 기록기)
+     */
+    public static RuleMetricsRecorder current() {
+        RuleMetricsRecorder recorder = CURRENT.get();
+        return recorder != null ? recorder : DISABLED;
+    }
+
+    /**
+     * 검사한 파일을 기록합니다.
+     *
+     * @param bytes 파일 크기
+     */
+    public void recordFile(long bytes) {
+        recordFiles(1, bytes);
+    }
+
+    public void recordFiles(int count, long bytes) {
+        if (this == DISABLED) return;
+        filesScanned += count;
+        bytesRead += bytes;
+    }
+
+    /**
+     * SQL 파싱 제한 시간 초과를 기록합니다.
+     *
+     * @param parsed 실제로 파싱을 수행하여 시간이 초과되었는지 여부 (false: 이전에 캐시된 시간 초과 결과를 재사용)
+     */
+    public void recordParseTimeout(boolean parsed) {
+        if (this == DISABLED) return;
+        if (parsed) parseTimeouts++;
+        timeoutFallbacks++;
+    }
+
+    /**
+     * 지금까지 기록된 SQL 파싱 제한 시간 초과 횟수를 반환합니다. (실제로 파싱을 수행한 경우만)
+     */
+    public int parseTimeouts() {
+        return parseTimeouts;
+    }
+
+    /**
+     * 파싱 제한 시간 초과로 휴리스틱 검사를 사용한 횟수를 반환합니다. (캐시된 시간 초과 포함)
+     * 시간 초과는 실행 환경의 부하에 따라 달라지므로, 이 값이 늘어난 검사 결과는 결과 캐시에 저장하지 않습니다.
+     */
+    public int timeoutFallbacks() {
+        return timeoutFallbacks;
+    }
+
+    /**
+     * 여러 규칙을 한 번에 실행하는 복합 규칙(MybatisRuleDispatcher 등)이 내부 규칙별 지표를 추가합니다.
+     */
+    public void addDetail(RuleMetrics metrics) {
+        if (this == DISABLED) return;
+        details.add(metrics);
+    }
+
+    /**
+     * 측정을 종료하고 규칙 지표를 반환합니다. 복합 규칙의 내부 규칙 지표가 있으면 뒤에 이어서 반환합니다.
+     */
+    List<RuleMetrics> finish(int violationCount) {
+        CURRENT.remove();
+        long wallNanos = System.nanoTime() - startNanos;
+        long cpuNanos = startCpuNanos < 0 ? -1 : currentThreadCpuNanos() - startCpuNanos;
+        long allocated = startAllocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - startAllocatedBytes;
+
+        List<RuleMetrics> metrics = new ArrayList<>();
+        metrics.add(new RuleMetrics(ruleName, wallNanos / 1_000_000, cpuNanos < 0 ? -1 : cpuNanos / 1_000_000,
+                filesScanned, bytesRead, allocated, violationCount, parseTimeouts));
+        metrics.addAll(details);
+        return metrics;
+    }
+
+    /**
+     * 현재 스레드의 CPU 사용 시간(ns)을 반환합니다. 지원하지 않거나 측정이 꺼진 JVM에서는 -1을 반환합니다.
+     * JVM 전역 설정이므로 측정을 켜지 않습니다. (Gradle 데몬 등 실행 환경의 설정을 변경하지 않음)
+     */
+    public static long currentThreadCpuNanos() {
+        return CPU_TIME_SUPPORTED && THREAD_MX_BEAN.isThreadCpuTimeEnabled() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * 현재 스레드가 지금까지 할당한 메모리(bytes)를 반환합니다. 지원하지 않는 JVM에서는 -1을 반환합니다.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemoryEnabled()) {
+            return sunBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+}
@@ -6,12 +6,17 @@ import java.util.List;
 
 /**
  * 규칙 검사 전체 실행 결과를 담는 객체입니다.
- * 총 실행 시간(ms) 정보를 포함합니다.
+ * 총 실행 시간(ms)과 규칙별 실행 지표(실행 시간, CPU 시간, 파일 수, 할당량 등)를 포함합니다.
  */
 public record RuleResult(
         List<RuleViolation> violations,
-        long executionTimeMillis
+        long executionTimeMillis,
+        List<RuleMetrics> ruleMetrics
 ) {
+    public RuleResult(List<RuleViolation> violations, long executionTimeMillis) {
+        this(violations, executionTimeMillis, List.of());
+    }
+
     public boolean hasError() {
         return violations.stream()
                 .anyMatch(
@@ -0,0 +1,167 @@
+package com.example.rulecore.ruleEngine;
+
+import com.example.rulecore.ruleEngine.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파일 내용 해시 기반으로 규칙 검사 결과를 디스크에 보관하는 영속 캐시입니다.
+ * 키는 (규칙 ID, 규칙 버전, 파일 위치, 내용 해시)로 구성되며, 내용이 바뀌지 않은 파일은 다시 검사하지 않고 캐시된 위반 목록을 사용합니다.
+ * 브랜치를 전환했다가 돌아오는 경우에도 이전 결과를 재사용할 수 있도록 이번 실행에서 사용하지 않은 항목도 보존합니다.
+ */
+public class RuleResultCache {
+
+    /** 캐시 파일 구조가 바뀌면 올려서 기존 캐시를 무효화합니다. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** 캐시 항목 최대 개수. 초과 시 이번 실행에서 사용하지 않은 항목부터 제거합니다. */
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path cacheFile;
+    private final String workspaceRoot;
+    private final Map<String, List<CachedViolation>> entries = new ConcurrentHashMap<>();
+    private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+
+    private RuleResultCache(Path cacheFile, Path workspaceRoot) {
+        this.cacheFile = cacheFile;
+        this.workspaceRoot = workspaceRoot != null ? workspaceRoot.toAbsolutePath().normalize().toString() : "";
+    }
+
+    /**
+     * 캐시 파일을 읽어 캐시를 생성합니다. 파일이 없거나 손상되었거나 작업 공간이 다르면 빈 캐시로 시작합니다.
+     *
+     * @param cacheFile 캐시 파일 경로 (예: build/rule-cache/rule-results.json)
+     * @param workspaceRoot 리포트의 상대 경로 기준 (캐시된 상대 경로의 유효성 확인용)
+     */
+    public static RuleResultCache load(Path cacheFile, Path workspaceRoot) {
+        RuleResultCache cache = new RuleResultCache(cacheFile, workspaceRoot);
+        if (!Files.exists(cacheFile)) {
+            return cache;
+        }
+
+        try {
+            CacheFile stored = cache.objectMapper.readValue(cacheFile.toFile(), CacheFile.class);
+            if (stored.formatVersion() == FORMAT_VERSION && cache.workspaceRoot.equals(stored.workspaceRoot()) && stored.entries() != null) {
+                cache.entries.putAll(stored.entries());
+            }
+        } catch (IOException e) {
+            System.err.println("[CACHE] Ignoring unreadable rule result cache: " + e.getMessage());
+        }
+        return cache;
+    }
+
+    /**
+     * 캐시된 위반 목록을 조회합니다.
+     *
+     * @param rule 검사 규칙
+     * @param location 검사 대상 위치 (파일 경로 또는 클래스 루트)
+     * @param contentHash 검사 대상 내용 해시
+     */
+    public Optional<List<RuleViolation>> get(Rule rule, String location, String contentHash) {
+        String key = key(rule, location, contentHash);
+        List<CachedViolation> cached = entries.get(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        usedKeys.add(key);
+        return Optional.of(cached.stream().map(CachedViolation::toViolation).toList());
+    }
+
+    /**
+     * 검사 결과를 캐시에 저장합니다.
+     */
+    public void put(Rule rule, String location, String contentHash, List<RuleViolation> violations) {
+        String key = key(rule, location, contentHash);
+        entries.put(key, violations.stream().map(CachedViolation::from).toList());
+        usedKeys.add(key);
+    }
+
+    /**
+     * 캐시를 디스크에 기록합니다. 기록 실패는 검사 결과에 영향을 주지 않습니다.
+     */
+    public void save() {
+        Map<String, List<CachedViolation>> toSave = new LinkedHashMap<>();
+        usedKeys.forEach(key -> {
+            List<CachedViolation> value = entries.get(key);
+            if (value != null) toSave.put(key, value);
+        });
+        for (Map.Entry<String, List<CachedViolation>> entry : entries.entrySet()) {
+            if (toSave.size() >= MAX_ENTRIES) break;
+            toSave.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), new CacheFile(FORMAT_VERSION, workspaceRoot, toSave));
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("[CACHE] Failed to write rule result cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 파일들의 경로와 내용을 합친 SHA-256 해시를 계산합니다.
+     */
+    public static String contentHash(List<Path> files) throws IOException {
+        MessageDigest digest = newDigest();
+        for (Path file : files) {
+            digest.update(file.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(Rule rule, String location, String contentHash) {
+        return rule.getClass().getName() + "@" + rule.getVersion() + "|" + location + "|" + contentHash;
+    }
+
+    /**
+     * 캐시 파일의 저장 형식입니다.
+     */
+    record CacheFile(int formatVersion, String workspaceRoot, Map<String, List<CachedViolation>> entries) {
+    }
+
+    /**
+     * RuleViolation은 JSON 리포트용으로 절대 경로를 제외하므로, 캐시는 모든 필드를 담는 별도 형식으로 저장합니다.
+     */
+    record CachedViolation(String ruleName, Status status, String message, String filePath, String relativePath, Integer lineNumber) {
+
+        static CachedViolation from(RuleViolation violation) {
+            return new CachedViolation(violation.ruleName(), violation.status(), violation.message(),
+                    violation.filePath(), violation.relativePath(), violation.lineNumber());
+        }
+
+        RuleViolation toViolation() {
+            return new RuleViolation(ruleName, status, message, filePath, relativePath, lineNumber);
+        }
+    }
+}
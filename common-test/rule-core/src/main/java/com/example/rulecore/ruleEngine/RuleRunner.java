@@ -3,75 +3,191 @@ package com.example.rulecore.ruleEngine;
 import com.example.rulecore.report.Report;
 import com.example.rulecore.ruleEngine.enums.RuleGroups;
 import com.example.rulecore.ruleEngine.enums.Status;
+import com.example.rulecore.rules.sql.MybatisRuleDispatcher;
 
 
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
- * 등록된 규칙들을 순차적으로 실행하고 결과를 취합하는 실행기입니다.
+ * 등록된 규칙들을 실행하고 결과를 취합하는 실행기입니다.
+ * 기본은 순차 실행이며, 병렬도(parallelism) 또는 Executor를 지정하면 규칙 단위로 병렬 실행합니다.
+ * 병렬 실행 시에도 결과는 규칙 등록 순서대로 병합되어 항상 동일한 순서를 보장합니다.
  */
 public class RuleRunner {
 
-    private final List<Rule> rules = new ArrayList<>();
+    private final List<Supplier<Rule>> ruleFactories = new ArrayList<>();
+    private final int parallelism;
+    private final ExecutorService executor;
 
     /**
-     * 특정 규칙 그룹을 기반으로 실행기를 생성합니다.
+     * 특정 규칙 그룹을 기반으로 실행기를 생성합니다. (순차 실행)
      * @param group 실행할 규칙 묶음 (JAVA_CRITICAL, SQL_CRITICAL, ALL 등)
      */
     public RuleRunner(RuleGroups group) {
-        this.rules.addAll(group.getRules());
+        this(group, 1);
+    }
+
+    /**
+     * 지정된 병렬도로 규칙을 실행하는 실행기를 생성합니다.
+     * 실행 시마다 전용 ForkJoinPool을 생성하고 종료 후 정리합니다.
+     *
+     * @param group 실행할 규칙 묶음
+     * @param parallelism 동시에 실행할 규칙 수 (1 이하이면 순차 실행)
+     */
+    public RuleRunner(RuleGroups group, int parallelism) {
+        this.ruleFactories.addAll(group.getRuleFactories());
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = null;
+    }
+
+    /**
+     * 외부에서 관리하는 Executor로 규칙을 실행하는 실행기를 생성합니다.
+     * Executor의 생명주기(shutdown)는 호출자가 관리합니다.
+     *
+     * @param group 실행할 규칙 묶음
+     * @param executor 규칙 실행에 사용할 Executor
+     */
+    public RuleRunner(RuleGroups group, ExecutorService executor) {
+        this.ruleFactories.addAll(group.getRuleFactories());
+        this.parallelism = 0;
+        this.executor = executor;
     }
 
     /**
      * 지정된 RuleRunner 인스턴스를 사용하여 검사를 수행하고 리포트를 생성합니다.
-     * 
+     *
      * @param runner 이미 초기화된 RuleRunner
      * @param context 검사 대상 환경 정보
      * @param outputDir 리포트 저장 경로
      */
     public static RuleResult run(RuleRunner runner, RuleContext context, Path outputDir) {
-        long startTime = System.currentTimeMillis();
-        List<RuleViolation> violations = runner.executeRules(context);
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-        
-        RuleResult result = new RuleResult(violations, duration);
-        
+        RuleResult result = runner.execute(context);
+        List<RuleViolation> violations = result.violations();
+
         Report report = new Report(outputDir);
         report.printConsoleReport(result);
         report.createFailReport(violations.stream().filter(v -> v.status() == Status.FAIL).toList());
         report.createWarnReport(violations.stream().filter(v -> v.status() == Status.WARN).toList());
         report.createSummaryReport(result);
-        
+
         return result;
     }
 
     /**
-     * 모든 규칙을 순회하며 검사를 수행하고 위반 내역을 수집합니다.
-     * 
+     * 모든 규칙을 실행하며 검사를 수행하고 위반 내역을 수집합니다.
+     * 규칙 인스턴스는 실행마다 새로 생성되며, 하나의 인스턴스는 하나의 스레드에서만 사용됩니다.
+     * MyBatis 규칙들은 매퍼 XML을 한 번만 파싱하도록 하나의 {@link MybatisRuleDispatcher}로 묶어 실행합니다.
+     * 결과 캐시가 지정된 경우 실행이 끝난 뒤 캐시를 디스크에 기록합니다.
+     *
      * @param context 검사 대상 환경 정보
-     * @return 발견된 모든 위반 사항 목록
+     * @return 발견된 모든 위반 사항 목록 (규칙 등록 순서)
      */
     public List<RuleViolation> executeRules(RuleContext context) {
-        List<RuleViolation> all = new ArrayList<>();
+        return execute(context).violations();
+    }
+
+    /**
+     * {@link #executeRules(RuleContext)}와 같이 검사를 수행하고, 총 실행 시간과 규칙별 실행 지표를 함께 반환합니다.
+     *
+     * @param context 검사 대상 환경 정보
+     * @return 위반 사항, 총 실행 시간, 규칙별 실행 지표 (규칙 등록 순서)
+     */
+    public RuleResult execute(RuleContext context) {
+        long startTime = System.currentTimeMillis();
+        List<RuleOutcome> outcomes = executeAll(context);
+        if (context.hasResultCache()) {
+            context.resultCache().save();
+        }
+        long duration = System.currentTimeMillis() - startTime;
+
+        List<RuleViolation> violations = new ArrayList<>();
+        List<RuleMetrics> metrics = new ArrayList<>();
+        for (RuleOutcome outcome : outcomes) {
+            violations.addAll(outcome.violations());
+            metrics.addAll(outcome.metrics());
+        }
+        return new RuleResult(violations, duration, metrics);
+    }
 
+    private List<RuleOutcome> executeAll(RuleContext context) {
+        List<Rule> rules = MybatisRuleDispatcher.combine(ruleFactories.stream()
+                .map(Supplier::get)
+                .toList());
+
+        if (executor != null) {
+            return executeInParallel(rules, context, executor);
+        }
+        if (parallelism <= 1 || rules.size() <= 1) {
+            List<RuleOutcome> all = new ArrayList<>();
+            for (Rule rule : rules) {
+                all.add(checkRule(rule, context));
+            }
+            return all;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, rules.size()));
+        try {
+            return executeInParallel(rules, context, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<RuleOutcome> executeInParallel(List<Rule> rules, RuleContext context, ExecutorService executorService) {
+        // 규칙 1개 = 태스크 1개
+        List<Future<RuleOutcome>> futures = new ArrayList<>();
         for (Rule rule : rules) {
+            futures.add(executorService.submit(() -> checkRule(rule, context)));
+        }
+
+        // 제출 순서(=규칙 등록 순서)대로 병합하여 결정적인 결과 순서를 보장
+        List<RuleOutcome> all = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
             try {
-                all.addAll(rule.check(context));
-            } catch (Exception e) {
-                all.add(new RuleViolation(
-                        rule.getClass().getSimpleName(),
-                        Status.FAIL,
-                        "Exception during rule execution: " + e.getMessage(),
-                        "",
-                        "",
-                        0
-                ));
+                all.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                all.add(new RuleOutcome(List.of(errorViolation(rules.get(i), "Interrupted during rule execution")), List.of()));
+            } catch (ExecutionException e) {
+                all.add(new RuleOutcome(List.of(errorViolation(rules.get(i), "Exception during rule execution: " + e.getCause().getMessage())), List.of()));
             }
         }
-
         return all;
     }
-}
\ No newline at end of file
+
+    private RuleOutcome checkRule(Rule rule, RuleContext context) {
+        RuleMetricsRecorder recorder = RuleMetricsRecorder.start(rule.getClass().getSimpleName());
+        List<RuleViolation> violations;
+        try {
+            violations = rule.check(context);
+        } catch (Exception | AssertionError e) {
+            // ArchUnit은 검사 대상이 없는 경우 등에서 AssertionError를 던지므로 함께 위반 사항으로 변환
+            violations = List.of(errorViolation(rule, "Exception during rule execution: " + e.getMessage()));
+        }
+        return new RuleOutcome(violations, recorder.finish(violations.size()));
+    }
+
+    private RuleViolation errorViolation(Rule rule, String message) {
+        return new RuleViolation(
+                rule.getClass().getSimpleName(),
+                Status.FAIL,
+                message,
+                "",
+                "",
+                0
+        );
+    }
+
+    /**
+     * 규칙 하나의 실행 결과(위반 사항 + 실행 지표)입니다.
+     */
+    private record RuleOutcome(List<RuleViolation> violations, List<RuleMetrics> metrics) {
+    }
+}
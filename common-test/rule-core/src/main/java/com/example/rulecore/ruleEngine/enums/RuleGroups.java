@@ -3,45 +3,61 @@ package com.example.rulecore.ruleEngine.enums;
 import com.example.rulecore.ruleEngine.Rule;
 import com.example.rulecore.rules.java.fail.*;
 import com.example.rulecore.rules.sql.fail.*;
+import com.example.rulecore.rules.sql.warn.*;
 import lombok.Getter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 관련 있는 규칙들을 논리적인 그룹으로 묶어 관리하는 Enum입니다.
+ * 규칙 구현체는 파싱 중 상태(현재 파일, 태그 스택 등)를 가지므로 인스턴스 대신 생성자(Supplier)를 보관합니다.
  */
 @Getter
 public enum RuleGroups {
 
     JAVA_CRITICAL(
-            new NoSystemOutRule(),
-            new NoFieldInjectionRule(),
-            new NoGenericCatchRule()
+            NoSystemOutRule::new,
+            NoFieldInjectionRule::new,
+            NoGenericCatchRule::new
     ),
 
     SQL_CRITICAL(
-            new TransactionalSwallowExceptionRule(),
-            new NoDollarExpressionRule(),
-            new MyBatisXmlRule(),
-            new MyBatisIfRule(),
-            new SqlBasicPerformanceRule()
+            TransactionalSwallowExceptionRule::new,
+            NoDollarExpressionRule::new,
+            MyBatisXmlRule::new,
+            MyBatisIfRule::new,
+            SqlBasicPerformanceRule::new,
+            IndexCoverageRule::new
     ),
 
     ALL(
-            new NoSystemOutRule(),
-            new NoFieldInjectionRule(),
-            new NoGenericCatchRule(),
-            new TransactionalSwallowExceptionRule(),
-            new NoDollarExpressionRule(),
-            new MyBatisXmlRule(),
-            new MyBatisIfRule(),
-            new SqlBasicPerformanceRule()
+            NoSystemOutRule::new,
+            NoFieldInjectionRule::new,
+            NoGenericCatchRule::new,
+            TransactionalSwallowExceptionRule::new,
+            NoDollarExpressionRule::new,
+            MyBatisXmlRule::new,
+            MyBatisIfRule::new,
+            SqlBasicPerformanceRule::new,
+            IndexCoverageRule::new
     );
 
-    private final List<Rule> rules;
-    RuleGroups(Rule... rules) {
-        this.rules = Arrays.asList(rules);
+    private final List<Supplier<Rule>> ruleFactories;
+
+    @SafeVarargs
+    RuleGroups(Supplier<Rule>... ruleFactories) {
+        this.ruleFactories = Arrays.asList(ruleFactories);
     }
 
+    /**
+     * 그룹에 속한 규칙들의 새 인스턴스 목록을 반환합니다.
+     * 호출할 때마다 새 인스턴스가 생성되므로 실행(스레드)마다 독립적인 상태를 보장합니다.
+     */
+    public List<Rule> getRules() {
+        return ruleFactories.stream()
+                .map(Supplier::get)
+                .toList();
+    }
 }
@@ -2,14 +2,15 @@ package com.example.rulecore.rules.java;
 
 import com.example.rulecore.ruleEngine.Rule;
 import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleMetricsRecorder;
 import com.example.rulecore.ruleEngine.RuleViolation;
 
 import com.example.rulecore.ruleEngine.enums.Status;
 import com.tngtech.archunit.core.domain.JavaClasses;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
 import com.tngtech.archunit.lang.ArchRule;
 import com.tngtech.archunit.lang.FailureReport;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,30 +28,54 @@ public abstract class ArchUnitBasedRule implements Rule {
     }
 
     @Override
-    public List<RuleViolation> check(RuleContext context) {
-        List<RuleViolation> violations = new ArrayList<>();
-
-        JavaClasses classes;
+    public List<RuleViolation> check(RuleContext context) throws IOException {
+        Path classRoot = context.projectRoot().resolve("build/classes/java/main");
+        List<Path> classFiles;
+        String location;
         if (context.hasAffectedFiles()) {
-            // 증분 검증: 변경된 파일 중 .java에 해당하는 .class 경로만 추출
-            List<Path> targetPaths = context.affectedFiles().stream()
-                    .filter(p -> p.toString().endsWith(".java"))
-                    .map(this::resolveClassPath)
+            // 증분 검증: 변경된 .class 파일과 변경된 .java에 해당하는 .class 경로만 추출
+            classFiles = context.affectedFiles().stream()
+                    .map(p -> p.toString().endsWith(".class") ? p : p.toString().endsWith(".java") ? resolveClassPath(p) : null)
                     .filter(p -> p != null && p.toFile().exists())
                     .collect(Collectors.toList());
 
-            if (targetPaths.isEmpty()) return violations;
-            classes = new ClassFileImporter().importPaths(targetPaths);
+            if (classFiles.isEmpty()) return new ArrayList<>();
+            location = "affected:" + context.projectRoot().toAbsolutePath().normalize();
         } else {
             // 전수 검증: 빌드 결과물 디렉토리를 직접 임포트하여 ClassLoader 의존성 제거
-            Path classRoot = context.projectRoot().resolve("build/classes/java/main");
-            if (classRoot.toFile().exists()) {
-                classes = new ClassFileImporter().importPath(classRoot);
-            } else {
-                // 폴백: 패키지 기반 (테스트 환경 등)
-                classes = new ClassFileImporter().importPackages(context.basePackage());
+            if (!classRoot.toFile().exists()) {
+                // 폴백: 패키지 기반 (테스트 환경 등) - 클래스패스 기준이므로 결과 캐시 대상에서 제외
+                JavaClasses classes = context.javaClassesCache().importPackages(context.basePackage());
+                RuleMetricsRecorder.current().recordFiles(classes.size(), 0);
+                return evaluate(context, classes);
             }
+            classFiles = JavaClassesCache.listClassFiles(classRoot);
+            location = classRoot.toAbsolutePath().normalize().toString();
+        }
+
+        RuleMetricsRecorder.current().recordFiles(classFiles.size(), totalSize(classFiles));
+
+        // 바이트코드 내용이 같으면 임포트/평가 없이 이전 결과를 사용 (내용 해시는 모든 Java 규칙이 공유)
+        String contentHash = context.hasResultCache() ? context.javaClassesCache().contentHash(classFiles) : null;
+        if (contentHash != null) {
+            var cached = context.resultCache().get(this, location, contentHash);
+            if (cached.isPresent()) return new ArrayList<>(cached.get());
+        }
+
+        // 임포트 결과는 RuleContext의 캐시를 통해 모든 Java 규칙이 공유
+        JavaClasses classes = context.hasAffectedFiles()
+                ? context.javaClassesCache().importPaths(classFiles)
+                : context.javaClassesCache().importPath(classRoot);
+        List<RuleViolation> violations = evaluate(context, classes);
+
+        if (contentHash != null) {
+            context.resultCache().put(this, location, contentHash, violations);
         }
+        return violations;
+    }
+
+    private List<RuleViolation> evaluate(RuleContext context, JavaClasses classes) {
+        List<RuleViolation> violations = new ArrayList<>();
 
         if (classes.isEmpty()) return violations;
 
@@ -71,8 +96,8 @@ public abstract class ArchUnitBasedRule implements Rule {
                     String fileName = parts[0];
                     try {
                         lineNumber = Integer.parseInt(parts[1]);
-                        // Try to find the file in the project
-                        Path found = findFile(context, fileName);
+                        // 실행 단위로 공유되는 소스 파일 색인에서 조회 (패키지로 동명 파일 구분)
+                        Path found = context.sourceFileIndex().find(fileName, SourceFileIndex.findPackage(event, fileName));
                         if (found != null) {
                             absolutePath = found.toString();
                             relativePath = context.workspaceRoot().relativize(found).toString();
@@ -96,15 +121,12 @@ public abstract class ArchUnitBasedRule implements Rule {
         return violations;
     }
 
-    private Path findFile(RuleContext context, String fileName) {
-        // Simple search for the file in the project root
-        try (var stream = java.nio.file.Files.walk(context.projectRoot())) {
-            return stream.filter(p -> p.getFileName().toString().equals(fileName))
-                    .findFirst()
-                    .orElse(null);
-        } catch (java.io.IOException e) {
-            return null;
+    private long totalSize(List<Path> files) {
+        long total = 0;
+        for (Path file : files) {
+            total += file.toFile().length();
         }
+        return total;
     }
 
     /**
@@ -0,0 +1,127 @@
+package com.example.rulecore.rules.java;
+
+import com.example.rulecore.ruleEngine.RuleResultCache;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+
+/**
+ * 한 번의 검사 실행 동안 ArchUnit 클래스 임포트 결과(JavaClasses)를 공유하는 캐시입니다.
+ * 클래스 루트와 .class 파일들의 지문(경로, 크기, 수정 시각)을 키로 사용하므로
+ * 동일한 바이트코드는 Java 규칙이 여러 개여도 한 번만 임포트됩니다.
+ * 병렬 실행 시 같은 키를 요청한 규칙들은 먼저 시작된 임포트 결과를 기다려 공유합니다.
+ * 결과 캐시에 사용하는 바이트코드 내용 해시도 같은 방식으로 실행당 한 번만 계산합니다.
+ */
+public class JavaClassesCache {
+
+    private final ConcurrentMap<String, Future<JavaClasses>> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Future<String>> contentHashes = new ConcurrentHashMap<>();
+
+    /**
+     * 클래스 루트 디렉토리 전체를 임포트합니다. (전수 검증)
+     */
+    public JavaClasses importPath(Path classRoot) {
+        List<Path> classFiles = listClassFiles(classRoot);
+        String key = "root:" + classRoot.toAbsolutePath().normalize() + ":" + fingerprint(classFiles);
+        return getOrCompute(cache, key, () -> new ClassFileImporter().importPath(classRoot));
+    }
+
+    /**
+     * 지정된 .class 파일들만 임포트합니다. (증분 검증)
+     */
+    public JavaClasses importPaths(List<Path> classFiles) {
+        List<Path> sorted = classFiles.stream().sorted().toList();
+        String key = "paths:" + fingerprint(sorted);
+        return getOrCompute(cache, key, () -> new ClassFileImporter().importPaths(sorted));
+    }
+
+    /**
+     * 클래스패스에서 패키지 기준으로 임포트합니다. (빌드 결과물이 없는 테스트 환경 등)
+     */
+    public JavaClasses importPackages(String basePackage) {
+        return getOrCompute(cache, "package:" + basePackage, () -> new ClassFileImporter().importPackages(basePackage));
+    }
+
+    /**
+     * .class 파일들의 내용 해시({@link RuleResultCache#contentHash(List)})를 반환합니다.
+     * 지문이 같은 파일 목록은 한 번만 읽어 해시하므로, Java 규칙마다 바이트코드를 다시 읽지 않습니다.
+     */
+    public String contentHash(List<Path> classFiles) throws IOException {
+        try {
+            return getOrCompute(contentHashes, "hash:" + fingerprint(classFiles), () -> RuleResultCache.contentHash(classFiles));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 클래스 루트 하위의 .class 파일 목록을 정렬된 순서로 반환합니다.
+     */
+    static List<Path> listClassFiles(Path classRoot) {
+        try (Stream<Path> files = Files.walk(classRoot)) {
+            return files.filter(p -> p.toString().endsWith(".class")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T getOrCompute(ConcurrentMap<String, Future<T>> cache, String key, Callable<T> importer) {
+        FutureTask<T> task = new FutureTask<>(importer);
+        Future<T> existing = cache.putIfAbsent(key, task);
+        if (existing == null) {
+            task.run();
+            existing = task;
+        }
+
+        try {
+            return existing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        } catch (ExecutionException e) {
+            // 실패한 임포트는 캐시하지 않고 다음 요청에서 다시 시도
+            cache.remove(key, existing);
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw new IllegalStateException("Failed to compute " + key, e.getCause());
+        }
+    }
+
+    private static String fingerprint(List<Path> classFiles) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Path classFile : classFiles) {
+                digest.update(classFile.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+                if (Files.exists(classFile)) {
+                    digest.update(Long.toString(Files.size(classFile)).getBytes(StandardCharsets.UTF_8));
+                    digest.update(Long.toString(Files.getLastModifiedTime(classFile).toMillis()).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
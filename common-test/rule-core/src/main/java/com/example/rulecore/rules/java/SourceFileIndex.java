@@ -0,0 +1,108 @@
+package com.example.rulecore.rules.java;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 프로젝트 내 소스 파일을 파일명 기준으로 색인하여, ArchUnit 위반 위치(Foo.java:42)를 실제 경로로 변환합니다.
+ * 색인은 최초 조회 시 한 번만 생성되며 이후 조회는 O(1)입니다.
+ * 같은 이름의 파일이 여러 패키지에 있는 경우 패키지 경로로 구분합니다.
+ */
+public class SourceFileIndex {
+
+    private final Path root;
+    private volatile Map<String, List<Path>> filesByName;
+
+    public SourceFileIndex(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * 파일명과 패키지로 소스 파일을 찾습니다.
+     *
+     * @param fileName 소스 파일명 (예: Foo.java)
+     * @param packageName 소스 파일의 패키지 (예: com.example.foo), 모르면 null
+     * @return 찾은 파일 경로, 없으면 null
+     */
+    public Path find(String fileName, String packageName) {
+        List<Path> candidates = index().getOrDefault(fileName, Collections.emptyList());
+        if (candidates.isEmpty()) return null;
+        if (candidates.size() == 1 || packageName == null || packageName.isEmpty()) {
+            return candidates.get(0);
+        }
+
+        String packagePath = packageName.replace('.', '/') + "/" + fileName;
+        for (Path candidate : candidates) {
+            if (candidate.toString().replace('\\', '/').endsWith(packagePath)) {
+                return candidate;
+            }
+        }
+        return candidates.get(0);
+    }
+
+    /**
+     * ArchUnit 이벤트 메시지에서 소스 파일에 해당하는 클래스의 패키지를 추출합니다.
+     * 예) "Method &lt;com.example.Foo.bar()&gt; calls ... in (Foo.java:42)" → "com.example"
+     *
+     * @return 패키지명, 찾지 못하면 null
+     */
+    public static String findPackage(String event, String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        String simpleName = extension > 0 ? fileName.substring(0, extension) : fileName;
+        String token = "." + simpleName;
+
+        int from = 0;
+        int found;
+        while ((found = event.indexOf(token, from)) > 0) {
+            int end = found + token.length();
+            boolean boundary = end == event.length() || !Character.isJavaIdentifierPart(event.charAt(end)) || event.charAt(end) == '$';
+            if (boundary && Character.isJavaIdentifierPart(event.charAt(found - 1))) {
+                int start = found;
+                while (start > 0 && (Character.isJavaIdentifierPart(event.charAt(start - 1)) || event.charAt(start - 1) == '.')) {
+                    start--;
+                }
+                return event.substring(start, found);
+            }
+            from = end;
+        }
+        return null;
+    }
+
+    private Map<String, List<Path>> index() {
+        Map<String, List<Path>> current = filesByName;
+        if (current == null) {
+            synchronized (this) {
+                current = filesByName;
+                if (current == null) {
+                    current = buildIndex();
+                    filesByName = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<String, List<Path>> buildIndex() {
+        Map<String, List<Path>> index = new HashMap<>();
+        if (root == null || !Files.isDirectory(root)) return index;
+
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.endsWith(".java") || name.endsWith(".kt");
+                    })
+                    .sorted()
+                    .forEach(p -> index.computeIfAbsent(p.getFileName().toString(), k -> new ArrayList<>()).add(p));
+        } catch (IOException ignored) {
+            // 색인 실패 시 경로 없이 파일명만 리포트
+        }
+        return index;
+    }
+}
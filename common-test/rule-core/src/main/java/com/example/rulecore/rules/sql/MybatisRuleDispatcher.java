@@ -0,0 +1,250 @@
+package com.example.rulecore.rules.sql;
+
+import com.example.rulecore.ruleEngine.Rule;
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleMetrics;
+import com.example.rulecore.ruleEngine.RuleMetricsRecorder;
+import com.example.rulecore.ruleEngine.RuleResultCache;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+
+import javax.xml.parsers.SAXParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 여러 MyBatis 규칙을 한 번의 SAX 파싱으로 검사하는 복합(Composite) 규칙입니다.
+ * 매퍼 XML을 파일당 한 번만 읽고, 발생한 SAX 이벤트를 기록해 두었다가({@link SaxEventBuffer}) 등록된 규칙에 차례로 전달합니다.
+ * 따라서 I/O 및 파싱 비용은 (파일 수 x 규칙 수)가 아닌 파일 수에 비례합니다.
+ * 실행 지표는 규칙별로 파일당 한 번 측정한 처리 시간으로 나누어 기록하므로, 여러 규칙을 묶어 실행해도 느린 규칙을 구분할 수 있습니다.
+ * 결과 캐시가 있으면 내용이 바뀌지 않은 파일은 캐시된 결과를 사용하고, 모든 규칙이 캐시에 있으면 파싱을 생략합니다.
+ * 단, SQL 파싱 시간 초과로 휴리스틱 검사를 사용한 파일의 결과는 캐시하지 않습니다.
+ */
+public class MybatisRuleDispatcher implements Rule {
+
+    private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+    private final List<MybatisUnitBasedRule> rules;
+    private final boolean[] parsing;
+    // 현재 파일 검사 중 파싱 시간 초과가 있었는지 여부 (결과 캐시 저장 제외)
+    private final boolean[] timedOut;
+    private final SaxEventBuffer events = new SaxEventBuffer();
+
+    // 규칙별 실행 지표 (이벤트 처리 시간, 할당량, 파싱한 파일 수/크기)
+    private final long[] handlerNanos;
+    private final long[] handlerAllocatedBytes;
+    private final int[] filesParsed;
+    private final long[] bytesParsed;
+    private final int[] parseTimeouts;
+
+    public MybatisRuleDispatcher(List<? extends MybatisUnitBasedRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.parsing = new boolean[this.rules.size()];
+        this.timedOut = new boolean[this.rules.size()];
+        this.handlerNanos = new long[this.rules.size()];
+        this.handlerAllocatedBytes = new long[this.rules.size()];
+        this.filesParsed = new int[this.rules.size()];
+        this.bytesParsed = new long[this.rules.size()];
+        this.parseTimeouts = new int[this.rules.size()];
+    }
+
+    /**
+     * 규칙 목록에서 MyBatis 규칙들을 하나의 Dispatcher로 묶습니다.
+     * Dispatcher는 첫 번째 MyBatis 규칙의 위치에 배치되며, 나머지 규칙의 순서는 유지됩니다.
+     *
+     * @param rules 실행할 규칙 목록
+     * @return MyBatis 규칙이 하나의 Dispatcher로 합쳐진 규칙 목록
+     */
+    public static List<Rule> combine(List<Rule> rules) {
+        List<MybatisUnitBasedRule> sqlRules = rules.stream()
+                .filter(MybatisUnitBasedRule.class::isInstance)
+                .map(MybatisUnitBasedRule.class::cast)
+                .toList();
+        if (sqlRules.size() <= 1) {
+            return rules;
+        }
+
+        List<Rule> combined = new ArrayList<>();
+        boolean dispatcherAdded = false;
+        for (Rule rule : rules) {
+            if (!(rule instanceof MybatisUnitBasedRule)) {
+                combined.add(rule);
+            } else if (!dispatcherAdded) {
+                combined.add(new MybatisRuleDispatcher(sqlRules));
+                dispatcherAdded = true;
+            }
+        }
+        return combined;
+    }
+
+    @Override
+    public List<RuleViolation> check(RuleContext context) throws Exception {
+        // 규칙별로 위반 목록을 분리하여, 결과가 규칙 순서대로 병합되도록 함
+        List<List<RuleViolation>> violationsPerRule = new ArrayList<>();
+        for (MybatisUnitBasedRule rule : rules) {
+            List<RuleViolation> violations = new ArrayList<>();
+            rule.bind(context, violations);
+            violationsPerRule.add(violations);
+        }
+
+        SAXParser saxParser = MybatisUnitBasedRule.newSaxParser();
+        for (Path xml : collectMapperFiles(context)) {
+            parseXml(xml, saxParser, context.resultCache(), violationsPerRule);
+        }
+
+        if (rules.size() > 1) {
+            recordRuleMetrics(violationsPerRule);
+        }
+
+        List<RuleViolation> allViolations = new ArrayList<>();
+        violationsPerRule.forEach(allViolations::addAll);
+        return allViolations;
+    }
+
+    /**
+     * 규칙별 지표를 기록합니다. 실행 시간과 할당량은 각 규칙에 이벤트를 전달한 구간만 측정하며,
+     * XML 파싱 자체의 비용은 Dispatcher 전체 지표에 포함됩니다.
+     */
+    private void recordRuleMetrics(List<List<RuleViolation>> violationsPerRule) {
+        RuleMetricsRecorder recorder = RuleMetricsRecorder.current();
+        boolean allocationSupported = RuleMetricsRecorder.currentThreadAllocatedBytes() >= 0;
+        for (int i = 0; i < rules.size(); i++) {
+            recorder.addDetail(new RuleMetrics(
+                    rules.get(i).getClass().getSimpleName(),
+                    handlerNanos[i] / 1_000_000,
+                    -1,
+                    filesParsed[i],
+                    bytesParsed[i],
+                    allocationSupported ? handlerAllocatedBytes[i] : -1,
+                    violationsPerRule.get(i).size(),
+                    parseTimeouts[i]
+            ));
+        }
+    }
+
+    private List<Path> collectMapperFiles(RuleContext context) {
+        if (context.hasAffectedFiles()) {
+            return context.affectedFiles().stream()
+                    .filter(p -> p.toString().endsWith(".xml"))
+                    .toList();
+        }
+
+        List<Path> xmlFiles = new ArrayList<>();
+        for (Path mapperDir : context.mapperDirs()) {
+            if (!Files.exists(mapperDir)) continue;
+            try (Stream<Path> files = Files.walk(mapperDir)) {
+                files.filter(p -> p.toString().endsWith(".xml"))
+                     .forEach(xmlFiles::add);
+            } catch (IOException ignored) {}
+        }
+        return xmlFiles;
+    }
+
+    private void parseXml(Path xml, SAXParser saxParser, RuleResultCache cache, List<List<RuleViolation>> violationsPerRule) {
+        Arrays.fill(parsing, true);
+        Arrays.fill(timedOut, false);
+        long fileSize = fileSize(xml);
+        RuleMetricsRecorder.current().recordFile(fileSize);
+        String location = xml.toAbsolutePath().normalize().toString();
+        String contentHash = cache != null ? contentHash(xml) : null;
+
+        boolean anyToParse = false;
+        for (int i = 0; i < rules.size(); i++) {
+            if (contentHash != null) {
+                var cached = cache.get(rules.get(i), location, contentHash);
+                if (cached.isPresent()) {
+                    violationsPerRule.get(i).addAll(cached.get());
+                    parsing[i] = false;
+                }
+            }
+            anyToParse |= parsing[i];
+        }
+        if (!anyToParse) return;
+
+        int[] sizeBefore = new int[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            sizeBefore[i] = violationsPerRule.get(i).size();
+            rules.get(i).beginFile(xml);
+            if (parsing[i]) {
+                filesParsed[i]++;
+                bytesParsed[i] += fileSize;
+            }
+        }
+
+        if (rules.size() == 1) {
+            // 규칙이 하나면 기록 없이 바로 전달 (규칙별 지표도 기록하지 않음)
+            int startFallbacks = RuleMetricsRecorder.current().timeoutFallbacks();
+            parse(saxParser, xml, rules.get(0));
+            timedOut[0] = RuleMetricsRecorder.current().timeoutFallbacks() > startFallbacks;
+        } else {
+            events.reset();
+            parse(saxParser, xml, events);
+            replayToRules();
+        }
+
+        if (contentHash == null) return;
+        for (int i = 0; i < rules.size(); i++) {
+            // 파싱 시간 초과로 휴리스틱 검사를 사용한 결과는 실행 환경 부하에 따라 달라지므로 캐시하지 않음
+            if (!parsing[i] || timedOut[i]) continue;
+            List<RuleViolation> violations = violationsPerRule.get(i);
+            cache.put(rules.get(i), location, contentHash, List.copyOf(violations.subList(sizeBefore[i], violations.size())));
+        }
+    }
+
+    private static void parse(SAXParser saxParser, Path xml, DefaultHandler2 handler) {
+        try {
+            // CDATA 구간/엔티티/주석 이벤트(LexicalHandler)도 함께 전달
+            saxParser.setProperty(LEXICAL_HANDLER, handler);
+            saxParser.parse(xml.toFile(), handler);
+        } catch (Exception ignored) {
+            // 개별 파일 파싱 에러가 전체 검사를 멈추지 않도록 함 (에러 이전까지의 이벤트는 전달됨)
+        }
+    }
+
+    /**
+     * 기록한 이벤트를 검사 대상 규칙에 차례로 전달하고, 규칙별 처리 시간과 할당량을 파일 단위로 한 번씩 측정합니다.
+     * 규칙 하나가 예외를 던지면 해당 파일에 대해서만 그 규칙의 전달을 중단합니다.
+     * (규칙별로 파싱하던 기존 동작과 동일하게 다른 규칙의 검사는 계속 진행)
+     */
+    private void replayToRules() {
+        RuleMetricsRecorder recorder = RuleMetricsRecorder.current();
+        for (int i = 0; i < rules.size(); i++) {
+            if (!parsing[i]) continue;
+            long startNanos = System.nanoTime();
+            long startAllocated = RuleMetricsRecorder.currentThreadAllocatedBytes();
+            int startTimeouts = recorder.parseTimeouts();
+            int startFallbacks = recorder.timeoutFallbacks();
+            try {
+                events.replay(rules.get(i));
+            } catch (SAXException | RuntimeException ignored) {
+                // 이 파일에 대한 해당 규칙의 검사만 중단
+            }
+            handlerNanos[i] += System.nanoTime() - startNanos;
+            handlerAllocatedBytes[i] += RuleMetricsRecorder.currentThreadAllocatedBytes() - startAllocated;
+            parseTimeouts[i] += recorder.parseTimeouts() - startTimeouts;
+            timedOut[i] = recorder.timeoutFallbacks() > startFallbacks;
+        }
+    }
+
+    private long fileSize(Path xml) {
+        try {
+            return Files.size(xml);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private String contentHash(Path xml) {
+        try {
+            return RuleResultCache.contentHash(List.of(xml));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
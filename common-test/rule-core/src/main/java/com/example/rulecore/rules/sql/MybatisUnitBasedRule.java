@@ -4,22 +4,25 @@ import com.example.rulecore.ruleEngine.Rule;
 import com.example.rulecore.ruleEngine.RuleContext;
 import com.example.rulecore.ruleEngine.RuleViolation;
 import org.xml.sax.Locator;
-import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.ext.DefaultHandler2;
 
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * SAX(Simple API for XML) 기반의 MyBatis 규칙 기명 클래스입니다.
  * 메모리 효율성을 위해 파일을 한 줄씩 읽으며 이벤트를 처리합니다.
+ * 실제 파일 순회와 파싱은 {@link MybatisRuleDispatcher}가 담당하며,
+ * 여러 규칙이 함께 실행될 때는 하나의 파싱 결과를 공유합니다.
+ * CDATA 구간, 주석 등 어휘(Lexical) 이벤트도 전달받을 수 있도록 {@link DefaultHandler2}를 확장합니다.
  */
-public abstract class MybatisUnitBasedRule extends DefaultHandler implements Rule {
+public abstract class MybatisUnitBasedRule extends DefaultHandler2 implements Rule {
 
     protected Path currentXmlPath;
     protected List<RuleViolation> currentViolations;
@@ -33,37 +36,34 @@ public abstract class MybatisUnitBasedRule extends DefaultHandler implements Rul
 
     @Override
     public List<RuleViolation> check(RuleContext context) throws Exception {
-        this.context = context;
-        List<RuleViolation> allViolations = new ArrayList<>();
-        this.currentViolations = allViolations;
-
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-        SAXParser saxParser = factory.newSAXParser();
+        return new MybatisRuleDispatcher(List.of(this)).check(context);
+    }
 
-        if (context.hasAffectedFiles()) {
-            context.affectedFiles().stream()
-                    .filter(p -> p.toString().endsWith(".xml"))
-                    .forEach(xml -> parseXml(xml, saxParser));
-        } else {
-            for (Path mapperDir : context.mapperDirs()) {
-                if (!Files.exists(mapperDir)) continue;
-                try (Stream<Path> files = Files.walk(mapperDir)) {
-                    files.filter(p -> p.toString().endsWith(".xml"))
-                         .forEach(xml -> parseXml(xml, saxParser));
-                } catch (IOException ignored) {}
-            }
-        }
-        return allViolations;
+    /**
+     * 검사 시작 시 Dispatcher가 컨텍스트와 위반 사항 수집 목록을 연결합니다.
+     */
+    void bind(RuleContext context, List<RuleViolation> violations) {
+        this.context = context;
+        this.currentViolations = violations;
     }
 
-    private void parseXml(Path xml, SAXParser saxParser) {
+    /**
+     * 새 매퍼 파일의 파싱을 시작하기 전에 Dispatcher가 호출합니다.
+     */
+    void beginFile(Path xml) {
         this.currentXmlPath = xml;
+    }
+
+    static SAXParser newSaxParser() throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
         try {
-            saxParser.parse(xml.toFile(), this);
-        } catch (Exception ignored) {
-            // 개별 파일 파싱 에러가 전체 검사를 멈추지 않도록 함
+            // 내장 엔티티(&lt; 등)의 시작/끝도 LexicalHandler로 알림 (위반 위치 계산용)
+            factory.setFeature("http://apache.org/xml/features/scanner/notify-builtin-refs", true);
+        } catch (SAXNotRecognizedException | SAXNotSupportedException ignored) {
+            // 지원하지 않는 파서에서는 엔티티 이후 열 위치가 근사치가 됨
         }
+        return factory.newSAXParser();
     }
 
     protected int getLineNumber() {
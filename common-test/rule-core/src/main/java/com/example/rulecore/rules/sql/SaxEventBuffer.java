@@ -0,0 +1,230 @@
+package com.example.rulecore.rules.sql;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 매퍼 XML 하나의 SAX 이벤트를 기록해 두었다가 규칙별로 다시 전달(replay)하는 버퍼입니다.
+ * 파싱은 파일당 한 번만 하고 규칙마다 전체 이벤트를 이어서 전달하므로, 규칙별 실행 지표를 이벤트가 아닌 파일 단위로 측정할 수 있습니다.
+ * 이벤트 시점의 Locator 위치(줄/열)도 함께 기록하여, 다시 전달할 때도 규칙이 같은 위치를 얻습니다.
+ * 파일마다 {@link #reset()}으로 비우고 재사용하므로 내부 배열은 가장 큰 파일 크기만큼만 유지됩니다.
+ */
+final class SaxEventBuffer extends DefaultHandler2 {
+
+    private static final byte START_DOCUMENT = 0;
+    private static final byte END_DOCUMENT = 1;
+    private static final byte START_ELEMENT = 2;
+    private static final byte END_ELEMENT = 3;
+    private static final byte CHARACTERS = 4;
+    private static final byte IGNORABLE_WHITESPACE = 5;
+    private static final byte START_CDATA = 6;
+    private static final byte END_CDATA = 7;
+    private static final byte START_ENTITY = 8;
+    private static final byte END_ENTITY = 9;
+    private static final byte COMMENT = 10;
+
+    // 이벤트별 종류, 위치, 데이터 위치 (요소/엔티티: strings 시작 인덱스와 속성 수, 텍스트: chars 시작 위치와 길이)
+    private byte[] types = new byte[256];
+    private int[] lines = new int[256];
+    private int[] columns = new int[256];
+    private int[] offsets = new int[256];
+    private int[] lengths = new int[256];
+    private int count;
+
+    private final List<String> strings = new ArrayList<>();
+    private char[] chars = new char[4096];
+    private int charCount;
+
+    private Locator locator;
+    private final ReplayLocator replayLocator = new ReplayLocator();
+    private final AttributesImpl replayAttributes = new AttributesImpl();
+
+    /**
+     * 다음 파일을 기록하기 전에 이전 기록을 비웁니다.
+     */
+    void reset() {
+        count = 0;
+        charCount = 0;
+        strings.clear();
+        locator = null;
+    }
+
+    /**
+     * 기록한 이벤트를 순서대로 전달합니다.
+     *
+     * @throws SAXException 대상 핸들러가 던진 예외 (이후 이벤트는 전달하지 않음)
+     */
+    void replay(DefaultHandler2 handler) throws SAXException {
+        handler.setDocumentLocator(replayLocator);
+        for (int i = 0; i < count; i++) {
+            replayLocator.line = lines[i];
+            replayLocator.column = columns[i];
+            int offset = offsets[i];
+            int length = lengths[i];
+            switch (types[i]) {
+                case START_DOCUMENT -> handler.startDocument();
+                case END_DOCUMENT -> handler.endDocument();
+                case START_ELEMENT -> {
+                    replayAttributes.clear();
+                    for (int a = offset + 3, end = a + length * 5; a < end; a += 5) {
+                        replayAttributes.addAttribute(strings.get(a), strings.get(a + 1), strings.get(a + 2),
+                                strings.get(a + 3), strings.get(a + 4));
+                    }
+                    handler.startElement(strings.get(offset), strings.get(offset + 1), strings.get(offset + 2), replayAttributes);
+                }
+                case END_ELEMENT -> handler.endElement(strings.get(offset), strings.get(offset + 1), strings.get(offset + 2));
+                case CHARACTERS -> handler.characters(chars, offset, length);
+                case IGNORABLE_WHITESPACE -> handler.ignorableWhitespace(chars, offset, length);
+                case START_CDATA -> handler.startCDATA();
+                case END_CDATA -> handler.endCDATA();
+                case START_ENTITY -> handler.startEntity(strings.get(offset));
+                case END_ENTITY -> handler.endEntity(strings.get(offset));
+                case COMMENT -> handler.comment(chars, offset, length);
+                default -> throw new IllegalStateException("Unknown SAX event type: " + types[i]);
+            }
+        }
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        this.locator = locator;
+        replayLocator.systemId = locator.getSystemId();
+    }
+
+    @Override
+    public void startDocument() {
+        add(START_DOCUMENT, 0, 0);
+    }
+
+    @Override
+    public void endDocument() {
+        add(END_DOCUMENT, 0, 0);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        // SAX 파서는 Attributes 객체를 재사용하므로 값을 복사해 둠
+        int offset = strings.size();
+        strings.add(uri);
+        strings.add(localName);
+        strings.add(qName);
+        int attributeCount = attributes.getLength();
+        for (int a = 0; a < attributeCount; a++) {
+            strings.add(attributes.getURI(a));
+            strings.add(attributes.getLocalName(a));
+            strings.add(attributes.getQName(a));
+            strings.add(attributes.getType(a));
+            strings.add(attributes.getValue(a));
+        }
+        add(START_ELEMENT, offset, attributeCount);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        int offset = strings.size();
+        strings.add(uri);
+        strings.add(localName);
+        strings.add(qName);
+        add(END_ELEMENT, offset, 0);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        add(CHARACTERS, addChars(ch, start, length), length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) {
+        add(IGNORABLE_WHITESPACE, addChars(ch, start, length), length);
+    }
+
+    @Override
+    public void startCDATA() {
+        add(START_CDATA, 0, 0);
+    }
+
+    @Override
+    public void endCDATA() {
+        add(END_CDATA, 0, 0);
+    }
+
+    @Override
+    public void startEntity(String name) {
+        strings.add(name);
+        add(START_ENTITY, strings.size() - 1, 0);
+    }
+
+    @Override
+    public void endEntity(String name) {
+        strings.add(name);
+        add(END_ENTITY, strings.size() - 1, 0);
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) {
+        add(COMMENT, addChars(ch, start, length), length);
+    }
+
+    private void add(byte type, int offset, int length) {
+        if (count == types.length) {
+            int capacity = count * 2;
+            types = Arrays.copyOf(types, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        types[count] = type;
+        lines[count] = locator != null ? locator.getLineNumber() : -1;
+        columns[count] = locator != null ? locator.getColumnNumber() : -1;
+        offsets[count] = offset;
+        lengths[count] = length;
+        count++;
+    }
+
+    private int addChars(char[] ch, int start, int length) {
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length));
+        }
+        System.arraycopy(ch, start, chars, charCount, length);
+        int offset = charCount;
+        charCount += length;
+        return offset;
+    }
+
+    /**
+     * 다시 전달하는 이벤트의 기록 당시 위치를 알려주는 Locator
+     */
+    private static final class ReplayLocator implements Locator {
+        private int line = -1;
+        private int column = -1;
+        private String systemId;
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return systemId;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return line;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return column;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.rulecore.rules.sql;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.create.index.CreateIndex;
+import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.table.Index;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 인덱스 검사용 스키마 정보(테이블별 컬럼과 인덱스 컬럼 순서)입니다.
+ * 오프라인 DDL 파일(schema.txt 등의 CREATE TABLE / CREATE INDEX 문)이나 살아있는 DB(H2 대체 DB 포함)의 메타데이터로 생성합니다.
+ * 테이블/컬럼 이름은 대문자로, 스키마 접두어와 식별자 따옴표는 제거하여 보관합니다.
+ */
+public final class SchemaIndex {
+
+    private static final SchemaIndex EMPTY = new SchemaIndex(Map.of());
+
+    private final Map<String, TableSchema> tables;
+    private final String fingerprint;
+
+    private SchemaIndex(Map<String, TableSchema> tables) {
+        this.tables = tables;
+        this.fingerprint = computeFingerprint(tables);
+    }
+
+    public static SchemaIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * DDL 파일을 읽어 스키마 정보를 생성합니다.
+     * 문장은 세미콜론 단위로 나누어 파싱하며, CREATE TABLE / CREATE INDEX 외의 문장이나 파싱할 수 없는 문장은 건너뜁니다.
+     */
+    public static SchemaIndex load(Path ddlFile) throws IOException {
+        return parseDdl(Files.readString(ddlFile));
+    }
+
+    public static SchemaIndex parseDdl(String ddl) {
+        Builder builder = new Builder();
+        for (String sql : splitStatements(ddl)) {
+            Statement statement;
+            try {
+                statement = CCJSqlParserUtil.parse(sql);
+            } catch (JSQLParserException e) {
+                continue;
+            }
+
+            if (statement instanceof CreateTable createTable) {
+                String table = createTable.getTable().getName();
+                if (createTable.getColumnDefinitions() == null) continue;
+                for (ColumnDefinition column : createTable.getColumnDefinitions()) {
+                    builder.column(table, column.getColumnName());
+                    // 컬럼 정의에 직접 붙은 PRIMARY KEY / UNIQUE 는 단일 컬럼 인덱스
+                    String specs = column.getColumnSpecs() != null
+                            ? String.join(" ", column.getColumnSpecs()).toUpperCase(Locale.ROOT) : "";
+                    if (specs.contains("PRIMARY KEY") || specs.contains("UNIQUE")) {
+                        builder.index(table, "PK_" + column.getColumnName(), List.of(column.getColumnName()));
+                    }
+                }
+                if (createTable.getIndexes() != null) {
+                    for (Index index : createTable.getIndexes()) {
+                        // 외래 키 제약은 인덱스를 보장하지 않으므로 제외 (InnoDB는 별도 인덱스를 만들지만 DDL에는 나타나지 않음)
+                        if (index.getType() != null && index.getType().toUpperCase(Locale.ROOT).contains("FOREIGN")) continue;
+                        String name = index.getName() != null ? index.getName() : builder.unnamedIndexName(table, index.getType(), index.getColumnsNames());
+                        builder.index(table, name, index.getColumnsNames());
+                    }
+                }
+            } else if (statement instanceof CreateIndex createIndex) {
+                builder.index(createIndex.getTable().getName(), createIndex.getIndex().getName(),
+                        createIndex.getIndex().getColumnsNames());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 연결된 DB의 메타데이터(현재 카탈로그/스키마)로 스키마 정보를 생성합니다.
+     */
+    public static SchemaIndex capture(Connection connection) throws SQLException {
+        Builder builder = new Builder();
+        DatabaseMetaData meta = connection.getMetaData();
+        String catalog = connection.getCatalog();
+        String schema = connection.getSchema();
+
+        try (ResultSet rs = meta.getColumns(catalog, schema, "%", "%")) {
+            while (rs.next()) {
+                builder.column(rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"));
+            }
+        }
+
+        for (String table : List.copyOf(builder.columns.keySet())) {
+            // 인덱스별 컬럼을 ORDINAL_POSITION 순서로 모음
+            Map<String, TreeMap<Integer, String>> indexColumns = new LinkedHashMap<>();
+            try (ResultSet rs = meta.getIndexInfo(catalog, schema, table, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String columnName = rs.getString("COLUMN_NAME");
+                    if (indexName == null || columnName == null) continue;
+                    indexColumns.computeIfAbsent(indexName, k -> new TreeMap<>())
+                            .put((int) rs.getShort("ORDINAL_POSITION"), columnName);
+                }
+            }
+            indexColumns.forEach((indexName, columns) -> builder.index(table, indexName, List.copyOf(columns.values())));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 테이블 정보를 조회합니다. (대소문자, 스키마 접두어, 식별자 따옴표 무시)
+     *
+     * @return 스키마에 없는 테이블이면 null
+     */
+    public TableSchema table(String name) {
+        return tables.get(normalize(name));
+    }
+
+    public boolean isEmpty() {
+        return tables.isEmpty();
+    }
+
+    public int tableCount() {
+        return tables.size();
+    }
+
+    /**
+     * 스키마 내용의 SHA-256 해시를 반환합니다. 내용이 같으면 같은 값입니다. (결과 캐시 무효화 키)
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 식별자를 비교용 형태로 정규화합니다. (스키마 접두어/따옴표 제거, 대문자)
+     */
+    public static String normalize(String identifier) {
+        String name = identifier;
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) name = name.substring(dot + 1);
+        if (name.length() >= 2) {
+            char first = name.charAt(0);
+            char last = name.charAt(name.length() - 1);
+            if ((first == '`' && last == '`') || (first == '"' && last == '"') || (first == '[' && last == ']')) {
+                name = name.substring(1, name.length() - 1);
+            }
+        }
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    // 테이블/컬럼은 이름순, 인덱스는 선언 순서(위반 메시지에 첫 인덱스를 사용)대로 해시
+    private static String computeFingerprint(Map<String, TableSchema> tables) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (TableSchema table : new TreeMap<>(tables).values()) {
+            update(digest, "T", table.name());
+            for (String column : new TreeSet<>(table.columns())) {
+                update(digest, "C", column);
+            }
+            for (IndexSchema index : table.indexes()) {
+                update(digest, "I", index.name());
+                for (String column : index.columns()) {
+                    update(digest, "X", column);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String tag, String value) {
+        digest.update((tag + value + '\0').getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 문자열 리터럴 안의 세미콜론은 구분자로 보지 않음
+    private static List<String> splitStatements(String ddl) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuote = false;
+        for (String line : ddl.split("\\R")) {
+            String trimmed = line.trim();
+            if (!inQuote && (trimmed.startsWith("--") || trimmed.startsWith("#"))) continue;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '\'') inQuote = !inQuote;
+                if (c == ';' && !inQuote) {
+                    addStatement(statements, current);
+                } else {
+                    current.append(c);
+                }
+            }
+            current.append('\n');
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) statements.add(sql);
+        current.setLength(0);
+    }
+
+    /**
+     * 테이블의 컬럼 목록과 인덱스 목록(인덱스별 컬럼 순서 유지)입니다.
+     */
+    public record TableSchema(String name, Set<String> columns, List<IndexSchema> indexes) {
+
+        public boolean hasColumn(String column) {
+            return columns.contains(normalize(column));
+        }
+
+        /**
+         * 컬럼이 어떤 인덱스의 선두 컬럼인지 여부
+         */
+        public boolean isLeadingIndexColumn(String column) {
+            String normalized = normalize(column);
+            return indexes.stream().anyMatch(index -> index.columns().get(0).equals(normalized));
+        }
+
+        /**
+         * 컬럼을 포함하는 인덱스 목록 (선두 여부 무관)
+         */
+        public List<IndexSchema> indexesContaining(String column) {
+            String normalized = normalize(column);
+            return indexes.stream().filter(index -> index.columns().contains(normalized)).toList();
+        }
+    }
+
+    public record IndexSchema(String name, List<String> columns) {
+    }
+
+    private static final class Builder {
+        private final Map<String, Set<String>> columns = new LinkedHashMap<>();
+        private final Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+
+        void column(String table, String column) {
+            columns.computeIfAbsent(normalize(table), k -> new LinkedHashSet<>()).add(normalize(column));
+        }
+
+        void index(String table, String indexName, List<String> indexColumns) {
+            if (indexColumns == null || indexColumns.isEmpty()) return;
+            String normalizedTable = normalize(table);
+            columns.computeIfAbsent(normalizedTable, k -> new LinkedHashSet<>());
+            List<String> normalizedColumns = indexColumns.stream().map(SchemaIndex::normalize).toList();
+            Map<String, List<String>> tableIndexes = indexes.computeIfAbsent(normalizedTable, k -> new LinkedHashMap<>());
+            tableIndexes.putIfAbsent(indexName != null ? indexName : "IDX_" + tableIndexes.size(), normalizedColumns);
+        }
+
+        /**
+         * 이름 없는 제약(UNIQUE (a), KEY (b) 등)의 이름: 종류와 컬럼 목록으로 만들고, 같은 이름이 있으면 번호를 붙임
+         */
+        String unnamedIndexName(String table, String type, List<String> indexColumns) {
+            String prefix = (type != null ? type.trim().toUpperCase(Locale.ROOT).replaceAll("\\s+", "_") : "INDEX")
+                    + (indexColumns != null ? "_" + String.join("_", indexColumns.stream().map(SchemaIndex::normalize).toList()) : "");
+            Map<String, List<String>> tableIndexes = indexes.getOrDefault(normalize(table), Map.of());
+            String name = prefix;
+            for (int n = 2; tableIndexes.containsKey(name); n++) {
+                name = prefix + "_" + n;
+            }
+            return name;
+        }
+
+        SchemaIndex build() {
+            Map<String, TableSchema> tables = new HashMap<>();
+            columns.forEach((table, tableColumns) -> {
+                List<IndexSchema> tableIndexes = new ArrayList<>();
+                indexes.getOrDefault(table, Map.of()).forEach((name, cols) -> tableIndexes.add(new IndexSchema(name, cols)));
+                tables.put(table, new TableSchema(table, Set.copyOf(tableColumns), List.copyOf(tableIndexes)));
+            });
+            return new SchemaIndex(Map.copyOf(tables));
+        }
+    }
+}
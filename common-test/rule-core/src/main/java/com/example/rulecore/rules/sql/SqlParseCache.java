@@ -0,0 +1,188 @@
+package com.example.rulecore.rules.sql;
+
+import com.example.rulecore.ruleEngine.RuleMetricsRecorder;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSqlParser 파싱 결과(Statement)를 보관하는 크기 제한(LRU) 캐시입니다.
+ * 키는 공백을 정규화한 SQL의 SHA-256 해시이므로, &lt;include&gt;로 반복되는 쿼리나 들여쓰기만 다른 쿼리는 한 번만 파싱됩니다.
+ * 파싱 실패도 함께 캐시하여 같은 SQL을 다시 파싱하지 않습니다.
+ * 공유 인스턴스({@link #shared()})는 JVM 단위로 유지되므로 Gradle 데몬에서는 실행 간에도 재사용됩니다.
+ * 캐시된 Statement는 여러 규칙/스레드가 공유하므로 읽기 전용으로만 사용해야 합니다.
+ * <p>
+ * 파싱은 제한 시간(deadline)을 두고 별도 스레드에서 수행되며, 시간을 넘기면 {@link SqlParseTimeoutException}을 던집니다.
+ * 시간 초과도 실패로 캐시되며, 이후 더 긴 제한 시간으로 요청하면 다시 파싱합니다.
+ * 시간 초과는 실행 중인 규칙의 지표({@link RuleMetricsRecorder})에 기록하며, 캐시된 시간 초과는 새 시간 초과로 세지 않습니다.
+ */
+public class SqlParseCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 4096;
+    private static final SqlParseCache SHARED = new SqlParseCache(DEFAULT_MAX_ENTRIES);
+
+    /** 기본 파싱 제한 시간 (ms) */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 2_000;
+
+    // 파싱 전용 스레드 풀 (JSqlParser 기본 동작은 파싱마다 스레드를 새로 생성함)
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService PARSER_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sql-parser-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int maxEntries;
+    private final Map<String, ParsedSql> entries;
+
+    /**
+     * @param maxEntries 최대 보관 개수 (초과 시 가장 오래 사용하지 않은 항목부터 제거)
+     */
+    public SqlParseCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
+                return size() > SqlParseCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static SqlParseCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 기본 제한 시간({@link #DEFAULT_TIMEOUT_MILLIS})으로 SQL을 파싱합니다.
+     *
+     * @throws JSQLParserException 파싱 실패 시 (실패 결과도 캐시됨)
+     */
+    public Statement parse(String sql) throws JSQLParserException {
+        return parse(sql, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * SQL을 파싱합니다. 같은 SQL(공백 정규화 기준)을 이전에 파싱했다면 캐시된 결과를 반환합니다.
+     *
+     * @param timeoutMillis 파싱 제한 시간 (ms)
+     * @throws SqlParseTimeoutException 제한 시간 초과 시
+     * @throws JSQLParserException 파싱 실패 시 (실패 결과도 캐시됨)
+     */
+    public Statement parse(String sql, long timeoutMillis) throws JSQLParserException {
+        String key = hash(normalize(sql));
+        ParsedSql cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+
+        boolean parsed = cached == null || cached.timedOutBefore(timeoutMillis);
+        if (parsed) {
+            // 파싱은 잠금 밖에서 수행 (동시에 같은 SQL이 들어오면 중복 파싱될 수 있으나 결과는 동일)
+            cached = parseUncached(sql, timeoutMillis);
+            synchronized (entries) {
+                entries.put(key, cached);
+            }
+        }
+
+        if (cached.error() instanceof SqlParseTimeoutException) {
+            RuleMetricsRecorder.current().recordParseTimeout(parsed);
+        }
+        if (cached.error() != null) {
+            throw cached.error();
+        }
+        return cached.statement();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private ParsedSql parseUncached(String sql, long timeoutMillis) {
+        try {
+            return new ParsedSql(CCJSqlParserUtil.parse(sql, PARSER_EXECUTOR, parser -> parser.withTimeOut(timeoutMillis)), null);
+        } catch (JSQLParserException e) {
+            // JSqlParser는 시간 초과 시 TimeoutException을 원인으로 담아 던지고, 파싱 스레드에 중단 플래그를 설정함
+            if (e.getCause() instanceof TimeoutException) {
+                return new ParsedSql(null, new SqlParseTimeoutException(timeoutMillis, e.getCause()));
+            }
+            return new ParsedSql(null, e);
+        }
+    }
+
+    /**
+     * 따옴표(문자열 리터럴, 식별자) 밖의 연속된 공백을 공백 하나로 줄이고 앞뒤 공백을 제거합니다.
+     * 한 줄 주석(--, #)은 줄바꿈에서 끝나므로 주석 안의 내용과 주석을 끝내는 줄바꿈은 그대로 둡니다.
+     * (줄바꿈을 공백으로 바꾸면 주석 다음 줄이 주석에 포함된 SQL과 같은 키가 됨)
+     */
+    static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean lineComment = false;
+        boolean pendingSpace = false;
+        boolean pendingNewline = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (lineComment) {
+                if (c == '\n' || c == '\r') {
+                    lineComment = false;
+                    pendingNewline = true;
+                } else {
+                    normalized.append(c);
+                }
+                continue;
+            }
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingNewline) {
+                normalized.append('\n');
+            } else if (pendingSpace) {
+                normalized.append(' ');
+            }
+            pendingSpace = false;
+            pendingNewline = false;
+            normalized.append(c);
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            } else if (quote == 0 && (c == '#' || (c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-'))) {
+                lineComment = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String hash(String normalizedSql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalizedSql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ParsedSql(Statement statement, JSQLParserException error) {
+
+        /**
+         * 이전 파싱이 지금보다 짧은 제한 시간으로 시간 초과되었는지 여부 (더 긴 제한 시간이면 다시 시도)
+         */
+        boolean timedOutBefore(long timeoutMillis) {
+            return error instanceof SqlParseTimeoutException timeout && timeout.getTimeoutMillis() < timeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.rulecore.rules.sql;
+
+import net.sf.jsqlparser.JSQLParserException;
+
+/**
+ * SQL 파싱이 제한 시간 안에 끝나지 않았을 때 발생합니다.
+ * 거대한 IN 목록, 깊게 중첩된 CASE 등에서 JSqlParser가 과도한 백트래킹을 하는 경우입니다.
+ */
+public class SqlParseTimeoutException extends JSQLParserException {
+
+    private final long timeoutMillis;
+
+    public SqlParseTimeoutException(long timeoutMillis, Throwable cause) {
+        super("SQL parsing timed out after " + timeoutMillis + "ms", cause);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
@@ -3,30 +3,183 @@ package com.example.rulecore.rules.sql.fail;
 import com.example.rulecore.ruleEngine.enums.Status;
 import com.example.rulecore.ruleEngine.RuleViolation;
 import com.example.rulecore.rules.sql.MybatisUnitBasedRule;
+import org.xml.sax.Attributes;
 
 /**
  * MyBatis XML 내의 부등호 사용 시 CDATA 섹션 필수 여부를 검사합니다.
+ * SAX 문자 버퍼(char[])를 그대로 한 글자씩 상태 기계로 검사하므로 이벤트마다 문자열/정규식 객체를 만들지 않습니다.
+ * 다음 두 경우를 SQL 비교 연산자로 판단하며, CDATA 구간 내부는 검사하지 않습니다.
+ * - 단어 문자 뒤의 부등호 (예: age &lt; 30, age&lt;=30)
+ * - 앞뒤가 공백인 부등호 (예: #{min} &gt;= 10)
+ * 위반 위치는 부등호의 실제 행/열로 보고합니다.
+ * 태그/CDATA/주석이 끝난 위치를 기준으로 텍스트를 한 글자씩 세어 나가며, 내장 엔티티(&amp;lt; 등)는 원본 길이만큼 건너뜁니다.
+ * (숫자 문자 참조(&amp;#60;)는 파서가 알려주지 않으므로 같은 줄의 이후 열 위치가 근사치가 됩니다)
  */
 public class MyBatisXmlRule extends MybatisUnitBasedRule {
 
+    private static final String MESSAGE = "부등호(<, >) 사용 시 반드시 <![CDATA[ ... ]]> 섹션으로 감싸야 합니다.";
+
+    // 다음에 읽을 문자의 원본 XML 상 위치
+    private int line = 1;
+    private int column = 1;
+
+    private boolean inCdata;
+    // 직전의 공백이 아닌 문자가 단어 문자([a-zA-Z0-9_])인지
+    private boolean afterWord;
+    // 직전 문자가 공백인지
+    private boolean afterWhitespace;
+    // 앞에 공백이 있어 뒤따르는 공백을 기다리는 부등호 위치 (없으면 -1)
+    private int pendingLine = -1;
+    private int pendingColumn;
+    private boolean pendingEquals;
+    // 내장 엔티티가 끝난 직후의 위치 (엔티티 내용을 읽은 뒤 이 위치로 이동)
+    private int entityEndLine = -1;
+    private int entityEndColumn;
+
+    @Override
+    public String getVersion() {
+        return "2";
+    }
+
+    @Override
+    public void startDocument() {
+        line = 1;
+        column = 1;
+        inCdata = false;
+        resetText();
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        resetText();
+        syncPosition();
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        resetText();
+        syncPosition();
+    }
+
+    @Override
+    public void startCDATA() {
+        resetText();
+        inCdata = true;
+    }
+
+    @Override
+    public void endCDATA() {
+        inCdata = false;
+        syncPosition();
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) {
+        resetText();
+        syncPosition();
+    }
+
+    /**
+     * 내장 엔티티(&amp;lt; 등) 시작 시점의 Locator는 엔티티 참조가 끝난 위치이므로, 참조 길이만큼 되돌려 시작 위치를 구합니다.
+     */
+    @Override
+    public void startEntity(String name) {
+        if (locator == null || name.startsWith("[") || name.startsWith("%")) return;
+        entityEndLine = locator.getLineNumber();
+        entityEndColumn = locator.getColumnNumber();
+        line = entityEndLine;
+        column = Math.max(1, entityEndColumn - (name.length() + 2));
+    }
+
+    @Override
+    public void endEntity(String name) {
+        if (entityEndLine < 0) return;
+        line = entityEndLine;
+        column = entityEndColumn;
+        entityEndLine = -1;
+    }
+
     @Override
-    public void characters(char[] ch, int start, int length){
-        String text = new String(ch, start, length);
-        if (hasRawInequality(text)) {
-            currentViolations.add(new RuleViolation(
-                    "MyBatisXmlRule",
-                    Status.FAIL,
-                    "부등호(<, >) 사용 시 반드시 <![CDATA[ ... ]]> 섹션으로 감싸야 합니다.",
-                    getCurrentAbsolutePath(),
-                    getCurrentRelativePath(),
-                    getLineNumber()
-            ));
+    public void characters(char[] ch, int start, int length) {
+        if (inCdata) return;
+        int end = start + length;
+        for (int i = start; i < end; i++) {
+            scan(ch[i]);
+        }
+    }
+
+    private void scan(char c) {
+        if (pendingLine >= 0) {
+            if (c == '=' && !pendingEquals) {
+                pendingEquals = true;
+            } else {
+                if (isWhitespace(c)) {
+                    reportViolation(pendingLine, pendingColumn);
+                }
+                pendingLine = -1;
+            }
+        }
+
+        if (c == '<' || c == '>') {
+            if (afterWord) {
+                reportViolation(line, column);
+            } else if (afterWhitespace) {
+                pendingLine = line;
+                pendingColumn = column;
+                pendingEquals = false;
+            }
+            afterWord = false;
+            afterWhitespace = false;
+        } else if (isWhitespace(c)) {
+            afterWhitespace = true;
+        } else {
+            afterWord = isWordChar(c);
+            afterWhitespace = false;
         }
+
+        if (c == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+    }
+
+    /**
+     * 태그나 CDATA로 텍스트가 끊기면 연산자 판단 상태를 초기화합니다.
+     */
+    private void resetText() {
+        afterWord = false;
+        afterWhitespace = false;
+        pendingLine = -1;
+    }
+
+    /**
+     * SAX Locator는 이벤트가 끝난 직후의 위치를 가리키므로, 다음 텍스트의 시작 위치로 사용합니다.
+     */
+    private void syncPosition() {
+        if (locator != null && locator.getLineNumber() > 0) {
+            line = locator.getLineNumber();
+            column = Math.max(1, locator.getColumnNumber());
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
     }
 
-    private boolean hasRawInequality(String text) {
-        // SQL 연산자로 쓰일법한 패턴 체크
-        return text.matches(".*[a-zA-Z0-9_]\\s*[<>]=?\\s*.*") || 
-               text.matches(".*\\s+[<>]=?\\s+.*");
+    private void reportViolation(int violationLine, int violationColumn) {
+        currentViolations.add(new RuleViolation(
+                "MyBatisXmlRule",
+                Status.FAIL,
+                MESSAGE + " (" + violationLine + ":" + violationColumn + ")",
+                getCurrentAbsolutePath(),
+                getCurrentRelativePath(),
+                violationLine
+        ));
     }
 }
@@ -3,12 +3,13 @@ package com.example.rulecore.rules.sql.fail;
 import com.example.rulecore.ruleEngine.enums.Status;
 import com.example.rulecore.ruleEngine.RuleViolation;
 import com.example.rulecore.rules.sql.MybatisUnitBasedRule;
+import com.example.rulecore.rules.sql.SqlParseCache;
 import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.select.*;
 import org.xml.sax.Attributes;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -45,21 +46,33 @@ public class SqlBasicPerformanceRule extends MybatisUnitBasedRule {
     }
 
     private void analyzeSql(String sql) {
+        for (String message : inspectSql(sql, context.sqlParseTimeoutMillis())) {
+            reportViolation(message);
+        }
+    }
+
+    /**
+     * SELECT 문을 파싱(파싱 결과는 {@link SqlParseCache}로 재사용)하여 성능 위반 메시지 목록을 반환합니다. (파일/위치 정보와 무관한 순수 검사 로직)
+     * 파싱이 제한 시간을 넘기면 파싱 실패와 동일하게 휴리스틱 검사로 대체합니다. (시간 초과는 {@link SqlParseCache}가 실행 지표에 기록)
+     */
+    static List<String> inspectSql(String sql, long timeoutMillis) {
+        List<String> messages = new ArrayList<>();
         try {
-            Statement stmt = CCJSqlParserUtil.parse(sql);
+            Statement stmt = SqlParseCache.shared().parse(sql, timeoutMillis);
             if (stmt instanceof Select select) {
                 if (select.getPlainSelect() != null) {
-                    inspectPlainSelect(select.getPlainSelect());
+                    inspectPlainSelect(select.getPlainSelect(), messages);
                 }
             }
-        } catch (Exception ignored) {
+        } catch (Exception e) {
             if (sql.toUpperCase().contains("SELECT *")) {
-                reportViolation("SELECT * 사용 금지 (Heuristic 감지)");
+                messages.add("SELECT * 사용 금지 (Heuristic 감지)");
             }
         }
+        return messages;
     }
 
-    private void inspectPlainSelect(PlainSelect plainSelect) {
+    private static void inspectPlainSelect(PlainSelect plainSelect, List<String> messages) {
 
 
         if (plainSelect.getSelectItems() == null) return;
@@ -69,11 +82,11 @@ public class SqlBasicPerformanceRule extends MybatisUnitBasedRule {
             if (selectItem != null) {
 
                 if (selectItem.toString().trim().equals("*")) {
-                    reportViolation("SELECT * 사용 금지.");
+                    messages.add("SELECT * 사용 금지.");
                 }
 
                 if (selectItem.toString().trim().endsWith(".*")) {
-                    reportViolation("SELECT t.* 사용 금지.");
+                    messages.add("SELECT t.* 사용 금지.");
                 }
 
 
@@ -83,7 +96,7 @@ public class SqlBasicPerformanceRule extends MybatisUnitBasedRule {
                     selectItem.getExpression().accept(new ExpressionVisitorAdapter() {
                         @Override
                         public void visit(Select selectBody) {
-                            reportViolation("SELECT 절 내 스칼라 서브쿼리 사용 금지.");
+                            messages.add("SELECT 절 내 스칼라 서브쿼리 사용 금지.");
                         }
 
                     });
@@ -0,0 +1,442 @@
+package com.example.rulecore.rules.sql.warn;
+
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.ruleEngine.enums.Status;
+import com.example.rulecore.rules.sql.MybatisUnitBasedRule;
+import com.example.rulecore.rules.sql.SchemaIndex;
+import com.example.rulecore.rules.sql.SchemaIndex.IndexSchema;
+import com.example.rulecore.rules.sql.SchemaIndex.TableSchema;
+import com.example.rulecore.rules.sql.SqlParseCache;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.update.Update;
+import org.xml.sax.Attributes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * WHERE / JOIN ON 조건의 컬럼을 스키마 인덱스({@link SchemaIndex})와 대조하는 규칙입니다.
+ * 다음 경우를 WARN으로 보고합니다.
+ * <ul>
+ *     <li>인덱스가 없는 컬럼 조건 (해당 테이블에 인덱스를 탈 수 있는 다른 조건이 없을 때)</li>
+ *     <li>복합 인덱스의 뒤쪽 컬럼만 조건에 있고 선두 컬럼 조건이 없는 경우</li>
+ *     <li>인덱스 컬럼을 함수로 감싼 조건 (예: DATE(created_at) = ?)</li>
+ * </ul>
+ * 스키마 정보가 없으면({@link com.example.rulecore.ruleEngine.RuleContext#schemaIndex()}) 검사하지 않습니다.
+ * 동적 태그는 조건 컬럼 수집이 가능한 수준의 가짜 SQL로 근사하며, 파싱할 수 없는 SQL은 건너뜁니다.
+ */
+public class IndexCoverageRule extends MybatisUnitBasedRule {
+
+    private static final Set<String> SQL_TAGS = Set.of("select", "update", "delete");
+    // 하위 텍스트를 SQL에 포함하지 않는 태그
+    private static final Set<String> SKIPPED_TAGS = Set.of("foreach", "selectkey", "bind");
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile("[#$]\\{[^}]+\\}");
+    private static final Pattern DUPLICATED_CONJUNCTION = Pattern.compile("(?i)\\bAND\\s+(AND|OR)\\b");
+    private static final Pattern DANGLING_CONJUNCTION = Pattern.compile("(?i)\\b(AND|OR)\\s*(?=\\)|\\bORDER\\b|\\bGROUP\\b|\\bLIMIT\\b|$)");
+    private static final Pattern TRAILING_COMMA = Pattern.compile(",\\s*(?=\\bWHERE\\b|$)", Pattern.CASE_INSENSITIVE);
+
+    private final StringBuilder sqlBuffer = new StringBuilder();
+    // 열려 있는 <trim> 태그 (닫힐 때 본문에 prefix/suffix와 overrides 적용)
+    private final Deque<TrimScope> trims = new ArrayDeque<>();
+    private boolean isSqlTag = false;
+    private int skipDepth = 0;
+    private int statementLine = 0;
+
+    @Override
+    public String getVersion() {
+        // 스키마가 바뀌면 캐시된 결과도 무효화
+        SchemaIndex schema = context != null ? context.schemaIndex() : null;
+        return "1-" + (schema != null ? schema.fingerprint() : "none");
+    }
+
+    /**
+     * @param start 본문 시작 위치 (sqlBuffer 기준)
+     */
+    private record TrimScope(int start, String prefix, String suffix, List<String> prefixOverrides, List<String> suffixOverrides) {
+    }
+
+    @Override
+    public void startDocument() {
+        isSqlTag = false;
+        skipDepth = 0;
+        sqlBuffer.setLength(0);
+        trims.clear();
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        String tag = qName.toLowerCase();
+        if (SQL_TAGS.contains(tag)) {
+            isSqlTag = context.schemaIndex() != null && !context.schemaIndex().isEmpty();
+            skipDepth = 0;
+            statementLine = getLineNumber();
+            sqlBuffer.setLength(0);
+            trims.clear();
+            return;
+        }
+        if (!isSqlTag) return;
+
+        if (skipDepth > 0 || SKIPPED_TAGS.contains(tag)) {
+            if (skipDepth == 0 && tag.equals("foreach")) sqlBuffer.append(" ( ? ) ");
+            skipDepth++;
+            return;
+        }
+        switch (tag) {
+            case "where" -> sqlBuffer.append(" WHERE 1=1 AND ");
+            case "set" -> sqlBuffer.append(" SET ");
+            case "trim" -> {
+                sqlBuffer.append(' ');
+                trims.push(new TrimScope(sqlBuffer.length(),
+                        attributeOrEmpty(attributes, "prefix"), attributeOrEmpty(attributes, "suffix"),
+                        overrides(attributes.getValue("prefixOverrides")), overrides(attributes.getValue("suffixOverrides"))));
+            }
+            default -> sqlBuffer.append(' ');
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (isSqlTag && skipDepth == 0) {
+            sqlBuffer.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        String tag = qName.toLowerCase();
+        if (!isSqlTag) return;
+        if (skipDepth > 0) {
+            skipDepth--;
+            return;
+        }
+        if (SQL_TAGS.contains(tag)) {
+            String sql = toParsableSql(sqlBuffer.toString());
+            if (!sql.isEmpty()) {
+                for (String message : inspectSql(sql, context.schemaIndex(), context.sqlParseTimeoutMillis())) {
+                    reportViolation(message);
+                }
+            }
+            isSqlTag = false;
+        } else if (tag.equals("trim") && !trims.isEmpty()) {
+            applyTrim(trims.pop());
+        } else {
+            sqlBuffer.append(' ');
+        }
+    }
+
+    /**
+     * MyBatis TrimSqlNode와 같이 본문 앞뒤의 overrides를 한 번씩 제거하고, 본문이 남아 있으면 prefix/suffix를 붙입니다.
+     * (예: &lt;trim prefix="WHERE" prefixOverrides="AND |OR "&gt; 안의 첫 AND 제거)
+     */
+    private void applyTrim(TrimScope trim) {
+        String body = sqlBuffer.substring(trim.start()).trim();
+        body = stripPrefix(body, trim.prefixOverrides());
+        body = stripSuffix(body, trim.suffixOverrides());
+        sqlBuffer.setLength(trim.start());
+        if (!body.isEmpty()) {
+            sqlBuffer.append(trim.prefix()).append(' ').append(body).append(' ').append(trim.suffix());
+        }
+        sqlBuffer.append(' ');
+    }
+
+    private static String stripPrefix(String body, List<String> overrides) {
+        for (String override : overrides) {
+            int length = override.length();
+            if (body.regionMatches(true, 0, override, 0, length)
+                    && (body.length() == length || !isWordBoundaryViolated(override.charAt(length - 1), body.charAt(length)))) {
+                return body.substring(length).trim();
+            }
+        }
+        return body;
+    }
+
+    private static String stripSuffix(String body, List<String> overrides) {
+        for (String override : overrides) {
+            int start = body.length() - override.length();
+            if (start >= 0 && body.regionMatches(true, start, override, 0, override.length())
+                    && (start == 0 || !isWordBoundaryViolated(override.charAt(0), body.charAt(start - 1)))) {
+                return body.substring(0, start).trim();
+            }
+        }
+        return body;
+    }
+
+    // 키워드형 override(AND, OR)가 식별자의 일부(ANDROID 등)와 일치하지 않도록 함
+    private static boolean isWordBoundaryViolated(char overrideEdge, char neighbor) {
+        return isWordChar(overrideEdge) && isWordChar(neighbor);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * "AND |OR " 형태의 overrides 속성을 목록으로 나눕니다. (앞뒤 공백 제거)
+     */
+    private static List<String> overrides(String attribute) {
+        if (attribute == null || attribute.isBlank()) return List.of();
+        List<String> overrides = new ArrayList<>();
+        for (String override : attribute.split("\\|")) {
+            if (!override.isBlank()) overrides.add(override.trim());
+        }
+        return overrides;
+    }
+
+    private static String attributeOrEmpty(Attributes attributes, String name) {
+        String value = attributes.getValue(name);
+        return value != null ? value : "";
+    }
+
+    /**
+     * 매퍼 본문을 파싱 가능한 형태로 정리합니다. (#{}/${} → ?, where/set 태그 근사로 생긴 중복 AND/쉼표 제거)
+     * &lt;trim&gt;의 prefix/overrides는 태그가 닫힐 때 이미 적용되어 있습니다.
+     */
+    static String toParsableSql(String body) {
+        String sql = PARAMETER_PATTERN.matcher(body).replaceAll("?");
+        sql = DUPLICATED_CONJUNCTION.matcher(sql).replaceAll("$1");
+        sql = DANGLING_CONJUNCTION.matcher(sql.trim()).replaceAll("");
+        sql = TRAILING_COMMA.matcher(sql).replaceAll(" ");
+        return sql.trim();
+    }
+
+    /**
+     * SQL을 파싱(파싱 결과는 {@link SqlParseCache}로 재사용)하여 인덱스 관련 위반 메시지 목록을 반환합니다. (파일/위치 정보와 무관한 순수 검사 로직)
+     * 파싱에 실패하거나 제한 시간을 넘기면 검사하지 않습니다. (시간 초과는 {@link SqlParseCache}가 실행 지표에 기록)
+     */
+    static List<String> inspectSql(String sql, SchemaIndex schema, long timeoutMillis) {
+        Set<String> messages = new LinkedHashSet<>();
+        Statement stmt;
+        try {
+            stmt = SqlParseCache.shared().parse(sql, timeoutMillis);
+        } catch (Exception e) {
+            return List.of();
+        }
+
+        if (stmt instanceof Select select) {
+            inspectSelect(select, schema, messages);
+        } else if (stmt instanceof Update update) {
+            List<Join> joins = new ArrayList<>();
+            if (update.getStartJoins() != null) joins.addAll(update.getStartJoins());
+            if (update.getJoins() != null) joins.addAll(update.getJoins());
+            inspectScope(update.getTable(), joins, update.getWhere(), schema, messages);
+        } else if (stmt instanceof Delete delete) {
+            inspectScope(delete.getTable(), delete.getJoins(), delete.getWhere(), schema, messages);
+        }
+        return List.copyOf(messages);
+    }
+
+    private static void inspectSelect(Select select, SchemaIndex schema, Set<String> messages) {
+        if (select instanceof PlainSelect plainSelect) {
+            inspectScope(plainSelect.getFromItem(), plainSelect.getJoins(), plainSelect.getWhere(), schema, messages);
+        } else if (select instanceof SetOperationList setOperationList) {
+            for (Select child : setOperationList.getSelects()) {
+                inspectSelect(child, schema, messages);
+            }
+        } else if (select instanceof ParenthesedSelect parenthesedSelect) {
+            inspectSelect(parenthesedSelect.getSelect(), schema, messages);
+        }
+    }
+
+    /**
+     * 하나의 FROM 범위(테이블 + 조인)에서 WHERE / ON 조건을 수집하여 검사합니다.
+     */
+    private static void inspectScope(FromItem fromItem, List<Join> joins, Expression where, SchemaIndex schema, Set<String> messages) {
+        Scope scope = new Scope(schema);
+        scope.register(fromItem, messages);
+        List<Expression> conditions = new ArrayList<>();
+        if (where != null) conditions.add(where);
+        if (joins != null) {
+            for (Join join : joins) {
+                scope.register(join.getRightItem(), messages);
+                if (join.getOnExpressions() != null) conditions.addAll(join.getOnExpressions());
+            }
+        }
+
+        PredicateCollector collector = new PredicateCollector(scope, messages);
+        for (Expression condition : conditions) {
+            condition.accept(collector);
+        }
+        scope.evaluate(messages);
+    }
+
+    /**
+     * FROM 범위의 테이블(별칭 기준)과, 테이블별로 조건에 사용된 컬럼을 보관합니다.
+     */
+    private static final class Scope {
+        private final SchemaIndex schema;
+        private final Map<String, TableSchema> tablesByAlias = new HashMap<>();
+        private final Map<TableSchema, Set<String>> predicateColumns = new LinkedHashMap<>();
+
+        Scope(SchemaIndex schema) {
+            this.schema = schema;
+        }
+
+        void register(FromItem fromItem, Set<String> messages) {
+            if (fromItem instanceof Table table) {
+                TableSchema tableSchema = schema.table(table.getName());
+                if (tableSchema == null) return;
+                tablesByAlias.put(SchemaIndex.normalize(table.getName()), tableSchema);
+                if (table.getAlias() != null) {
+                    tablesByAlias.put(SchemaIndex.normalize(table.getAlias().getName()), tableSchema);
+                }
+            } else if (fromItem instanceof Select subSelect) {
+                // 인라인 뷰는 독립된 범위로 검사
+                inspectSelect(subSelect, schema, messages);
+            }
+        }
+
+        /**
+         * 컬럼이 속한 테이블을 찾습니다. 한정자가 없으면 해당 컬럼을 가진 테이블이 하나일 때만 결정합니다.
+         */
+        TableSchema resolve(Column column) {
+            Table qualifier = column.getTable();
+            if (qualifier != null && qualifier.getName() != null) {
+                TableSchema table = tablesByAlias.get(SchemaIndex.normalize(qualifier.getName()));
+                return table != null && table.hasColumn(column.getColumnName()) ? table : null;
+            }
+            TableSchema found = null;
+            for (TableSchema table : new HashSet<>(tablesByAlias.values())) {
+                if (!table.hasColumn(column.getColumnName())) continue;
+                if (found != null) return null;
+                found = table;
+            }
+            return found;
+        }
+
+        void addPredicate(Column column) {
+            TableSchema table = resolve(column);
+            if (table != null) {
+                predicateColumns.computeIfAbsent(table, k -> new LinkedHashSet<>()).add(SchemaIndex.normalize(column.getColumnName()));
+            }
+        }
+
+        void evaluate(Set<String> messages) {
+            predicateColumns.forEach((table, columns) -> {
+                // 인덱스 선두 컬럼 조건이 하나라도 있으면 접근 경로가 있으므로, 나머지 조건은 필터로 보고 넘어감
+                if (columns.stream().anyMatch(table::isLeadingIndexColumn)) return;
+
+                for (String column : columns) {
+                    List<IndexSchema> indexes = table.indexesContaining(column);
+                    if (indexes.isEmpty()) {
+                        messages.add("인덱스가 없는 컬럼 조건: " + table.name() + "." + column);
+                    } else {
+                        IndexSchema index = indexes.get(0);
+                        messages.add("복합 인덱스 선두 컬럼 미사용: " + table.name() + "." + column
+                                + " (인덱스 " + index.name() + "(" + String.join(", ", index.columns()) + ")의 선두 컬럼 "
+                                + index.columns().get(0) + " 조건 없음)");
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 조건식을 순회하며 비교 대상 컬럼과 함수로 감싼 컬럼을 수집합니다.
+     */
+    private static final class PredicateCollector extends ExpressionVisitorAdapter {
+        private final Scope scope;
+        private final Set<String> messages;
+
+        PredicateCollector(Scope scope, Set<String> messages) {
+            this.scope = scope;
+            this.messages = messages;
+        }
+
+        @Override
+        protected void visitBinaryExpression(BinaryExpression expr) {
+            if (expr instanceof ComparisonOperator || expr instanceof LikeExpression) {
+                operand(expr.getLeftExpression());
+                operand(expr.getRightExpression());
+            } else {
+                super.visitBinaryExpression(expr);
+            }
+        }
+
+        @Override
+        public void visit(InExpression expr) {
+            operand(expr.getLeftExpression());
+            if (expr.getRightExpression() instanceof Select subSelect) {
+                inspectSelect(subSelect, scope.schema, messages);
+            }
+        }
+
+        @Override
+        public void visit(Between expr) {
+            operand(expr.getLeftExpression());
+        }
+
+        @Override
+        public void visit(IsNullExpression expr) {
+            operand(expr.getLeftExpression());
+        }
+
+        @Override
+        public void visit(ParenthesedSelect select) {
+            // EXISTS / 스칼라 서브쿼리는 독립된 범위로 검사
+            inspectSelect(select, scope.schema, messages);
+        }
+
+        private void operand(Expression expression) {
+            if (expression instanceof Column column) {
+                scope.addPredicate(column);
+            } else if (expression instanceof Function function) {
+                function.accept(new ExpressionVisitorAdapter() {
+                    @Override
+                    public void visit(Column column) {
+                        reportFunctionOnIndexedColumn(function, column);
+                    }
+                });
+            } else if (expression instanceof Select subSelect) {
+                inspectSelect(subSelect, scope.schema, messages);
+            }
+        }
+
+        private void reportFunctionOnIndexedColumn(Function function, Column column) {
+            TableSchema table = scope.resolve(column);
+            if (table == null) return;
+            List<IndexSchema> indexes = table.indexesContaining(column.getColumnName());
+            if (indexes.isEmpty()) return;
+            messages.add("인덱스 컬럼에 함수 적용: " + function.getName() + "(" + table.name() + "."
+                    + SchemaIndex.normalize(column.getColumnName()) + ") (인덱스 " + indexes.get(0).name() + " 사용 불가)");
+        }
+    }
+
+    private void reportViolation(String message) {
+        currentViolations.add(new RuleViolation(
+                "IndexCoverageRule",
+                Status.WARN,
+                message,
+                getCurrentAbsolutePath(),
+                getCurrentRelativePath(),
+                statementLine
+        ));
+    }
+}
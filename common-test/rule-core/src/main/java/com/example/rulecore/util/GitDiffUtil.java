@@ -1,17 +1,33 @@
 package com.example.rulecore.util;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import com.example.rulecore.util.git.GitRepository;
+import com.example.rulecore.util.git.InProcessGitDiff;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
- * Git 명령어를 사용하여 변경된 파일 목록을 추출하는 유틸리티입니다.
+ * 기준 Git 참조 대비 변경된 파일 목록을 추출하는 유틸리티입니다.
+ * 먼저 저장소(.git)를 직접 읽는 내장 엔진({@link InProcessGitDiff})을 사용하고,
+ * 지원하지 않는 저장소 구성이거나 오류/제한 시간 초과 시 git 명령어 실행으로 대체합니다.
  */
 public class GitDiffUtil {
 
+    /** 내장 엔진과 git 명령어 각각의 기본 제한 시간 */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
     /**
      * 특정 기준(baseRef) 대비 변경된 파일 목록을 가져옵니다.
      *
@@ -20,38 +36,28 @@ public class GitDiffUtil {
      * @return 변경된 파일들의 절대 경로 목록
      */
     public static List<Path> getAffectedFiles(Path projectRoot, String baseRef) {
-        List<String> relativePaths = new ArrayList<>();
-
-        try {
-            // Git Root 찾기
-            String gitRootStr = executeCommand(projectRoot, "git", "rev-parse", "--show-toplevel").get(0);
-            Path gitRoot = Path.of(gitRootStr);
-            
-            // baseRef가 비어있으면 HEAD 사용
-            String targetRef = (baseRef == null || baseRef.isBlank()) ? "HEAD" : baseRef;
-            
-            // 1. 변경된 파일 (Modified, Added) 추출
-            // git diff는 git root 기준의 상대경로를 반환함
-            List<String> diffFiles = executeCommand(projectRoot, "git", "diff", "--name-only", targetRef);
-            for (String file : diffFiles) {
-                Path absolutePath = gitRoot.resolve(file);
-                // 현재 프로젝트 루트 하위의 파일만 포함
-                if (absolutePath.startsWith(projectRoot.toAbsolutePath())) {
-                    relativePaths.add(projectRoot.toAbsolutePath().relativize(absolutePath).toString());
-                }
-            }
+        return getAffectedFiles(projectRoot, baseRef, DEFAULT_TIMEOUT);
+    }
 
-            // 2. Untracked 파일 추출
-            List<String> untrackedFiles = executeCommand(projectRoot, "git", "ls-files", "--others", "--exclude-standard");
-            for (String file : untrackedFiles) {
-                Path absolutePath = gitRoot.resolve(file);
-                if (absolutePath.startsWith(projectRoot.toAbsolutePath())) {
-                    relativePaths.add(projectRoot.toAbsolutePath().relativize(absolutePath).toString());
-                }
-            }
+    /**
+     * @param timeout 내장 엔진과 (대체 시) git 명령어 각각에 적용되는 제한 시간
+     */
+    public static List<Path> getAffectedFiles(Path projectRoot, String baseRef, Duration timeout) {
+        // baseRef가 비어있으면 HEAD 사용
+        String targetRef = (baseRef == null || baseRef.isBlank()) ? "HEAD" : baseRef;
+        Path root = projectRoot.toAbsolutePath().normalize();
 
+        List<String> relativePaths;
+        try {
+            relativePaths = inProcess(root, targetRef, timeout);
         } catch (Exception e) {
-            System.err.println("[GIT] Failed to get diff for " + baseRef + ": " + e.getMessage());
+            System.err.println("[GIT] In-process diff unavailable, falling back to git command: " + e.getMessage());
+            try {
+                relativePaths = subprocess(root, targetRef, timeout);
+            } catch (Exception fallbackError) {
+                System.err.println("[GIT] Failed to get diff for " + baseRef + ": " + fallbackError.getMessage());
+                relativePaths = List.of();
+            }
         }
 
         return relativePaths.stream()
@@ -67,21 +73,95 @@ public class GitDiffUtil {
         return getAffectedFiles(projectRoot, "HEAD");
     }
 
-    private static List<String> executeCommand(Path workingDir, String... command) throws Exception {
-        Process process = new ProcessBuilder(command)
-                .directory(workingDir.toFile())
-                .start();
+    /**
+     * 내장 엔진으로 변경 파일을 계산합니다. 제한 시간을 넘기면 작업 스레드를 인터럽트하고 TimeoutException을 던집니다.
+     */
+    static List<String> inProcess(Path projectRoot, String baseRef, Duration timeout) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rule-git-diff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Future<List<String>> future = executor.submit(() -> {
+                try (GitRepository repo = GitRepository.open(projectRoot)) {
+                    List<String> paths = new ArrayList<>();
+                    for (String path : InProcessGitDiff.diff(repo, baseRef, projectRoot).affectedPaths()) {
+                        paths.add(projectRoot.relativize(repo.workTree().resolve(path)).toString());
+                    }
+                    return paths;
+                }
+            });
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new TimeoutException("timed out after " + timeout.toMillis() + "ms");
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * git 명령어로 변경 파일을 계산합니다. (git diff --name-only + git ls-files --others)
+     */
+    static List<String> subprocess(Path projectRoot, String baseRef, Duration timeout) throws IOException, InterruptedException {
+        List<String> relativePaths = new ArrayList<>();
+
+        // Git Root 찾기
+        String gitRootStr = executeCommand(projectRoot, timeout, "git", "rev-parse", "--show-toplevel").get(0);
+        Path gitRoot = Path.of(gitRootStr);
+
+        // 1. 변경된 파일 (Modified, Added) 추출
+        // git diff는 git root 기준의 상대경로를 반환함
+        List<String> diffFiles = executeCommand(projectRoot, timeout, "git", "diff", "--name-only", "-z", baseRef, "--");
+        // 2. Untracked 파일 추출 (--full-name: 현재 디렉토리가 아닌 git root 기준 경로)
+        List<String> untrackedFiles = executeCommand(projectRoot, timeout, "git", "ls-files", "--others", "--exclude-standard", "--full-name", "-z");
+
+        for (List<String> files : List.of(diffFiles, untrackedFiles)) {
+            for (String file : files) {
+                Path absolutePath = gitRoot.resolve(file);
+                // 현재 프로젝트 루트 하위의 파일만 포함
+                if (absolutePath.startsWith(projectRoot)) {
+                    relativePaths.add(projectRoot.relativize(absolutePath).toString());
+                }
+            }
+        }
+        return relativePaths;
+    }
+
+    /**
+     * 명령어를 실행하고 출력 줄(또는 NUL 구분 항목)을 반환합니다.
+     * 출력은 임시 파일로 받고 오류 출력은 버리므로 출력이 많아도 파이프가 막히지 않으며, 제한 시간을 넘기면 프로세스를 종료합니다.
+     */
+    private static List<String> executeCommand(Path workingDir, Duration timeout, String... command) throws IOException, InterruptedException {
+        Path output = Files.createTempFile("rule-git", ".out");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .directory(workingDir.toFile())
+                    .redirectOutput(output.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("Timed out after " + timeout.toMillis() + "ms: " + String.join(" ", command));
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("Exit code " + process.exitValue() + ": " + String.join(" ", command));
+            }
 
-        List<String> result = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
+            List<String> result = new ArrayList<>();
+            for (String line : Files.readString(output, StandardCharsets.UTF_8).split("[\0\n]")) {
                 if (!line.isBlank()) {
                     result.add(line.trim());
                 }
             }
+            return result;
+        } finally {
+            Files.deleteIfExists(output);
         }
-        process.waitFor();
-        return result;
     }
 }
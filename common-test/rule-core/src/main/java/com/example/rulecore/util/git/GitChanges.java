@@ -0,0 +1,26 @@
+package com.example.rulecore.util.git;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 기준 커밋 대비 작업 트리 변경 내역입니다. 경로는 작업 트리 기준 '/' 구분 상대 경로입니다.
+ *
+ * @param modified 수정/추가된 추적 파일 (이름 변경의 새 경로, 병합 충돌 파일 포함)
+ * @param deleted 삭제된 파일 (이름 변경으로 판단된 경로 제외)
+ * @param renamed 이름 변경 (이전 경로 → 새 경로)
+ * @param untracked 추적되지 않는 파일 (무시 규칙 적용)
+ */
+public record GitChanges(List<String> modified, List<String> deleted, Map<String, String> renamed, List<String> untracked) {
+
+    /**
+     * 변경된 모든 경로 ("git diff --name-only {기준}" + "git ls-files --others --exclude-standard"와 같은 범위, 이름 변경은 새 경로만)
+     */
+    public List<String> affectedPaths() {
+        TreeSet<String> paths = new TreeSet<>(modified);
+        paths.addAll(deleted);
+        paths.addAll(untracked);
+        return List.copyOf(paths);
+    }
+}
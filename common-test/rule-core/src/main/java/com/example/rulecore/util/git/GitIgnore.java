@@ -0,0 +1,184 @@
+package com.example.rulecore.util.git;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * .gitignore 규칙(gitignore 패턴 문법)으로 무시 대상 경로를 판단합니다.
+ * 규칙 묶음은 우선순위가 낮은 것부터 쌓으며(core.excludesFile → info/exclude → 상위 .gitignore → 하위 .gitignore),
+ * 우선순위가 높은 묶음의 마지막으로 일치한 규칙이 결과를 결정합니다.
+ * 불변 객체이므로 디렉토리 순회 중 하위 디렉토리의 규칙을 추가한 사본을 만들어 사용합니다.
+ */
+public final class GitIgnore {
+
+    private static final GitIgnore EMPTY_CASE_SENSITIVE = new GitIgnore(List.of(), false);
+    private static final GitIgnore EMPTY_CASE_INSENSITIVE = new GitIgnore(List.of(), true);
+
+    private final List<Frame> frames;
+    private final boolean ignoreCase;
+
+    private record Rule(Pattern pattern, boolean negated, boolean directoryOnly, boolean matchName) {
+    }
+
+    /**
+     * @param base 규칙 파일이 있는 디렉토리 (작업 트리 기준 상대 경로, 루트가 아니면 '/'로 끝남)
+     */
+    private record Frame(String base, List<Rule> rules) {
+    }
+
+    private GitIgnore(List<Frame> frames, boolean ignoreCase) {
+        this.frames = frames;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @param ignoreCase 대소문자 구분 없이 비교 (core.ignorecase)
+     */
+    public static GitIgnore empty(boolean ignoreCase) {
+        return ignoreCase ? EMPTY_CASE_INSENSITIVE : EMPTY_CASE_SENSITIVE;
+    }
+
+    /**
+     * 규칙 파일을 읽어 추가한 사본을 반환합니다. 파일이 없으면 그대로 반환합니다.
+     *
+     * @param baseDir 규칙이 적용되는 디렉토리 (작업 트리 기준 상대 경로, 루트는 "")
+     */
+    public GitIgnore withFile(String baseDir, Path file) throws IOException {
+        if (file == null || !Files.isRegularFile(file)) return this;
+        return withRules(baseDir, Files.readAllLines(file));
+    }
+
+    public GitIgnore withRules(String baseDir, List<String> lines) {
+        List<Rule> rules = new ArrayList<>();
+        for (String line : lines) {
+            Rule rule = parse(line);
+            if (rule != null) rules.add(rule);
+        }
+        if (rules.isEmpty()) return this;
+        List<Frame> extended = new ArrayList<>(frames);
+        extended.add(new Frame(baseDir.isEmpty() || baseDir.endsWith("/") ? baseDir : baseDir + "/", List.copyOf(rules)));
+        return new GitIgnore(List.copyOf(extended), ignoreCase);
+    }
+
+    /**
+     * 경로가 무시 대상인지 판단합니다.
+     *
+     * @param path 작업 트리 기준 '/' 구분 상대 경로
+     * @param directory 디렉토리 여부 ('dir/' 형태 규칙은 디렉토리에만 적용)
+     */
+    public boolean isIgnored(String path, boolean directory) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        for (int f = frames.size() - 1; f >= 0; f--) {
+            Frame frame = frames.get(f);
+            if (!path.startsWith(frame.base())) continue;
+            String relative = path.substring(frame.base().length());
+            for (int r = frame.rules().size() - 1; r >= 0; r--) {
+                Rule rule = frame.rules().get(r);
+                if (rule.directoryOnly() && !directory) continue;
+                if (rule.pattern().matcher(rule.matchName() ? name : relative).matches()) {
+                    return !rule.negated();
+                }
+            }
+        }
+        return false;
+    }
+
+    private Rule parse(String line) {
+        if (line.isEmpty() || line.startsWith("#")) return null;
+
+        // 이스케이프되지 않은 끝 공백 제거
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\')) end--;
+        String pattern = line.substring(0, end);
+        if (pattern.isEmpty()) return null;
+
+        boolean negated = false;
+        if (pattern.startsWith("!")) {
+            negated = true;
+            pattern = pattern.substring(1);
+        }
+        boolean directoryOnly = false;
+        if (pattern.endsWith("/")) {
+            directoryOnly = true;
+            pattern = pattern.substring(0, pattern.length() - 1);
+        }
+        // 중간이나 앞에 '/'가 있으면 규칙 파일 위치 기준 경로, 없으면 모든 깊이의 이름과 비교
+        boolean anchored = pattern.indexOf('/') >= 0;
+        if (pattern.startsWith("/")) pattern = pattern.substring(1);
+        if (pattern.isEmpty()) return null;
+
+        int flags = ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
+        return new Rule(Pattern.compile(toRegex(pattern), flags), negated, directoryOnly, !anchored);
+    }
+
+    static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int length = glob.length();
+        for (int i = 0; i < length; i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*' -> {
+                    boolean doubleStar = i + 1 < length && glob.charAt(i + 1) == '*';
+                    boolean segmentStart = i == 0 || glob.charAt(i - 1) == '/';
+                    if (doubleStar && segmentStart && i + 2 == length) {
+                        // 'a/**': a 하위의 모든 경로
+                        regex.append(".*");
+                        i++;
+                    } else if (doubleStar && segmentStart && glob.charAt(i + 2) == '/') {
+                        // '**/a', 'a/**/b': 0개 이상의 디렉토리
+                        regex.append("(?:.*/)?");
+                        i += 2;
+                    } else {
+                        regex.append("[^/]*");
+                        while (i + 1 < length && glob.charAt(i + 1) == '*') i++;
+                    }
+                }
+                case '?' -> regex.append("[^/]");
+                case '[' -> {
+                    int close = findClassEnd(glob, i);
+                    if (close < 0) {
+                        regex.append("\\[");
+                    } else {
+                        regex.append('[');
+                        int j = i + 1;
+                        if (glob.charAt(j) == '!' || glob.charAt(j) == '^') {
+                            regex.append('^');
+                            j++;
+                        }
+                        for (; j < close; j++) {
+                            char member = glob.charAt(j);
+                            if (member == '-' || Character.isLetterOrDigit(member)) regex.append(member);
+                            else regex.append('\\').append(member);
+                        }
+                        regex.append(']');
+                        i = close;
+                    }
+                }
+                case '\\' -> {
+                    if (i + 1 < length) appendLiteral(regex, glob.charAt(++i));
+                }
+                default -> appendLiteral(regex, c);
+            }
+        }
+        return regex.toString();
+    }
+
+    private static int findClassEnd(String glob, int open) {
+        int j = open + 1;
+        if (j < glob.length() && (glob.charAt(j) == '!' || glob.charAt(j) == '^')) j++;
+        if (j < glob.length() && glob.charAt(j) == ']') j++; // 첫 ']'는 문자 자체
+        for (; j < glob.length(); j++) {
+            if (glob.charAt(j) == ']') return j;
+        }
+        return -1;
+    }
+
+    private static void appendLiteral(StringBuilder regex, char c) {
+        if (Character.isLetterOrDigit(c) || c > 127) regex.append(c);
+        else regex.append('\\').append(c);
+    }
+}
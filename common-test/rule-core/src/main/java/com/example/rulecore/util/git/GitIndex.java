@@ -0,0 +1,146 @@
+package com.example.rulecore.util.git;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Git 인덱스 파일(.git/index, 버전 2~4)을 읽습니다.
+ * 분할 인덱스(split index)와 희소 인덱스(sparse index)는 지원하지 않으며 IOException으로 알립니다.
+ */
+public final class GitIndex {
+
+    private static final int SIGNATURE = 0x44495243; // "DIRC"
+    private static final int FLAG_ASSUME_VALID = 0x8000;
+    private static final int FLAG_EXTENDED = 0x4000;
+    private static final int EXTENDED_SKIP_WORKTREE = 0x4000;
+    private static final int EXTENDED_INTENT_TO_ADD = 0x2000;
+
+    private final List<Entry> entries;
+    private final FileTime modifiedTime;
+
+    /**
+     * 인덱스 항목 (경로는 작업 트리 루트 기준 '/' 구분 상대 경로)
+     *
+     * @param stage 0: 일반, 1~3: 병합 충돌 중인 항목
+     * @param assumeUnchanged assume-unchanged 또는 skip-worktree 항목 (작업 트리를 비교하지 않음)
+     */
+    public record Entry(String path, int mode, String id, int stage, long mtimeSeconds, int mtimeNanos,
+                        long size, boolean assumeUnchanged, boolean intentToAdd) {
+    }
+
+    private GitIndex(List<Entry> entries, FileTime modifiedTime) {
+        this.entries = entries;
+        this.modifiedTime = modifiedTime;
+    }
+
+    /**
+     * 인덱스 파일을 읽습니다. 파일이 없으면(커밋 전 저장소) 빈 인덱스를 반환합니다.
+     */
+    public static GitIndex read(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) return new GitIndex(List.of(), FileTime.fromMillis(0));
+        FileTime modifiedTime = Files.getLastModifiedTime(indexFile);
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+
+        if (buf.getInt() != SIGNATURE) throw new IOException("Not a git index: " + indexFile);
+        int version = buf.getInt();
+        if (version < 2 || version > 4) throw new IOException("Unsupported git index version " + version);
+        int count = buf.getInt();
+
+        List<Entry> entries = new ArrayList<>(count);
+        byte[] previousPath = new byte[0];
+        for (int i = 0; i < count; i++) {
+            int start = buf.position();
+            buf.getInt(); // ctime seconds
+            buf.getInt(); // ctime nanoseconds
+            long mtimeSeconds = Integer.toUnsignedLong(buf.getInt());
+            int mtimeNanos = buf.getInt();
+            buf.getInt(); // dev
+            buf.getInt(); // ino
+            int mode = buf.getInt();
+            buf.getInt(); // uid
+            buf.getInt(); // gid
+            long size = Integer.toUnsignedLong(buf.getInt());
+            byte[] id = new byte[20];
+            buf.get(id);
+            int flags = buf.getShort() & 0xffff;
+            int extendedFlags = 0;
+            if (version >= 3 && (flags & FLAG_EXTENDED) != 0) {
+                extendedFlags = buf.getShort() & 0xffff;
+            }
+
+            byte[] pathBytes;
+            if (version == 4) {
+                // 이전 경로에서 제거할 바이트 수(가변 길이 정수) + 이어 붙일 NUL 종료 문자열
+                int keep = previousPath.length - Math.toIntExact(readOffset(buf));
+                byte[] suffix = readNulTerminated(buf);
+                pathBytes = Arrays.copyOf(previousPath, keep + suffix.length);
+                System.arraycopy(suffix, 0, pathBytes, keep, suffix.length);
+            } else {
+                pathBytes = readNulTerminated(buf);
+                // 항목 전체 길이가 8의 배수가 되도록 NUL 패딩 (1~8바이트)
+                int entryLength = buf.position() - start;
+                buf.position(start + ((entryLength + 7) & ~7));
+            }
+            previousPath = pathBytes;
+            String path = new String(pathBytes, StandardCharsets.UTF_8);
+
+            if ((mode & 0170000) == 0040000) {
+                throw new IOException("Sparse index is not supported");
+            }
+            entries.add(new Entry(path, mode, HexFormat.of().formatHex(id), (flags >> 12) & 3,
+                    mtimeSeconds, mtimeNanos, size,
+                    (flags & FLAG_ASSUME_VALID) != 0 || (extendedFlags & EXTENDED_SKIP_WORKTREE) != 0,
+                    (extendedFlags & EXTENDED_INTENT_TO_ADD) != 0));
+        }
+
+        // 확장 영역: 항목 내용을 바꾸는 확장(분할 인덱스, 희소 디렉토리)만 확인
+        while (buf.remaining() >= 20 + 8) {
+            byte[] signature = new byte[4];
+            buf.get(signature);
+            int length = buf.getInt();
+            String name = new String(signature, StandardCharsets.US_ASCII);
+            if (name.equals("link") || name.equals("sdir")) {
+                throw new IOException("Unsupported git index extension: " + name);
+            }
+            buf.position(buf.position() + length);
+        }
+        return new GitIndex(List.copyOf(entries), modifiedTime);
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * 인덱스 파일의 수정 시각. 이 시각 이후에 수정된 항목은 stat 정보만으로 변경 여부를 판단할 수 없음 (racy git)
+     */
+    public FileTime modifiedTime() {
+        return modifiedTime;
+    }
+
+    private static long readOffset(ByteBuffer buf) {
+        int c = buf.get() & 0xff;
+        long value = c & 0x7f;
+        while ((c & 0x80) != 0) {
+            c = buf.get() & 0xff;
+            value = ((value + 1) << 7) | (c & 0x7f);
+        }
+        return value;
+    }
+
+    private static byte[] readNulTerminated(ByteBuffer buf) {
+        int start = buf.position();
+        while (buf.get() != 0) {
+            // NUL까지 이동
+        }
+        return Arrays.copyOfRange(buf.array(), start, buf.position() - 1);
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.rulecore.util.git;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Git 객체 저장소(.git/objects)를 git 프로세스 없이 직접 읽습니다.
+ * loose 객체와 pack 파일(idx v1/v2, OFS_DELTA/REF_DELTA 델타 포함), alternates를 지원하며 SHA-1 저장소만 다룹니다.
+ */
+public final class GitObjectStore implements AutoCloseable {
+
+    public static final int TYPE_COMMIT = 1;
+    public static final int TYPE_TREE = 2;
+    public static final int TYPE_BLOB = 3;
+    public static final int TYPE_TAG = 4;
+    private static final int TYPE_OFS_DELTA = 6;
+    private static final int TYPE_REF_DELTA = 7;
+
+    private static final int ID_LENGTH = 20;
+    // 델타 체인의 중간 객체 캐시 한도 (같은 베이스를 공유하는 트리/블롭 재해석 방지)
+    private static final long DELTA_BASE_CACHE_BYTES = 32L * 1024 * 1024;
+
+    private final List<Path> objectDirs;
+    private final List<Pack> packs = new ArrayList<>();
+    private final Map<String, GitObject> baseCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long baseCacheBytes;
+
+    /**
+     * Git 객체 (타입과 압축 해제된 내용)
+     */
+    public record GitObject(int type, byte[] data) {
+    }
+
+    public GitObjectStore(Path objectsDir) throws IOException {
+        this.objectDirs = new ArrayList<>();
+        collectObjectDirs(objectsDir, 0);
+        for (Path dir : objectDirs) {
+            Path packDir = dir.resolve("pack");
+            if (!Files.isDirectory(packDir)) continue;
+            try (Stream<Path> files = Files.list(packDir)) {
+                for (Path idx : files.filter(p -> p.getFileName().toString().endsWith(".idx")).sorted().toList()) {
+                    String name = idx.getFileName().toString();
+                    Path pack = packDir.resolve(name.substring(0, name.length() - 4) + ".pack");
+                    if (Files.exists(pack)) packs.add(new Pack(idx, pack));
+                }
+            }
+        }
+    }
+
+    /**
+     * 객체를 읽습니다.
+     *
+     * @param id 40자리 16진수 객체 ID
+     * @throws IOException 객체가 없거나 손상된 경우
+     */
+    public GitObject read(String id) throws IOException {
+        for (Path dir : objectDirs) {
+            Path loose = dir.resolve(id.substring(0, 2)).resolve(id.substring(2));
+            if (Files.exists(loose)) return readLoose(loose);
+        }
+        byte[] rawId = HexFormat.of().parseHex(id);
+        for (Pack pack : packs) {
+            long offset = pack.find(rawId);
+            if (offset >= 0) return pack.read(offset);
+        }
+        throw new IOException("Missing git object: " + id);
+    }
+
+    /**
+     * 블롭 객체 ID를 계산합니다. ("blob {길이}\0{내용}"의 SHA-1)
+     */
+    public static String blobId(byte[] content) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            sha1.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(sha1.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Pack pack : packs) pack.close();
+    }
+
+    private void collectObjectDirs(Path objectsDir, int depth) throws IOException {
+        if (!Files.isDirectory(objectsDir) || objectDirs.contains(objectsDir) || depth > 5) return;
+        objectDirs.add(objectsDir);
+        Path alternates = objectsDir.resolve("info/alternates");
+        if (!Files.exists(alternates)) return;
+        for (String line : Files.readAllLines(alternates)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            collectObjectDirs(objectsDir.resolve(trimmed).normalize(), depth + 1);
+        }
+    }
+
+    private static GitObject readLoose(Path file) throws IOException {
+        byte[] raw;
+        try (InputStream in = new InflaterInputStream(Files.newInputStream(file))) {
+            raw = in.readAllBytes();
+        }
+        int space = indexOf(raw, (byte) ' ', 0);
+        int nul = indexOf(raw, (byte) 0, space + 1);
+        if (space < 0 || nul < 0) throw new IOException("Corrupt loose object: " + file);
+        String typeName = new String(raw, 0, space, StandardCharsets.US_ASCII);
+        int type = switch (typeName) {
+            case "commit" -> TYPE_COMMIT;
+            case "tree" -> TYPE_TREE;
+            case "blob" -> TYPE_BLOB;
+            case "tag" -> TYPE_TAG;
+            default -> throw new IOException("Unknown object type '" + typeName + "': " + file);
+        };
+        return new GitObject(type, Arrays.copyOfRange(raw, nul + 1, raw.length));
+    }
+
+    static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) return i;
+        }
+        return -1;
+    }
+
+    private GitObject cachedBase(String key) {
+        synchronized (baseCache) {
+            return baseCache.get(key);
+        }
+    }
+
+    private void cacheBase(String key, GitObject object) {
+        synchronized (baseCache) {
+            if (baseCache.put(key, object) == null) baseCacheBytes += object.data().length;
+            var it = baseCache.entrySet().iterator();
+            while (baseCacheBytes > DELTA_BASE_CACHE_BYTES && it.hasNext()) {
+                baseCacheBytes -= it.next().getValue().data().length;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * 델타(copy/insert 명령 목록)를 베이스 내용에 적용합니다.
+     */
+    static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        int[] pos = {0};
+        long baseSize = readDeltaSize(delta, pos);
+        long resultSize = readDeltaSize(delta, pos);
+        if (baseSize != base.length) throw new IOException("Delta base size mismatch");
+        byte[] result = new byte[Math.toIntExact(resultSize)];
+        int out = 0;
+        int i = pos[0];
+        while (i < delta.length) {
+            int cmd = delta[i++] & 0xff;
+            if ((cmd & 0x80) != 0) {
+                long copyOffset = 0;
+                int copySize = 0;
+                for (int bit = 0; bit < 4; bit++) {
+                    if ((cmd & (1 << bit)) != 0) copyOffset |= (long) (delta[i++] & 0xff) << (8 * bit);
+                }
+                for (int bit = 0; bit < 3; bit++) {
+                    if ((cmd & (0x10 << bit)) != 0) copySize |= (delta[i++] & 0xff) << (8 * bit);
+                }
+                if (copySize == 0) copySize = 0x10000;
+                System.arraycopy(base, Math.toIntExact(copyOffset), result, out, copySize);
+                out += copySize;
+            } else if (cmd != 0) {
+                System.arraycopy(delta, i, result, out, cmd);
+                i += cmd;
+                out += cmd;
+            } else {
+                throw new IOException("Invalid delta opcode");
+            }
+        }
+        if (out != result.length) throw new IOException("Delta result size mismatch");
+        return result;
+    }
+
+    private static long readDeltaSize(byte[] delta, int[] pos) {
+        long size = 0;
+        int shift = 0;
+        int c;
+        do {
+            c = delta[pos[0]++] & 0xff;
+            size |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return size;
+    }
+
+    /**
+     * pack 파일과 idx 파일 한 쌍
+     */
+    private final class Pack implements AutoCloseable {
+        private final Path packPath;
+        private final FileChannel channel;
+        private final int[] fanout = new int[256];
+        private final byte[] ids;
+        private final long[] offsets;
+
+        Pack(Path idxPath, Path packPath) throws IOException {
+            this.packPath = packPath;
+            ByteBuffer idx = ByteBuffer.wrap(Files.readAllBytes(idxPath));
+            boolean v2 = idx.remaining() >= 8 && idx.getInt(0) == 0xff744f63;
+            if (v2) {
+                if (idx.getInt(4) != 2) throw new IOException("Unsupported pack index version: " + idxPath);
+                idx.position(8);
+            }
+            for (int i = 0; i < 256; i++) fanout[i] = idx.getInt();
+            int count = fanout[255];
+            ids = new byte[count * ID_LENGTH];
+            offsets = new long[count];
+            if (v2) {
+                idx.get(ids);
+                idx.position(idx.position() + count * 4); // CRC32 목록
+                int smallOffsets = idx.position();
+                int largeOffsets = smallOffsets + count * 4;
+                for (int i = 0; i < count; i++) {
+                    int offset = idx.getInt(smallOffsets + i * 4);
+                    offsets[i] = offset >= 0 ? offset : idx.getLong(largeOffsets + (offset & 0x7fffffff) * 8);
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    offsets[i] = Integer.toUnsignedLong(idx.getInt());
+                    idx.get(ids, i * ID_LENGTH, ID_LENGTH);
+                }
+            }
+            this.channel = FileChannel.open(packPath, StandardOpenOption.READ);
+        }
+
+        long find(byte[] id) {
+            int first = id[0] & 0xff;
+            int low = first == 0 ? 0 : fanout[first - 1];
+            int high = fanout[first] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = Arrays.compareUnsigned(ids, mid * ID_LENGTH, mid * ID_LENGTH + ID_LENGTH, id, 0, ID_LENGTH);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return offsets[mid];
+            }
+            return -1;
+        }
+
+        GitObject read(long offset) throws IOException {
+            String key = packPath + "@" + offset;
+            GitObject cached = cachedBase(key);
+            if (cached != null) return cached;
+
+            ByteBuffer header = ByteBuffer.allocate(32);
+            channel.read(header, offset);
+            header.flip();
+            int c = header.get() & 0xff;
+            int type = (c >> 4) & 7;
+            long size = c & 0x0f;
+            int shift = 4;
+            while ((c & 0x80) != 0) {
+                c = header.get() & 0xff;
+                size |= (long) (c & 0x7f) << shift;
+                shift += 7;
+            }
+
+            GitObject object;
+            if (type == TYPE_OFS_DELTA) {
+                c = header.get() & 0xff;
+                long distance = c & 0x7f;
+                while ((c & 0x80) != 0) {
+                    c = header.get() & 0xff;
+                    distance = ((distance + 1) << 7) | (c & 0x7f);
+                }
+                GitObject base = read(offset - distance);
+                byte[] delta = inflate(offset + header.position(), size);
+                object = new GitObject(base.type(), applyDelta(base.data(), delta));
+            } else if (type == TYPE_REF_DELTA) {
+                byte[] baseId = new byte[ID_LENGTH];
+                header.get(baseId);
+                GitObject base = GitObjectStore.this.read(HexFormat.of().formatHex(baseId));
+                byte[] delta = inflate(offset + header.position(), size);
+                object = new GitObject(base.type(), applyDelta(base.data(), delta));
+            } else if (type >= TYPE_COMMIT && type <= TYPE_TAG) {
+                return new GitObject(type, inflate(offset + header.position(), size));
+            } else {
+                throw new IOException("Unknown pack object type " + type + " at " + offset + " in " + packPath);
+            }
+            cacheBase(key, object);
+            return object;
+        }
+
+        private byte[] inflate(long position, long size) throws IOException {
+            byte[] result = new byte[Math.toIntExact(size)];
+            Inflater inflater = new Inflater();
+            try {
+                ByteBuffer input = ByteBuffer.allocate(8192);
+                int produced = 0;
+                // 선언된 크기만큼 풀리면 종료 (zlib 체크섬 검증은 생략)
+                while (produced < result.length) {
+                    if (inflater.finished() || inflater.needsDictionary()) {
+                        throw new IOException("Pack object size mismatch: " + packPath);
+                    }
+                    if (inflater.needsInput()) {
+                        input.clear();
+                        int read = channel.read(input, position);
+                        if (read <= 0) throw new IOException("Truncated pack: " + packPath);
+                        position += read;
+                        inflater.setInput(input.array(), 0, read);
+                    }
+                    produced += inflater.inflate(result, produced, result.length - produced);
+                }
+                return result;
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt pack data: " + packPath, e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.rulecore.util.git;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * git 프로세스 없이 저장소(.git 디렉토리)를 직접 읽는 진입점입니다.
+ * 작업 트리 탐색(.git 파일로 연결된 worktree 포함), 설정, 참조(loose/packed-refs), 커밋 트리를 다룹니다.
+ * 지원하지 않는 구성(bare 저장소, SHA-256 저장소, reftable, GIT_DIR 등 환경 변수 재정의, 복합 리비전 문법)은 IOException으로 알립니다.
+ */
+public final class GitRepository implements AutoCloseable {
+
+    public static final int MODE_TREE = 0040000;
+    public static final int MODE_SYMLINK = 0120000;
+    public static final int MODE_GITLINK = 0160000;
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{40}");
+    private static final Pattern SIMPLE_REF = Pattern.compile("[A-Za-z0-9._/+-]+");
+    private static final List<String> ENV_OVERRIDES = List.of(
+            "GIT_DIR", "GIT_WORK_TREE", "GIT_INDEX_FILE", "GIT_OBJECT_DIRECTORY", "GIT_COMMON_DIR", "GIT_ALTERNATE_OBJECT_DIRECTORIES");
+
+    private final Path workTree;
+    private final Path gitDir;
+    private final Path commonDir;
+    private final Map<String, String> config;
+    private final GitObjectStore objects;
+    private Map<String, String> packedRefs;
+
+    /**
+     * 트리 항목 (모드와 객체 ID)
+     */
+    public record TreeEntry(int mode, String id) {
+    }
+
+    private GitRepository(Path workTree, Path gitDir, Path commonDir, Map<String, String> config) throws IOException {
+        this.workTree = workTree;
+        this.gitDir = gitDir;
+        this.commonDir = commonDir;
+        this.config = config;
+        this.objects = new GitObjectStore(commonDir.resolve("objects"));
+    }
+
+    /**
+     * 시작 경로에서 상위로 올라가며 저장소를 찾아 엽니다.
+     */
+    public static GitRepository open(Path start) throws IOException {
+        for (String variable : ENV_OVERRIDES) {
+            if (System.getenv(variable) != null) throw new IOException(variable + " is set");
+        }
+
+        Path dir = start.toAbsolutePath().normalize();
+        Path gitDir = null;
+        while (dir != null) {
+            Path dotGit = dir.resolve(".git");
+            if (Files.isDirectory(dotGit)) {
+                gitDir = dotGit;
+                break;
+            }
+            if (Files.isRegularFile(dotGit)) {
+                // 연결된 worktree / 서브모듈: "gitdir: <경로>"
+                String content = Files.readString(dotGit).trim();
+                if (!content.startsWith("gitdir:")) throw new IOException("Invalid .git file: " + dotGit);
+                gitDir = dir.resolve(content.substring("gitdir:".length()).trim()).normalize();
+                break;
+            }
+            dir = dir.getParent();
+        }
+        if (gitDir == null) throw new IOException("Not a git repository: " + start);
+
+        Path commonDir = gitDir;
+        Path commonDirFile = gitDir.resolve("commondir");
+        if (Files.isRegularFile(commonDirFile)) {
+            commonDir = gitDir.resolve(Files.readString(commonDirFile).trim()).normalize();
+        }
+
+        Map<String, String> config = new HashMap<>();
+        String home = System.getProperty("user.home");
+        String xdg = System.getenv("XDG_CONFIG_HOME");
+        readConfig(xdg != null && !xdg.isEmpty() ? Path.of(xdg, "git/config") : Path.of(home, ".config/git/config"), config);
+        readConfig(Path.of(home, ".gitconfig"), config);
+        readConfig(commonDir.resolve("config"), config);
+        if (isTrue(config.get("extensions.worktreeconfig"))) {
+            readConfig(gitDir.resolve("config.worktree"), config);
+        }
+
+        if (isTrue(config.get("core.bare"))) throw new IOException("Bare repository: " + gitDir);
+        String objectFormat = config.getOrDefault("extensions.objectformat", "sha1");
+        if (!objectFormat.equalsIgnoreCase("sha1")) throw new IOException("Unsupported object format: " + objectFormat);
+        String refStorage = config.getOrDefault("extensions.refstorage", "files");
+        if (!refStorage.equalsIgnoreCase("files")) throw new IOException("Unsupported ref storage: " + refStorage);
+
+        Path workTree = dir;
+        String configuredWorkTree = config.get("core.worktree");
+        if (configuredWorkTree != null) workTree = gitDir.resolve(configuredWorkTree).normalize();
+        return new GitRepository(workTree, gitDir, commonDir, config);
+    }
+
+    public Path workTree() {
+        return workTree;
+    }
+
+    public GitObjectStore objects() {
+        return objects;
+    }
+
+    public GitIndex readIndex() throws IOException {
+        return GitIndex.read(gitDir.resolve("index"));
+    }
+
+    /**
+     * 저장소 메타데이터 경로 (info/exclude 등, worktree에서는 공용 디렉토리 기준)
+     */
+    public Path commonDir() {
+        return commonDir;
+    }
+
+    /**
+     * 설정 값 (키는 소문자 "section.key" 또는 "section.subsection.key", 없으면 null)
+     */
+    public String config(String key) {
+        return config.get(key);
+    }
+
+    public boolean configBoolean(String key, boolean defaultValue) {
+        String value = config.get(key);
+        return value == null ? defaultValue : isTrue(value);
+    }
+
+    /**
+     * 리비전을 커밋 ID로 해석합니다. (전체 객체 ID 또는 참조 이름, 태그는 커밋까지 따라감)
+     * git rev-parse와 같은 순서로 참조를 찾습니다: 이름 그대로, refs/, refs/tags/, refs/heads/, refs/remotes/, refs/remotes/{이름}/HEAD
+     *
+     * @throws IOException 해석할 수 없거나 ~, ^, @{} 등 지원하지 않는 문법인 경우
+     */
+    public String resolveCommit(String revision) throws IOException {
+        String target = revision == null || revision.isBlank() ? "HEAD" : revision.trim();
+        String id;
+        if (OBJECT_ID.matcher(target).matches()) {
+            id = target;
+        } else {
+            if (!SIMPLE_REF.matcher(target).matches() || target.contains("..") || target.startsWith("/")) {
+                throw new IOException("Unsupported revision syntax: " + revision);
+            }
+            id = null;
+            for (String candidate : List.of(target, "refs/" + target, "refs/tags/" + target, "refs/heads/" + target,
+                    "refs/remotes/" + target, "refs/remotes/" + target + "/HEAD")) {
+                id = readRef(candidate, 0);
+                if (id != null) break;
+            }
+            if (id == null) throw new IOException("Unknown revision: " + revision);
+        }
+
+        for (int depth = 0; depth < 10; depth++) {
+            GitObjectStore.GitObject object = objects.read(id);
+            if (object.type() == GitObjectStore.TYPE_COMMIT) return id;
+            if (object.type() != GitObjectStore.TYPE_TAG) throw new IOException("Not a commit: " + revision);
+            id = headerValue(object.data(), "object");
+        }
+        throw new IOException("Tag chain too deep: " + revision);
+    }
+
+    /**
+     * 커밋의 트리를 펼쳐 파일 경로별 항목을 반환합니다.
+     *
+     * @param scope 이 디렉토리 하위만 포함 (작업 트리 기준 상대 경로, '/'로 끝남. 전체는 "")
+     */
+    public Map<String, TreeEntry> readCommitTree(String commitId, String scope) throws IOException {
+        GitObjectStore.GitObject commit = objects.read(commitId);
+        Map<String, TreeEntry> entries = new LinkedHashMap<>();
+        readTree(headerValue(commit.data(), "tree"), "", scope, entries);
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        objects.close();
+    }
+
+    private void readTree(String treeId, String dirPath, String scope, Map<String, TreeEntry> out) throws IOException {
+        byte[] data = objects.read(treeId).data();
+        int i = 0;
+        while (i < data.length) {
+            int space = GitObjectStore.indexOf(data, (byte) ' ', i);
+            int nul = GitObjectStore.indexOf(data, (byte) 0, space + 1);
+            int mode = Integer.parseInt(new String(data, i, space - i, StandardCharsets.US_ASCII), 8);
+            String path = dirPath + new String(data, space + 1, nul - space - 1, StandardCharsets.UTF_8);
+            String id = HexFormat.of().formatHex(data, nul + 1, nul + 21);
+            i = nul + 21;
+
+            if ((mode & 0170000) == MODE_TREE) {
+                String dir = path + "/";
+                if (dir.startsWith(scope) || scope.startsWith(dir)) readTree(id, dir, scope, out);
+            } else if (path.startsWith(scope)) {
+                out.put(path, new TreeEntry(mode, id));
+            }
+        }
+    }
+
+    private String readRef(String name, int depth) throws IOException {
+        if (depth > 5) throw new IOException("Symbolic ref loop: " + name);
+        // HEAD 등 refs/ 밖의 참조는 worktree별, refs/ 하위는 공용 디렉토리
+        Path file = (name.startsWith("refs/") ? commonDir : gitDir).resolve(name);
+        if (Files.isRegularFile(file)) {
+            String content = Files.readString(file).trim();
+            if (content.startsWith("ref:")) return readRef(content.substring(4).trim(), depth + 1);
+            if (content.length() >= 40 && OBJECT_ID.matcher(content.substring(0, 40)).matches()) return content.substring(0, 40);
+            throw new IOException("Invalid ref file: " + file);
+        }
+        if (name.startsWith("refs/")) return packedRefs().get(name);
+        return null;
+    }
+
+    private Map<String, String> packedRefs() throws IOException {
+        if (packedRefs == null) {
+            packedRefs = new HashMap<>();
+            Path file = commonDir.resolve("packed-refs");
+            if (Files.isRegularFile(file)) {
+                for (String line : Files.readAllLines(file)) {
+                    // "# pack-refs with: ..." 머리글과 "^<peeled>" 줄은 건너뜀
+                    if (line.length() < 42 || line.startsWith("#") || line.startsWith("^")) continue;
+                    packedRefs.put(line.substring(41).trim(), line.substring(0, 40));
+                }
+            }
+        }
+        return packedRefs;
+    }
+
+    private static String headerValue(byte[] data, String header) throws IOException {
+        String text = new String(data, StandardCharsets.UTF_8);
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) break; // 머리글 끝
+            if (line.startsWith(header + " ")) return line.substring(header.length() + 1).trim();
+        }
+        throw new IOException("Missing '" + header + "' header");
+    }
+
+    /**
+     * git 설정 파일을 읽어 "section.key" / "section.subsection.key" 형태로 보관합니다. (나중에 읽은 값이 우선)
+     */
+    static void readConfig(Path file, Map<String, String> config) throws IOException {
+        if (!Files.isRegularFile(file)) return;
+        String section = "";
+        for (String rawLine : Files.readAllLines(file)) {
+            String line = stripComment(rawLine).trim();
+            if (line.isEmpty()) continue;
+            if (line.startsWith("[")) {
+                int close = line.lastIndexOf(']');
+                String header = line.substring(1, close < 0 ? line.length() : close).trim();
+                int quote = header.indexOf('"');
+                if (quote >= 0) {
+                    // [section "subsection"]: 섹션 이름만 소문자, 하위 섹션은 대소문자 유지
+                    String name = header.substring(0, quote).trim().toLowerCase(Locale.ROOT);
+                    String subsection = header.substring(quote + 1, header.lastIndexOf('"'));
+                    section = name + "." + subsection;
+                } else {
+                    section = header.toLowerCase(Locale.ROOT);
+                }
+                continue;
+            }
+            int eq = line.indexOf('=');
+            String key = (eq < 0 ? line : line.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+            String value = eq < 0 ? "true" : unquote(line.substring(eq + 1).trim());
+            config.put(section + "." + key, value);
+        }
+    }
+
+    private static String stripComment(String line) {
+        boolean inQuote = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                inQuote = !inQuote;
+            } else if ((c == '#' || c == ';') && !inQuote) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private static String unquote(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') continue;
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(switch (next) {
+                    case 'n' -> '\n';
+                    case 't' -> '\t';
+                    default -> next;
+                });
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isTrue(String value) {
+        if (value == null) return false;
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        return normalized.equals("true") || normalized.equals("yes") || normalized.equals("on") || normalized.equals("1");
+    }
+}
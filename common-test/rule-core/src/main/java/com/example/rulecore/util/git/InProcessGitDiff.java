@@ -0,0 +1,380 @@
+package com.example.rulecore.util.git;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * git 프로세스 없이 "git diff {기준}"과 "git ls-files --others --exclude-standard"에 해당하는 변경 내역을 계산합니다.
+ * <ul>
+ *     <li>기준 커밋 트리 ↔ 인덱스 ↔ 작업 트리를 비교하며, 인덱스의 stat 정보(크기, 수정 시각)가 같은 파일은 내용을 읽지 않습니다.</li>
+ *     <li>stat 정보가 다르거나 인덱스 이후 수정된(racy) 파일만 내용 해시로 비교합니다.</li>
+ *     <li>삭제된 파일과 추가된 파일(추적/미추적)을 내용이 같거나 유사도 50% 이상이면 이름 변경으로 판단합니다.</li>
+ * </ul>
+ * 스레드 인터럽트를 확인하므로 호출 측에서 제한 시간을 두고 취소할 수 있습니다.
+ * 내용 변환 필터(LFS 등)가 적용된 파일은 stat 정보가 바뀌면 변경으로 판단할 수 있습니다. (검사 범위가 넓어지는 방향)
+ */
+public final class InProcessGitDiff {
+
+    private static final int RENAME_SCORE = 50;
+    // 유사도 비교 후보 쌍 한도 (git diff.renameLimit 기본값 1000 기준)
+    private static final long RENAME_PAIR_LIMIT = 1000L * 1000L;
+    private static final int MAX_SIMILARITY_BYTES = 1024 * 1024;
+
+    private final GitRepository repo;
+    private final Path workTree;
+    private final boolean fileMode;
+    private final boolean ignoreCase;
+    private final boolean crlfConversion;
+
+    private InProcessGitDiff(GitRepository repo) throws IOException {
+        this.repo = repo;
+        this.workTree = repo.workTree();
+        this.fileMode = repo.configBoolean("core.filemode", true)
+                && workTree.getFileSystem().supportedFileAttributeViews().contains("posix");
+        this.ignoreCase = repo.configBoolean("core.ignorecase", false);
+        String autocrlf = repo.config("core.autocrlf");
+        this.crlfConversion = (autocrlf != null && !autocrlf.equalsIgnoreCase("false"))
+                || Files.isRegularFile(workTree.resolve(".gitattributes"));
+    }
+
+    /**
+     * 기준 리비전 대비 변경 내역을 계산합니다.
+     *
+     * @param scopeDir 이 디렉토리 하위의 변경만 계산 (작업 트리 내부 경로)
+     */
+    public static GitChanges diff(GitRepository repo, String baseRef, Path scopeDir) throws IOException {
+        return new InProcessGitDiff(repo).compute(baseRef, scopeDir);
+    }
+
+    private GitChanges compute(String baseRef, Path scopeDir) throws IOException {
+        Path scopePath = scopeDir.toAbsolutePath().normalize();
+        if (!scopePath.startsWith(workTree)) throw new IOException("Outside of work tree: " + scopeDir);
+        String scope = toGitPath(workTree.relativize(scopePath));
+        if (!scope.isEmpty()) scope += "/";
+
+        Map<String, GitRepository.TreeEntry> tree = repo.readCommitTree(repo.resolveCommit(baseRef), scope);
+        GitIndex index = repo.readIndex();
+        Instant indexTime = index.modifiedTime().toInstant();
+
+        Set<String> indexPaths = new HashSet<>();
+        Set<String> untrackedLookup = new HashSet<>();
+        Set<String> conflicted = new TreeSet<>();
+        List<String> modified = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        Map<String, String> addedIds = new LinkedHashMap<>();
+
+        for (GitIndex.Entry entry : index.entries()) {
+            indexPaths.add(entry.path());
+            untrackedLookup.add(ignoreCase ? entry.path().toLowerCase(Locale.ROOT) : entry.path());
+            if (!entry.path().startsWith(scope)) continue;
+            checkInterrupted();
+            if (entry.stage() != 0) {
+                conflicted.add(entry.path());
+                continue;
+            }
+
+            GitRepository.TreeEntry base = tree.get(entry.path());
+            WorktreeState state = worktreeState(entry, indexTime);
+            if (state == null) {
+                if (base != null) deleted.add(entry.path());
+            } else if (base == null) {
+                modified.add(entry.path());
+                addedIds.put(entry.path(), state.id());
+            } else if (!state.matches(base)) {
+                modified.add(entry.path());
+            }
+        }
+        for (String path : conflicted) {
+            if (!modified.contains(path)) modified.add(path);
+        }
+        // 기준 트리에는 있지만 인덱스에서 빠진 파일 (git rm --cached 포함)
+        for (String path : tree.keySet()) {
+            if (!indexPaths.contains(path)) deleted.add(path);
+        }
+
+        List<String> untracked = untracked(scopePath, untrackedLookup);
+
+        Map<String, String> renamed = detectRenames(tree, deleted, addedIds, untracked);
+        deleted.removeAll(renamed.keySet());
+
+        modified.sort(null);
+        deleted.sort(null);
+        untracked.sort(null);
+        return new GitChanges(List.copyOf(modified), List.copyOf(deleted), Map.copyOf(renamed), List.copyOf(untracked));
+    }
+
+    /**
+     * 작업 트리의 파일 상태. 내용 변환(CRLF → LF) 대상이면 변환한 내용의 ID도 함께 보관합니다.
+     */
+    private record WorktreeState(int mode, String id, String convertedId) {
+        boolean matches(GitRepository.TreeEntry base) {
+            return mode == base.mode() && (id.equals(base.id()) || base.id().equals(convertedId));
+        }
+    }
+
+    /**
+     * @return 작업 트리에서 삭제된 경우 null
+     */
+    private WorktreeState worktreeState(GitIndex.Entry entry, Instant indexTime) throws IOException {
+        // 서브모듈(gitlink)과 assume-unchanged / skip-worktree 항목은 인덱스 값을 그대로 사용
+        if ((entry.mode() & 0170000) == GitRepository.MODE_GITLINK || entry.assumeUnchanged()) {
+            return new WorktreeState(entry.mode(), entry.id(), null);
+        }
+
+        Path file = workTree.resolve(entry.path());
+        BasicFileAttributes attrs;
+        try {
+            attrs = fileMode
+                    ? Files.readAttributes(file, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS)
+                    : Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (attrs.isDirectory()) return null;
+
+        int mode;
+        if (attrs.isSymbolicLink()) {
+            mode = GitRepository.MODE_SYMLINK;
+        } else if (fileMode) {
+            boolean executable = ((PosixFileAttributes) attrs).permissions().contains(PosixFilePermission.OWNER_EXECUTE);
+            mode = executable ? 0100755 : 0100644;
+        } else {
+            // 실행 권한을 신뢰할 수 없는 파일 시스템: 인덱스의 모드 사용
+            mode = entry.mode();
+        }
+
+        Instant modified = attrs.lastModifiedTime().toInstant();
+        boolean statClean = !entry.intentToAdd()
+                && (attrs.size() & 0xffffffffL) == entry.size()
+                && modified.getEpochSecond() == entry.mtimeSeconds()
+                && (entry.mtimeNanos() == 0 || modified.getNano() == entry.mtimeNanos())
+                && modified.isBefore(indexTime);
+        if (statClean) return new WorktreeState(mode, entry.id(), null);
+
+        byte[] content = attrs.isSymbolicLink()
+                ? toGitPath(Files.readSymbolicLink(file)).getBytes(StandardCharsets.UTF_8)
+                : Files.readAllBytes(file);
+        return new WorktreeState(mode, GitObjectStore.blobId(content), convertedId(content));
+    }
+
+    private String convertedId(byte[] content) {
+        if (!crlfConversion || GitObjectStore.indexOf(content, (byte) '\r', 0) < 0) return null;
+        byte[] converted = new byte[content.length];
+        int length = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '\r' && i + 1 < content.length && content[i + 1] == '\n') continue;
+            converted[length++] = content[i];
+        }
+        return GitObjectStore.blobId(Arrays.copyOf(converted, length));
+    }
+
+    /**
+     * @param indexPaths 인덱스 경로 (core.ignorecase면 소문자)
+     */
+    private List<String> untracked(Path scopePath, Set<String> indexPaths) throws IOException {
+        List<String> result = new ArrayList<>();
+        if (!Files.isDirectory(scopePath)) return result;
+
+        // 전역 제외 파일 → info/exclude → 작업 트리 루트부터 범위 디렉토리까지의 .gitignore
+        GitIgnore rules = GitIgnore.empty(ignoreCase);
+        rules = rules.withFile("", globalExcludesFile());
+        rules = rules.withFile("", repo.commonDir().resolve("info/exclude"));
+        rules = rules.withFile("", workTree.resolve(".gitignore"));
+        String ancestor = "";
+        for (Path part : workTree.relativize(scopePath)) {
+            if (part.toString().isEmpty()) continue;
+            ancestor += part + "/";
+            if (rules.isIgnored(ancestor.substring(0, ancestor.length() - 1), true)) return result;
+            rules = rules.withFile(ancestor, workTree.resolve(ancestor).resolve(".gitignore"));
+        }
+
+        Deque<GitIgnore> stack = new ArrayDeque<>();
+        stack.push(rules);
+        Files.walkFileTree(scopePath, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                checkInterrupted();
+                if (!dir.equals(scopePath)) {
+                    String path = toGitPath(workTree.relativize(dir));
+                    // 중첩 저장소/서브모듈은 별도 저장소이므로 제외
+                    if (dir.getFileName().toString().equals(".git") || Files.exists(dir.resolve(".git"))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (stack.peek().isIgnored(path, true)) return FileVisitResult.SKIP_SUBTREE;
+                    stack.push(stack.peek().withFile(path, dir.resolve(".gitignore")));
+                } else {
+                    stack.push(stack.peek());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String path = toGitPath(workTree.relativize(file));
+                if (file.getFileName().toString().equals(".git")) return FileVisitResult.CONTINUE;
+                if (indexPaths.contains(ignoreCase ? path.toLowerCase(Locale.ROOT) : path)) return FileVisitResult.CONTINUE;
+                if (!stack.peek().isIgnored(path, false)) result.add(path);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                stack.pop();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return result;
+    }
+
+    private Path globalExcludesFile() {
+        String configured = repo.config("core.excludesfile");
+        if (configured != null) {
+            return configured.startsWith("~/")
+                    ? Path.of(System.getProperty("user.home"), configured.substring(2))
+                    : Path.of(configured);
+        }
+        String xdg = System.getenv("XDG_CONFIG_HOME");
+        return xdg != null && !xdg.isEmpty()
+                ? Path.of(xdg, "git/ignore")
+                : Path.of(System.getProperty("user.home"), ".config/git/ignore");
+    }
+
+    /**
+     * 삭제된 파일과 추가된 파일을 짝지어 이름 변경을 찾습니다. (내용 일치 → 유사도 순)
+     */
+    private Map<String, String> detectRenames(Map<String, GitRepository.TreeEntry> tree, List<String> deleted,
+                                              Map<String, String> addedIds, List<String> untracked) throws IOException {
+        Map<String, String> renamed = new TreeMap<>();
+        if (deleted.isEmpty() || (addedIds.isEmpty() && untracked.isEmpty())) return renamed;
+
+        // 1. 내용(블롭 ID)이 같은 파일
+        Map<String, byte[]> deletedContent = new LinkedHashMap<>();
+        Map<String, String> deletedById = new HashMap<>();
+        Set<Long> deletedSizes = new HashSet<>();
+        for (String path : deleted) {
+            GitRepository.TreeEntry entry = tree.get(path);
+            if (entry == null || (entry.mode() & 0170000) == GitRepository.MODE_GITLINK) continue;
+            byte[] content = repo.objects().read(entry.id()).data();
+            deletedContent.put(path, content);
+            deletedById.putIfAbsent(entry.id(), path);
+            deletedSizes.add((long) content.length);
+        }
+
+        Map<String, String> candidates = new LinkedHashMap<>(addedIds);
+        for (String path : untracked) {
+            Path file = workTree.resolve(path);
+            if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) && deletedSizes.contains(Files.size(file))) {
+                candidates.put(path, GitObjectStore.blobId(Files.readAllBytes(file)));
+            } else {
+                candidates.put(path, null);
+            }
+        }
+
+        Set<String> matchedTargets = new HashSet<>();
+        for (Map.Entry<String, String> candidate : candidates.entrySet()) {
+            String source = candidate.getValue() == null ? null : deletedById.remove(candidate.getValue());
+            if (source != null) {
+                renamed.put(source, candidate.getKey());
+                matchedTargets.add(candidate.getKey());
+                deletedContent.remove(source);
+            }
+        }
+
+        // 2. 유사도 (줄 단위 공통 바이트 비율)
+        List<String> remainingTargets = candidates.keySet().stream().filter(p -> !matchedTargets.contains(p)).toList();
+        if (deletedContent.isEmpty() || remainingTargets.isEmpty()
+                || (long) deletedContent.size() * remainingTargets.size() > RENAME_PAIR_LIMIT) {
+            return renamed;
+        }
+        Map<String, byte[]> targetContent = new LinkedHashMap<>();
+        for (String path : remainingTargets) {
+            Path file = workTree.resolve(path);
+            if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS) && Files.size(file) <= MAX_SIMILARITY_BYTES) {
+                targetContent.put(path, Files.readAllBytes(file));
+            }
+        }
+        for (Iterator<Map.Entry<String, byte[]>> it = deletedContent.entrySet().iterator(); it.hasNext(); ) {
+            checkInterrupted();
+            Map.Entry<String, byte[]> source = it.next();
+            if (source.getValue().length > MAX_SIMILARITY_BYTES) continue;
+            String best = null;
+            int bestScore = RENAME_SCORE - 1;
+            for (Map.Entry<String, byte[]> target : targetContent.entrySet()) {
+                int score = similarity(source.getValue(), target.getValue());
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = target.getKey();
+                }
+            }
+            if (best != null) {
+                renamed.put(source.getKey(), best);
+                targetContent.remove(best);
+            }
+        }
+        return renamed;
+    }
+
+    /**
+     * 두 내용의 유사도(0~100): 공통 줄의 바이트 수 / 큰 쪽 크기
+     */
+    static int similarity(byte[] a, byte[] b) {
+        int max = Math.max(a.length, b.length);
+        if (max == 0) return 100;
+        int min = Math.min(a.length, b.length);
+        if ((long) min * 100 / max < RENAME_SCORE) return 0;
+
+        Map<String, Integer> lines = new HashMap<>();
+        for (String line : splitLines(a)) lines.merge(line, 1, Integer::sum);
+        long common = 0;
+        for (String line : splitLines(b)) {
+            Integer count = lines.get(line);
+            if (count != null && count > 0) {
+                lines.put(line, count - 1);
+                common += line.length() + 1;
+            }
+        }
+        return (int) Math.min(100, common * 100 / max);
+    }
+
+    private static List<String> splitLines(byte[] content) {
+        return List.of(new String(content, StandardCharsets.ISO_8859_1).split("\n", -1));
+    }
+
+    private static String toGitPath(Path relative) {
+        return relative.toString().replace(relative.getFileSystem().getSeparator(), "/");
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("git diff interrupted");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.rulecore.ruleEngine;
+
+import com.example.rulecore.ruleEngine.enums.RuleGroups;
+import com.example.rulecore.rules.sql.fail.SqlBasicPerformanceRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleResultCacheTest {
+
+    @TempDir
+    Path workspaceRoot;
+
+    @Test
+    @DisplayName("내용이 같은 매퍼는 캐시된 결과를 사용하고, 내용이 바뀌면 다시 검사한다")
+    void servesUnchangedMappersFromCache() throws IOException {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("src/main/resources/mapper"));
+        Path mapper = mapperDir.resolve("OrderMapper.xml");
+        Files.writeString(mapper, mapperXml("SELECT * FROM orders WHERE id = ${id}"));
+        Path cacheFile = workspaceRoot.resolve("build/rule-cache/rule-results.json");
+
+        List<RuleViolation> firstRun = runWithCache(cacheFile, mapperDir);
+        assertTrue(Files.exists(cacheFile), "캐시 파일이 생성되어야 합니다.");
+        assertFalse(firstRun.isEmpty());
+
+        // 캐시에서 읽은 결과는 새로 검사한 결과와 동일해야 함
+        assertEquals(firstRun, runWithCache(cacheFile, mapperDir));
+
+        Files.writeString(mapper, mapperXml("SELECT order_id FROM orders WHERE id = #{id}"));
+        assertTrue(runWithCache(cacheFile, mapperDir).isEmpty(), "변경된 파일은 다시 검사되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("SQL 파싱 시간 초과로 휴리스틱 검사를 사용한 결과는 캐시하지 않으며, 캐시된 시간 초과는 새 시간 초과로 세지 않는다")
+    void doesNotCacheTimedOutResults() throws IOException {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("src/main/resources/mapper"));
+        Path mapper = mapperDir.resolve("HugeMapper.xml");
+        StringBuilder sql = new StringBuilder("SELECT * FROM huge_orders WHERE id IN (");
+        for (int i = 0; i < 50_000; i++) {
+            sql.append(i == 0 ? "" : ", ").append(i);
+        }
+        Files.writeString(mapper, mapperXml(sql.append(")").toString()));
+        Path cacheFile = workspaceRoot.resolve("build/rule-cache/rule-results.json");
+
+        RuleResult first = runWithTimeout(cacheFile, mapperDir);
+        assertEquals(1, parseTimeouts(first));
+        assertTrue(first.violations().stream().anyMatch(v -> v.message().contains("Heuristic")));
+
+        // 두 번째 실행은 캐시된 시간 초과를 재사용하므로 새 시간 초과는 없지만, 결과는 여전히 캐시하지 않음
+        RuleResult second = runWithTimeout(cacheFile, mapperDir);
+        assertEquals(0, parseTimeouts(second));
+        assertEquals(first.violations(), second.violations());
+        assertTrue(RuleResultCache.load(cacheFile, workspaceRoot)
+                .get(new SqlBasicPerformanceRule(), mapper.toAbsolutePath().normalize().toString(), RuleResultCache.contentHash(List.of(mapper)))
+                .isEmpty(), "시간 초과 결과는 결과 캐시에 저장되지 않아야 합니다.");
+    }
+
+    private RuleResult runWithTimeout(Path cacheFile, Path mapperDir) {
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .resultCache(RuleResultCache.load(cacheFile, workspaceRoot))
+                .sqlParseTimeoutMillis(1)
+                .build();
+        return new RuleRunner(RuleGroups.SQL_CRITICAL).execute(context);
+    }
+
+    private int parseTimeouts(RuleResult result) {
+        return result.ruleMetrics().stream()
+                .filter(m -> m.ruleName().equals("SqlBasicPerformanceRule"))
+                .mapToInt(RuleMetrics::parseTimeouts)
+                .sum();
+    }
+
+    private List<RuleViolation> runWithCache(Path cacheFile, Path mapperDir) {
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .resultCache(RuleResultCache.load(cacheFile, workspaceRoot))
+                .build();
+        List<RuleViolation> violations = new RuleRunner(RuleGroups.SQL_CRITICAL).executeRules(context);
+        return violations.stream()
+                .filter(v -> !v.ruleName().equals("TransactionalSwallowExceptionRule"))
+                .toList();
+    }
+
+    private String mapperXml(String sql) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findOrder">
+                        %s
+                    </select>
+                </mapper>
+                """.formatted(sql);
+    }
+}
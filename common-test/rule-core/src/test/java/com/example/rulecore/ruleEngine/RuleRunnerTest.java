@@ -0,0 +1,73 @@
+package com.example.rulecore.ruleEngine;
+
+import com.example.rulecore.ruleEngine.enums.RuleGroups;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleRunnerTest {
+
+    private RuleContext ruleContext;
+
+    @BeforeEach
+    void setup() {
+        Path workspaceRoot = Paths.get("..").toAbsolutePath().normalize();
+        ruleContext = RuleContext.builder()
+                .basePackage("com.example.rulecore.sample")
+                .projectRoot(workspaceRoot.resolve("sample-target"))
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(workspaceRoot.resolve("sample-target/src/main/resources/mapper")))
+                .build();
+    }
+
+    @Test
+    @DisplayName("병렬 실행 결과는 순차 실행과 동일한 순서로 병합된다")
+    void parallelResultMatchesSequential() {
+        List<RuleViolation> sequential = new RuleRunner(RuleGroups.ALL).executeRules(ruleContext);
+        List<RuleViolation> parallel = new RuleRunner(RuleGroups.ALL, 4).executeRules(ruleContext);
+
+        assertFalse(sequential.isEmpty(), "샘플 매퍼에서 위반 사항이 검출되어야 합니다.");
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    @DisplayName("같은 실행기를 반복 실행해도 규칙 상태가 누적되지 않는다")
+    void repeatedRunsAreIndependent() {
+        RuleRunner runner = new RuleRunner(RuleGroups.SQL_CRITICAL, 2);
+
+        assertEquals(runner.executeRules(ruleContext), runner.executeRules(ruleContext));
+    }
+
+    @Test
+    @DisplayName("규칙별 실행 지표가 수집되고, 묶어서 실행한 MyBatis 규칙도 규칙별로 기록된다")
+    void collectsMetricsPerRule() {
+        RuleResult result = new RuleRunner(RuleGroups.SQL_CRITICAL).execute(ruleContext);
+
+        List<String> ruleNames = result.ruleMetrics().stream().map(RuleMetrics::ruleName).toList();
+        assertTrue(ruleNames.contains("MybatisRuleDispatcher"));
+        assertTrue(ruleNames.contains("SqlBasicPerformanceRule"));
+        assertTrue(ruleNames.contains("NoDollarExpressionRule"));
+
+        RuleMetrics dispatcher = result.ruleMetrics().stream()
+                .filter(m -> m.ruleName().equals("MybatisRuleDispatcher"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(dispatcher.filesScanned() > 0, "매퍼 파일 수가 기록되어야 합니다.");
+        assertTrue(dispatcher.bytesRead() > 0, "매퍼 파일 크기가 기록되어야 합니다.");
+
+        // 규칙별 위반 수의 합은 전체 위반 수와 같아야 함 (Dispatcher 행은 내부 규칙 합계이므로 제외)
+        int perRuleTotal = result.ruleMetrics().stream()
+                .filter(m -> !m.ruleName().equals("MybatisRuleDispatcher"))
+                .mapToInt(RuleMetrics::violationCount)
+                .sum();
+        assertEquals(result.violations().size(), perRuleTotal);
+    }
+}
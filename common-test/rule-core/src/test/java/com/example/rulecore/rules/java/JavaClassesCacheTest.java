@@ -0,0 +1,53 @@
+package com.example.rulecore.rules.java;
+
+import com.example.rulecore.ruleEngine.RuleResultCache;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaClassesCacheTest {
+
+    @Test
+    @DisplayName("같은 클래스 루트는 한 번만 임포트되어 공유된다")
+    void sameClassRootIsImportedOnce() {
+        Path classRoot = Paths.get("build/classes/java/main").toAbsolutePath();
+        assertTrue(classRoot.toFile().exists(), "rule-core 빌드 결과물이 존재해야 합니다.");
+
+        JavaClassesCache cache = new JavaClassesCache();
+        JavaClasses first = cache.importPath(classRoot);
+        JavaClasses second = cache.importPath(classRoot);
+
+        assertFalse(first.isEmpty());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("패키지 기반 임포트도 캐시된다")
+    void packageImportIsCached() {
+        JavaClassesCache cache = new JavaClassesCache();
+
+        assertSame(cache.importPackages("com.example.rulecore.sample"), cache.importPackages("com.example.rulecore.sample"));
+    }
+
+    @Test
+    @DisplayName("바이트코드 내용 해시는 파일이 바뀌지 않으면 한 번만 계산되어 공유된다")
+    void contentHashIsComputedOnce() throws IOException {
+        List<Path> classFiles = JavaClassesCache.listClassFiles(Paths.get("build/classes/java/main").toAbsolutePath());
+
+        JavaClassesCache cache = new JavaClassesCache();
+        String first = cache.contentHash(classFiles);
+
+        assertEquals(RuleResultCache.contentHash(classFiles), first);
+        assertSame(first, cache.contentHash(classFiles));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rulecore.rules.java;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SourceFileIndexTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    @DisplayName("동일한 파일명은 이벤트의 패키지 정보로 구분한다")
+    void resolvesDuplicateNamesByPackage() throws IOException {
+        Path orderFoo = createSource("src/main/java/com/example/order/Foo.java");
+        Path userFoo = createSource("src/main/java/com/example/user/Foo.java");
+        SourceFileIndex index = new SourceFileIndex(projectRoot);
+
+        String orderEvent = "Method <com.example.order.Foo.bar()> calls method <java.io.PrintStream.println()> in (Foo.java:12)";
+        String userEvent = "Method com.example.user.Foo$Inner.run() catches generic exception java.lang.Exception in (Foo.java:7)";
+
+        assertEquals(orderFoo, index.find("Foo.java", SourceFileIndex.findPackage(orderEvent, "Foo.java")));
+        assertEquals(userFoo, index.find("Foo.java", SourceFileIndex.findPackage(userEvent, "Foo.java")));
+    }
+
+    @Test
+    @DisplayName("색인에 없는 파일은 null을 반환한다")
+    void returnsNullForUnknownFile() {
+        assertNull(new SourceFileIndex(projectRoot).find("Missing.java", null));
+    }
+
+    private Path createSource(String relativePath) throws IOException {
+        Path file = projectRoot.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, "class Foo {}");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rulecore.rules.sql;
+
+import com.example.rulecore.ruleEngine.Rule;
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.ruleEngine.enums.RuleGroups;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class MybatisRuleDispatcherTest {
+
+    private RuleContext ruleContext;
+
+    @BeforeEach
+    void setup() {
+        Path workspaceRoot = Paths.get("..").toAbsolutePath().normalize();
+        ruleContext = RuleContext.builder()
+                .projectRoot(workspaceRoot.resolve("sample-target"))
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(workspaceRoot.resolve("sample-target/src/main/resources/mapper")))
+                .build();
+    }
+
+    @Test
+    @DisplayName("한 번의 파싱 결과가 규칙별 개별 파싱 결과와 동일하다")
+    void singlePassMatchesPerRuleParsing() throws Exception {
+        List<RuleViolation> perRule = new ArrayList<>();
+        for (Rule rule : sqlRules()) {
+            perRule.addAll(rule.check(ruleContext));
+        }
+
+        List<Rule> combined = MybatisRuleDispatcher.combine(sqlRules());
+        assertEquals(1, combined.size());
+        assertInstanceOf(MybatisRuleDispatcher.class, combined.get(0));
+
+        List<RuleViolation> singlePass = combined.get(0).check(ruleContext);
+
+        assertFalse(perRule.isEmpty(), "샘플 매퍼에서 위반 사항이 검출되어야 합니다.");
+        assertEquals(perRule, singlePass);
+    }
+
+    private List<Rule> sqlRules() {
+        return RuleGroups.SQL_CRITICAL.getRules().stream()
+                .filter(MybatisUnitBasedRule.class::isInstance)
+                .toList();
+    }
+}
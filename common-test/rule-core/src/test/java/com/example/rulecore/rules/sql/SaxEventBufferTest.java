@@ -0,0 +1,120 @@
+package com.example.rulecore.rules.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.ext.DefaultHandler2;
+
+import javax.xml.parsers.SAXParser;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SaxEventBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("기록 후 다시 전달한 이벤트와 위치가 직접 파싱한 결과와 같다")
+    void replayMatchesDirectParsing() throws Exception {
+        Path xml = tempDir.resolve("M.xml");
+        Files.writeString(xml, """
+                <mapper namespace="a.B">
+                  <!-- 주석 -->
+                  <select id="find" resultType="map">
+                    SELECT * FROM t WHERE a &lt; 1 <![CDATA[ AND b > 2 ]]>
+                  </select>
+                </mapper>
+                """);
+
+        SAXParser parser = MybatisUnitBasedRule.newSaxParser();
+        EventLog direct = new EventLog();
+        parser.setProperty("http://xml.org/sax/properties/lexical-handler", direct);
+        parser.parse(xml.toFile(), direct);
+
+        SaxEventBuffer buffer = new SaxEventBuffer();
+        parser.setProperty("http://xml.org/sax/properties/lexical-handler", buffer);
+        parser.parse(xml.toFile(), buffer);
+        EventLog replayed = new EventLog();
+        buffer.replay(replayed);
+
+        assertFalse(direct.events.isEmpty());
+        assertEquals(direct.events, replayed.events);
+
+        // 재사용 시 이전 기록은 남지 않음
+        buffer.reset();
+        EventLog empty = new EventLog();
+        buffer.replay(empty);
+        assertEquals(List.of(), empty.events);
+    }
+
+    private static final class EventLog extends DefaultHandler2 {
+        private final List<String> events = new ArrayList<>();
+        private Locator locator;
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        private void log(String event) {
+            events.add(locator.getLineNumber() + ":" + locator.getColumnNumber() + " " + event);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            StringBuilder attrs = new StringBuilder();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                attrs.append(' ').append(attributes.getQName(i)).append('=').append(attributes.getValue(i));
+            }
+            log("start " + qName + attrs);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            log("end " + qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            log("text " + new String(ch, start, length));
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            log("comment " + new String(ch, start, length));
+        }
+
+        @Override
+        public void startCDATA() {
+            log("startCDATA");
+        }
+
+        @Override
+        public void endCDATA() {
+            log("endCDATA");
+        }
+
+        @Override
+        public void startEntity(String name) {
+            log("startEntity " + name);
+        }
+
+        @Override
+        public void endEntity(String name) {
+            log("endEntity " + name);
+        }
+
+        @Override
+        public void endDocument() {
+            log("endDocument");
+        }
+    }
+}
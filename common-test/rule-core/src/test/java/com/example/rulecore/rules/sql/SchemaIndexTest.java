@@ -0,0 +1,85 @@
+package com.example.rulecore.rules.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaIndexTest {
+
+    private static final String DDL = """
+            -- database 생성
+            create database common_test;
+
+            CREATE TABLE common_test.TBSI_TEST (
+                ID BIGINT auto_increment NOT NULL,
+                name varchar(100) NULL,
+                CONSTRAINT TBSI_TEST_PK PRIMARY KEY (ID)
+            )
+                ENGINE=InnoDB
+            DEFAULT CHARSET=utf8mb4
+            COLLATE=utf8mb4_general_ci;
+
+            CREATE TABLE orders (
+                order_id BIGINT PRIMARY KEY,
+                customer_id BIGINT,
+                status VARCHAR(10) DEFAULT 'A;B',
+                created_at TIMESTAMP
+            );
+            CREATE INDEX idx_orders_customer_date ON orders (customer_id, created_at);
+            """;
+
+    @Test
+    @DisplayName("DDL 파일의 CREATE TABLE / CREATE INDEX 문에서 컬럼과 인덱스 순서를 읽는다")
+    void parsesDdl() {
+        SchemaIndex schema = SchemaIndex.parseDdl(DDL);
+
+        assertEquals(2, schema.tableCount());
+        SchemaIndex.TableSchema test = schema.table("`common_test`.`tbsi_test`");
+        assertTrue(test.hasColumn("name"));
+        assertTrue(test.isLeadingIndexColumn("id"));
+
+        SchemaIndex.TableSchema orders = schema.table("ORDERS");
+        assertTrue(orders.isLeadingIndexColumn("ORDER_ID"));
+        assertTrue(orders.isLeadingIndexColumn("customer_id"));
+        assertFalse(orders.isLeadingIndexColumn("created_at"));
+        assertEquals(List.of("CUSTOMER_ID", "CREATED_AT"), orders.indexesContaining("created_at").get(0).columns());
+        assertTrue(orders.indexesContaining("status").isEmpty());
+        assertNull(schema.table("unknown"));
+    }
+
+    @Test
+    @DisplayName("DB 메타데이터에서 수집한 스키마는 같은 DDL을 파싱한 결과와 같은 인덱스 정보를 가진다")
+    void capturesFromConnection() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:schemaindexdb;DB_CLOSE_DELAY=-1");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (order_id BIGINT PRIMARY KEY, customer_id BIGINT, status VARCHAR(10), created_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_orders_customer_date ON orders (customer_id, created_at)");
+
+            SchemaIndex schema = SchemaIndex.capture(connection);
+
+            SchemaIndex.TableSchema orders = schema.table("orders");
+            assertTrue(orders.isLeadingIndexColumn("order_id"));
+            assertTrue(orders.isLeadingIndexColumn("customer_id"));
+            assertEquals(List.of("CUSTOMER_ID", "CREATED_AT"), orders.indexesContaining("created_at").get(0).columns());
+            assertTrue(orders.indexesContaining("status").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("스키마 내용이 바뀌면 지문도 바뀐다")
+    void fingerprintFollowsContent() {
+        String other = DDL.replace("(customer_id, created_at)", "(created_at, customer_id)");
+        assertEquals(SchemaIndex.parseDdl(DDL).fingerprint(), SchemaIndex.parseDdl(DDL).fingerprint());
+        assertNotEquals(SchemaIndex.parseDdl(DDL).fingerprint(), SchemaIndex.parseDdl(other).fingerprint());
+    }
+}
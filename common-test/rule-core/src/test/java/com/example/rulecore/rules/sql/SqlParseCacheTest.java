@@ -0,0 +1,89 @@
+package com.example.rulecore.rules.sql;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.statement.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlParseCacheTest {
+
+    @Test
+    @DisplayName("공백만 다른 SQL은 같은 파싱 결과를 재사용한다")
+    void reusesStatementForWhitespaceVariants() throws JSQLParserException {
+        SqlParseCache cache = new SqlParseCache(10);
+
+        Statement first = cache.parse("SELECT id, name\n    FROM users\n    WHERE id = ?");
+        Statement second = cache.parse("  SELECT id,   name FROM users WHERE id = ?  ");
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("문자열 리터럴 안의 공백은 정규화하지 않는다")
+    void keepsWhitespaceInsideLiterals() {
+        assertEquals("SELECT 'a  b' FROM t", SqlParseCache.normalize("SELECT   'a  b'\n FROM t"));
+    }
+
+    @Test
+    @DisplayName("한 줄 주석을 끝내는 줄바꿈은 공백으로 바꾸지 않는다")
+    void keepsLineBreakAfterLineComment() throws JSQLParserException {
+        assertEquals("SELECT a FROM orders -- x\nWHERE b = 1", SqlParseCache.normalize("SELECT a\n  FROM orders -- x\n   WHERE  b = 1"));
+        assertEquals("SELECT a # it's\nFROM t", SqlParseCache.normalize("SELECT a # it's\nFROM t"));
+
+        SqlParseCache cache = new SqlParseCache(10);
+        Statement filtered = cache.parse("SELECT a FROM orders -- x\nWHERE b = 1");
+        Statement commented = cache.parse("SELECT a FROM orders -- x WHERE b = 1");
+
+        assertNotSame(filtered, commented);
+        assertEquals(2, cache.size());
+        assertFalse(commented.toString().contains("WHERE"));
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 사용하지 않은 항목을 제거한다")
+    void evictsLeastRecentlyUsed() throws JSQLParserException {
+        SqlParseCache cache = new SqlParseCache(2);
+
+        Statement a = cache.parse("SELECT a FROM t");
+        cache.parse("SELECT b FROM t");
+        cache.parse("SELECT a FROM t"); // a 사용 → b가 가장 오래됨
+        cache.parse("SELECT c FROM t");
+
+        assertEquals(2, cache.size());
+        assertSame(a, cache.parse("SELECT a FROM t"));
+        assertNotSame(cache.parse("SELECT b FROM t"), cache.parse("SELECT c FROM t"));
+    }
+
+    @Test
+    @DisplayName("파싱 실패도 캐시되어 같은 예외를 다시 던진다")
+    void cachesParseFailures() {
+        SqlParseCache cache = new SqlParseCache(10);
+
+        JSQLParserException first = assertThrows(JSQLParserException.class, () -> cache.parse("SELECT FROM WHERE"));
+        JSQLParserException second = assertThrows(JSQLParserException.class, () -> cache.parse("SELECT  FROM  WHERE"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("제한 시간을 넘기면 시간 초과 예외를 던지고, 더 긴 제한 시간으로는 다시 파싱한다")
+    void timesOutAndRetriesWithLongerDeadline() throws JSQLParserException {
+        SqlParseCache cache = new SqlParseCache(10);
+        StringBuilder sql = new StringBuilder("SELECT id FROM orders WHERE id IN (");
+        for (int i = 0; i < 50_000; i++) {
+            sql.append(i == 0 ? "" : ", ").append(i);
+        }
+        sql.append(")");
+
+        assertThrows(SqlParseTimeoutException.class, () -> cache.parse(sql.toString(), 1));
+        assertNotNull(cache.parse(sql.toString(), 60_000));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.rulecore.rules.sql.fail;
+
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MyBatisXmlRuleTest {
+
+    @TempDir
+    Path workspaceRoot;
+
+    @Test
+    @DisplayName("CDATA 밖의 부등호를 실제 행/열 위치로 보고한다")
+    void reportsExactPositionOfRawInequality() throws Exception {
+        List<RuleViolation> violations = check("""
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findOrders">
+                        SELECT order_id
+                        FROM orders
+                        WHERE age &lt; 30
+                          AND amount >= #{min}
+                          AND #{max} &gt;= amount
+                    </select>
+                </mapper>
+                """);
+
+        assertEquals(List.of(5, 6, 7), violations.stream().map(RuleViolation::lineNumber).toList());
+        assertTrue(violations.get(0).message().endsWith("(5:19)"), violations.get(0).message());
+        assertTrue(violations.get(1).message().endsWith("(6:22)"), violations.get(1).message());
+        assertTrue(violations.get(2).message().endsWith("(7:22)"), violations.get(2).message());
+    }
+
+    @Test
+    @DisplayName("CDATA 구간과 연산자가 아닌 부등호는 검사하지 않는다")
+    void ignoresCdataAndNonOperators() throws Exception {
+        List<RuleViolation> violations = check("""
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findWithCdata">
+                        <![CDATA[
+                        SELECT * FROM orders WHERE amount > #{min} AND created_at < NOW()
+                        ]]>
+                    </select>
+                    <!-- amount > 0 조건은 주석이므로 무시 -->
+                    <select id="findArrow">
+                        SELECT payload->'$.name' FROM orders
+                    </select>
+                </mapper>
+                """);
+
+        assertTrue(violations.isEmpty(), violations.toString());
+    }
+
+    private List<RuleViolation> check(String mapperXml) throws Exception {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("OrderMapper.xml"), mapperXml);
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .build();
+        return new MyBatisXmlRule().check(context);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.rulecore.rules.sql.warn;
+
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleViolation;
+import com.example.rulecore.ruleEngine.enums.Status;
+import com.example.rulecore.rules.sql.SchemaIndex;
+import com.example.rulecore.rules.sql.SqlParseCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexCoverageRuleTest {
+
+    private static final SchemaIndex SCHEMA = SchemaIndex.parseDdl("""
+            CREATE TABLE orders (
+                order_id BIGINT PRIMARY KEY,
+                customer_id BIGINT,
+                status VARCHAR(10),
+                created_at TIMESTAMP
+            );
+            CREATE INDEX idx_orders_customer_date ON orders (customer_id, created_at);
+            CREATE TABLE customer (
+                id BIGINT PRIMARY KEY,
+                email VARCHAR(100)
+            );
+            """);
+
+    @TempDir
+    Path workspaceRoot;
+
+    @Test
+    @DisplayName("인덱스 선두 컬럼 조건이 있으면 나머지 필터 조건은 보고하지 않는다")
+    void acceptsIndexedAccessPath() {
+        assertTrue(inspect("SELECT order_id FROM orders WHERE customer_id = ? AND status = ?").isEmpty());
+        assertTrue(inspect("SELECT o.order_id FROM orders o JOIN customer c ON o.customer_id = c.id WHERE c.id = ?").isEmpty());
+        assertTrue(inspect("SELECT o.order_id FROM orders o JOIN customer c ON o.customer_id = c.id WHERE c.email LIKE ?").isEmpty());
+    }
+
+    @Test
+    @DisplayName("인덱스가 없는 컬럼 조건과 복합 인덱스 선두 컬럼 미사용을 보고한다")
+    void reportsUnindexedAndLeadingColumnMismatch() {
+        assertEquals(List.of("인덱스가 없는 컬럼 조건: ORDERS.STATUS"),
+                inspect("SELECT order_id FROM orders WHERE status = ?"));
+        assertEquals(List.of("복합 인덱스 선두 컬럼 미사용: ORDERS.CREATED_AT (인덱스 idx_orders_customer_date(CUSTOMER_ID, CREATED_AT)의 선두 컬럼 CUSTOMER_ID 조건 없음)"),
+                inspect("SELECT order_id FROM orders WHERE created_at >= ?"));
+        assertEquals(List.of("인덱스가 없는 컬럼 조건: ORDERS.STATUS"),
+                inspect("SELECT o.order_id FROM customer c JOIN orders o ON o.status = c.email WHERE c.id = ?"));
+    }
+
+    @Test
+    @DisplayName("이름 없는 UNIQUE / UNIQUE KEY 제약이 여러 개여도 모두 인덱스로 인식한다")
+    void keepsEveryUnnamedConstraint() {
+        SchemaIndex schema = SchemaIndex.parseDdl("""
+                CREATE TABLE accounts (
+                    id BIGINT PRIMARY KEY,
+                    a VARCHAR(10),
+                    b VARCHAR(10),
+                    c VARCHAR(10),
+                    d VARCHAR(10),
+                    UNIQUE (a),
+                    UNIQUE (b),
+                    UNIQUE KEY (c),
+                    UNIQUE KEY (d)
+                );
+                """);
+
+        assertEquals(5, schema.table("accounts").indexes().size());
+        for (String column : List.of("a", "b", "c", "d")) {
+            assertTrue(IndexCoverageRule.inspectSql("SELECT id FROM accounts WHERE " + column + " = ?", schema,
+                    SqlParseCache.DEFAULT_TIMEOUT_MILLIS).isEmpty(), column);
+        }
+    }
+
+    @Test
+    @DisplayName("인덱스 컬럼을 함수로 감싼 조건을 보고한다")
+    void reportsFunctionOnIndexedColumn() {
+        assertEquals(List.of("인덱스 컬럼에 함수 적용: DATE(ORDERS.CREATED_AT) (인덱스 idx_orders_customer_date 사용 불가)"),
+                inspect("SELECT order_id FROM orders WHERE customer_id = ? AND DATE(created_at) = ?"));
+    }
+
+    @Test
+    @DisplayName("서브쿼리는 독립된 범위로 검사하고, 스키마에 없는 테이블은 건너뛴다")
+    void inspectsSubqueriesAndSkipsUnknownTables() {
+        assertEquals(List.of("인덱스가 없는 컬럼 조건: CUSTOMER.EMAIL"),
+                inspect("SELECT order_id FROM orders WHERE customer_id IN (SELECT id FROM customer WHERE email = ?)"));
+        assertTrue(inspect("SELECT * FROM audit_log WHERE message = ?").isEmpty());
+    }
+
+    @Test
+    @DisplayName("매퍼의 동적 태그를 근사한 SQL로 검사하고 구문 시작 행에 WARN으로 보고한다")
+    void checksMapperStatements() throws Exception {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("OrderMapper.xml"), """
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findByCustomer">
+                        SELECT order_id FROM orders
+                        <where>
+                            <if test="customerId != null">AND customer_id = #{customerId}</if>
+                            <if test="ids != null">AND order_id IN <foreach collection="ids" item="id">#{id}</foreach></if>
+                        </where>
+                    </select>
+                    <update id="closeByStatus">
+                        UPDATE orders
+                        <set>
+                            <if test="status != null">status = #{status},</if>
+                        </set>
+                        WHERE status = #{oldStatus}
+                    </update>
+                </mapper>
+                """);
+
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .schemaIndex(SCHEMA)
+                .build();
+        List<RuleViolation> violations = new IndexCoverageRule().check(context);
+
+        assertEquals(1, violations.size(), violations.toString());
+        assertEquals(Status.WARN, violations.get(0).status());
+        assertEquals("인덱스가 없는 컬럼 조건: ORDERS.STATUS", violations.get(0).message());
+        assertEquals(9, violations.get(0).lineNumber());
+    }
+
+    @Test
+    @DisplayName("<trim>의 prefix와 prefixOverrides/suffixOverrides를 적용하여 검사한다")
+    void appliesTrimOverrides() throws Exception {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("OrderMapper.xml"), """
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findByStatus">
+                        SELECT order_id FROM orders
+                        <trim prefix="WHERE" prefixOverrides="AND |OR ">
+                            <if test="status != null">AND status = #{status}</if>
+                            <if test="createdAt != null">OR created_at = #{createdAt}</if>
+                        </trim>
+                    </select>
+                    <update id="updateStatus">
+                        UPDATE orders
+                        <trim prefix="SET" suffixOverrides=",">
+                            <if test="status != null">status = #{status},</if>
+                        </trim>
+                        WHERE customer_id = #{customerId}
+                    </update>
+                </mapper>
+                """);
+
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .schemaIndex(SCHEMA)
+                .build();
+        List<String> messages = new IndexCoverageRule().check(context).stream().map(RuleViolation::message).toList();
+
+        assertEquals(List.of("인덱스가 없는 컬럼 조건: ORDERS.STATUS",
+                "복합 인덱스 선두 컬럼 미사용: ORDERS.CREATED_AT (인덱스 idx_orders_customer_date(CUSTOMER_ID, CREATED_AT)의 선두 컬럼 CUSTOMER_ID 조건 없음)"),
+                messages);
+    }
+
+    @Test
+    @DisplayName("스키마 정보가 없으면 검사하지 않는다")
+    void skipsWithoutSchema() throws Exception {
+        Path mapperDir = Files.createDirectories(workspaceRoot.resolve("mapper"));
+        Files.writeString(mapperDir.resolve("OrderMapper.xml"), """
+                <mapper namespace="com.example.OrderMapper">
+                    <select id="findByStatus">SELECT order_id FROM orders WHERE status = #{status}</select>
+                </mapper>
+                """);
+        RuleContext context = RuleContext.builder()
+                .projectRoot(workspaceRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(List.of(mapperDir))
+                .build();
+
+        assertTrue(new IndexCoverageRule().check(context).isEmpty());
+    }
+
+    private static List<String> inspect(String sql) {
+        return IndexCoverageRule.inspectSql(sql, SCHEMA, SqlParseCache.DEFAULT_TIMEOUT_MILLIS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.rulecore.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class GitDiffUtilTest {
+
+    @TempDir
+    Path repoDir;
+
+    @Test
+    @DisplayName("하위 프로젝트 기준으로 변경 파일의 절대 경로를 반환한다")
+    void affectedFilesOfSubproject() throws Exception {
+        initRepository();
+        Path module = repoDir.resolve("module");
+        Files.writeString(module.resolve("A.java"), "class A { int x; }\n");
+        Files.writeString(module.resolve("New.java"), "class New {}\n");
+        Files.writeString(repoDir.resolve("Other.java"), "class Other { int x; }\n");
+
+        assertEquals(List.of(module.resolve("A.java"), module.resolve("New.java")), GitDiffUtil.getAffectedFiles(module, "HEAD"));
+    }
+
+    @Test
+    @DisplayName("내장 엔진이 지원하지 않는 리비전 표현식은 git 명령어로 대체한다")
+    void fallsBackToGitCommand() throws Exception {
+        initRepository();
+        Files.writeString(repoDir.resolve("module/A.java"), "class A { int x; }\n");
+        git("commit", "-q", "-am", "second");
+        Files.writeString(repoDir.resolve("module/New.java"), "class New {}\n");
+
+        Path module = repoDir.resolve("module");
+        assertEquals(List.of(module.resolve("A.java"), module.resolve("New.java")),
+                GitDiffUtil.getAffectedFiles(module, "HEAD~1", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Git 저장소가 아니면 빈 목록을 반환한다")
+    void notARepository() {
+        assertTrue(GitDiffUtil.getAffectedFiles(repoDir, "HEAD").isEmpty());
+    }
+
+    private void initRepository() throws Exception {
+        assumeTrue(gitAvailable(), "git 명령어가 필요합니다.");
+        Files.createDirectories(repoDir.resolve("module"));
+        Files.writeString(repoDir.resolve("module/A.java"), "class A {}\n");
+        Files.writeString(repoDir.resolve("Other.java"), "class Other {}\n");
+        git("init", "-q");
+        git("add", "-A");
+        git("commit", "-q", "-m", "init");
+    }
+
+    private void git(String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "user.name=test", "-c", "user.email=test@example.com",
+                "-c", "commit.gpgsign=false"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).directory(repoDir.toFile()).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) throw new IllegalStateException(String.join(" ", command) + "\n" + output);
+    }
+
+    private static boolean gitAvailable() {
+        try {
+            return new ProcessBuilder("git", "--version").start().waitFor() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.rulecore.util.git;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GitIgnoreTest {
+
+    @Test
+    @DisplayName("이름 규칙은 모든 깊이에, '/'가 포함된 규칙은 규칙 파일 위치 기준으로 적용된다")
+    void anchoredAndNameRules() {
+        GitIgnore ignore = GitIgnore.empty(false).withRules("", List.of("*.log", "/build/", "docs/*.tmp"));
+
+        assertTrue(ignore.isIgnored("app.log", false));
+        assertTrue(ignore.isIgnored("a/b/app.log", false));
+        assertTrue(ignore.isIgnored("build", true));
+        assertFalse(ignore.isIgnored("build", false), "'dir/' 규칙은 디렉토리에만 적용되어야 합니다.");
+        assertFalse(ignore.isIgnored("sub/build", true), "'/'로 시작하는 규칙은 루트에만 적용되어야 합니다.");
+        assertTrue(ignore.isIgnored("docs/a.tmp", false));
+        assertFalse(ignore.isIgnored("docs/sub/a.tmp", false), "'*'는 '/'와 일치하지 않아야 합니다.");
+    }
+
+    @Test
+    @DisplayName("'**'는 0개 이상의 디렉토리와 일치한다")
+    void doubleStar() {
+        GitIgnore ignore = GitIgnore.empty(false).withRules("", List.of("**/gen/*.java", "out/**"));
+
+        assertTrue(ignore.isIgnored("gen/A.java", false));
+        assertTrue(ignore.isIgnored("a/b/gen/A.java", false));
+        assertTrue(ignore.isIgnored("out/x/y.txt", false));
+        assertFalse(ignore.isIgnored("src/A.java", false));
+    }
+
+    @Test
+    @DisplayName("하위 디렉토리 규칙과 부정 규칙(!)이 상위 규칙보다 우선한다")
+    void nestedFramesAndNegation() {
+        GitIgnore ignore = GitIgnore.empty(false)
+                .withRules("", List.of("*.xml"))
+                .withRules("src/main/resources", List.of("!mapper/*.xml"));
+
+        assertTrue(ignore.isIgnored("pom.xml", false));
+        assertTrue(ignore.isIgnored("src/main/resources/app.xml", false));
+        assertFalse(ignore.isIgnored("src/main/resources/mapper/M.xml", false));
+    }
+
+    @Test
+    @DisplayName("core.ignorecase 설정 시 대소문자를 구분하지 않는다")
+    void ignoreCase() {
+        assertTrue(GitIgnore.empty(true).withRules("", List.of("*.LOG")).isIgnored("a.log", false));
+        assertFalse(GitIgnore.empty(false).withRules("", List.of("*.LOG")).isIgnored("a.log", false));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.rulecore.util.git;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 내장 엔진 결과를 git 명령어("git diff --name-only" + "git ls-files --others --exclude-standard") 결과와 비교합니다.
+ */
+class InProcessGitDiffTest {
+
+    @TempDir
+    Path repoDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(gitAvailable(), "git 명령어가 필요합니다.");
+        git("init", "-q", "-b", "main");
+        write("src/main/java/com/a/A.java", javaSource("A", 40));
+        write("src/main/java/com/a/B.java", javaSource("B", 40));
+        write("src/main/resources/mapper/M.xml", "<mapper/>\n");
+        write("README.md", "readme\n");
+        write(".gitignore", "build/\n*.log\n");
+        commitAll("init");
+    }
+
+    @Test
+    @DisplayName("수정/스테이징/삭제/추적되지 않은 파일이 git 명령어 결과와 같다")
+    void matchesGitCommand() throws Exception {
+        write("src/main/java/com/a/A.java", javaSource("A", 41));
+        write("src/main/java/com/a/C.java", javaSource("C", 3));
+        git("add", "src/main/java/com/a/C.java");
+        Files.delete(repoDir.resolve("README.md"));
+        write("src/main/resources/mapper/N.xml", "<mapper/>\n");
+        write("build/out.txt", "ignored\n");
+        write("logs/app.log", "ignored\n");
+
+        assertMatchesGit(repoDir);
+        assertEquals(List.of("src/main/java/com/a/A.java", "src/main/java/com/a/C.java",
+                "src/main/resources/mapper/N.xml", "README.md").stream().sorted().toList(), diff(repoDir).affectedPaths());
+    }
+
+    @Test
+    @DisplayName("내용 변경 없이 수정 시각만 바뀐 파일은 변경으로 보지 않는다")
+    void touchedButUnchanged() throws Exception {
+        Path a = repoDir.resolve("src/main/java/com/a/A.java");
+        Files.setLastModifiedTime(a, java.nio.file.attribute.FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        assertTrue(diff(repoDir).affectedPaths().isEmpty());
+    }
+
+    @Test
+    @DisplayName("하위 디렉토리 범위로 제한하면 그 하위의 변경만 반환한다")
+    void scopedToSubdirectory() throws Exception {
+        write("src/main/java/com/a/A.java", javaSource("A", 41));
+        write("src/main/resources/mapper/N.xml", "<mapper/>\n");
+        write("README.md", "changed\n");
+
+        assertMatchesGit(repoDir.resolve("src/main/java"));
+        assertEquals(List.of("src/main/java/com/a/A.java"), diff(repoDir.resolve("src/main/java")).affectedPaths());
+    }
+
+    @Test
+    @DisplayName("팩 파일, packed-refs, 인덱스 버전 4 저장소에서도 결과가 같다")
+    void packedRepository() throws Exception {
+        git("checkout", "-q", "-b", "feature");
+        write("src/main/java/com/a/B.java", javaSource("B", 45));
+        commitAll("feature");
+        git("gc", "-q", "--aggressive");
+        git("update-index", "--index-version", "4");
+        write("src/main/java/com/a/A.java", javaSource("A", 41));
+
+        assertMatchesGit(repoDir, "main");
+        try (GitRepository repo = GitRepository.open(repoDir)) {
+            assertEquals(List.of("src/main/java/com/a/A.java", "src/main/java/com/a/B.java"),
+                    InProcessGitDiff.diff(repo, "main", repoDir).affectedPaths());
+        }
+    }
+
+    @Test
+    @DisplayName("이름 변경은 새 경로만 변경으로 보고, 내용이 일부 바뀌어도 유사도로 찾는다")
+    void detectsRenames() throws Exception {
+        git("mv", "src/main/java/com/a/A.java", "src/main/java/com/a/Renamed.java");
+        write("src/main/java/com/a/Renamed.java", javaSource("A", 42));
+        // 스테이징하지 않은 이동 (삭제 + 추적되지 않은 파일)
+        Files.move(repoDir.resolve("src/main/java/com/a/B.java"), Files.createDirectories(repoDir.resolve("src/main/java/com/b")).resolve("B.java"));
+
+        GitChanges changes = diff(repoDir);
+        assertEquals(Map.of("src/main/java/com/a/A.java", "src/main/java/com/a/Renamed.java",
+                "src/main/java/com/a/B.java", "src/main/java/com/b/B.java"), changes.renamed());
+        assertTrue(changes.deleted().isEmpty());
+        assertEquals(List.of("src/main/java/com/a/Renamed.java", "src/main/java/com/b/B.java"), changes.affectedPaths());
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 리비전은 IOException으로 알린다")
+    void unknownRevision() {
+        assertThrows(IOException.class, () -> diff(repoDir, "no-such-branch"));
+        assertThrows(IOException.class, () -> diff(repoDir, "HEAD~1"));
+    }
+
+    private void assertMatchesGit(Path scope) throws Exception {
+        assertMatchesGit(scope, "HEAD");
+    }
+
+    private void assertMatchesGit(Path scope, String baseRef) throws Exception {
+        TreeSet<String> expected = new TreeSet<>(lines(gitIn(scope, "diff", "--name-only", "--no-renames", baseRef, "--", ".")));
+        expected.addAll(lines(gitIn(scope, "ls-files", "--others", "--exclude-standard", "--full-name")));
+        assertEquals(List.copyOf(expected), diff(scope, baseRef).affectedPaths());
+    }
+
+    private GitChanges diff(Path scope) throws IOException {
+        return diff(scope, "HEAD");
+    }
+
+    private GitChanges diff(Path scope, String baseRef) throws IOException {
+        try (GitRepository repo = GitRepository.open(scope)) {
+            return InProcessGitDiff.diff(repo, baseRef, scope);
+        }
+    }
+
+    private static String javaSource(String name, int methods) {
+        StringBuilder source = new StringBuilder("package com.a;\n\npublic class " + name + " {\n");
+        for (int i = 0; i < methods; i++) {
+            source.append("    public int method").append(i).append("() {\n        return ").append(i).append(";\n    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = repoDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void commitAll(String message) throws Exception {
+        git("add", "-A");
+        git("commit", "-q", "-m", message);
+    }
+
+    private String git(String... args) throws Exception {
+        return gitIn(repoDir, args);
+    }
+
+    private static String gitIn(Path dir, String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "user.name=test", "-c", "user.email=test@example.com",
+                "-c", "core.autocrlf=false", "-c", "commit.gpgsign=false"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) throw new IllegalStateException(String.join(" ", command) + "\n" + output);
+        return output;
+    }
+
+    private static List<String> lines(String output) {
+        return output.lines().filter(line -> !line.isBlank()).toList();
+    }
+
+    static boolean gitAvailable() {
+        try {
+            return new ProcessBuilder("git", "--version").start().waitFor() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.gradle.api.provider.Property;
  *         basePackage = "com.[Group].[Project]"
  *         // [선택 - 기본값과 다르게 설정하고 싶을 때만]
  *         incremental = true              // 로컬 개발 시 true, CI 환경에선 false 권장
+ *         incrementalStrategy = "inputs"  // 증분 검사 대상: git(ratchetFrom 기준 변경) / inputs(마지막 실행 이후 변경)
  *         failOnViolation = true          // 엄격한 품질 관리가 필요할 때 true
  *         ruleGroupName = "SQL_CRITICAL"  // SQL 규칙만 집중 점검하고 싶을 때
  *         mapperPaths = [                 // 매퍼 경로가 여러 개일 때
@@ -17,6 +18,11 @@ import org.gradle.api.provider.Property;
  *             "src/main/resources/mapper/biz"
  *         ]
  *         enableFormatter = true          // 코드 정렬 자동화 사용
+ *         parallelism = 4                 // 규칙을 병렬로 실행할 스레드 수
+ *         resultCache = true              // 변경되지 않은 파일은 build/rule-cache의 이전 결과 사용
+ *         sqlParseTimeoutMillis = 2000    // SQL 파싱 제한 시간, 초과 시 휴리스틱 검사로 대체
+ *         schemaFile = "schema.sql"       // 인덱스 검사(IndexCoverageRule)에 사용할 DDL 파일
+ *         isolationMode = "process"       // 규칙 검사 워커 격리 모드 (none / classloader / process)
  *     }
  *
  */
@@ -30,6 +36,12 @@ public abstract class RuleExtension {
     /** 증분 검사 여부 (기본값: true) */
     public abstract Property<Boolean> getIncremental();
 
+    /**
+     * 증분 검사 대상 결정 방식 (기본값: git)
+     * git: ratchetFrom 기준 Git 변경 파일, inputs: 마지막 성공 실행 이후 변경된 클래스/매퍼 파일 (git 프로세스 실행 없음)
+     */
+    public abstract Property<String> getIncrementalStrategy();
+
     /** 위반 시 빌드 실패 여부 (기본값: false) */
     public abstract Property<Boolean> getFailOnViolation();
 
@@ -41,4 +53,22 @@ public abstract class RuleExtension {
 
     /** Spotless 증분 적용을 위한 Git Reference (예: main) */
     public abstract Property<String> getRatchetFrom();
-}
\ No newline at end of file
+
+    /** 규칙 병렬 실행 스레드 수 (기본값: 1, 순차 실행) */
+    public abstract Property<Integer> getParallelism();
+
+    /** 파일 내용 해시 기반 결과 캐시 사용 여부 (기본값: true, 저장 위치: build/rule-cache) */
+    public abstract Property<Boolean> getResultCache();
+
+    /** SQL 파싱 제한 시간(ms), 초과 시 휴리스틱 검사로 대체 (기본값: 2000) */
+    public abstract Property<Long> getSqlParseTimeoutMillis();
+
+    /** 인덱스 검사에 사용할 DDL 파일 경로 (선택, 프로젝트 기준 상대 경로. 없으면 인덱스 검사 생략) */
+    public abstract Property<String> getSchemaFile();
+
+    /**
+     * 규칙 검사 워커 격리 모드 (기본값: none)
+     * none: 빌드 프로세스에서 실행, classloader: 별도 클래스로더, process: 재사용되는 워커 데몬에서 실행
+     */
+    public abstract Property<String> getIsolationMode();
+}
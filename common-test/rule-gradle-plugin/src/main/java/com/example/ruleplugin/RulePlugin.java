@@ -5,15 +5,21 @@ import com.diffplug.gradle.spotless.SpotlessPlugin;
 import com.diffplug.spotless.extra.wtp.EclipseWtpFormatterStep;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.file.Directory;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class RulePlugin implements Plugin<Project> {
 
+    private static final String DEFAULT_MAPPER_PATH = "src/main/resources/mapper";
+
     /**
      * 프로젝트에서 사용하는 태스크 명칭들을 Enum으로 관리합니다.
      */
@@ -43,56 +49,90 @@ public class RulePlugin implements Plugin<Project> {
         // 기본값(Convention) 설정
         extension.getRuleGroupName().convention("ALL");
         
-        // incremental 속성은 프로젝트 속성(rule.incremental)으로 오버라이드 가능하도록 설정
-        extension.getIncremental().convention(project.getProviders().provider(() -> {
-            if (project.hasProperty("rule.incremental")) {
-                return Boolean.parseBoolean((String) project.property("rule.incremental"));
-            }
-            return true;
-        }));
-        
+        extension.getIncremental().convention(true);
+        extension.getIncrementalStrategy().convention(RuleTask.STRATEGY_GIT);
+
         extension.getFailOnViolation().convention(false);
         extension.getEnableFormatter().convention(true);
+        extension.getParallelism().convention(1);
+        extension.getResultCache().convention(true);
+        extension.getSqlParseTimeoutMillis().convention(2000L);
+        extension.getIsolationMode().convention("none");
+        extension.getMapperPaths().convention(List.of());
 
         // 2. Register Task
         // ./gradlew ruleCheck
-        project.getTasks().register(RuleTaskName.RULE_CHECK.getName(), RuleTask.class, task -> task.setExtension(extension));
+        TaskProvider<RuleTask> ruleCheck = project.getTasks().register(RuleTaskName.RULE_CHECK.getName(), RuleTask.class, task -> configureRuleTask(project, extension, task));
 
         // 3. Connect to 'check' task
         project.getTasks().named(RuleTaskName.CHECK.getName()).configure(t -> t.dependsOn(RuleTaskName.RULE_CHECK.getName()));
 
-        // 4. Configure Spotless conditionally
+        // 4. Register Combined Task (checkAll)
+        TaskProvider<Task> checkAll = project.getTasks().register(RuleTaskName.CHECK_ALL.getName(), task -> {
+            task.setGroup("verification");
+            task.setDescription("포맷팅(선택적)과 규칙 검사를 통합하여 실행합니다.");
+            task.dependsOn(ruleCheck);
+        });
+
+        // 5. Configure Spotless conditionally
+        // enableFormatter 값은 빌드 스크립트 평가 후에 확정되므로 afterEvaluate에서 처리 (구성 단계에서만 실행되며 구성 캐시에는 결과 태스크 그래프만 저장됨)
         project.afterEvaluate(p -> {
             if (Boolean.TRUE.equals(extension.getEnableFormatter().getOrElse(false))) {
                 configureSpotless(p);
+
+                // spotlessApply는 enableFormatter 설정에 따라 조건부 의존성 추가, ruleCheck는 포맷팅 이후 실행
+                checkAll.configure(task -> task.dependsOn(RuleTaskName.SPOTLESS_APPLY.getName()));
+                ruleCheck.configure(task -> task.mustRunAfter(RuleTaskName.SPOTLESS_APPLY.getName()));
             }
         });
+    }
 
-        // 5. Register Combined Task (checkAll)
-        project.getTasks().register(RuleTaskName.CHECK_ALL.getName(), task -> {
-            task.setGroup("verification");
-            task.setDescription("포맷팅(선택적)과 규칙 검사를 통합하여 실행합니다.");
+    /**
+     * Extension 설정을 태스크 입력/출력으로 연결합니다.
+     * 값은 Provider로 연결하므로 빌드 스크립트에서 rule { } 블록을 어디에 두어도 실행 시점의 설정이 반영됩니다.
+     * 태스크는 실행 시점에 Project에 접근하지 않으며, Provider도 Project를 참조하지 않으므로 구성 캐시(--configuration-cache)와 호환됩니다.
+     */
+    private void configureRuleTask(Project project, RuleExtension extension, RuleTask task) {
+        task.setGroup("verification");
+        task.setDescription("Java/MyBatis 코드 규칙 검사를 실행하고 reports/rule에 리포트를 생성합니다.");
+
+        task.getBasePackage().set(extension.getBasePackage());
+        task.getRuleGroupName().set(extension.getRuleGroupName());
+        task.getFailOnViolation().set(extension.getFailOnViolation());
+        task.getSqlParseTimeoutMillis().set(extension.getSqlParseTimeoutMillis());
+        task.getIncrementalStrategy().set(extension.getIncrementalStrategy());
+        task.getRatchetFrom().set(extension.getRatchetFrom());
+        task.getParallelism().set(extension.getParallelism());
+        task.getResultCache().set(extension.getResultCache());
+        task.getIsolationMode().set(extension.getIsolationMode());
+
+        // 프로젝트 속성(rule.incremental)이 있으면 우선 적용, 없으면 Extension 설정 사용
+        task.getIncremental().set(project.getProviders().gradleProperty("rule.incremental")
+                .map(Boolean::parseBoolean)
+                .orElse(extension.getIncremental()));
+
+        Directory projectDir = project.getLayout().getProjectDirectory();
+        task.getProjectDir().set(projectDir);
+        task.getWorkspaceDir().set(project.getRootProject().getLayout().getProjectDirectory());
+        task.getProjectPathInWorkspace().set(project.getRootDir().toPath().relativize(project.getProjectDir().toPath()).toString().replace('\\', '/'));
+        task.getResultCacheFile().set(project.getLayout().getBuildDirectory().file("rule-cache/rule-results.json"));
+        task.getReportDir().set(projectDir.dir("reports/rule"));
+
+        // 매퍼 경로 미지정 시 기본 경로(src/main/resources/mapper)가 있을 때만 사용
+        task.getMapperDirs().from(extension.getMapperPaths().map(customMapperPaths -> {
+            if (!customMapperPaths.isEmpty()) {
+                return customMapperPaths.stream().map(projectDir::dir).toList();
+            }
+            Directory defaultMapperDir = projectDir.dir(DEFAULT_MAPPER_PATH);
+            return defaultMapperDir.getAsFile().exists() ? List.of(defaultMapperDir) : List.<Directory>of();
+        }));
 
-            // spotlessApply는 enableFormatter 설정에 따라 조건부 의존성 추가
-            task.dependsOn(project.getProviders().provider(() -> {
-                List<Object> deps = new ArrayList<>();
-                if (extension.getEnableFormatter().getOrElse(false)) {
-                    Object spotlessApply = project.getTasks().findByName(RuleTaskName.SPOTLESS_APPLY.getName());
-                    if (spotlessApply != null) {
-                        deps.add(spotlessApply);
-                    }
-                }
-                Object ruleCheck = project.getTasks().findByName(RuleTaskName.RULE_CHECK.getName());
-                if (ruleCheck != null) {
-                    deps.add(ruleCheck);
-                }
-                return deps;
-            }));
-        });
+        task.getSchemaFile().set(extension.getSchemaFile().map(projectDir::file));
 
-        // 6. Ensure order: ruleCheck runs after spotlessApply if both are in execution graph
-        project.getTasks().withType(RuleTask.class).configureEach(ruleTask -> {
-            ruleTask.mustRunAfter(project.getTasks().matching(t -> t.getName().equals(RuleTaskName.SPOTLESS_APPLY.getName())));
+        // Java 규칙이 검사하는 컴파일 결과 (compileJava 태스크 의존성 포함)
+        project.getPlugins().withType(JavaPlugin.class, plugin -> {
+            SourceSet main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+            task.getClassDirs().from(main.getOutput().getClassesDirs());
         });
     }
 
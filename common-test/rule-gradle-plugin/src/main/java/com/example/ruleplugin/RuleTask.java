@@ -1,106 +1,282 @@
 package com.example.ruleplugin;
 
-import com.example.rulecore.ruleEngine.RuleContext;
-
-import com.example.rulecore.ruleEngine.RuleResult;
-import com.example.rulecore.ruleEngine.RuleRunner;
-import com.example.rulecore.ruleEngine.enums.RuleGroups;
 import com.example.rulecore.util.GitDiffUtil;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-public class RuleTask extends DefaultTask {
+/**
+ * 규칙 검사 태스크입니다.
+ * 검사 결과에 영향을 주는 값(컴파일된 클래스, 매퍼 XML, 규칙 설정, 증분 검사 대상)을 입력으로, 리포트 디렉토리를 출력으로 선언하므로
+ * 변경이 없으면 UP-TO-DATE로 건너뛰고, 빌드 캐시(로컬/원격)에 같은 입력의 결과가 있으면 리포트를 복원합니다. (inputs 방식 증분 검사는 캐시하지 않음)
+ * 입력/출력 값은 {@link RulePlugin}이 {@link RuleExtension} 설정으로 연결하며, 검사 자체는 {@link RuleWorkAction}에서 실행합니다.
+ */
+@CacheableTask
+public abstract class RuleTask extends DefaultTask {
+
+    static final String STRATEGY_GIT = "git";
+    static final String STRATEGY_INPUTS = "inputs";
+
+    public RuleTask() {
+        // inputs 방식의 증분 실행은 마지막 실행 이후 변경된 파일만 검사한 리포트를 남기므로,
+        // 같은 입력이라도 이전 실행 이력에 따라 출력이 달라져 빌드 캐시에 저장하지 않음
+        getOutputs().cacheIf("incremental check does not use the 'inputs' strategy",
+                task -> !((RuleTask) task).usesInputChanges());
+    }
+
+    /** 검사 대상 기본 Java 패키지 (필수) */
+    @Input
+    @Optional
+    public abstract Property<String> getBasePackage();
+
+    /** 실행할 규칙 그룹 */
+    @Input
+    public abstract Property<String> getRuleGroupName();
+
+    /** 위반 시 빌드 실패 여부 (실패한 실행은 캐시되지 않음) */
+    @Input
+    public abstract Property<Boolean> getFailOnViolation();
+
+    /** SQL 파싱 제한 시간(ms), 제한 시간에 따라 휴리스틱 검사로 대체되므로 결과에 영향을 줌 */
+    @Input
+    public abstract Property<Long> getSqlParseTimeoutMillis();
+
+    /** 증분 검사 여부 */
+    @Input
+    public abstract Property<Boolean> getIncremental();
+
+    /**
+     * 증분 검사 대상 결정 방식
+     * git: ratchetFrom 기준 Git 변경 파일, inputs: 마지막 성공 실행 이후 변경된 클래스/매퍼 파일 (Gradle InputChanges)
+     */
+    @Input
+    public abstract Property<String> getIncrementalStrategy();
+
+    /** 증분 검사 기준 Git Reference */
+    @Input
+    @Optional
+    public abstract Property<String> getRatchetFrom();
+
+    /** 작업 공간 루트 기준 프로젝트 경로 (리포트의 상대 경로가 달라지므로 입력에 포함) */
+    @Input
+    public abstract Property<String> getProjectPathInWorkspace();
+
+    /** Java 규칙(ArchUnit)이 검사하는 컴파일된 클래스 디렉토리 */
+    @Classpath
+    @Incremental
+    public abstract ConfigurableFileCollection getClassDirs();
+
+    /** MyBatis 매퍼 XML 디렉토리 */
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    @IgnoreEmptyDirectories
+    @Incremental
+    public abstract ConfigurableFileCollection getMapperDirs();
+
+    /** 인덱스 검사에 사용할 DDL 파일 (선택) */
+    @InputFile
+    @Optional
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getSchemaFile();
+
+    /** 리포트 출력 디렉토리 (기본값: 프로젝트의 reports/rule) */
+    @OutputDirectory
+    public abstract DirectoryProperty getReportDir();
+
+    /** 규칙 병렬 실행 스레드 수 (결과에 영향 없음) */
+    @Internal
+    public abstract Property<Integer> getParallelism();
+
+    /** 파일 내용 해시 기반 결과 캐시 사용 여부 (결과에 영향 없음) */
+    @Internal
+    public abstract Property<Boolean> getResultCache();
 
-    private RuleExtension extension;
+    /** 결과 캐시 파일 위치 */
+    @Internal
+    public abstract RegularFileProperty getResultCacheFile();
 
-    public void setExtension(RuleExtension extension) {
-        this.extension = extension;
+    @Internal
+    public abstract DirectoryProperty getProjectDir();
+
+    @Internal
+    public abstract DirectoryProperty getWorkspaceDir();
+
+    // 입력 스냅샷과 실행이 같은 목록을 쓰도록 한 번만 계산 (구성 캐시에 저장하지 않음)
+    private transient List<String> gitAffectedFiles;
+
+    /**
+     * git 방식 증분 검사 대상 파일 목록 (이 프로젝트 하위 파일만, 작업 공간 루트 기준 상대 경로, 그 외에는 빈 목록)
+     * Git 변경 사항이 바뀌면 파일 내용이 같아도 검사 범위가 달라지므로 입력에 포함합니다.
+     * 다른 모듈의 변경은 이 프로젝트의 검사 결과에 영향이 없으므로 제외합니다.
+     */
+    @Input
+    public List<String> getAffectedFiles() {
+        if (!getIncremental().get() || !STRATEGY_GIT.equals(incrementalStrategy())) {
+            return List.of();
+        }
+        if (gitAffectedFiles == null) {
+            Path workspaceRoot = getWorkspaceDir().get().getAsFile().toPath().toAbsolutePath();
+            Path projectRoot = getProjectDir().get().getAsFile().toPath().toAbsolutePath();
+            String baseRef = getRatchetFrom().getOrElse("HEAD");
+            // 프로젝트 디렉토리 기준으로 diff를 계산하면 하위 경로의 변경 파일만 반환됨
+            gitAffectedFiles = GitDiffUtil.getAffectedFiles(projectRoot, baseRef).stream()
+                    .map(p -> workspaceRoot.relativize(p.toAbsolutePath()).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .toList();
+        }
+        return gitAffectedFiles;
     }
 
+    /** 워커 격리 모드 (none / classloader / process, 결과에 영향 없음) */
+    @Internal
+    public abstract Property<String> getIsolationMode();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    /**
+     * 규칙 검사를 Worker API로 제출합니다.
+     * 태스크 스레드는 제출 후 바로 반환되므로 --parallel 빌드에서 여러 모듈의 검사가 동시에 실행됩니다.
+     */
     @TaskAction
-    public void execute() {
+    public void execute(InputChanges inputChanges) {
         // 필수 설정 체크
-        if (!extension.getBasePackage().isPresent()) {
+        if (!getBasePackage().isPresent()) {
             throw new GradleException("Property 'basePackage' is required in 'rule' extension.");
         }
 
-        Path projectRoot = getProject().getProjectDir().toPath();
-        Path workspaceRoot = getProject().getRootProject().getProjectDir().toPath();
-        getLogger().info("[RuleTask] Project Root: {}", projectRoot);
-        getLogger().info("[RuleTask] Workspace Root: {}", workspaceRoot);
-        
-        // 프로젝트 속성(rule.incremental)이 있으면 우선 적용, 없으면 Extension 설정 사용
-        boolean isIncremental = getProject().hasProperty("rule.incremental")
-                ? Boolean.parseBoolean((String) getProject().property("rule.incremental"))
-                : extension.getIncremental().get();
+        getLogger().info("[RuleTask] Project Root: {}", getProjectDir().get());
+        getLogger().info("[RuleTask] Workspace Root: {}", getWorkspaceDir().get());
 
         // 1. 증분 검사 대상 수집
-        List<Path> affectedFiles = new ArrayList<>();
-        if (isIncremental) {
-            String baseRef = extension.getRatchetFrom().getOrElse("HEAD");
-            getLogger().info("[RuleTask] Running incremental check against: {}", baseRef);
-            affectedFiles = GitDiffUtil.getAffectedFiles(workspaceRoot, baseRef);
+        List<String> affectedFiles = List.of();
+        if (usesInputChanges()) {
+            if (inputChanges.isIncremental()) {
+                affectedFiles = changedFiles(inputChanges);
+                getLogger().info("[RuleTask] Running incremental check on files changed since last run: {}", affectedFiles.size());
+                if (affectedFiles.isEmpty()) {
+                    // 삭제만 있는 경우: 빈 목록은 전수 검사를 의미하므로 검사를 생략
+                    getLogger().info("[RuleTask] No added or modified files, skipping rule check");
+                    return;
+                }
+            } else {
+                getLogger().info("[RuleTask] Running full scan (no previous execution state)");
+            }
+        } else if (getIncremental().get()) {
+            getLogger().info("[RuleTask] Running incremental check against: {}", getRatchetFrom().getOrElse("HEAD"));
+            affectedFiles = getAffectedFiles();
             getLogger().info("[RuleTask] Affected files count: {}", affectedFiles.size());
+            if (affectedFiles.isEmpty()) {
+                // 변경 파일이 없으면 빈 목록(전수 검사)을 그대로 전달하여 깨끗한 체크아웃(CI)에서도 전체를 검사
+                getLogger().info("[RuleTask] No changed files in this project, running full scan");
+            }
         } else {
             getLogger().info("[RuleTask] Running full scan (incremental = false)");
         }
 
         // 2. 매퍼 디렉토리 설정
-        List<Path> mapperDirs = new ArrayList<>();
-        List<String> customMapperPaths = extension.getMapperPaths().getOrElse(new ArrayList<>());
-        
-        if (customMapperPaths.isEmpty()) {
-            Path defaultMapperDir = projectRoot.resolve("src/main/resources/mapper");
-            getLogger().info("[RuleTask] Checking default mapper dir: {}", defaultMapperDir);
-            if (defaultMapperDir.toFile().exists()) {
-                mapperDirs.add(defaultMapperDir);
+        List<File> mapperDirs = new ArrayList<>();
+        for (File mapperDir : getMapperDirs()) {
+            if (mapperDir.exists()) {
+                mapperDirs.add(mapperDir);
+            } else {
+                getLogger().warn("[RuleTask] Mapper path does not exist: {}", mapperDir);
             }
-        } else {
-            mapperDirs = customMapperPaths.stream()
-                    .map(projectRoot::resolve)
-                    .filter(p -> {
-                        boolean exists = p.toFile().exists();
-                        if (!exists) getLogger().warn("[RuleTask] Custom mapper path does not exist: {}", p);
-                        return exists;
-                    })
-                    .collect(Collectors.toList());
         }
         getLogger().info("[RuleTask] Total mapper directories: {}", mapperDirs.size());
+        getLogger().info("[RuleTask] Rule parallelism: {}", getParallelism().get());
 
-        // 3. 컨텍스트 빌드
-        RuleContext context = RuleContext.builder()
-                .basePackage(extension.getBasePackage().get())
-                .projectRoot(projectRoot)
-                .workspaceRoot(workspaceRoot)
-                .mapperDirs(mapperDirs)
-                .affectedFiles(affectedFiles)
-                .build();
-
-
-        // 4. Rule Group 찾기
-        String groupName = extension.getRuleGroupName().get().toUpperCase();
-        RuleGroups group;
-        try {
-            group = RuleGroups.valueOf(groupName);
-        } catch (IllegalArgumentException e) {
-            getLogger().warn("Invalid rule group name: {}. Falling back to ALL.", groupName);
-            group = RuleGroups.ALL;
+        // 3. 워커 제출
+        List<String> workAffectedFiles = affectedFiles;
+        workQueue().submit(RuleWorkAction.class, params -> {
+            params.getBasePackage().set(getBasePackage());
+            params.getRuleGroupName().set(getRuleGroupName());
+            params.getFailOnViolation().set(getFailOnViolation());
+            params.getSqlParseTimeoutMillis().set(getSqlParseTimeoutMillis());
+            params.getParallelism().set(getParallelism());
+            params.getProjectDir().set(getProjectDir());
+            params.getWorkspaceDir().set(getWorkspaceDir());
+            params.getMapperDirs().from(mapperDirs);
+            params.getAffectedFiles().set(workAffectedFiles);
+            if (getResultCache().get()) {
+                getLogger().info("[RuleTask] Using rule result cache: {}", getResultCacheFile().get());
+                params.getResultCacheFile().set(getResultCacheFile());
+            }
+            params.getSchemaFile().set(getSchemaFile());
+            params.getReportDir().set(getReportDir());
+        });
+    }
+
+    /**
+     * 마지막 실행 이후 추가/변경된 클래스 파일과 매퍼 파일 (작업 공간 루트 기준 상대 경로)
+     */
+    private List<String> changedFiles(InputChanges inputChanges) {
+        Path workspaceRoot = getWorkspaceDir().get().getAsFile().toPath().toAbsolutePath();
+        List<String> changed = new ArrayList<>();
+        for (ConfigurableFileCollection files : List.of(getClassDirs(), getMapperDirs())) {
+            for (FileChange change : inputChanges.getFileChanges(files)) {
+                if (change.getFileType() != FileType.FILE || change.getChangeType() == ChangeType.REMOVED) continue;
+                changed.add(workspaceRoot.relativize(change.getFile().toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/'));
+            }
         }
+        return changed;
+    }
 
-        // 5. Rule check 실행
-        Path reportDir = getProject().getProjectDir().toPath().resolve("reports/rule");
-        RuleRunner runner = new RuleRunner(group);
-        RuleResult result = RuleRunner.run(runner, context, reportDir);
+    private boolean usesInputChanges() {
+        return getIncremental().get() && STRATEGY_INPUTS.equals(incrementalStrategy());
+    }
+
+    private String incrementalStrategy() {
+        String strategy = getIncrementalStrategy().get().toLowerCase();
+        if (!STRATEGY_GIT.equals(strategy) && !STRATEGY_INPUTS.equals(strategy)) {
+            getLogger().warn("Invalid incremental strategy: {}. Falling back to git.", strategy);
+            return STRATEGY_GIT;
+        }
+        return strategy;
+    }
 
-        // 6. 실패 시 처리
-        if (extension.getFailOnViolation().get() && result.hasError()) {
-            throw new GradleException("Critical rule violations detected. See reports in: " + reportDir);
+    private WorkQueue workQueue() {
+        String mode = getIsolationMode().get().toLowerCase();
+        switch (mode) {
+            case "classloader":
+                return getWorkerExecutor().classLoaderIsolation();
+            case "process":
+                // 워커 데몬은 빌드 간에 재사용되므로 규칙 클래스(ArchUnit, jsqlparser)는 데몬당 한 번만 로드됨
+                return getWorkerExecutor().processIsolation();
+            case "none":
+                return getWorkerExecutor().noIsolation();
+            default:
+                getLogger().warn("Invalid isolation mode: {}. Falling back to none.", mode);
+                return getWorkerExecutor().noIsolation();
         }
     }
 }
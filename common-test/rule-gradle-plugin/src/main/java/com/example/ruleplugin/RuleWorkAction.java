@@ -0,0 +1,95 @@
+package com.example.ruleplugin;
+
+import com.example.rulecore.ruleEngine.RuleContext;
+import com.example.rulecore.ruleEngine.RuleResult;
+import com.example.rulecore.ruleEngine.RuleResultCache;
+import com.example.rulecore.ruleEngine.RuleRunner;
+import com.example.rulecore.ruleEngine.enums.RuleGroups;
+import com.example.rulecore.rules.sql.SchemaIndex;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 규칙 검사 본체입니다. {@link RuleTask}가 Gradle Worker API로 제출하며,
+ * 격리 모드(none / classloader / process)에 따라 빌드 프로세스 또는 재사용되는 워커 데몬에서 실행됩니다.
+ */
+public abstract class RuleWorkAction implements WorkAction<RuleWorkParameters> {
+
+    private static final Logger log = Logging.getLogger(RuleWorkAction.class);
+
+    @Override
+    public void execute() {
+        RuleWorkParameters params = getParameters();
+        Path projectRoot = params.getProjectDir().get().getAsFile().toPath();
+        Path workspaceRoot = params.getWorkspaceDir().get().getAsFile().toPath();
+
+        // 1. 증분 검사 대상
+        List<Path> affectedFiles = params.getAffectedFiles().getOrElse(List.of()).stream()
+                .map(workspaceRoot::resolve)
+                .toList();
+
+        // 2. 매퍼 디렉토리
+        List<Path> mapperDirs = new ArrayList<>();
+        for (File mapperDir : params.getMapperDirs()) {
+            mapperDirs.add(mapperDir.toPath());
+        }
+
+        // 3. 결과 캐시 로드 (변경되지 않은 파일은 이전 검사 결과 재사용)
+        RuleResultCache resultCache = null;
+        if (params.getResultCacheFile().isPresent()) {
+            resultCache = RuleResultCache.load(params.getResultCacheFile().get().getAsFile().toPath(), workspaceRoot);
+        }
+
+        // 인덱스 검사용 스키마 로드 (DDL 파일)
+        SchemaIndex schemaIndex = null;
+        if (params.getSchemaFile().isPresent()) {
+            Path schemaFile = params.getSchemaFile().get().getAsFile().toPath();
+            try {
+                schemaIndex = SchemaIndex.load(schemaFile);
+                log.info("[RuleTask] Loaded schema for index checks: {} ({} tables)", schemaFile, schemaIndex.tableCount());
+            } catch (IOException e) {
+                log.warn("[RuleTask] Cannot read schema file, index checks are skipped: {}", schemaFile);
+            }
+        }
+
+        // 4. 컨텍스트 빌드
+        RuleContext context = RuleContext.builder()
+                .basePackage(params.getBasePackage().get())
+                .projectRoot(projectRoot)
+                .workspaceRoot(workspaceRoot)
+                .mapperDirs(mapperDirs)
+                .affectedFiles(affectedFiles)
+                .resultCache(resultCache)
+                .sqlParseTimeoutMillis(params.getSqlParseTimeoutMillis().get())
+                .schemaIndex(schemaIndex)
+                .build();
+
+        // 5. Rule Group 찾기
+        String groupName = params.getRuleGroupName().get().toUpperCase();
+        RuleGroups group;
+        try {
+            group = RuleGroups.valueOf(groupName);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid rule group name: {}. Falling back to ALL.", groupName);
+            group = RuleGroups.ALL;
+        }
+
+        // 6. Rule check 실행
+        Path reportDir = params.getReportDir().get().getAsFile().toPath();
+        RuleRunner runner = new RuleRunner(group, params.getParallelism().get());
+        RuleResult result = RuleRunner.run(runner, context, reportDir);
+
+        // 7. 실패 시 처리
+        if (params.getFailOnViolation().get() && result.hasError()) {
+            throw new GradleException("Critical rule violations detected. See reports in: " + reportDir);
+        }
+    }
+}
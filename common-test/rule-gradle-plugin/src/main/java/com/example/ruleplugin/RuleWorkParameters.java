@@ -0,0 +1,42 @@
+package com.example.ruleplugin;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * {@link RuleWorkAction}에 전달하는 규칙 검사 설정입니다.
+ * 워커 프로세스로 직렬화되므로 {@link RuleTask}의 입력 값만 담습니다.
+ */
+public interface RuleWorkParameters extends WorkParameters {
+
+    Property<String> getBasePackage();
+
+    Property<String> getRuleGroupName();
+
+    Property<Boolean> getFailOnViolation();
+
+    Property<Long> getSqlParseTimeoutMillis();
+
+    Property<Integer> getParallelism();
+
+    DirectoryProperty getProjectDir();
+
+    DirectoryProperty getWorkspaceDir();
+
+    /** 존재하는 매퍼 디렉토리 목록 */
+    ConfigurableFileCollection getMapperDirs();
+
+    /** 증분 검사 대상 파일 (작업 공간 루트 기준 상대 경로, 전수 검사면 설정하지 않음) */
+    ListProperty<String> getAffectedFiles();
+
+    /** 결과 캐시 파일 (결과 캐시 미사용 시 설정하지 않음) */
+    RegularFileProperty getResultCacheFile();
+
+    RegularFileProperty getSchemaFile();
+
+    DirectoryProperty getReportDir();
+}